@@ -0,0 +1,53 @@
+package com.example.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+
+/**
+ * 요청 처리에 필요 없는 빈(기본: springdoc)을 시작 시 만들지 않고 처음 쓰일 때 만드는 설정.
+ * <p>
+ * {@code sns.startup.lazy-packages} 에 속한 클래스의 빈을 지연 초기화한다. {@code @Bean} 메서드로 등록된 빈은
+ * 선언한 설정 클래스의 패키지로 판단한다. AOT 빌드에서는 빌드할 때 적용되어 생성된 빈 정의에 들어간다.
+ */
+@Slf4j
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * 지정한 패키지의 빈 정의를 지연 초기화로 바꾸는 후처리기. 다른 빈보다 먼저 실행되도록 static 으로 등록한다.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeanMarker(Environment environment) {
+        return beanFactory -> {
+            String[] packages = environment.getProperty("sns.startup.lazy-packages", String[].class, new String[0]);
+            if (packages.length == 0) {
+                return;
+            }
+            int marked = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = declaringClassName(definition);
+                if (className != null && !definition.isLazyInit()
+                        && Arrays.stream(packages).anyMatch(prefix -> className.startsWith(prefix + "."))) {
+                    definition.setLazyInit(true);
+                    marked++;
+                }
+            }
+            log.info("지연 초기화 빈 지정 - 패키지: {}, 빈: {}개", String.join(",", packages), marked);
+        };
+    }
+
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.demo;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// 규모 테스트용 합성 데이터를 SQLite 파일에 직접 쓴다 (models.Post/Comment/Like 가 쓰는 posts/comments/likes 스키마).
+//   ./gradlew generateDataset -Ddataset.db=build/large.db -Ddataset.posts=1000000 -Ddataset.likes=5000000
+// - 작성자별 포스트 수: 사용자 순위에 대한 Zipf(post-skew). 소수의 사용자가 대부분을 쓴다
+// - 포스트별 좋아요/댓글 수: 무작위로 섞은 인기 순위에 대한 Zipf(like-skew, comment-skew). 좋아요가 많은 포스트에 댓글도 몰린다
+// - 댓글은 포스트 작성 직후 burst 안에 몰려 달린다 (포스트당 댓글 수가 많을수록 간격이 좁다)
+// - likeCount/commentCount 는 실제 행 수와 같게 쓰므로 카운터 재계산이 바꿀 것이 없다
+// seed 와 설정이 같으면 같은 파일이 나온다. 적재 중에는 저널과 fsync 를 끄고 마지막에 DELETE 저널로 돌려놓은 뒤
+// schema.sql 로 나머지 테이블과 인덱스를 만든다 (인덱스는 다 넣은 뒤 한 번에 만드는 편이 빠르다)
+public final class DatasetGenerator {
+    private static final int ROWS_PER_STATEMENT = 512;
+    private static final int COMMIT_EVERY = 1_000_000;
+    private static final String[] WORDS = {
+        "오늘", "점심", "커피", "산책", "주말", "여행", "코딩", "리뷰", "배포", "회의", "운동", "독서",
+        "영화", "음악", "사진", "날씨", "퇴근", "출근", "고양이", "강아지", "맛집", "새벽", "버그", "테스트"
+    };
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        System.out.printf("합성 데이터 생성 - 파일: %s, 사용자: %d, 포스트: %d, 댓글: %d, 좋아요: %d, seed: %d%n",
+            settings.db(), settings.users(), settings.posts(), settings.comments(), settings.likes(), settings.seed());
+        Result result = generate(settings);
+        System.out.printf("완료 - 포스트: %d, 댓글: %d, 좋아요: %d, 적재: %dms (%.0f rows/s), 인덱스: %dms%n",
+            result.posts(), result.comments(), result.likes(), result.loadMillis(), result.rowsPerSecond(), result.indexMillis());
+    }
+
+    public record Settings(Path db, int users, int posts, long comments, long likes, long seed,
+                           double postSkew, double likeSkew, double commentSkew,
+                           LocalDateTime until, int days, Duration burst, boolean overwrite) {
+        public static Settings fromSystemProperties() {
+            String db = System.getProperty("dataset.db", "");
+            if (db.isBlank()) {
+                throw new IllegalArgumentException("생성할 DB 파일을 지정하세요: -Ddataset.db=<file>");
+            }
+            return new Settings(Path.of(db),
+                Integer.getInteger("dataset.users", 100_000),
+                Integer.getInteger("dataset.posts", 1_000_000),
+                Long.getLong("dataset.comments", 2_000_000L),
+                Long.getLong("dataset.likes", 5_000_000L),
+                Long.getLong("dataset.seed", 42L),
+                Double.parseDouble(System.getProperty("dataset.post-skew", "0.8")),
+                Double.parseDouble(System.getProperty("dataset.like-skew", "1.0")),
+                Double.parseDouble(System.getProperty("dataset.comment-skew", "0.9")),
+                LocalDateTime.parse(System.getProperty("dataset.until", "2025-07-01T00:00:00")),
+                Integer.getInteger("dataset.days", 365),
+                Duration.parse(System.getProperty("dataset.burst", "PT2H")),
+                Boolean.getBoolean("dataset.overwrite"));
+        }
+    }
+
+    public record Result(int posts, long comments, long likes, long loadMillis, long indexMillis) {
+        public double rowsPerSecond() {
+            return (posts + comments + likes) * 1000.0 / Math.max(1, loadMillis);
+        }
+    }
+
+    public static Result generate(Settings settings) throws Exception {
+        if (settings.likes() > (long) settings.posts() * settings.users()) {
+            throw new IllegalArgumentException("좋아요 수가 포스트 수 x 사용자 수보다 많습니다: " + settings.likes());
+        }
+        if (Files.exists(settings.db())) {
+            if (!settings.overwrite()) {
+                throw new IllegalArgumentException("이미 있는 파일입니다 (-Ddataset.overwrite=true 로 덮어쓰기): " + settings.db());
+            }
+            Files.delete(settings.db());
+        }
+
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        Corpus corpus = new Corpus(random);
+
+        // 인기 순위 -> 포스트 번호. 오래된 포스트만 인기 있지 않도록 섞는다
+        int[] byPopularity = new int[settings.posts()];
+        for (int i = 0; i < byPopularity.length; i++) {
+            byPopularity[i] = i;
+        }
+        for (int i = byPopularity.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byPopularity[i];
+            byPopularity[i] = byPopularity[j];
+            byPopularity[j] = swap;
+        }
+        Zipf popularity = new Zipf(settings.posts(), settings.likeSkew());
+        int[] likeCounts = distribute(settings.likes(), settings.users(), popularity, byPopularity, random);
+        int[] commentCounts = distribute(settings.comments(), Integer.MAX_VALUE,
+            new Zipf(settings.posts(), settings.commentSkew()), byPopularity, random);
+        Zipf activity = new Zipf(settings.users(), settings.postSkew());
+
+        long untilMillis = Timestamp.valueOf(settings.until()).getTime();
+        long spanMillis = Duration.ofDays(settings.days()).toMillis();
+        long startMillis = untilMillis - spanMillis;
+        long stepMillis = Math.max(1, spanMillis / settings.posts());
+        long[] postCreated = new long[settings.posts()];
+
+        long loadStarted = System.nanoTime();
+        long comments = 0;
+        long likes = 0;
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + settings.db())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=OFF");
+                statement.execute("PRAGMA synchronous=OFF");
+                statement.execute("PRAGMA locking_mode=EXCLUSIVE");
+                statement.execute("PRAGMA temp_store=MEMORY");
+                statement.execute("PRAGMA cache_size=-65536");
+                createTables(statement);
+            }
+            connection.setAutoCommit(false);
+
+            // id 는 비워 두면 rowid 로 1 부터 차례로 붙는다. 사용자 이름과 본문은 번호(본문은 말뭉치의 위치와 길이)로 넘겨
+            // SQLite 가 만들고 updatedAt 은 createdAt 을 한 번 더 쓴다
+            try (Inserter posts = new Inserter(connection, "posts (createdAt, updatedAt, userName, content, likeCount, commentCount)",
+                    "column1, column1, 'user' || column2, " + corpus.expression("column3") + ", column4, column5", 5)) {
+                for (int i = 0; i < settings.posts(); i++) {
+                    long created = startMillis + i * stepMillis + random.nextLong(stepMillis);
+                    postCreated[i] = created;
+                    posts.row(created, activity.sample(random), corpus.next(random), likeCounts[i], commentCounts[i]);
+                }
+            }
+
+            // 합성 댓글은 모두 루트 댓글이다. path 는 ID 로 정해지므로 ID 를 직접 넣는다 (CommentPath)
+            try (Inserter inserter = new Inserter(connection, "comments (id, postId, createdAt, updatedAt, userName, content, path)",
+                    "column1, column2, column3, column3, 'user' || column4, " + corpus.expression("column5") + ", printf('%08x', column1)", 5)) {
+                for (int i = 0; i < settings.posts(); i++) {
+                    int count = commentCounts[i];
+                    double meanGap = settings.burst().toMillis() / (double) Math.max(1, count);
+                    double at = postCreated[i];
+                    for (int c = 0; c < count; c++) {
+                        at += 1 - meanGap * Math.log(1 - random.nextDouble());
+                        comments++;
+                        inserter.row(comments, i + 1, Math.min((long) at, untilMillis), activity.sample(random), corpus.next(random));
+                    }
+                }
+            }
+
+            // 한 포스트에 같은 사용자가 두 번 좋아요할 수 없으므로 사용자 수와 서로소인 보폭으로 돌며 고른다.
+            // 기본 키 (postId, userName) 순서로 넣어야 인덱스에 끝에 덧붙이기만 하므로 포스트마다 이름 순으로 정렬한다
+            int users = settings.users();
+            int[] nameOrder = nameOrder(users);
+            int[] byName = new int[users];
+            for (int rank = 0; rank < users; rank++) {
+                byName[nameOrder[rank]] = rank;
+            }
+            try (Inserter inserter = new Inserter(connection, "likes (postId, userName)", "column1, 'user' || column2", 2)) {
+                int[] likers = new int[Arrays.stream(likeCounts).max().orElse(0)];
+                for (int i = 0; i < settings.posts(); i++) {
+                    int count = likeCounts[i];
+                    if (count == 0) {
+                        continue;
+                    }
+                    int liker = random.nextInt(users);
+                    int stride = coprimeStride(users, random);
+                    for (int l = 0; l < count; l++) {
+                        likers[l] = byName[liker];
+                        liker = (int) ((liker + (long) stride) % users);
+                    }
+                    Arrays.sort(likers, 0, count);
+                    for (int l = 0; l < count; l++) {
+                        inserter.row(i + 1, nameOrder[likers[l]]);
+                    }
+                    likes += count;
+                }
+            }
+            connection.commit();
+            long loadMillis = Duration.ofNanos(System.nanoTime() - loadStarted).toMillis();
+
+            long indexStarted = System.nanoTime();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=DELETE");
+                statement.execute("PRAGMA locking_mode=NORMAL");
+            }
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+            long indexMillis = Duration.ofNanos(System.nanoTime() - indexStarted).toMillis();
+            return new Result(settings.posts(), comments, likes, loadMillis, indexMillis);
+        }
+    }
+
+    // JPA(ddl-auto=create) 가 만드는 것과 같은 테이블
+    private static void createTables(Statement statement) throws SQLException {
+        statement.execute("""
+            CREATE TABLE posts (commentCount integer not null, id integer, likeCount integer not null,
+                createdAt timestamp not null, expiresAt timestamp, publishAt timestamp, updatedAt timestamp not null,
+                content varchar(255) not null, userName varchar(255) not null, primary key (id))""");
+        statement.execute("""
+            CREATE TABLE comments (id integer, parentId integer, postId integer not null, replyCount integer not null default 0,
+                createdAt timestamp not null, updatedAt timestamp not null, content varchar(255) not null,
+                path varchar(255) not null, userName varchar(255) not null, primary key (id))""");
+        statement.execute("""
+            CREATE TABLE likes (postId integer not null, userName varchar(255) not null,
+                primary key (postId, userName))""");
+    }
+
+    // total 개를 인기 순위 분포로 포스트에 나눈다. 한 포스트는 cap 개를 넘지 않는다
+    private static int[] distribute(long total, int cap, Zipf zipf, int[] byPopularity, SplittableRandom random) {
+        int[] counts = new int[byPopularity.length];
+        for (long placed = 0; placed < total; ) {
+            int post = byPopularity[zipf.sample(random)];
+            if (counts[post] < cap) {
+                counts[post]++;
+                placed++;
+            }
+        }
+        return counts;
+    }
+
+    // 사용자 번호를 "user" + 번호 문자열 순서로 늘어놓은 배열
+    private static int[] nameOrder(int users) {
+        return IntStream.range(0, users).boxed()
+            .sorted(Comparator.comparing(user -> "user" + user))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private static int coprimeStride(int users, SplittableRandom random) {
+        while (true) {
+            int stride = 1 + random.nextInt(users);
+            if (gcd(stride, users) == 1) {
+                return stride;
+            }
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    // seed 로 단어를 늘어놓은 3KB 안팎의 UTF-8 말뭉치. 본문은 단어 경계에서 시작해 끝나는 2~10 단어 구간이다.
+    // 문자열 substr 은 앞에서부터 글자를 세므로 BLOB 리터럴에서 바이트 위치로 잘라 TEXT 로 바꾼다
+    private static final class Corpus {
+        private final byte[] bytes;
+        private final int[] pool = new int[4096];
+
+        Corpus(SplittableRandom random) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            List<Integer> starts = new ArrayList<>();
+            List<Integer> ends = new ArrayList<>();
+            while (out.size() < 3000) {
+                starts.add(out.size());
+                out.writeBytes(WORDS[random.nextInt(WORDS.length)].getBytes(StandardCharsets.UTF_8));
+                ends.add(out.size());
+                out.write(' ');
+            }
+            this.bytes = out.toByteArray();
+            for (int i = 0; i < pool.length; i++) {
+                int first = random.nextInt(starts.size());
+                int last = Math.min(starts.size() - 1, first + 1 + random.nextInt(9));
+                pool[i] = starts.get(first) << 8 | (ends.get(last) - starts.get(first));
+            }
+        }
+
+        int next(SplittableRandom random) {
+            return pool[random.nextInt(pool.length)];
+        }
+
+        // 본문 번호(시작 바이트 << 8 | 바이트 길이)가 든 열에서 본문을 만드는 SQL 식
+        String expression(String column) {
+            return "CAST(substr(X'" + HexFormat.of().formatHex(bytes) + "', 1 + (" + column + " >> 8), " + column + " & 255) AS TEXT)";
+        }
+    }
+
+    // 순위 0..n-1 에 대한 Zipf(s) 분포. 누적 확률표를 이분 탐색한다
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    // 여러 행을 한 INSERT ... SELECT ... FROM (VALUES ...) 문으로 묶어 문장 실행 횟수를 줄인다. 값은 정수로 넘기고
+    // 문자열은 select 식에서 만든다. 남은 행은 close 에서 행 수에 맞는 문장으로 넣는다
+    private static final class Inserter implements AutoCloseable {
+        private final Connection connection;
+        private final String target;
+        private final String select;
+        private final int columns;
+        private final PreparedStatement full;
+        private final long[] values;
+        private int rows;
+        private long sinceCommit;
+
+        Inserter(Connection connection, String target, String select, int columns) throws SQLException {
+            this.connection = connection;
+            this.target = target;
+            this.select = select;
+            this.columns = columns;
+            this.full = connection.prepareStatement(sql(ROWS_PER_STATEMENT));
+            this.values = new long[ROWS_PER_STATEMENT * columns];
+        }
+
+        void row(long... row) throws SQLException {
+            System.arraycopy(row, 0, values, rows * columns, columns);
+            if (++rows == ROWS_PER_STATEMENT) {
+                execute(full);
+            }
+        }
+
+        private void execute(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < rows * columns; i++) {
+                statement.setLong(i + 1, values[i]);
+            }
+            statement.executeUpdate();
+            sinceCommit += rows;
+            rows = 0;
+            if (sinceCommit >= COMMIT_EVERY) {
+                connection.commit();
+                sinceCommit = 0;
+            }
+        }
+
+        private String sql(int rowCount) {
+            String tuple = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+            return "INSERT INTO " + target + " SELECT " + select + " FROM (VALUES " + String.join(", ", Collections.nCopies(rowCount, tuple)) + ")";
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (full) {
+                if (rows > 0) {
+                    try (PreparedStatement tail = connection.prepareStatement(sql(rows))) {
+                        execute(tail);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.capture;
+
+// 기록된 요청 하나. offsetMicros 는 기록 시작부터 요청 도착까지, durationMicros 는 서버 처리 시간
+// path 는 쿼리 문자열을 포함한다. contentType 이 없으면 빈 문자열
+public record CapturedRequest(long offsetMicros, int durationMicros, int status, String method, String path,
+                              String contentType, byte[] body) {
+}
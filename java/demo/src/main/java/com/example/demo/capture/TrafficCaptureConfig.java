@@ -0,0 +1,55 @@
+package com.example.demo.capture;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// 운영 트래픽 기록 (sns.capture.enabled=true). 시작할 때마다 dir 에 traffic-<시각>.log 를 새로 만든다.
+// 기록한 로그는 ./gradlew replayTraffic 으로 다른 인스턴스에 재생하거나, sns.warmup.file 로 워밍업에 쓴다.
+// 승인 제어보다 먼저 실행되므로 503 으로 거부된 요청과 대기 시간도 기록된다.
+@Configuration
+@ConditionalOnProperty(name = "sns.capture.enabled", havingValue = "true")
+public class TrafficCaptureConfig {
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCaptureConfig.class);
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    @Bean(destroyMethod = "close")
+    public TrafficLog trafficLog(
+            @Value("${sns.capture.dir:captures}") Path dir,
+            @Value("${sns.capture.region-size:64MB}") DataSize regionSize,
+            @Value("${sns.capture.max-size:1GB}") DataSize maxSize) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("traffic-" + LocalDateTime.now().format(FILE_NAME) + ".log");
+        TrafficLog log = TrafficLog.create(file, regionSize.toBytes(), maxSize.toBytes());
+        logger.info("트래픽 기록 시작 - 파일: {}, 최대 크기: {}", file.toAbsolutePath(), maxSize);
+        return log;
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficCaptureFilter> trafficCaptureFilter(
+            TrafficLog trafficLog,
+            @Value("${sns.capture.sample-rate:0.01}") double sampleRate,
+            @Value("${sns.capture.max-body:64KB}") DataSize maxBody,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<TrafficCaptureFilter> registration = new FilterRegistrationBean<>(
+            new TrafficCaptureFilter(trafficLog, sampleRate, (int) maxBody.toBytes(),
+                meterRegistry.counter("sns.capture.requests", "result", "recorded"),
+                meterRegistry.counter("sns.capture.requests", "result", "skipped")));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
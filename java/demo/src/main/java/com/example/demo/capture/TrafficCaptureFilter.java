@@ -0,0 +1,90 @@
+package com.example.demo.capture;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// /api/** 요청을 sample-rate 비율로 골라 메서드, 경로, 본문, 도착 시각, 처리 시간, 상태 코드를 TrafficLog 에 남긴다.
+// 고르지 않은 요청은 난수 하나만 뽑고 그대로 통과시킨다. 본문은 컨트롤러가 읽은 만큼만 복사해 두며,
+// max-body 보다 큰 요청(첨부파일 업로드 등)은 재생할 수 없으므로 기록하지 않는다.
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCaptureFilter.class);
+
+    private final TrafficLog log;
+    private final double sampleRate;
+    private final int maxBody;
+    private final Counter recorded;
+    private final Counter skipped;
+    private volatile boolean fullLogged;
+
+    public TrafficCaptureFilter(TrafficLog log, double sampleRate, int maxBody, Counter recorded, Counter skipped) {
+        this.log = log;
+        this.sampleRate = sampleRate;
+        this.maxBody = maxBody;
+        this.recorded = recorded;
+        this.skipped = skipped;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (request.getContentLengthLong() > maxBody) {
+            skipped.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, maxBody);
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(wrapper, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            byte[] body = wrapper.getContentAsByteArray();
+            // 길이를 모르는 본문이 한도까지 찼으면 잘렸을 수 있으므로 버린다
+            if (request.getContentLengthLong() < 0 && body.length >= maxBody) {
+                skipped.increment();
+            } else {
+                record(wrapper, failed ? 500 : response.getStatus(), started, elapsed, body);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long started, long elapsed, byte[] body) {
+        String query = request.getQueryString();
+        String contentType = request.getContentType();
+        CapturedRequest captured = new CapturedRequest(log.offsetMicros(started), (int) Math.min(Integer.MAX_VALUE, elapsed / 1000),
+            status, request.getMethod(), query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query,
+            contentType == null ? "" : contentType, body);
+        try {
+            if (log.append(captured)) {
+                recorded.increment();
+            } else {
+                skipped.increment();
+                if (!fullLogged) {
+                    fullLogged = true;
+                    logger.warn("트래픽 기록 중단 - 최대 크기 도달 - 파일: {}, 크기: {} bytes", log.getFile(), log.size());
+                }
+            }
+        } catch (IOException e) {
+            // 기록 실패로 요청 처리를 실패시키지 않는다
+            skipped.increment();
+            logger.error("트래픽 기록 중 오류 발생 - 파일: {}, 오류: {}", log.getFile(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.capture;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 추가 전용 이진 트래픽 로그. 파일을 region-size 단위로 메모리 매핑해 요청 스레드가 시스템 호출 없이 기록한다.
+// 형식(빅 엔디언): 헤더 "SNSTRAF1" + 기록 시작 epoch millis(long), 이어서 레코드
+//   int 길이(뒤따르는 바이트 수, 0 이면 끝) | long offsetMicros | int durationMicros | short status
+//   | byte+ASCII method | short+UTF-8 path | byte+ASCII contentType | int+bytes body
+// 매핑으로 늘어난 파일 끝은 0 으로 채워져 있으므로 읽기는 길이 0 에서 멈춘다. 레코드 본문을 먼저 쓰고 길이를 마지막에 써서
+// 프로세스가 죽어도 반쯤 쓴 레코드를 읽지 않는다. close 하면 실제 기록한 크기로 파일을 자른다.
+public final class TrafficLog implements Closeable {
+    private static final byte[] MAGIC = "SNSTRAF1".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_SIZE = MAGIC.length + Long.BYTES;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long regionSize;
+    private final long maxSize;
+    private final long startNanos = System.nanoTime();
+    private final ReentrantLock lock = new ReentrantLock();
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position;
+    private boolean closed;
+
+    private TrafficLog(Path file, FileChannel channel, long regionSize, long maxSize) {
+        this.file = file;
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.maxSize = maxSize;
+    }
+
+    public static TrafficLog create(Path file, long regionSize, long maxSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        TrafficLog log = new TrafficLog(file, channel, regionSize, maxSize);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).put(MAGIC).putLong(System.currentTimeMillis()).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        log.position = HEADER_SIZE;
+        return log;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // 이 로그를 만든 뒤 지난 시간(마이크로초). System.nanoTime() 기준
+    public long offsetMicros(long nanoTime) {
+        return (nanoTime - startNanos) / 1000;
+    }
+
+    // 최대 크기에 닿았거나 닫힌 뒤면 기록하지 않고 false
+    public boolean append(CapturedRequest request) throws IOException {
+        byte[] record = encode(request);
+        lock.lock();
+        try {
+            if (closed || position + record.length > maxSize) {
+                return false;
+            }
+            if (region == null || position + record.length > regionStart + region.capacity()) {
+                regionStart = position;
+                region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(regionSize, record.length));
+            }
+            int at = (int) (position - regionStart);
+            region.put(at + Integer.BYTES, record, Integer.BYTES, record.length - Integer.BYTES);
+            region.putInt(at, record.length - Integer.BYTES);
+            position += record.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (region != null) {
+                region.force();
+            }
+            channel.truncate(position);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static boolean isTrafficLog(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    public static List<CapturedRequest> read(Path file) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+                throw new IOException("트래픽 로그 파일이 아닙니다: " + file);
+            }
+            in.readLong();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length == 0) {
+                    break;
+                }
+                long offsetMicros = in.readLong();
+                int durationMicros = in.readInt();
+                int status = in.readShort();
+                String method = new String(in.readNBytes(in.readUnsignedByte()), StandardCharsets.US_ASCII);
+                String path = new String(in.readNBytes(in.readUnsignedShort()), StandardCharsets.UTF_8);
+                String contentType = new String(in.readNBytes(in.readUnsignedByte()), StandardCharsets.US_ASCII);
+                byte[] body = in.readNBytes(in.readInt());
+                requests.add(new CapturedRequest(offsetMicros, durationMicros, status, method, path, contentType, body));
+            }
+        }
+        return requests;
+    }
+
+    private static byte[] encode(CapturedRequest request) {
+        byte[] method = request.method().getBytes(StandardCharsets.US_ASCII);
+        byte[] path = truncate(request.path().getBytes(StandardCharsets.UTF_8), 0xFFFF);
+        byte[] contentType = truncate(request.contentType().getBytes(StandardCharsets.US_ASCII), 0xFF);
+        byte[] body = request.body();
+        int length = Integer.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES
+            + 1 + method.length + 2 + path.length + 1 + contentType.length + Integer.BYTES + body.length;
+        return ByteBuffer.allocate(length)
+            .putInt(length - Integer.BYTES)
+            .putLong(request.offsetMicros())
+            .putInt(request.durationMicros())
+            .putShort((short) request.status())
+            .put((byte) method.length).put(method)
+            .putShort((short) path.length).put(path)
+            .put((byte) contentType.length).put(contentType)
+            .putInt(body.length).put(body)
+            .array();
+    }
+
+    private static byte[] truncate(byte[] bytes, int max) {
+        return bytes.length <= max ? bytes : Arrays.copyOf(bytes, max);
+    }
+}
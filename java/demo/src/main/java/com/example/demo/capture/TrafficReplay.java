@@ -0,0 +1,189 @@
+package com.example.demo.capture;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+// 트래픽 로그를 로컬 인스턴스에 재생하고 엔드포인트별 처리량과 지연 시간 백분위를 출력한다.
+//   ./gradlew replayTraffic -Dreplay.log=captures/traffic-....log -Dreplay.url=http://localhost:8080 -Dreplay.speed=4
+// - speed: 1 이면 기록된 도착 간격 그대로, 4 면 4배 빠르게, 0 이면 간격 없이 max-in-flight 개씩 보낸다
+// - 도착 시각에 맞춰 보내는 개방형 부하이므로 서버가 느려져도 보내는 속도는 줄지 않는다 (동시 요청은 max-in-flight 까지)
+// - 같은 상태의 빈 DB 에 재생하면 같은 ID 가 다시 만들어지므로 응답 상태 코드가 기록과 다르면 불일치로 센다
+public final class TrafficReplay {
+    private static final Pattern NUMBER = Pattern.compile("^\\d+$");
+
+    private TrafficReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String log = System.getProperty("replay.log");
+        if (log == null || log.isBlank()) {
+            System.err.println("재생할 로그를 지정하세요: -Dreplay.log=<traffic.log>");
+            System.exit(2);
+        }
+        String url = System.getProperty("replay.url", "http://localhost:8080");
+        double speed = Double.parseDouble(System.getProperty("replay.speed", "1"));
+        int maxInFlight = Integer.getInteger("replay.max-in-flight", 256);
+
+        List<CapturedRequest> requests = TrafficLog.read(Path.of(log));
+        System.out.printf("트래픽 재생 - 로그: %s, 요청: %d, 대상: %s, 속도: %s%n", log, requests.size(), url,
+            speed <= 0 ? "최대" : speed + "x");
+        Report report = replay(requests, url, speed, maxInFlight);
+        report.print(System.out);
+        System.exit(report.errors() > 0 ? 1 : 0);
+    }
+
+    public static Report replay(List<CapturedRequest> requests, String baseUrl, double speed, int maxInFlight)
+            throws InterruptedException {
+        List<CapturedRequest> ordered = requests.stream().sorted(Comparator.comparingLong(CapturedRequest::offsetMicros)).toList();
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        for (CapturedRequest request : ordered) {
+            endpoints.computeIfAbsent(endpoint(request), key -> new EndpointStats()).recorded.add((long) request.durationMicros() * 1000);
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong maxLagNanos = new AtomicLong();
+        long firstOffset = ordered.isEmpty() ? 0 : ordered.get(0).offsetMicros();
+
+        long started = System.nanoTime();
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CapturedRequest request : ordered) {
+                if (speed > 0) {
+                    long due = started + (long) ((request.offsetMicros() - firstOffset) * 1000 / speed);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    maxLagNanos.accumulateAndGet(System.nanoTime() - due, Math::max);
+                }
+                inFlight.acquire();
+                EndpointStats stats = endpoints.get(endpoint(request));
+                executor.submit(() -> {
+                    try {
+                        send(client, baseUrl, request, stats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Report(ordered.size(), System.nanoTime() - started, maxLagNanos.get(), endpoints);
+    }
+
+    private static void send(HttpClient client, String baseUrl, CapturedRequest request, EndpointStats stats) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+            .timeout(Duration.ofSeconds(30))
+            .method(request.method(), request.body().length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        if (!request.contentType().isEmpty()) {
+            builder.header("Content-Type", request.contentType());
+        }
+        long sent = System.nanoTime();
+        try {
+            int status = client.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            stats.record(System.nanoTime() - sent, status >= 500, status != request.status());
+        } catch (IOException e) {
+            stats.record(System.nanoTime() - sent, true, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 메서드 + 경로 템플릿. 숫자 경로 조각은 {id}, /users/ 다음 조각은 {userName} 으로 묶는다
+    static String endpoint(CapturedRequest request) {
+        String path = request.path();
+        int query = path.indexOf('?');
+        String[] segments = (query >= 0 ? path.substring(0, query) : path).split("/");
+        for (int i = 0; i < segments.length; i++) {
+            if (NUMBER.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            } else if (i > 0 && "users".equals(segments[i - 1])) {
+                segments[i] = "{userName}";
+            }
+        }
+        return request.method() + " " + String.join("/", segments);
+    }
+
+    public static final class EndpointStats {
+        private final List<Long> recorded = new ArrayList<>();
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+        private long mismatches;
+
+        private synchronized void record(long nanos, boolean error, boolean mismatch) {
+            latencies.add(nanos);
+            errors += error ? 1 : 0;
+            mismatches += mismatch ? 1 : 0;
+        }
+
+        public synchronized long count() {
+            return latencies.size();
+        }
+
+        public synchronized long errors() {
+            return errors;
+        }
+
+        public synchronized long mismatches() {
+            return mismatches;
+        }
+
+        public synchronized double percentileMillis(double percentile) {
+            return percentile(latencies, percentile);
+        }
+
+        public synchronized double recordedPercentileMillis(double percentile) {
+            return percentile(recorded, percentile);
+        }
+
+        private static double percentile(List<Long> nanos, double percentile) {
+            if (nanos.isEmpty()) {
+                return 0;
+            }
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    public record Report(int requests, long elapsedNanos, long maxLagNanos, Map<String, EndpointStats> endpoints) {
+        public long errors() {
+            return endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+        }
+
+        public long mismatches() {
+            return endpoints.values().stream().mapToLong(EndpointStats::mismatches).sum();
+        }
+
+        public void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%n=== 트래픽 재생: 요청 %d, %.1f초, %.1f req/s, 오류 %d, 상태 불일치 %d, 최대 지연 출발 %.1fms ===%n",
+                requests, seconds, requests / seconds, errors(), mismatches(), maxLagNanos / 1e6);
+            out.printf("%-48s %7s %9s %9s %9s %9s %9s %12s %6s %8s%n", "endpoint", "count", "req/s",
+                "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "rec p99(ms)", "err", "mismatch");
+            endpoints.forEach((endpoint, stats) -> out.printf("%-48s %7d %9.1f %9.2f %9.2f %9.2f %9.2f %12.2f %6d %8d%n",
+                endpoint, stats.count(), stats.count() / seconds, stats.percentileMillis(50), stats.percentileMillis(95),
+                stats.percentileMillis(99), stats.percentileMillis(100), stats.recordedPercentileMillis(99),
+                stats.errors(), stats.mismatches()));
+        }
+    }
+}
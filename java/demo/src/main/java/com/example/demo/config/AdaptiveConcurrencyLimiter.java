@@ -0,0 +1,87 @@
+package com.example.demo.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 측정된 응답 시간으로 동시 처리 한도를 조절하는 gradient 방식 리미터.
+// 장기 평균 RTT(부하 없음 기준) 대비 최근 RTT 가 늘어나면 한도를 줄이고, 여유가 있으면 sqrt(limit) 만큼씩 늘린다.
+// 5xx/타임아웃 같은 실패는 drop 으로 간주해 곱셈 방식으로 한도를 줄인다(AIMD).
+public class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_RTT_SMOOTHING = 0.1;
+    private static final double LONG_RTT_SMOOTHING = 1.0 / 600;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        synchronized (this) {
+            shortRttNanos = shortRttNanos == 0 ? rttNanos
+                : shortRttNanos * (1 - SHORT_RTT_SMOOTHING) + rttNanos * SHORT_RTT_SMOOTHING;
+            longRttNanos = longRttNanos == 0 ? rttNanos
+                : longRttNanos * (1 - LONG_RTT_SMOOTHING) + rttNanos * LONG_RTT_SMOOTHING;
+
+            // 부하가 빠진 뒤 기준 RTT 가 과거의 높은 값에 머무르지 않도록 빠르게 끌어내린다
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+            // 한도의 절반도 쓰지 않는 상태에서는 한도를 늘리지 않는다
+            if (inFlightAtCompletion < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        }
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
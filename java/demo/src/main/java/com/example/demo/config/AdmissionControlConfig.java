@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// /api/** 요청에만 적용되므로 actuator, 헬스 체크, Swagger 요청은 한도에 포함되지 않는다
+@Configuration
+@ConditionalOnProperty(name = "sns.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readAdmissionLimiter(
+            @Value("${sns.admission.read.initial-limit:64}") int initialLimit,
+            @Value("${sns.admission.read.min-limit:8}") int minLimit,
+            @Value("${sns.admission.read.max-limit:512}") int maxLimit,
+            @Value("${sns.admission.rtt-tolerance:2.0}") double rttTolerance,
+            MeterRegistry meterRegistry) {
+        return registerMetrics(new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, rttTolerance),
+            "read", meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeAdmissionLimiter(
+            @Value("${sns.admission.write.initial-limit:16}") int initialLimit,
+            @Value("${sns.admission.write.min-limit:2}") int minLimit,
+            @Value("${sns.admission.write.max-limit:64}") int maxLimit,
+            @Value("${sns.admission.rtt-tolerance:2.0}") double rttTolerance,
+            MeterRegistry meterRegistry) {
+        return registerMetrics(new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, rttTolerance),
+            "write", meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter readAdmissionLimiter,
+            AdaptiveConcurrencyLimiter writeAdmissionLimiter,
+            @Value("${sns.admission.retry-after-seconds:1}") int retryAfterSeconds,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+            new AdmissionControlFilter(readAdmissionLimiter, writeAdmissionLimiter, retryAfterSeconds, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter registerMetrics(AdaptiveConcurrencyLimiter limiter, String type,
+                                                              MeterRegistry meterRegistry) {
+        Gauge.builder("sns.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .tag("type", type)
+            .register(meterRegistry);
+        Gauge.builder("sns.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .tag("type", type)
+            .register(meterRegistry);
+        FunctionCounter.builder("sns.admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+            .tag("type", type)
+            .register(meterRegistry);
+        return limiter;
+    }
+}
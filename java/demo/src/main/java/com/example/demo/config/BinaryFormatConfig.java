@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Accept / Content-Type 으로 CBOR(application/cbor) 와 Smile(application/x-jackson-smile) 을 고를 수 있게 한다.
+// 스프링 부트의 Jackson 설정(모듈, 기능 플래그)을 그대로 쓰되 LocalDateTime 은 문자열 대신 epoch millis 숫자로 쓴다.
+// millis 는 SQLite 에 저장되는 값, 커서(KeysetCursor) 와 같이 Timestamp 로 변환한다.
+// Accept 가 없거나 */* 이면 지금처럼 JSON 으로 응답한다 (JSON 변환기가 먼저 등록됨).
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder.factory(new CBORFactory())));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder.factory(new SmileFactory())));
+    }
+
+    private static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        SimpleModule epochMillis = new SimpleModule("LocalDateTimeEpochMillis");
+        epochMillis.addSerializer(LocalDateTime.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeNumber(Timestamp.valueOf(value).getTime());
+            }
+        });
+        epochMillis.addDeserializer(LocalDateTime.class, new JsonDeserializer<>() {
+            @Override
+            public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return new Timestamp(parser.getLongValue()).toLocalDateTime();
+            }
+        });
+        // 부트가 등록한 JavaTimeModule 뒤에 등록해 LocalDateTime 직렬화를 덮어쓴다
+        ObjectMapper objectMapper = builder.build();
+        objectMapper.registerModule(epochMillis);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// 답글 스레드(Comment.parentId/path/replyCount) 이전에 만든 DB 의 comments 테이블에 컬럼을 추가하고 path 를 채운다.
+// - ddl-auto=none 이라 Hibernate 가 컬럼을 추가하지 않으므로 EntityManagerFactory 초기화 전에 실행한다 (CommentThreadSchemaConfig)
+// - 샤드 저장소는 ShardRouter 가 샤드를 열 때 migrate 를 호출한다
+// 기존 댓글은 모두 루트 댓글이 된다. comments 테이블이 아직 없으면(ddl-auto=create) 아무것도 하지 않는다
+@Component
+@Profile("!memory & !sharded")
+public class CommentThreadSchema implements InitializingBean {
+    private static final Logger logger = LoggerFactory.getLogger(CommentThreadSchema.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<SqliteMemoryDatabase> sqliteMemoryDatabase;
+
+    @Override
+    public void afterPropertiesSet() {
+        // sqlite-memory 이면 체크포인트를 복원한 메모리 DB 에 적용한다
+        sqliteMemoryDatabase.getIfAvailable();
+        migrate(new JdbcTemplate(dataSource));
+    }
+
+    // 컬럼마다 따로 확인하므로 중간에 실패해도 다음 시작 때 이어서 적용된다
+    public static void migrate(JdbcTemplate jdbc) {
+        List<String> columns = jdbc.query("PRAGMA table_info(comments)", (rs, n) -> rs.getString("name"));
+        if (columns.isEmpty()) {
+            return;
+        }
+        if (!columns.contains("parentId")) {
+            jdbc.execute("ALTER TABLE comments ADD COLUMN parentId INTEGER");
+        }
+        if (!columns.contains("replyCount")) {
+            jdbc.execute("ALTER TABLE comments ADD COLUMN replyCount INTEGER NOT NULL DEFAULT 0");
+        }
+        if (!columns.contains("path")) {
+            jdbc.execute("ALTER TABLE comments ADD COLUMN path VARCHAR(255) NOT NULL DEFAULT ''");
+        }
+        // CommentPath.segment 와 같은 형식
+        int filled = jdbc.update("UPDATE comments SET path = printf('%08x', id) WHERE path = ''");
+        if (filled > 0) {
+            logger.info("댓글 스레드 경로 채우기 완료 - 댓글 수: {}", filled);
+        }
+    }
+}
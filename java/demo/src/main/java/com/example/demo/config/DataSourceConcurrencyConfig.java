@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConcurrencyConfig {
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConcurrencyConfig.class);
+
+    // sns.datasource.max-concurrency 가 0 보다 크면 DataSource 를 BoundedDataSource 로 감싼다
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("sns.datasource.max-concurrency", Integer.class, 0);
+        Duration acquireTimeout = environment.getProperty("sns.datasource.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (maxConcurrency > 0 && bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    logger.info("DataSource 동시 접근 제한 적용 - bean: {}, 최대 동시 접근: {}, 대기 시간: {}",
+                        beanName, maxConcurrency, acquireTimeout);
+                    return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // memory 프로필에는 DataSource 가 없으므로 선택적으로 주입받는다
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> {
+            DataSource dataSource = dataSources.getIfAvailable();
+            BoundedDataSource bounded = dataSource == null ? null
+                : DataSourceUnwrapper.unwrap(dataSource, BoundedDataSource.class);
+            if (bounded != null) {
+                Gauge.builder("sns.datasource.permits.available", bounded, BoundedDataSource::getAvailablePermits)
+                    .register(registry);
+                Gauge.builder("sns.datasource.permits.waiting", bounded, BoundedDataSource::getQueueLength)
+                    .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+// 요청 처리에 필요 없는 빈(기본: springdoc)을 시작 시 만들지 않고 처음 쓰일 때 만든다 (sns.startup.lazy-packages).
+// @Bean 메서드로 등록된 빈은 선언한 설정 클래스의 패키지로 판단한다.
+// AOT 빌드에서는 빌드할 때 한 번 실행되어 lazy 설정이 생성된 빈 정의에 들어간다.
+@Configuration
+public class LazyInitializationConfig {
+    private static final Logger logger = LoggerFactory.getLogger(LazyInitializationConfig.class);
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeanMarker(Environment environment) {
+        return beanFactory -> {
+            String[] packages = environment.getProperty("sns.startup.lazy-packages", String[].class, new String[0]);
+            if (packages.length == 0) {
+                return;
+            }
+            int marked = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = declaringClassName(definition);
+                if (className != null && !definition.isLazyInit()
+                        && Arrays.stream(packages).anyMatch(prefix -> className.startsWith(prefix + "."))) {
+                    definition.setLazyInit(true);
+                    marked++;
+                }
+            }
+            logger.info("지연 초기화 빈 지정 - 패키지: {}, 빈: {}개", String.join(",", packages), marked);
+        };
+    }
+
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -2,20 +2,55 @@ package com.example.demo.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import org.springdoc.core.customizers.OpenApiCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class OpenAPIConfig {
-    
+    private static final List<String> BINARY_MEDIA_TYPES = List.of("application/cbor", "application/x-jackson-smile");
+
     @Bean
     public OpenAPI openAPI() {
         Info info = new Info()
                 .title("Demo API")
                 .version("v1.0")
-                .description("데모 API 문서");
-        
+                .description("데모 API 문서. 요청/응답은 JSON 외에 Accept / Content-Type 으로 CBOR(application/cbor), "
+                        + "Smile(application/x-jackson-smile) 을 쓸 수 있으며, 바이너리 형식에서 날짜/시간(date-time)은 epoch millis 숫자입니다.");
+
         return new OpenAPI()
                 .info(info);
     }
-}
\ No newline at end of file
+
+    // BinaryFormatConfig 의 변환기로 주고받을 수 있는 형식을 각 요청 본문/응답에 같은 스키마로 추가한다
+    @Bean
+    public OpenApiCustomizer binaryMediaTypesCustomizer() {
+        return openApi -> {
+            if (openApi.getPaths() == null) {
+                return;
+            }
+            openApi.getPaths().values().forEach(pathItem -> pathItem.readOperations().forEach(operation -> {
+                if (operation.getRequestBody() != null) {
+                    addBinaryMediaTypes(operation.getRequestBody().getContent());
+                }
+                if (operation.getResponses() != null) {
+                    operation.getResponses().values().forEach(response -> addBinaryMediaTypes(response.getContent()));
+                }
+            }));
+        };
+    }
+
+    private static void addBinaryMediaTypes(Content content) {
+        if (content == null || content.isEmpty()) {
+            return;
+        }
+        MediaType source = content.values().iterator().next();
+        for (String binaryType : BINARY_MEDIA_TYPES) {
+            content.putIfAbsent(binaryType, new MediaType().schema(source.getSchema()));
+        }
+    }
+}
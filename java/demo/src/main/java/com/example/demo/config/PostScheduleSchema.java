@@ -0,0 +1,48 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// 예약/만료 포스트(Post.publishAt/expiresAt) 이전에 만든 DB 의 posts 테이블에 컬럼을 추가한다.
+// ddl-auto=none 이라 Hibernate 가 컬럼을 추가하지 않으므로 EntityManagerFactory 초기화 전에 실행한다 (PostScheduleSchemaConfig)
+// 기존 포스트는 예약/만료 없는 포스트가 된다. posts 테이블이 아직 없으면(ddl-auto=create) 아무것도 하지 않는다
+@Component
+@Profile("!memory & !sharded")
+public class PostScheduleSchema implements InitializingBean {
+    private static final Logger logger = LoggerFactory.getLogger(PostScheduleSchema.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<SqliteMemoryDatabase> sqliteMemoryDatabase;
+
+    @Override
+    public void afterPropertiesSet() {
+        // sqlite-memory 이면 체크포인트를 복원한 메모리 DB 에 적용한다
+        sqliteMemoryDatabase.getIfAvailable();
+        migrate(new JdbcTemplate(dataSource));
+    }
+
+    public static void migrate(JdbcTemplate jdbc) {
+        List<String> columns = jdbc.query("PRAGMA table_info(posts)", (rs, n) -> rs.getString("name"));
+        if (columns.isEmpty()) {
+            return;
+        }
+        for (String column : List.of("publishAt", "expiresAt")) {
+            if (!columns.contains(column)) {
+                jdbc.execute("ALTER TABLE posts ADD COLUMN " + column + " TIMESTAMP");
+                logger.info("posts 컬럼 추가 완료 - {}", column);
+            }
+        }
+    }
+}
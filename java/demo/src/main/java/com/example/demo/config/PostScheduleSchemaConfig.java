@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// posts 컬럼 추가가 끝난 뒤에 EntityManagerFactory 를 초기화한다
+@Configuration
+@Profile("!memory & !sharded")
+public class PostScheduleSchemaConfig extends EntityManagerFactoryDependsOnPostProcessor {
+
+    public PostScheduleSchemaConfig() {
+        super(PostScheduleSchema.class);
+    }
+}
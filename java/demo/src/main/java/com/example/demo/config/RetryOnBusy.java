@@ -0,0 +1,12 @@
+package com.example.demo.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// SQLITE_BUSY/SQLITE_LOCKED 로 실패한 서비스 메서드를 트랜잭션 단위로 다시 실행한다 (SqliteBusyRetryAspect)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnBusy {
+}
@@ -0,0 +1,46 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// sns.backup.restore-from 에 스냅샷(.db.gz)을 지정하면 DataSource 를 만들기 전에 DB 파일을 그 스냅샷으로 교체한다.
+// sqlite-memory 프로필이면 메모리 DB 가 시작 시 읽어 들이는 체크포인트 파일(sns.sqlite-memory.file)을 교체한다.
+// 다음 재시작 때 다시 복원하지 않도록 복원 후에는 설정을 지워야 한다. 교체된 파일은 <db>.before-restore 로 남는다.
+@Configuration
+public class SnapshotRestoreConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRestoreConfig.class);
+
+    // 어떤 빈도 만들어지기 전에(커넥션 풀 포함) 실행되도록 BeanFactoryPostProcessor 로 등록한다
+    @Bean
+    public static BeanFactoryPostProcessor snapshotRestorer(Environment environment) {
+        return beanFactory -> {
+            String restoreFrom = environment.getProperty("sns.backup.restore-from", "");
+            if (restoreFrom.isBlank()) {
+                return;
+            }
+            Path snapshot = Path.of(restoreFrom);
+            Path target = environment.getProperty("sns.sqlite-memory.enabled", Boolean.class, false)
+                ? Path.of(environment.getRequiredProperty("sns.sqlite-memory.file"))
+                : SqliteSnapshots.databaseFile(environment.getRequiredProperty("spring.datasource.url"));
+            if (target == null) {
+                throw new IllegalStateException("메모리 DB 에는 스냅샷을 복원할 수 없습니다: " + environment.getProperty("spring.datasource.url"));
+            }
+            long started = System.nanoTime();
+            try {
+                SqliteSnapshots.restore(snapshot, target);
+            } catch (Exception e) {
+                logger.error("스냅샷 복원 실패 - 스냅샷: {}, 대상: {}, 오류: {}", snapshot, target, e.getMessage(), e);
+                throw new IllegalStateException("스냅샷을 복원하지 못해 시작을 중단합니다: " + snapshot, e);
+            }
+            logger.warn("스냅샷 복원 완료 - 스냅샷: {}, 대상: {}, 소요 시간: {}ms. 다음 시작 전에 sns.backup.restore-from 을 지우세요",
+                snapshot, target, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.config;
+
+import com.example.demo.exceptions.DatabaseBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// @Transactional 보다 바깥에서 동작해 잠금 충돌로 롤백된 트랜잭션 전체를 지터를 섞은 지수 백오프로 재시도한다.
+// 이미 트랜잭션 안에서 호출된 경우(LikeService -> PostService 등)는 바깥 메서드가 재시도하므로 그대로 실행한다.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqliteBusyRetryAspect {
+    private static final Logger logger = LoggerFactory.getLogger(SqliteBusyRetryAspect.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.busy-retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${sns.busy-retry.initial-backoff-ms:10}")
+    private long initialBackoffMs;
+
+    @Value("${sns.busy-retry.max-backoff-ms:400}")
+    private long maxBackoffMs;
+
+    @Around("@within(com.example.demo.config.RetryOnBusy) || @annotation(com.example.demo.config.RetryOnBusy)")
+    public Object retryOnBusy(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (!isLockConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("sns.sqlite.busy.giveups", "method", method).increment();
+                    logger.error("데이터베이스 잠금 재시도 포기 - 메서드: {}, 시도 횟수: {}", method, attempt);
+                    throw new DatabaseBusyException("데이터베이스가 혼잡합니다. 잠시 후 다시 시도해 주세요.", e);
+                }
+                // full jitter: 0 ~ min(max, initial * 2^(attempt-1)) 사이에서 무작위로 대기
+                long ceiling = Math.min(maxBackoffMs, initialBackoffMs << (attempt - 1));
+                long backoffMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+                meterRegistry.counter("sns.sqlite.busy.retries", "method", method).increment();
+                logger.warn("데이터베이스 잠금 충돌 - 메서드: {}, 시도: {}/{}, {}ms 후 재시도", method, attempt, maxAttempts, backoffMs);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    // 종료 중인 스레드가 알 수 있도록 인터럽트 상태를 되살리고 더 기다리지 않는다
+                    Thread.currentThread().interrupt();
+                    logger.warn("데이터베이스 잠금 재시도 중단 - 메서드: {}, 시도 횟수: {}", method, attempt);
+                    throw new DatabaseBusyException("데이터베이스가 혼잡합니다. 잠시 후 다시 시도해 주세요.", e);
+                }
+            }
+        }
+    }
+
+    static boolean isLockConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLiteException sqliteException) {
+                SQLiteErrorCode code = sqliteException.getResultCode();
+                // 확장 코드(SQLITE_BUSY_SNAPSHOT 등)도 하위 8비트가 기본 코드와 같다
+                int primary = code.code & 0xff;
+                if (primary == SQLiteErrorCode.SQLITE_BUSY.code || primary == SQLiteErrorCode.SQLITE_LOCKED.code) {
+                    return true;
+                }
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains("database is locked")) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
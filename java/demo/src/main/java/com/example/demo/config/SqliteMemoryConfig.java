@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+
+// 메모리 DB 복원이 끝난 뒤에 Hibernate 가 스키마 검증/생성을 하도록 EntityManagerFactory 초기화 순서를 정한다
+@Configuration
+@ConditionalOnProperty(name = "sns.sqlite-memory.enabled", havingValue = "true")
+public class SqliteMemoryConfig extends EntityManagerFactoryDependsOnPostProcessor {
+
+    public SqliteMemoryConfig() {
+        super(SqliteMemoryDatabase.class);
+    }
+}
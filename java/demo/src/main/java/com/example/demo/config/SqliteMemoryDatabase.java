@@ -0,0 +1,141 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.core.DB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// sqlite-memory 프로필: 공유 캐시 인메모리 SQLite 를 주 DB 로 쓰고 디스크의 sns.db 는 체크포인트로만 사용한다.
+// - 시작 시 sns.db 를 온라인 백업 API 로 메모리 DB 에 복원 (JPA 초기화 전에 실행되도록 SqliteMemoryConfig 참고)
+// - checkpoint-interval 마다, 그리고 종료 시 메모리 DB 를 임시 파일로 백업한 뒤 원자적으로 교체
+// 프로세스가 비정상 종료되면 마지막 체크포인트 이후(최대 checkpoint-interval + 백업 시간)의 변경이 유실된다.
+@Component
+@ConditionalOnProperty(name = "sns.sqlite-memory.enabled", havingValue = "true")
+public class SqliteMemoryDatabase {
+    private static final Logger logger = LoggerFactory.getLogger(SqliteMemoryDatabase.class);
+
+    // 한 단계에 복사할 페이지 수. 단계 사이에는 요청 트랜잭션이 공유 캐시 잠금을 얻을 수 있다
+    private static final int PAGES_PER_STEP = 256;
+    private static final int BUSY_SLEEP_MS = 10;
+    private static final int BUSY_RETRIES = 500;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${sns.sqlite-memory.file}")
+    private Path file;
+
+    @Value("${sns.sqlite-memory.checkpoint-interval:PT5S}")
+    private Duration checkpointInterval;
+
+    // 풀의 커넥션이 모두 닫혀도 메모리 DB 가 사라지지 않도록 전용 커넥션을 끝까지 열어 둔다
+    private Connection anchor;
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    private volatile long lastCheckpointMillis;
+    private Timer checkpointTimer;
+
+    @PostConstruct
+    void load() throws SQLException {
+        if (!url.contains("mode=memory") && !url.contains(":memory:")) {
+            throw new IllegalStateException("sns.sqlite-memory.enabled 는 인메모리 datasource URL 과 함께 사용해야 합니다: " + url);
+        }
+        anchor = DriverManager.getConnection(url);
+        if (Files.exists(file)) {
+            long started = System.nanoTime();
+            int rc = database().restore("main", file.toString(), null, BUSY_SLEEP_MS, BUSY_RETRIES, PAGES_PER_STEP);
+            if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+                throw new SQLException("sns.db 를 메모리 DB 로 불러오지 못했습니다. 파일: " + file + ", 코드: " + rc);
+            }
+            logger.info("메모리 DB 로드 완료 - 파일: {}, 소요 시간: {}ms", file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } else {
+            logger.warn("체크포인트 파일이 없어 빈 메모리 DB 로 시작합니다 - 파일: {}", file);
+        }
+        lastCheckpointMillis = System.currentTimeMillis();
+
+        checkpointTimer = meterRegistry.timer("sns.sqlite.checkpoint");
+        // 비정상 종료 시 유실될 수 있는 변경의 최대 나이(초)
+        Gauge.builder("sns.sqlite.checkpoint.age", this,
+                db -> (System.currentTimeMillis() - db.lastCheckpointMillis) / 1000.0)
+            .register(meterRegistry);
+        logger.info("인메모리 SQLite 모드 - 체크포인트 파일: {}, 주기: {}", file, checkpointInterval);
+    }
+
+    @Scheduled(initialDelayString = "${sns.sqlite-memory.checkpoint-interval:PT5S}",
+               fixedDelayString = "${sns.sqlite-memory.checkpoint-interval:PT5S}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            logger.error("메모리 DB 체크포인트 실패 - 파일: {}, 오류: {}", file, e.getMessage(), e);
+        }
+    }
+
+    // 임시 파일로 백업을 끝낸 뒤 교체하므로 백업 도중 종료되어도 이전 체크포인트는 온전하다
+    public void checkpoint() throws Exception {
+        checkpointLock.lock();
+        try {
+            long startedMillis = System.currentTimeMillis();
+            long started = System.nanoTime();
+            Path temp = file.resolveSibling(file.getFileName() + ".checkpoint");
+            Files.deleteIfExists(temp);
+            int rc = database().backup("main", temp.toString(), null, BUSY_SLEEP_MS, BUSY_RETRIES, PAGES_PER_STEP);
+            if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+                throw new SQLException("메모리 DB 백업 실패 - 코드: " + rc);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // 백업 시작 시점까지의 변경만 파일에 들어 있다
+            lastCheckpointMillis = startedMillis;
+            checkpointTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            logger.debug("메모리 DB 체크포인트 완료 - 파일: {}, 소요 시간: {}ms", file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    // 전용 커넥션으로 백업하므로 커넥션 풀이 먼저 닫혀도 마지막 체크포인트를 남길 수 있다
+    @PreDestroy
+    void shutdown() throws SQLException {
+        try {
+            checkpoint();
+            logger.info("종료 전 메모리 DB 체크포인트 완료 - 파일: {}", file);
+        } catch (Exception e) {
+            logger.error("종료 전 메모리 DB 체크포인트 실패 - 파일: {}, 오류: {}", file, e.getMessage(), e);
+        } finally {
+            anchor.close();
+        }
+    }
+
+    public long getLastCheckpointMillis() {
+        return lastCheckpointMillis;
+    }
+
+    private DB database() throws SQLException {
+        return anchor.unwrap(SQLiteConnection.class).getDatabase();
+    }
+}
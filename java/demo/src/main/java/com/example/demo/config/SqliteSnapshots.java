@@ -0,0 +1,113 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 스냅샷 파일 형식: SQLite DB 파일을 gzip 으로 압축한 <name>.db.gz 와, 그 압축 파일의 SHA-256 을
+// sha256sum 형식("<hex>  <name>.db.gz")으로 적은 <name>.db.gz.sha256. 운영 중에도 `sha256sum -c` 로 확인할 수 있다.
+// 복원은 체크섬 → gzip CRC → PRAGMA integrity_check 순서로 확인한 뒤에만 DB 파일을 교체한다.
+public final class SqliteSnapshots {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private SqliteSnapshots() {
+    }
+
+    // jdbc:sqlite:<path>[?...] 의 파일 경로. 메모리 DB 면 null
+    public static Path databaseFile(String url) {
+        String location = url.substring("jdbc:sqlite:".length());
+        if (location.contains("mode=memory") || location.startsWith(":memory:") || location.isEmpty()) {
+            return null;
+        }
+        int query = location.indexOf('?');
+        if (query >= 0) {
+            location = location.substring(0, query);
+        }
+        if (location.startsWith("file:")) {
+            location = location.substring("file:".length());
+        }
+        return Path.of(location);
+    }
+
+    public static Path checksumFile(Path snapshot) {
+        return snapshot.resolveSibling(snapshot.getFileName() + ".sha256");
+    }
+
+    // database 를 압축해 snapshot 으로 쓰고 체크섬 파일을 남긴다. 압축 파일의 SHA-256 을 돌려준다
+    public static String compress(Path database, Path snapshot) throws IOException {
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        MessageDigest digest = sha256();
+        try (InputStream in = Files.newInputStream(database);
+             OutputStream out = new GZIPOutputStream(new DigestOutputStream(Files.newOutputStream(temp), digest), BUFFER_SIZE)) {
+            in.transferTo(out);
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        Files.writeString(checksumFile(snapshot), sha256 + "  " + snapshot.getFileName() + "\n", StandardCharsets.US_ASCII);
+        Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return sha256;
+    }
+
+    // snapshot 을 확인하고 target 을 교체한다. 기존 파일은 <target>.before-restore 로 남긴다
+    public static void restore(Path snapshot, Path target) throws IOException, SQLException {
+        String expected = Files.readString(checksumFile(snapshot), StandardCharsets.US_ASCII).trim().split("\\s+")[0];
+        Path temp = target.resolveSibling(target.getFileName() + ".restoring");
+        MessageDigest digest = sha256();
+        try (InputStream in = new GZIPInputStream(new DigestInputStream(Files.newInputStream(snapshot), digest), BUFFER_SIZE);
+             OutputStream out = Files.newOutputStream(temp)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw new IOException("스냅샷 압축을 풀 수 없습니다: " + snapshot, e);
+        }
+        String actual = HexFormat.of().formatHex(digest.digest());
+        if (!actual.equalsIgnoreCase(expected)) {
+            Files.deleteIfExists(temp);
+            throw new IOException("스냅샷 체크섬이 다릅니다: " + snapshot + " (기대: " + expected + ", 실제: " + actual + ")");
+        }
+        String integrity = integrityCheck(temp);
+        if (!"ok".equals(integrity)) {
+            Files.deleteIfExists(temp);
+            throw new SQLException("스냅샷 무결성 검사 실패: " + snapshot + " - " + integrity);
+        }
+
+        if (Files.exists(target)) {
+            Files.move(target, target.resolveSibling(target.getFileName() + ".before-restore"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        // 이전 DB 의 WAL 이 복원한 파일에 적용되지 않도록 지운다
+        Files.deleteIfExists(target.resolveSibling(target.getFileName() + "-wal"));
+        Files.deleteIfExists(target.resolveSibling(target.getFileName() + "-shm"));
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static String integrityCheck(Path database) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("PRAGMA integrity_check")) {
+            return result.next() ? result.getString(1) : "결과 없음";
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
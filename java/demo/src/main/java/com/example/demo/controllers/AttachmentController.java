@@ -0,0 +1,204 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.AttachmentDto;
+import com.example.demo.exceptions.AttachmentTooLargeException;
+import com.example.demo.exceptions.ErrorResponse;
+import com.example.demo.models.Attachment;
+import com.example.demo.services.AttachmentService;
+import com.example.demo.services.AttachmentStorage;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// 포스트 첨부파일 업로드/목록/삭제와 내려받기.
+// - 업로드: 요청 본문 자체가 파일이다 (Content-Type 이 파일 형식). multipart 처럼 임시 파일/메모리를 한 번 더 거치지 않는다
+// - 내려받기: ETag(sha256) 와 If-None-Match, 단일 구간 Range(206/416)를 지원한다.
+//   Tomcat 이 sendfile 을 지원하면 파일 경로만 넘겨 커널이 복사하게 하고(NIO 커넥터는 FileChannel.transferTo 사용),
+//   아니면 FileChannel.transferTo 로 응답 스트림에 보낸다. 어느 쪽도 파일 내용을 힙에 올리지 않는다
+@RestController
+@RequestMapping("/api")
+@CrossOrigin
+@Profile("!memory & !sharded")
+public class AttachmentController {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentController.class);
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    // 본문을 그대로 저장한다. 예) curl --data-binary @photo.jpg -H 'Content-Type: image/jpeg' .../attachments?fileName=photo.jpg
+    @PostMapping("/posts/{postId}/attachments")
+    public ResponseEntity<Object> upload(
+        @PathVariable Integer postId,
+        @RequestParam(name = "fileName", required = false) String fileName,
+        HttpServletRequest request) throws IOException {
+        try {
+            AttachmentDto attachment = attachmentService.upload(postId, request.getContentType(), fileName,
+                request.getContentLengthLong(), request.getInputStream());
+            return new ResponseEntity<>(attachment, HttpStatus.CREATED);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("포스트를 찾을 수 없습니다", e.getMessage()));
+        } catch (AttachmentTooLargeException e) {
+            // 응답은 GlobalExceptionHandler 에서 413 으로 처리
+            throw e;
+        } catch (Exception e) {
+            logger.error("첨부파일 업로드 중 오류 발생 - 포스트ID: {}, 오류: {}", postId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/posts/{postId}/attachments")
+    public ResponseEntity<List<AttachmentDto>> getAttachments(@PathVariable Integer postId) {
+        return ResponseEntity.ok(attachmentService.getAttachments(postId));
+    }
+
+    @DeleteMapping("/posts/{postId}/attachments/{id}")
+    public ResponseEntity<Object> deleteAttachment(@PathVariable Integer postId, @PathVariable Integer id) {
+        try {
+            attachmentService.deleteAttachment(postId, id);
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("첨부파일을 찾을 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("첨부파일 삭제 중 오류 발생 - 포스트ID: {}, id: {}, 오류: {}", postId, id, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/attachments/{id}")
+    public void download(@PathVariable Integer id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Attachment attachment;
+        try {
+            attachment = attachmentService.getAttachment(id);
+        } catch (EntityNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        }
+
+        long size = attachment.getSize();
+        String etag = "\"" + attachment.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 같은 id 의 내용은 바뀌지 않는다
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+        }
+
+        response.setContentType(attachment.getContentType());
+        if (attachment.getFileName() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString());
+        }
+        long length = end - start;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        Path file = attachmentStorage.path(attachment.getSha256());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && length >= SENDFILE_MIN_SIZE) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    // "bytes=a-b", "bytes=a-", "bytes=-n" 중 하나. 만족할 수 없으면 null, 여러 구간이거나 형식이 다르면 빈 배열(전체 응답)
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return null;
+                }
+                return new long[] {Math.max(0, size - suffix), size};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size : Math.min(size, Long.parseLong(last) + 1);
+            if (start >= size || end <= start) {
+                return start >= size ? null : new long[0];
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
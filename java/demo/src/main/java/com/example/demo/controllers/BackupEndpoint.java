@@ -0,0 +1,35 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.BackupStatusDto;
+import com.example.demo.services.DatabaseBackupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// GET /actuator/backup: 진행 상황과 마지막 스냅샷 조회, POST: 온라인 백업 시작
+@Component
+@Profile("!memory & !sharded")
+@Endpoint(id = "backup")
+public class BackupEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(BackupEndpoint.class);
+
+    @Autowired
+    private DatabaseBackupService backupService;
+
+    @ReadOperation
+    public BackupStatusDto status() {
+        return backupService.getStatus();
+    }
+
+    @WriteOperation
+    public BackupStatusDto trigger() {
+        boolean started = backupService.backupAsync();
+        logger.info("온라인 백업 수동 실행 요청 - 시작 여부: {}", started);
+        return backupService.getStatus();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.ChangesPageDto;
+import com.example.demo.exceptions.ChangeLogExpiredException;
+import com.example.demo.services.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// 증분 동기화: 마지막으로 받은 nextSince 를 since 로 보내면 그 뒤의 변경만 엔티티별로 압축해 돌려준다.
+// 처음 동기화하거나 410 을 받으면 목록 API 로 전체를 받은 뒤 since=0 (또는 응답에 안내된 값)부터 요청한다
+@RestController
+@Profile("!memory & !sharded")
+@RequestMapping("/api/changes")
+@CrossOrigin
+public class ChangeController {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeController.class);
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @GetMapping
+    public ResponseEntity<Object> getChanges(
+        @RequestParam(name = "since", defaultValue = "0") long since,
+        @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        try {
+            ChangesPageDto page = changeLogService.getChanges(since, Math.max(1, Math.min(limit, MAX_LIMIT)));
+            return ResponseEntity.ok(page);
+        } catch (ChangeLogExpiredException e) {
+            // 응답은 GlobalExceptionHandler 에서 410 으로 처리
+            throw e;
+        } catch (Exception e) {
+            logger.error("변경 조회 중 오류 발생 - since: {}, 오류: {}", since, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.controllers;
 import com.example.demo.models.Comment;
 import com.example.demo.services.CommentService;
 import com.example.demo.dtos.CommentDto;
+import com.example.demo.dtos.CommentThreadPageDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +19,12 @@ import java.util.List;
 @CrossOrigin
 public class CommentController {
     private static final Logger logger = LoggerFactory.getLogger(CommentController.class);
+    private static final int MAX_PAGE_SIZE = 100;
     
     @Autowired
     private CommentService commentService;
 
+    // 스레드 렌더링 순서 (부모 다음에 하위 댓글, 형제는 작성 순)
     @GetMapping
     public ResponseEntity<List<Comment>> getComments(@PathVariable Integer postId) {
         return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
@@ -32,6 +35,7 @@ public class CommentController {
         Comment comment = new Comment();
         comment.setUserName(commentDto.getUserName());
         comment.setContent(commentDto.getContent());
+        comment.setParentId(commentDto.getParentId());
         return new ResponseEntity<>(commentService.createComment(postId, comment), HttpStatus.CREATED);
     }
 
@@ -40,6 +44,24 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getComment(postId, commentId));
     }
 
+    // 댓글의 하위 스레드를 렌더링 순서로. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<Object> getReplies(
+            @PathVariable Integer postId,
+            @PathVariable Integer commentId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            CommentThreadPageDto page = commentService.getReplies(postId, commentId, cursor,
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("답글을 조회할 수 없습니다", e.getMessage()));
+        }
+    }
+
     @PatchMapping("/{commentId}")
     public ResponseEntity<Comment> updateComment(
             @PathVariable Integer postId,
@@ -64,9 +86,7 @@ public class CommentController {
         } catch (Exception e) {
             logger.error("댓글 삭제 처리 중 오류 발생 - 포스트ID: {}, 댓글ID: {}, 오류: {}", 
                 postId, commentId, e.getMessage(), e);
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("댓글 삭제 중 오류가 발생했습니다", e.getMessage()));
+            throw e;
         }
     }
     
@@ -0,0 +1,35 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.ReconciliationStatusDto;
+import com.example.demo.services.CounterReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// GET /actuator/counterreconciliation: 진행 상황 조회, POST: 즉시 보정 시작
+@Component
+@Profile("!memory & !sharded")
+@Endpoint(id = "counterreconciliation")
+public class CounterReconciliationEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciliationEndpoint.class);
+
+    @Autowired
+    private CounterReconciliationService reconciliationService;
+
+    @ReadOperation
+    public ReconciliationStatusDto status() {
+        return reconciliationService.getStatus();
+    }
+
+    @WriteOperation
+    public ReconciliationStatusDto trigger() {
+        boolean started = reconciliationService.reconcileAsync();
+        logger.info("카운터 보정 수동 실행 요청 - 시작 여부: {}", started);
+        return reconciliationService.getStatus();
+    }
+}
@@ -28,9 +28,7 @@ public class LikeController {
         } catch (Exception e) {
             logger.error("좋아요 처리 중 오류 발생 - 포스트ID: {}, 사용자: {}, 오류: {}", 
                 postId, likeDto.getUserName(), e.getMessage(), e);
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("좋아요 처리 중 오류가 발생했습니다", e.getMessage()));
+            throw e;
         }
     }
 
@@ -46,28 +44,7 @@ public class LikeController {
         } catch (Exception e) {
             logger.error("좋아요 취소 처리 중 오류 발생 - 포스트ID: {}, 사용자: {}, 오류: {}", 
                 postId, userName, e.getMessage(), e);
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("좋아요 취소 처리 중 오류가 발생했습니다", e.getMessage()));
-        }
-    }
-    
-    // 에러 응답을 위한 내부 클래스
-    private static class ErrorResponse {
-        private String message;
-        private String detail;
-        
-        public ErrorResponse(String message, String detail) {
-            this.message = message;
-            this.detail = detail;
-        }
-        
-        public String getMessage() {
-            return message;
-        }
-        
-        public String getDetail() {
-            return detail;
+            throw e;
         }
     }
 }
\ No newline at end of file
@@ -28,11 +28,19 @@ public class PostController {
     }
 
     @PostMapping
-    public ResponseEntity<Post> createPost(@RequestBody PostDto postDto) {
+    public ResponseEntity<Object> createPost(@RequestBody PostDto postDto) {
         Post post = new Post();
         post.setUserName(postDto.getUserName());
         post.setContent(postDto.getContent());
-        return new ResponseEntity<>(postService.createPost(post), HttpStatus.CREATED);
+        post.setPublishAt(postDto.getPublishAt());
+        post.setExpiresAt(postDto.getExpiresAt());
+        try {
+            return new ResponseEntity<>(postService.createPost(post), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("포스트를 생성할 수 없습니다", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -49,9 +57,7 @@ public class PostController {
                 .body(new ErrorResponse("포스트를 찾을 수 없습니다", e.getMessage()));
         } catch (Exception e) {
             logger.error("포스트 조회 중 오류 발생 - ID: {}, 오류: {}", id, e.getMessage(), e);
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("포스트 조회 중 오류가 발생했습니다", e.getMessage()));
+            throw e;
         }
     }
 
@@ -69,9 +75,7 @@ public class PostController {
                 .body(new ErrorResponse("포스트를 찾을 수 없습니다", e.getMessage()));
         } catch (Exception e) {
             logger.error("포스트 수정 중 오류 발생 - ID: {}, 오류: {}", id, e.getMessage(), e);
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("포스트 수정 중 오류가 발생했습니다", e.getMessage()));
+            throw e;
         }
     }
 
@@ -89,9 +93,7 @@ public class PostController {
                 .body(new ErrorResponse("포스트를 찾을 수 없습니다", e.getMessage()));
         } catch (Exception e) {
             logger.error("포스트 삭제 중 오류 발생 - ID: {}, 오류: {}", id, e.getMessage(), e);
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("포스트 삭제 중 오류가 발생했습니다", e.getMessage()));
+            throw e;
         }
     }
     
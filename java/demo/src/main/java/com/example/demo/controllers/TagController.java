@@ -0,0 +1,52 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.TagCountDto;
+import com.example.demo.dtos.TagPostPageDto;
+import com.example.demo.exceptions.ErrorResponse;
+import com.example.demo.services.TagService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+@RestController
+@Profile("!memory & !sharded")
+@RequestMapping("/api/tags")
+@CrossOrigin
+public class TagController {
+    private static final Logger logger = LoggerFactory.getLogger(TagController.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private TagService tagService;
+
+    // 포스트가 많이 달린 태그 순
+    @GetMapping
+    public ResponseEntity<List<TagCountDto>> getTopTags(@RequestParam(name = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(tagService.getTopTags(Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+    }
+
+    // 태그가 본문이나 댓글에 달린 포스트 최신순. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+    @GetMapping("/{tag}/posts")
+    public ResponseEntity<Object> getPosts(
+        @PathVariable String tag,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            TagPostPageDto page = tagService.getPostsByTag(tag, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("태그 포스트를 조회할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("태그 포스트 조회 중 오류 발생 - tag: {}, 오류: {}", tag, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
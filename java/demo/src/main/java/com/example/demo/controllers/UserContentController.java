@@ -0,0 +1,65 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.UserCommentPageDto;
+import com.example.demo.dtos.UserPostPageDto;
+import com.example.demo.exceptions.ErrorResponse;
+import com.example.demo.services.CommentService;
+import com.example.demo.services.PostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// 작성자별 포스트/댓글 목록. 팔로우/타임라인(UserController)과 달리 모든 저장 엔진에서 동작한다
+@RestController
+@RequestMapping("/api/users/{userName}")
+@CrossOrigin
+public class UserContentController {
+    private static final Logger logger = LoggerFactory.getLogger(UserContentController.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    // 최신순. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+    @GetMapping("/posts")
+    public ResponseEntity<Object> getPosts(
+        @PathVariable String userName,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            UserPostPageDto page = postService.getPostsByUser(userName, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("포스트 목록을 조회할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("작성자별 포스트 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/comments")
+    public ResponseEntity<Object> getComments(
+        @PathVariable String userName,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            UserCommentPageDto page = commentService.getCommentsByUser(userName, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("댓글 목록을 조회할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("작성자별 댓글 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.FollowDto;
+import com.example.demo.dtos.MentionPageDto;
+import com.example.demo.dtos.NotificationPageDto;
+import com.example.demo.dtos.TimelinePageDto;
+import com.example.demo.exceptions.ErrorResponse;
+import com.example.demo.services.FollowService;
+import com.example.demo.services.NotificationService;
+import com.example.demo.services.TagService;
+import com.example.demo.services.TimelineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@Profile("!memory & !sharded")
+@RequestMapping("/api/users/{userName}")
+@CrossOrigin
+public class UserController {
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    // 본문의 userName 사용자가 경로의 userName 사용자를 팔로우한다
+    @PostMapping("/followers")
+    public ResponseEntity<Object> follow(@PathVariable String userName, @RequestBody FollowDto followDto) {
+        try {
+            logger.info("팔로우 처리 시작 - 대상: {}, 팔로워: {}", userName, followDto.getUserName());
+            followService.follow(followDto.getUserName(), userName);
+            logger.info("팔로우 처리 완료 - 대상: {}, 팔로워: {}", userName, followDto.getUserName());
+            return new ResponseEntity<>(HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("팔로우할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("팔로우 처리 중 오류 발생 - 대상: {}, 팔로워: {}, 오류: {}",
+                userName, followDto.getUserName(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @DeleteMapping("/followers")
+    public ResponseEntity<Object> unfollow(
+        @PathVariable String userName,
+        @RequestParam(name = "userName") String followerName) {
+        try {
+            logger.info("언팔로우 처리 시작 - 대상: {}, 팔로워: {}", userName, followerName);
+            followService.unfollow(followerName, userName);
+            logger.info("언팔로우 처리 완료 - 대상: {}, 팔로워: {}", userName, followerName);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            logger.error("언팔로우 처리 중 오류 발생 - 대상: {}, 팔로워: {}, 오류: {}",
+                userName, followerName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 팔로우한 사용자들의 포스트를 최신순으로. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+    @GetMapping("/timeline")
+    public ResponseEntity<Object> getHomeTimeline(
+        @PathVariable String userName,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            TimelinePageDto page = timelineService.getHomeTimeline(userName, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("타임라인을 조회할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("홈 타임라인 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 이 사용자를 @멘션한 포스트/댓글 최신순. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+    @GetMapping("/mentions")
+    public ResponseEntity<Object> getMentions(
+        @PathVariable String userName,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            MentionPageDto page = tagService.getMentions(userName, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("멘션을 조회할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("멘션 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 내 포스트에 달린 좋아요/댓글 알림 (포스트/종류별로 합쳐짐) 과 안 읽은 수. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달
+    @GetMapping("/notifications")
+    public ResponseEntity<Object> getNotifications(
+        @PathVariable String userName,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            NotificationPageDto page = notificationService.getNotifications(userName, cursor,
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("알림을 조회할 수 없습니다", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("알림 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @PostMapping("/notifications/read")
+    public ResponseEntity<Object> markNotificationsRead(@PathVariable String userName) {
+        notificationService.markAllRead(userName);
+        return ResponseEntity.noContent().build();
+    }
+}
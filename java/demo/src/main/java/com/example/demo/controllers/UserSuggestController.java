@@ -0,0 +1,29 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.UserSuggestionDto;
+import com.example.demo.services.UserSuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Profile("!memory & !sharded")
+@RequestMapping("/api/users")
+@CrossOrigin
+public class UserSuggestController {
+    private static final int MAX_SUGGESTIONS = 20;
+
+    @Autowired
+    private UserSuggestService userSuggestService;
+
+    // @멘션 자동완성: prefix 로 시작하는 userName 을 활동이 많은 순으로 (앞의 @ 는 무시)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestionDto>> suggest(
+        @RequestParam(name = "prefix", defaultValue = "") String prefix,
+        @RequestParam(name = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(userSuggestService.suggest(prefix, Math.max(1, Math.min(size, MAX_SUGGESTIONS))));
+    }
+}
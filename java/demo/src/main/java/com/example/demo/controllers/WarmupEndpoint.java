@@ -0,0 +1,21 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.WarmupReportDto;
+import com.example.demo.services.WarmupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/warmup: 시작 시 워밍업 진행 상황과 워밍업 전/후 지연 시간
+@Component
+@Endpoint(id = "warmup")
+public class WarmupEndpoint {
+    @Autowired
+    private WarmupService warmupService;
+
+    @ReadOperation
+    public WarmupReportDto report() {
+        return warmupService.getReport();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class AttachmentDto {
+    private Integer id;
+    private Integer postId;
+    private String sha256;
+    private String contentType;
+    private String fileName;
+    private Long size;
+    private LocalDateTime createdAt;
+    // 내려받기 경로 (GET, Range / If-None-Match 지원)
+    private String url;
+    // 같은 내용의 파일이 이미 있어 새로 저장하지 않았으면 true (업로드 응답에서만 의미가 있다)
+    private boolean deduplicated;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class BackupStatusDto {
+    private boolean running;
+    // 진행 중인 백업의 복사한 페이지 / 전체 페이지
+    private int copiedPages;
+    private int totalPages;
+    private String lastSnapshot;
+    private String lastSha256;
+    private Long lastSizeBytes;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastFinishedAt;
+    private Long lastDurationMs;
+    private String lastError;
+}
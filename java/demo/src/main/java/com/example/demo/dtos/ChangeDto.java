@@ -0,0 +1,15 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+
+@Data
+public class ChangeDto {
+    // 이 엔티티의 마지막 변경 순번
+    private long seq;
+    private String entityType;
+    private String entityId;
+    // UPSERT 또는 DELETE
+    private String operation;
+    // UPSERT 일 때 현재 상태 (PostSummaryDto / CommentSummaryDto). 좋아요와 DELETE 는 null
+    private Object data;
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ChangesPageDto {
+    // 엔티티별로 압축된 변경 (같은 엔티티의 여러 변경은 마지막 것 하나)
+    private List<ChangeDto> changes;
+    // 다음 요청의 since
+    private long nextSince;
+    // true 이면 nextSince 로 바로 다시 요청한다
+    private boolean hasMore;
+}
@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 public class CommentDto {
     private Long id;
     private Long postId;
+    // 답글을 달 댓글 ID. 루트 댓글이면 null
+    private Integer parentId;
     private String userName;
     private String content;
     private LocalDateTime createdAt;
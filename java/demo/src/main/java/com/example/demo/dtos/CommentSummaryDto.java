@@ -0,0 +1,19 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// 목록 조회용 댓글. 포스트 엔티티 대신 postId 만 담는다
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentSummaryDto {
+    private Integer id;
+    private Integer postId;
+    private String userName;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
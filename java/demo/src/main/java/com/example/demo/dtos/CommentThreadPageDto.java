@@ -0,0 +1,13 @@
+package com.example.demo.dtos;
+
+import com.example.demo.models.Comment;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class CommentThreadPageDto {
+    // 렌더링 순서 (부모 다음에 하위 댓글, 형제는 작성 순). 들여쓰기는 depth
+    private List<Comment> comments;
+    // 다음 페이지 요청 시 cursor 로 전달. 마지막 페이지면 null
+    private String nextCursor;
+}
@@ -0,0 +1,9 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+
+@Data
+public class FollowDto {
+    // 팔로우하는 사용자
+    private String userName;
+}
@@ -0,0 +1,43 @@
+package com.example.demo.dtos;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// 최신순 목록의 keyset 페이지 위치: (createdAt, id) 가 이 값보다 작은 행부터 읽는다.
+// 문자열 형식은 "<createdAt epoch millis>:<id>" 이며, millis 는 SQLite 에 저장되는 값과 같이 Timestamp 로 변환한다.
+public record KeysetCursor(LocalDateTime createdAt, int id) {
+
+    public static KeysetCursor of(LocalDateTime createdAt, int id) {
+        return new KeysetCursor(createdAt, id);
+    }
+
+    // 비어 있으면 null (첫 페이지)
+    public static KeysetCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = cursor.split(":");
+        try {
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new KeysetCursor(new Timestamp(Long.parseLong(parts[0])).toLocalDateTime(), Integer.parseInt(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+
+    public long createdAtMillis() {
+        return Timestamp.valueOf(createdAt).getTime();
+    }
+
+    public String encode() {
+        return createdAtMillis() + ":" + id;
+    }
+
+    // 행 (rowCreatedAt, rowId) 가 이 커서 다음 페이지에 속하는지: (rowCreatedAt, rowId) < (createdAt, id)
+    public boolean precedes(LocalDateTime rowCreatedAt, int rowId) {
+        int byTime = rowCreatedAt.compareTo(createdAt);
+        return byTime < 0 || (byTime == 0 && rowId < id);
+    }
+}
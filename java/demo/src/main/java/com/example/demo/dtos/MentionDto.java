@@ -0,0 +1,20 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// 받은 멘션. content 는 멘션이 들어 있는 포스트/댓글의 현재 본문
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MentionDto {
+    private Integer id;
+    private Integer postId;
+    // 포스트 본문의 멘션이면 null
+    private Integer commentId;
+    private String authorName;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class MentionPageDto {
+    private List<MentionDto> mentions;
+    // 다음 페이지 요청 시 cursor 로 전달. 마지막 페이지면 null
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+    private Integer id;
+    // LIKE, COMMENT
+    private String type;
+    private Integer postId;
+    // 이 알림에 합쳐진 좋아요/댓글 수
+    private Integer count;
+    // 가장 최근에 좋아요/댓글을 남긴 사용자
+    private String lastActor;
+    private String message;
+    private boolean unread;
+    private LocalDateTime updatedAt;
+}
@@ -12,6 +12,9 @@ public class PostDto {
     private LocalDateTime updatedAt;
     private Integer likeCount;
     private Integer commentCount;
+    // 예약 게시 / 만료 시각 (선택)
+    private LocalDateTime publishAt;
+    private LocalDateTime expiresAt;
 }
 
 @Data
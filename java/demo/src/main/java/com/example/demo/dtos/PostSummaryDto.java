@@ -0,0 +1,20 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// 목록 조회용 포스트. comments/likes 컬렉션을 읽지 않도록 필요한 컬럼만 담는다
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryDto {
+    private Integer id;
+    private String userName;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Integer likeCount;
+    private Integer commentCount;
+}
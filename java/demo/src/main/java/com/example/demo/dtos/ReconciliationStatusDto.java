@@ -0,0 +1,17 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class ReconciliationStatusDto {
+    private boolean running;
+    private int totalChunks;
+    private int completedChunks;
+    private long scannedPosts;
+    private long likeDrift;
+    private long commentDrift;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastFinishedAt;
+    private Long lastDurationMs;
+}
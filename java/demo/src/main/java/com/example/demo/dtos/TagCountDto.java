@@ -0,0 +1,14 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountDto {
+    private String tag;
+    // 태그가 달린 포스트 수 (댓글에만 달린 경우 포함)
+    private Integer postCount;
+}
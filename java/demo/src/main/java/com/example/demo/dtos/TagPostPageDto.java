@@ -0,0 +1,13 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class TagPostPageDto {
+    private String tag;
+    // 최신순
+    private List<PostSummaryDto> posts;
+    // 다음 페이지 요청 시 cursor 로 전달. 마지막 페이지면 null
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionDto {
+    private String userName;
+    // 쓴 포스트/댓글과 누른 좋아요 수 (자동완성 순위)
+    private Long activity;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dtos;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class WarmupReportDto {
+    // PENDING, RUNNING, DONE, SKIPPED
+    private String state;
+    private String source;
+    private int mixSize;
+    private int skippedWrites;
+    private int rounds;
+    private long requests;
+    private long errors;
+    private Double beforeP50Ms;
+    private Double beforeP99Ms;
+    private Double afterP50Ms;
+    private Double afterP99Ms;
+    private LocalDateTime startedAt;
+    private Long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.example.demo.events;
+
+import com.example.demo.models.ContentTags;
+
+import java.time.LocalDateTime;
+
+// 포스트/댓글 본문을 쓰거나 고칠 때 서비스 트랜잭션 안에서 발행된다. 본문에서 뽑은 태그/멘션의 이전 값과 새 값을 담아
+// 리스너(TagService)가 차이만 반영한다. commentId 가 null 이면 포스트 본문. 삭제는 EntityChangedEvent 로 처리한다
+public record ContentChangedEvent(int postId, Integer commentId, String authorName, LocalDateTime postCreatedAt,
+                                  ContentTags before, ContentTags after) {
+
+    public boolean changed() {
+        return !before.equals(after);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.events;
+
+// 포스트/댓글/좋아요가 바뀔 때 서비스 트랜잭션 안에서 발행된다. 변경 로그(ChangeLogService)가 같은 트랜잭션으로 기록한다
+public record EntityChangedEvent(EntityType entityType, String entityId, Operation operation) {
+
+    public enum EntityType {
+        POST, COMMENT, LIKE
+    }
+
+    public enum Operation {
+        UPSERT, DELETE
+    }
+
+    public static EntityChangedEvent upsert(EntityType entityType, Object entityId) {
+        return new EntityChangedEvent(entityType, String.valueOf(entityId), Operation.UPSERT);
+    }
+
+    public static EntityChangedEvent delete(EntityType entityType, Object entityId) {
+        return new EntityChangedEvent(entityType, String.valueOf(entityId), Operation.DELETE);
+    }
+
+    // 좋아요의 ID 는 "<postId>:<userName>"
+    public static String likeId(Integer postId, String userName) {
+        return postId + ":" + userName;
+    }
+}
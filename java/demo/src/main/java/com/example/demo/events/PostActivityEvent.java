@@ -0,0 +1,9 @@
+package com.example.demo.events;
+
+// 포스트에 좋아요/댓글이 달릴 때 서비스 트랜잭션 안에서 발행된다. 알림(NotificationService)과 사용자 이름 자동완성(UserSuggestService)은 커밋된 것만 받는다
+public record PostActivityEvent(Type type, int postId, String recipient, String actorName) {
+
+    public enum Type {
+        LIKE, COMMENT
+    }
+}
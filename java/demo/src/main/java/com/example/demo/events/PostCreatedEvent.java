@@ -0,0 +1,7 @@
+package com.example.demo.events;
+
+import com.example.demo.models.Post;
+
+// PostService.createPost 의 트랜잭션 안에서 발행된다. 리스너의 쓰기도 같은 트랜잭션으로 커밋/롤백된다
+public record PostCreatedEvent(Post post) {
+}
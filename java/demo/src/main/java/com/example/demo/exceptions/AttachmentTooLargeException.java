@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+
+// 업로드한 첨부파일이 sns.attachments.max-size 를 넘을 때 사용하는 예외
+public class AttachmentTooLargeException extends RuntimeException {
+    public AttachmentTooLargeException(String message) {
+        super(message);
+    }
+}
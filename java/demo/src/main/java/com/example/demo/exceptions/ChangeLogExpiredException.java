@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+
+// 요청한 since 이후의 변경 일부가 보존 기간이 지나 지워졌을 때 사용하는 예외. 클라이언트는 전체를 다시 받아야 한다
+public class ChangeLogExpiredException extends RuntimeException {
+    public ChangeLogExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.exceptions;
+
+// 재시도 후에도 데이터베이스 잠금을 얻지 못했을 때 사용하는 예외
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.demo.exceptions;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+// 에러 응답 본문. detail 은 컨트롤러가 원인 메시지를 함께 줄 때만 나간다
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ErrorResponse {
     private String message;
-}
\ No newline at end of file
+    private String detail;
+
+    public ErrorResponse(String message) {
+        this(message, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.invalidation;
+
+// 엔티티 하나의 캐시 무효화. version 은 커밋 시각(ms)으로, 한 배치 안에서 같은 엔티티는 가장 큰 것만 보낸다
+public record Invalidation(String entityType, String entityId, long version) {
+
+    String key() {
+        return entityType + "/" + entityId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.invalidation;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// 전송 단위. 텍스트 형식:
+//   1행: <nodeId> <sentAt ms>
+//   이후: <entityType>\t<URL 인코딩된 entityId>\t<version>
+public record InvalidationBatch(String nodeId, long sentAt, List<Invalidation> invalidations) {
+
+    public String encode() {
+        StringBuilder text = new StringBuilder(64 + invalidations.size() * 32);
+        text.append(nodeId).append(' ').append(sentAt).append('\n');
+        for (Invalidation invalidation : invalidations) {
+            text.append(invalidation.entityType()).append('\t')
+                .append(URLEncoder.encode(invalidation.entityId(), StandardCharsets.UTF_8)).append('\t')
+                .append(invalidation.version()).append('\n');
+        }
+        return text.toString();
+    }
+
+    public static InvalidationBatch decode(String text) {
+        String[] lines = text.split("\n");
+        String[] header = lines[0].split(" ");
+        if (header.length != 2) {
+            throw new IllegalArgumentException("잘못된 무효화 메시지 헤더: " + lines[0]);
+        }
+        List<Invalidation> invalidations = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split("\t");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("잘못된 무효화 메시지 행: " + lines[i]);
+            }
+            invalidations.add(new Invalidation(fields[0], URLDecoder.decode(fields[1], StandardCharsets.UTF_8),
+                Long.parseLong(fields[2])));
+        }
+        return new InvalidationBatch(header[0], Long.parseLong(header[1]), invalidations);
+    }
+}
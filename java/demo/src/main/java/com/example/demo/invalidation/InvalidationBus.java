@@ -0,0 +1,167 @@
+package com.example.demo.invalidation;
+
+import com.example.demo.events.EntityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 프로세스 안 캐시의 무효화를 같은 DB 를 쓰는 다른 인스턴스에도 전달한다.
+// - 커밋된 변경(EntityChangedEvent, 또는 publish 호출)은 이 인스턴스의 구독자에게 바로 전달하고 전송 대기열에 넣는다
+// - 대기열은 batch-window 동안 모아 엔티티별로 중복을 없앤 뒤 max-batch-size 개씩 전송한다
+// - 받은 배치는 자기 노드가 보낸 것을 제외하고 entityType 별 구독자에게 전달한다
+// 전송(InvalidationTransport)이 없으면(sns.invalidation.transport=none) 이 인스턴스 안에서만 동작한다.
+// 유실된 메시지는 다시 보내지 않으므로 캐시는 크기 제한(LRU)으로 언젠가 밀려나는 것에 기대고, 지연은 sns.invalidation.lag 로 본다.
+@Component
+public class InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    @Autowired
+    private ObjectProvider<InvalidationTransport> transportProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.invalidation.batch-window:PT0.02S}")
+    private Duration batchWindow;
+
+    @Value("${sns.invalidation.max-batch-size:256}")
+    private int maxBatchSize;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, List<Consumer<Invalidation>>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 보낼 무효화 (엔티티별 마지막 하나). pending 잠금 안에서만 접근
+    private final Map<String, Invalidation> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    private InvalidationTransport transport;
+    private Counter sent;
+    private Counter received;
+    private Timer lag;
+
+    @PostConstruct
+    void start() throws Exception {
+        sent = meterRegistry.counter("sns.invalidation.sent");
+        received = meterRegistry.counter("sns.invalidation.received");
+        // 보낸 시각부터 다른 인스턴스의 구독자에게 전달될 때까지 (캐시가 낡아 있을 수 있는 시간)
+        lag = Timer.builder("sns.invalidation.lag").publishPercentiles(0.5, 0.99).register(meterRegistry);
+        transport = transportProvider.getIfAvailable();
+        if (transport != null) {
+            transport.start(this::receive);
+            logger.info("캐시 무효화 버스 시작 - 노드: {}, 전송: {}, 배치 대기: {}", nodeId, transport.name(), batchWindow);
+        } else {
+            logger.info("캐시 무효화 버스 시작 - 노드: {}, 전송 없음 (이 인스턴스 안에서만 무효화)", nodeId);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void subscribe(String entityType, Consumer<Invalidation> subscriber) {
+        subscribers.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    // 롤백된 변경을 알리지 않도록 커밋 후에만 전달한다 (트랜잭션 밖에서 발행된 이벤트는 바로 처리)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        publish(new Invalidation(event.entityType().name(), event.entityId(), System.currentTimeMillis()));
+    }
+
+    // 커밋된 변경에 대해서만 호출한다
+    public void publish(Invalidation invalidation) {
+        dispatch(invalidation);
+        if (transport == null) {
+            return;
+        }
+        synchronized (pending) {
+            Invalidation previous = pending.get(invalidation.key());
+            if (previous == null || previous.version() <= invalidation.version()) {
+                pending.put(invalidation.key(), invalidation);
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flusher.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    void flush() {
+        List<Invalidation> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            flushScheduled = false;
+        }
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            List<Invalidation> chunk = batch.subList(from, Math.min(batch.size(), from + maxBatchSize));
+            try {
+                transport.send(new InvalidationBatch(nodeId, System.currentTimeMillis(), chunk));
+                sent.increment(chunk.size());
+            } catch (Exception e) {
+                logger.error("캐시 무효화 전송 실패 - 전송: {}, 건수: {}, 오류: {}", transport.name(), chunk.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    void receive(InvalidationBatch batch) {
+        if (nodeId.equals(batch.nodeId())) {
+            return;
+        }
+        lag.record(Math.max(0, System.currentTimeMillis() - batch.sentAt()), TimeUnit.MILLISECONDS);
+        received.increment(batch.invalidations().size());
+        batch.invalidations().forEach(this::dispatch);
+    }
+
+    private void dispatch(Invalidation invalidation) {
+        for (Consumer<Invalidation> subscriber : subscribers.getOrDefault(invalidation.entityType(), List.of())) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (Exception e) {
+                logger.error("캐시 무효화 처리 실패 - 대상: {}, 오류: {}", invalidation.key(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (transport != null) {
+            // 종료 직전에 모인 무효화도 보낸다
+            flush();
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.invalidation;
+
+import java.util.function.Consumer;
+
+// 인스턴스 사이에 무효화 배치를 전달하는 방법. sns.invalidation.transport 로 하나를 고른다 (udp, sqlite)
+public interface InvalidationTransport extends AutoCloseable {
+
+    // 다른 인스턴스가 보낸 배치를 receiver 로 넘기기 시작한다. 자기 자신이 보낸 배치가 함께 와도 된다(버스가 거른다)
+    void start(Consumer<InvalidationBatch> receiver) throws Exception;
+
+    void send(InvalidationBatch batch) throws Exception;
+
+    String name();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,122 @@
+package com.example.demo.invalidation;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 공유 SQLite 파일의 invalidations 테이블로 무효화 배치를 주고받는다. 네트워크 설정 없이 같은 호스트에서 동작한다.
+// - 보내기: 배치 하나를 한 행(payload)으로 넣는다
+// - 받기: poll-interval 마다 마지막으로 읽은 seq 이후 행을 읽는다. 시작 시에는 현재 끝부터 읽는다
+// - 정리: retention 보다 오래된 행은 읽는 쪽이 주기적으로 지운다
+// 앱 DB 와 잠금을 다투지 않도록 별도 파일(url)을 쓰고, WAL 로 여러 프로세스가 동시에 읽게 한다.
+@Component
+@ConditionalOnProperty(name = "sns.invalidation.transport", havingValue = "sqlite")
+public class SqliteInvalidationTransport implements InvalidationTransport {
+    private static final Logger logger = LoggerFactory.getLogger(SqliteInvalidationTransport.class);
+    private static final int PRUNE_EVERY_POLLS = 100;
+
+    @Value("${sns.invalidation.sqlite.url:jdbc:sqlite:sns-invalidation.db}")
+    private String url;
+
+    @Value("${sns.invalidation.sqlite.poll-interval:PT0.1S}")
+    private Duration pollInterval;
+
+    @Value("${sns.invalidation.sqlite.retention:PT1M}")
+    private Duration retention;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-sqlite");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastSeq;
+    private long polls;
+    private volatile boolean closed;
+
+    @Override
+    public void start(Consumer<InvalidationBatch> receiver) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("invalidation");
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(1);
+        config.setConnectionInitSql("PRAGMA busy_timeout = 5000");
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("PRAGMA journal_mode = WAL");
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS invalidations (
+                seq INTEGER PRIMARY KEY AUTOINCREMENT,
+                nodeId TEXT NOT NULL,
+                sentAt INTEGER NOT NULL,
+                payload TEXT NOT NULL
+            )
+            """);
+        lastSeq = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM invalidations", Long.class);
+
+        long intervalNanos = pollInterval.toNanos();
+        poller.scheduleWithFixedDelay(() -> poll(receiver), intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        logger.info("SQLite 무효화 전송 시작 - url: {}, 폴링 주기: {}, 시작 seq: {}", url, pollInterval, lastSeq);
+    }
+
+    private void poll(Consumer<InvalidationBatch> receiver) {
+        try {
+            List<Row> rows = jdbcTemplate.query("SELECT seq, payload FROM invalidations WHERE seq > ? ORDER BY seq LIMIT 1000",
+                (rs, n) -> new Row(rs.getLong("seq"), rs.getString("payload")), lastSeq);
+            for (Row row : rows) {
+                lastSeq = row.seq();
+                try {
+                    receiver.accept(InvalidationBatch.decode(row.payload()));
+                } catch (Exception e) {
+                    logger.warn("SQLite 무효화 메시지 처리 실패 - seq: {}, 오류: {}", row.seq(), e.getMessage());
+                }
+            }
+            if (++polls % PRUNE_EVERY_POLLS == 0) {
+                jdbcTemplate.update("DELETE FROM invalidations WHERE sentAt < ?", System.currentTimeMillis() - retention.toMillis());
+            }
+        } catch (Exception e) {
+            if (!closed) {
+                logger.error("SQLite 무효화 폴링 실패 - url: {}, 오류: {}", url, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void send(InvalidationBatch batch) {
+        jdbcTemplate.update("INSERT INTO invalidations (nodeId, sentAt, payload) VALUES (?, ?, ?)",
+            batch.nodeId(), batch.sentAt(), batch.encode());
+    }
+
+    @Override
+    public String name() {
+        return "sqlite";
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        poller.shutdownNow();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    private record Row(long seq, String payload) {
+    }
+}
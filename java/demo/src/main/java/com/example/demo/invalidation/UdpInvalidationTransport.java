@@ -0,0 +1,124 @@
+package com.example.demo.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// UDP 데이터그램으로 무효화 배치를 보낸다.
+// - peers 가 비어 있으면 멀티캐스트: 모든 인스턴스가 group:port 에 가입하고 그룹으로 보낸다
+// - peers 가 있으면 루프백/유니캐스트: 각자 port 로 받고 peers(host:port 목록)에 각각 보낸다.
+//   멀티캐스트가 막힌 컨테이너나 한 대의 Linux 에서 포트를 나눠 여러 인스턴스를 띄울 때 쓴다
+// 한 배치가 데이터그램 하나에 들어가도록 max-batch-size 를 조정한다(기본 256 건이면 대략 10KB 이하).
+@Component
+@ConditionalOnProperty(name = "sns.invalidation.transport", havingValue = "udp")
+public class UdpInvalidationTransport implements InvalidationTransport {
+    private static final Logger logger = LoggerFactory.getLogger(UdpInvalidationTransport.class);
+    private static final int MAX_DATAGRAM = 65_507;
+
+    @Value("${sns.invalidation.udp.group:239.255.42.99}")
+    private String group;
+
+    @Value("${sns.invalidation.udp.port:45999}")
+    private int port;
+
+    @Value("${sns.invalidation.udp.interface:}")
+    private String interfaceName;
+
+    @Value("${sns.invalidation.udp.peers:}")
+    private List<String> peers;
+
+    private DatagramSocket socket;
+    private final List<InetSocketAddress> targets = new ArrayList<>();
+    private Thread receiverThread;
+    private volatile boolean closed;
+
+    @Override
+    public void start(Consumer<InvalidationBatch> receiver) throws IOException {
+        if (peers.isEmpty()) {
+            MulticastSocket multicast = new MulticastSocket(port);
+            InetSocketAddress groupAddress = new InetSocketAddress(InetAddress.getByName(group), port);
+            NetworkInterface networkInterface = interfaceName.isBlank() ? null : NetworkInterface.getByName(interfaceName);
+            if (networkInterface != null) {
+                multicast.setNetworkInterface(networkInterface);
+            }
+            multicast.joinGroup(groupAddress, networkInterface);
+            // 같은 호스트의 다른 인스턴스도 받을 수 있도록 루프백을 켠다
+            multicast.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            socket = multicast;
+            targets.add(groupAddress);
+        } else {
+            socket = new DatagramSocket(new InetSocketAddress(port));
+            for (String peer : peers) {
+                String[] hostPort = peer.trim().split(":");
+                targets.add(new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1])));
+            }
+        }
+
+        receiverThread = new Thread(() -> receiveLoop(receiver), "invalidation-udp");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        logger.info("UDP 무효화 전송 시작 - 포트: {}, 대상: {}", port, targets);
+    }
+
+    private void receiveLoop(Consumer<InvalidationBatch> receiver) {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                receiver.accept(InvalidationBatch.decode(
+                    new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8)));
+            } catch (SocketException e) {
+                if (!closed) {
+                    logger.error("UDP 무효화 수신 소켓 오류 - 오류: {}", e.getMessage(), e);
+                }
+                return;
+            } catch (Exception e) {
+                logger.warn("UDP 무효화 메시지 처리 실패 - 보낸 곳: {}, 오류: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void send(InvalidationBatch batch) throws IOException {
+        byte[] payload = batch.encode().getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_DATAGRAM) {
+            throw new IOException("무효화 배치가 UDP 데이터그램 크기를 넘습니다: " + payload.length + " bytes");
+        }
+        for (InetSocketAddress target : targets) {
+            socket.send(new DatagramPacket(payload, payload.length, target));
+        }
+    }
+
+    @Override
+    public String name() {
+        return peers.isEmpty() ? "udp-multicast" : "udp-unicast";
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
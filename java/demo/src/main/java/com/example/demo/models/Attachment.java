@@ -0,0 +1,41 @@
+package com.example.demo.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// 포스트 첨부파일의 메타데이터. 내용은 DB 가 아니라 AttachmentStorage 의 sha256 이름 파일에 있고,
+// 같은 내용을 여러 번 올려도 파일은 하나만 남는다
+@Data
+@Entity
+@Table(name = "attachments", indexes = {
+    @Index(name = "idx_attachments_post", columnList = "postId, id"),
+    @Index(name = "idx_attachments_sha256", columnList = "sha256")
+})
+public class Attachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private Integer postId;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    private String fileName;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -4,10 +4,11 @@ import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Data
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_thread", columnList = "postId, path"))
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,14 +31,46 @@ public class Comment {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // 답글이면 부모 댓글 ID, 루트 댓글이면 null
+    private Integer parentId;
+
+    // 스레드 정렬 키 (CommentPath). 서비스가 부모의 path 를 넣어 저장하면 저장소가 자신의 ID 구간을 이어 붙인다
+    @Column(nullable = false)
+    private String path = "";
+
+    // 바로 아래 답글 수
+    @Column(nullable = false)
+    private Integer replyCount = 0;
+
+    // @PostPersist 가 path 만 바꾼 UPDATE 에서는 updatedAt 을 바꾸지 않는다
+    @Transient
+    @JsonIgnore
+    private boolean pathOnlyUpdate;
+
+    // 루트 댓글이 0
+    public int getDepth() {
+        return Math.max(0, CommentPath.depth(path));
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = createdAt;
     }
 
+    // IDENTITY 는 INSERT 뒤에 ID 가 정해지므로 path 의 마지막 구간은 여기서 붙이고 flush 때 UPDATE 로 반영된다
+    @PostPersist
+    protected void onPersisted() {
+        path = CommentPath.child(path, id);
+        pathOnlyUpdate = true;
+    }
+
     @PreUpdate
     protected void onUpdate() {
+        if (pathOnlyUpdate) {
+            pathOnlyUpdate = false;
+            return;
+        }
         updatedAt = LocalDateTime.now();
     }
 }
\ No newline at end of file
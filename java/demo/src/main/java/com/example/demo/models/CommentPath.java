@@ -0,0 +1,51 @@
+package com.example.demo.models;
+
+// 댓글 스레드의 materialized path. 루트부터 자신까지의 댓글 ID 를 8자리 16진수로 이어 붙인다 (예: 0000002a0000002f).
+// - 고정 폭이므로 문자열 정렬이 곧 렌더링 순서(부모 다음에 하위 댓글, 형제는 작성 순)다
+// - 하위 트리는 [path, path + "~") 범위이므로 (postId, path) 인덱스 범위 하나로 순서대로 읽힌다
+// SQLite 의 printf('%08x', id) 와 같은 문자열을 만든다 (기존 행 채우기, 합성 데이터)
+public final class CommentPath {
+    public static final int SEGMENT_LENGTH = 8;
+    // 16진수 문자보다 뒤에 오는 문자. path + END 는 모든 하위 path 보다 크다
+    private static final String END = "~";
+
+    private CommentPath() {
+    }
+
+    public static String segment(int id) {
+        String hex = Integer.toHexString(id);
+        return "00000000".substring(hex.length()) + hex;
+    }
+
+    // parentPath 가 빈 문자열이면 루트 댓글
+    public static String child(String parentPath, int id) {
+        return parentPath + segment(id);
+    }
+
+    public static int depth(String path) {
+        return path.length() / SEGMENT_LENGTH - 1;
+    }
+
+    // path 의 하위 댓글 범위의 끝(제외)
+    public static String subtreeEnd(String path) {
+        return path + END;
+    }
+
+    public static boolean isWithin(String path, String ancestor) {
+        return path.length() > ancestor.length() && path.startsWith(ancestor);
+    }
+
+    // 클라이언트가 돌려준 커서가 path 형식인지 확인한다
+    public static boolean isValid(String path) {
+        if (path == null || path.isEmpty() || path.length() % SEGMENT_LENGTH != 0) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
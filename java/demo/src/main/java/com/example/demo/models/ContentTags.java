@@ -0,0 +1,56 @@
+package com.example.demo.models;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 포스트/댓글 본문의 #해시태그와 @멘션. 쓰기 시점에 서비스가 한 번 뽑아 ContentChangedEvent 로 넘긴다.
+// - 해시태그는 글자/숫자/_ 로 이루어지고 글자를 하나 이상 포함한다. 대소문자를 구분하지 않도록 소문자로 저장한다
+// - 멘션은 userName 그대로 (대소문자 구분). 이메일 주소처럼 앞에 글자가 붙은 @ 는 멘션이 아니다
+public record ContentTags(Set<String> hashtags, Set<String> mentions) {
+    public static final ContentTags EMPTY = new ContentTags(Set.of(), Set.of());
+    public static final int MAX_TAG_LENGTH = 100;
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_&#])#([\\p{L}\\p{N}_]+)");
+    private static final Pattern MENTION = Pattern.compile("(?<![\\p{L}\\p{N}_.@])@([\\p{L}\\p{N}_.-]+)");
+
+    public static ContentTags extract(String content) {
+        if (content == null || (content.indexOf('#') < 0 && content.indexOf('@') < 0)) {
+            return EMPTY;
+        }
+        Set<String> hashtags = new LinkedHashSet<>();
+        Matcher tag = HASHTAG.matcher(content);
+        while (tag.find()) {
+            String normalized = normalizeTag(tag.group(1));
+            if (normalized != null) {
+                hashtags.add(normalized);
+            }
+        }
+        Set<String> mentions = new LinkedHashSet<>();
+        Matcher mention = MENTION.matcher(content);
+        while (mention.find()) {
+            // 문장 끝의 마침표/하이픈은 이름에 넣지 않는다
+            String userName = mention.group(1).replaceAll("[.-]+$", "");
+            if (!userName.isEmpty()) {
+                mentions.add(userName);
+            }
+        }
+        return new ContentTags(Set.copyOf(hashtags), Set.copyOf(mentions));
+    }
+
+    // 앞의 # 를 떼고 소문자로 바꾼다. 해시태그가 될 수 없으면 null
+    public static String normalizeTag(String tag) {
+        String name = tag.startsWith("#") ? tag.substring(1) : tag;
+        if (name.isEmpty() || name.length() > MAX_TAG_LENGTH || !name.codePoints().allMatch(ContentTags::isTagChar)
+            || name.codePoints().noneMatch(Character::isLetter)) {
+            return null;
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isTagChar(int c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
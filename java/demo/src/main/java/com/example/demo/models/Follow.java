@@ -0,0 +1,27 @@
+package com.example.demo.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "follows", indexes = @Index(name = "idx_follows_followee", columnList = "followeeName, followerName"))
+@IdClass(FollowId.class)
+public class Follow {
+    @Id
+    @Column(nullable = false)
+    private String followerName;
+
+    @Id
+    @Column(nullable = false)
+    private String followeeName;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.models;
+
+import lombok.Data;
+import java.io.Serializable;
+
+@Data
+public class FollowId implements Serializable {
+    private String followerName;
+    private String followeeName;
+}
@@ -33,7 +33,15 @@ public class Post {
     @Column(nullable = false)
     private Integer commentCount = 0;
 
+    // 예약 게시 시각. 예약 포스트가 아니면 null (PostScheduleService)
+    private LocalDateTime publishAt;
+
+    // 이 시각이 지나면 포스트를 지운다. 만료되지 않으면 null
+    private LocalDateTime expiresAt;
+
+    // 스레드 렌더링 순서 (CommentPath)
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("path")
     @JsonManagedReference
     private List<Comment> comments = new ArrayList<>();
 
@@ -41,10 +49,11 @@ public class Post {
     @JsonManagedReference
     private List<Like> likes = new ArrayList<>();
 
+    // 예약 포스트는 게시 시각을 createdAt 으로 둔다. 피드/목록은 createdAt 순이고 현재 시각보다 뒤인 포스트는 보이지 않는다
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = createdAt;
+        updatedAt = LocalDateTime.now();
+        createdAt = publishAt != null ? publishAt : updatedAt;
     }
 
     @PreUpdate
@@ -0,0 +1,17 @@
+package com.example.demo.repositories;
+
+import com.example.demo.models.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, Integer> {
+    List<Attachment> findByPostIdOrderByIdAsc(Integer postId);
+
+    boolean existsBySha256(String sha256);
+
+    @Query("SELECT DISTINCT a.sha256 FROM Attachment a WHERE a.postId = :postId")
+    List<String> findSha256ByPostId(@Param("postId") Integer postId);
+}
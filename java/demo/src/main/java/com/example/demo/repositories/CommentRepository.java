@@ -1,12 +1,72 @@
 package com.example.demo.repositories;
 
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.KeysetCursor;
 import com.example.demo.models.Comment;
+import com.example.demo.models.CommentPath;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId")
+public interface CommentRepository extends JpaRepository<Comment, Integer>, CommentStore {
+    // idx_comments_thread (postId, path) 범위 하나를 순서대로 읽는다
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId ORDER BY c.path")
     List<Comment> findByPostId(@Param("postId") Integer postId);
-}
\ No newline at end of file
+
+    @Query("""
+        SELECT c FROM Comment c WHERE c.post.id = :postId AND c.path > :after AND c.path < :end
+        ORDER BY c.path
+        """)
+    List<Comment> findByPathRange(@Param("postId") Integer postId, @Param("after") String after,
+        @Param("end") String end, Pageable pageable);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.post.id = :postId AND c.path >= :path AND c.path < :end")
+    List<Integer> findIdsByPathRange(@Param("postId") Integer postId, @Param("path") String path, @Param("end") String end);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id = :postId AND c.path >= :path AND c.path < :end")
+    int deleteByPathRange(@Param("postId") Integer postId, @Param("path") String path, @Param("end") String end);
+
+    @Override
+    default List<Comment> findDescendants(Integer postId, String path, String after, int size) {
+        return findByPathRange(postId, after == null ? path : after, CommentPath.subtreeEnd(path), PageRequest.of(0, size));
+    }
+
+    @Override
+    default List<Integer> deleteSubtree(Integer postId, String path) {
+        String end = CommentPath.subtreeEnd(path);
+        List<Integer> ids = findIdsByPathRange(postId, path, end);
+        deleteByPathRange(postId, path, end);
+        return ids;
+    }
+
+    // c.post.id 는 조인 없이 comments.postId 컬럼으로 읽힌다. idx_comments_user_recent 순서로 페이지 크기만큼만 읽는다
+    @Query("""
+        SELECT new com.example.demo.dtos.CommentSummaryDto(c.id, c.post.id, c.userName, c.content, c.createdAt, c.updatedAt)
+        FROM Comment c WHERE c.userName = :userName
+        ORDER BY c.createdAt DESC, c.id DESC
+        """)
+    List<CommentSummaryDto> findLatestByUserName(@Param("userName") String userName, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.demo.dtos.CommentSummaryDto(c.id, c.post.id, c.userName, c.content, c.createdAt, c.updatedAt)
+        FROM Comment c WHERE c.userName = :userName
+          AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id)
+        ORDER BY c.createdAt DESC, c.id DESC
+        """)
+    List<CommentSummaryDto> findLatestByUserNameBefore(@Param("userName") String userName,
+        @Param("createdAt") LocalDateTime createdAt, @Param("id") Integer id, Pageable pageable);
+
+    @Override
+    default List<CommentSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size) {
+        Pageable page = PageRequest.of(0, size);
+        return after == null
+            ? findLatestByUserName(userName, page)
+            : findLatestByUserNameBefore(userName, after.createdAt(), after.id(), page);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.models.Comment;
+import java.util.List;
+import java.util.Optional;
+
+// 서비스가 사용하는 댓글 저장소 연산. 기본은 JPA(CommentRepository), memory 프로필은 인메모리 엔진이 구현한다
+public interface CommentStore {
+    // 스레드 렌더링 순서 (path 순)
+    List<Comment> findByPostId(Integer postId);
+
+    Optional<Comment> findById(Integer id);
+
+    // 댓글을 찾기 전에 postId 의 댓글일 수 없는 ID 를 걸러낸다. 가능성만 보며, 실제 소속은 찾은 뒤 확인한다
+    default boolean mayBelongToPost(Integer postId, Integer commentId) {
+        return true;
+    }
+
+    <S extends Comment> S save(S comment);
+
+    // path 댓글의 하위 댓글(자신 제외)을 path 순으로 after 다음부터 size 개. after 가 null 이면 처음부터
+    List<Comment> findDescendants(Integer postId, String path, String after, int size);
+
+    // path 댓글과 그 하위 댓글을 모두 지우고 지운 댓글 ID 를 돌려준다
+    List<Integer> deleteSubtree(Integer postId, String path);
+
+    // userName 의 댓글을 (createdAt, id) 최신순으로 after 다음부터 size 개. after 가 null 이면 첫 페이지
+    List<CommentSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size);
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repositories;
+
+import com.example.demo.models.Follow;
+import com.example.demo.models.FollowId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface FollowRepository extends JpaRepository<Follow, FollowId> {
+    boolean existsByFollowerNameAndFolloweeName(String followerName, String followeeName);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Follow f WHERE f.followerName = :followerName AND f.followeeName = :followeeName")
+    int deleteByFollowerNameAndFolloweeName(@Param("followerName") String followerName,
+                                            @Param("followeeName") String followeeName);
+}
@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface LikeRepository extends JpaRepository<Like, LikeId> {
+public interface LikeRepository extends JpaRepository<Like, LikeId>, LikeStore {
     @Query("SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM Like l WHERE l.post.id = :postId AND l.userName = :userName")
     boolean existsByPostIdAndUserName(@Param("postId") Integer postId, @Param("userName") String userName);
     
@@ -0,0 +1,12 @@
+package com.example.demo.repositories;
+
+import com.example.demo.models.Like;
+
+// 서비스가 사용하는 좋아요 저장소 연산. 기본은 JPA(LikeRepository), memory 프로필은 인메모리 엔진이 구현한다
+public interface LikeStore {
+    boolean existsByPostIdAndUserName(Integer postId, String userName);
+
+    <S extends Like> S save(S like);
+
+    void deleteByPostIdAndUserName(Integer postId, String userName);
+}
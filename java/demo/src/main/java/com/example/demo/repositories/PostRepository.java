@@ -1,7 +1,51 @@
 package com.example.demo.repositories;
 
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
 import com.example.demo.models.Post;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
 
-public interface PostRepository extends JpaRepository<Post, Integer> {
-}
\ No newline at end of file
+public interface PostRepository extends JpaRepository<Post, Integer>, PostStore {
+    @Override
+    @Query("SELECT p FROM Post p WHERE p.createdAt <= :now")
+    List<Post> findAllVisible(@Param("now") LocalDateTime now);
+
+    // idx_posts_user_recent (userName, createdAt, id) 순서 그대로 읽으므로 정렬 없이 페이지 크기만큼의 행만 읽는다.
+    // createdAt <= :createdAt 를 따로 두어 인덱스 범위 검색이 되게 한다(OR 만 있으면 userName 까지만 인덱스를 탄다)
+    @Query("""
+        SELECT new com.example.demo.dtos.PostSummaryDto(p.id, p.userName, p.content, p.createdAt, p.updatedAt, p.likeCount, p.commentCount)
+        FROM Post p WHERE p.userName = :userName
+          AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id)
+        ORDER BY p.createdAt DESC, p.id DESC
+        """)
+    List<PostSummaryDto> findLatestByUserNameBefore(@Param("userName") String userName,
+        @Param("createdAt") LocalDateTime createdAt, @Param("id") Integer id, Pageable pageable);
+
+    // 첫 페이지는 현재 시각을 상한으로 읽어 게시 전 예약 포스트(createdAt 이 게시 시각)를 거른다
+    @Override
+    default List<PostSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size) {
+        Pageable page = PageRequest.of(0, size);
+        return after == null
+            ? findLatestByUserNameBefore(userName, LocalDateTime.now(), Integer.MAX_VALUE, page)
+            : findLatestByUserNameBefore(userName, after.createdAt(), after.id(), page);
+    }
+
+    // id 는 rowid 이므로 뒤에서부터 읽다가 size 개를 채우면 멈춘다
+    @Query("""
+        SELECT new com.example.demo.dtos.PostSummaryDto(p.id, p.userName, p.content, p.createdAt, p.updatedAt, p.likeCount, p.commentCount)
+        FROM Post p WHERE p.createdAt <= :now
+        ORDER BY p.id DESC
+        """)
+    List<PostSummaryDto> findLatestVisible(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Override
+    default List<PostSummaryDto> findLatest(int size) {
+        return findLatestVisible(LocalDateTime.now(), PageRequest.of(0, size));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Post;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// 서비스가 사용하는 포스트 저장소 연산. 기본은 JPA(PostRepository), memory 프로필은 인메모리 엔진이 구현한다
+public interface PostStore {
+    List<Post> findAll();
+
+    // 게시 시각(createdAt)이 now 이하인 포스트. 예약 포스트는 JPA 저장소만 지원하므로 다른 저장소는 findAll 과 같다
+    default List<Post> findAllVisible(LocalDateTime now) {
+        return findAll();
+    }
+
+    Optional<Post> findById(Integer id);
+
+    <S extends Post> S save(S post);
+
+    void delete(Post post);
+
+    // userName 의 포스트를 (createdAt, id) 최신순으로 after 다음부터 size 개. after 가 null 이면 첫 페이지 (게시 전 예약 포스트 제외)
+    List<PostSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size);
+
+    // 가장 최근에 만든 포스트 size 개 (ID 내림차순, 게시 전 예약 포스트 제외). 워밍업 표본처럼 일부만 필요할 때 전체를 읽지 않는다
+    List<PostSummaryDto> findLatest(int size);
+}
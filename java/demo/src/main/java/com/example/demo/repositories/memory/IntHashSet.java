@@ -0,0 +1,96 @@
+package com.example.demo.repositories.memory;
+
+import java.util.function.IntConsumer;
+
+// int 값만 담는 open addressing(선형 탐사) 해시 셋. 박싱 없이 포스트별 좋아요 사용자 ID 를 보관한다.
+// 0 을 빈 슬롯 표시로 쓰므로 내부에는 값 + 1 을 저장한다(값은 0 이상이어야 한다).
+final class IntHashSet {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private int size;
+
+    boolean contains(int value) {
+        int key = value + 1;
+        int mask = slots.length - 1;
+        for (int i = mix(key) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean add(int value) {
+        // 적재율 3/4 를 넘기 전에 두 배로 늘린다
+        if ((size + 1) * 4 > slots.length * 3) {
+            resize(slots.length * 2);
+        }
+        int key = value + 1;
+        int mask = slots.length - 1;
+        int i = mix(key) & mask;
+        for (; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == key) {
+                return false;
+            }
+        }
+        slots[i] = key;
+        size++;
+        return true;
+    }
+
+    boolean remove(int value) {
+        int key = value + 1;
+        int mask = slots.length - 1;
+        int i = mix(key) & mask;
+        for (; slots[i] != key; i = (i + 1) & mask) {
+            if (slots[i] == 0) {
+                return false;
+            }
+        }
+        // 삭제 표시(tombstone) 대신 뒤따르는 클러스터를 앞으로 당겨 탐사 경로를 유지한다
+        int gap = i;
+        for (int j = (gap + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int home = mix(slots[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(IntConsumer action) {
+        for (int key : slots) {
+            if (key != 0) {
+                action.accept(key - 1);
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int key : old) {
+            if (key != 0) {
+                int i = mix(key) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = key;
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.repositories.memory;
+
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.models.Comment;
+import com.example.demo.repositories.CommentStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("memory")
+public class MemoryCommentStore implements CommentStore {
+    @Autowired
+    private MemoryStorage storage;
+
+    @Override
+    public List<Comment> findByPostId(Integer postId) {
+        return storage.findCommentsByPostId(postId);
+    }
+
+    @Override
+    public Optional<Comment> findById(Integer id) {
+        return Optional.ofNullable(storage.findComment(id));
+    }
+
+    @Override
+    public <S extends Comment> S save(S comment) {
+        storage.saveComment(comment);
+        return comment;
+    }
+
+    @Override
+    public List<Comment> findDescendants(Integer postId, String path, String after, int size) {
+        return storage.findCommentDescendants(postId, path, after, size);
+    }
+
+    @Override
+    public List<Integer> deleteSubtree(Integer postId, String path) {
+        return storage.deleteCommentSubtree(postId, path);
+    }
+
+    @Override
+    public List<CommentSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size) {
+        return storage.findCommentPageByUser(userName, after, size);
+    }
+}
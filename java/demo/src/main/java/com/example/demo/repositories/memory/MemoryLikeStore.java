@@ -0,0 +1,30 @@
+package com.example.demo.repositories.memory;
+
+import com.example.demo.models.Like;
+import com.example.demo.repositories.LikeStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("memory")
+public class MemoryLikeStore implements LikeStore {
+    @Autowired
+    private MemoryStorage storage;
+
+    @Override
+    public boolean existsByPostIdAndUserName(Integer postId, String userName) {
+        return storage.existsLike(postId, userName);
+    }
+
+    @Override
+    public <S extends Like> S save(S like) {
+        storage.saveLike(like.getPost().getId(), like.getUserName());
+        return like;
+    }
+
+    @Override
+    public void deleteByPostIdAndUserName(Integer postId, String userName) {
+        storage.deleteLike(postId, userName);
+    }
+}
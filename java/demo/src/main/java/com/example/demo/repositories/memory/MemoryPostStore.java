@@ -0,0 +1,50 @@
+package com.example.demo.repositories.memory;
+
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.PostStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("memory")
+public class MemoryPostStore implements PostStore {
+    @Autowired
+    private MemoryStorage storage;
+
+    @Override
+    public List<Post> findAll() {
+        return storage.findAllPosts();
+    }
+
+    @Override
+    public Optional<Post> findById(Integer id) {
+        return Optional.ofNullable(storage.findPost(id));
+    }
+
+    @Override
+    public <S extends Post> S save(S post) {
+        storage.savePost(post);
+        return post;
+    }
+
+    @Override
+    public void delete(Post post) {
+        storage.deletePost(post.getId());
+    }
+
+    @Override
+    public List<PostSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size) {
+        return storage.findPostPageByUser(userName, after, size);
+    }
+
+    @Override
+    public List<PostSummaryDto> findLatest(int size) {
+        return storage.findLatestPosts(size);
+    }
+}
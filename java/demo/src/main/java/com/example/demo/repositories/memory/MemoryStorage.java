@@ -0,0 +1,436 @@
+package com.example.demo.repositories.memory;
+
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.CommentPath;
+import com.example.demo.models.Like;
+import com.example.demo.models.Post;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// memory 프로필의 저장 엔진. 포스트/댓글을 ID 를 인덱스로 쓰는 배열에 압축 레코드로 보관한다.
+// - 시각은 epoch millis(long), userName 은 UserNameDictionary 의 int ID 로 저장
+// - 포스트마다 댓글 ID 배열과 좋아요 사용자 ID 셋(IntHashSet)을 직접 들고 있어 postId 조회에 인덱스가 필요 없다.
+//   댓글 ID 배열은 path 순이므로 스레드/하위 트리는 이진 탐색으로 찾은 연속 구간이다
+// - 사용자별 포스트/댓글 ID 를 SortedIntList 로 들고 있어 작성자별 목록을 전체 스캔 없이 읽는다
+// - 서비스에는 매번 새 엔티티(Post/Comment/Like)를 만들어 돌려주므로 변경은 save 를 거쳐야 반영된다
+// 트랜잭션 경계는 MemoryTransactionManager 가 직렬화하고, 여기서는 개별 연산의 원자성만 보장한다.
+@Component
+@Profile("memory")
+public class MemoryStorage {
+    private static final int[] NO_COMMENTS = new int[0];
+
+    private final UserNameDictionary userNames = new UserNameDictionary();
+    private PostRecord[] posts = new PostRecord[1024];
+    private CommentRecord[] comments = new CommentRecord[1024];
+    // UserNameDictionary 의 사용자 ID 를 인덱스로 쓴다
+    private SortedIntList[] postsByUser = new SortedIntList[64];
+    private SortedIntList[] commentsByUser = new SortedIntList[64];
+    private int nextPostId = 1;
+    private int nextCommentId = 1;
+    private int postCount;
+    private int commentCount;
+
+    static final class PostRecord {
+        final int id;
+        final int userId;
+        String content;
+        final long createdAt;
+        long updatedAt;
+        int likeCount;
+        int commentCount;
+        int[] commentIds = NO_COMMENTS;
+        int commentSize;
+        // 좋아요가 하나도 없는 포스트가 대부분이므로 처음 좋아요가 눌릴 때 만든다
+        IntHashSet likedBy;
+
+        PostRecord(int id, int userId, String content, long createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.content = content;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+        }
+    }
+
+    static final class CommentRecord {
+        final int id;
+        final int postId;
+        final int userId;
+        String content;
+        final long createdAt;
+        long updatedAt;
+        // 루트 댓글이면 0
+        final int parentId;
+        final String path;
+        int replyCount;
+
+        CommentRecord(int id, int postId, int userId, String content, long createdAt, int parentId, String path) {
+            this.id = id;
+            this.postId = postId;
+            this.userId = userId;
+            this.content = content;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+            this.parentId = parentId;
+            this.path = path;
+        }
+    }
+
+    // ---- 포스트 ----
+
+    public synchronized List<Post> findAllPosts() {
+        List<Post> result = new ArrayList<>(postCount);
+        for (int id = 1; id < nextPostId; id++) {
+            if (posts[id] != null) {
+                result.add(toPost(posts[id], true));
+            }
+        }
+        return result;
+    }
+
+    public synchronized List<PostSummaryDto> findLatestPosts(int size) {
+        List<PostSummaryDto> result = new ArrayList<>(Math.min(size, postCount));
+        for (int id = nextPostId - 1; id >= 1 && result.size() < size; id--) {
+            PostRecord record = posts[id];
+            if (record != null) {
+                result.add(new PostSummaryDto(record.id, userNames.decode(record.userId), record.content,
+                    toDateTime(record.createdAt), toDateTime(record.updatedAt), record.likeCount, record.commentCount));
+            }
+        }
+        return result;
+    }
+
+    public synchronized Post findPost(int id) {
+        PostRecord record = post(id);
+        return record == null ? null : toPost(record, true);
+    }
+
+    public synchronized Post savePost(Post post) {
+        long now = now();
+        PostRecord record = post.getId() == null ? null : post(post.getId());
+        if (record == null) {
+            record = new PostRecord(nextPostId++, userNames.encode(post.getUserName()), post.getContent(), now);
+            posts = ensureCapacity(posts, record.id);
+            posts[record.id] = record;
+            postCount++;
+            postsByUser = ensureCapacity(postsByUser, record.userId);
+            userIds(postsByUser, record.userId).add(record.id);
+        } else {
+            record.content = post.getContent();
+            record.updatedAt = now;
+        }
+        record.likeCount = post.getLikeCount() == null ? 0 : post.getLikeCount();
+        record.commentCount = post.getCommentCount() == null ? 0 : post.getCommentCount();
+
+        post.setId(record.id);
+        post.setCreatedAt(toDateTime(record.createdAt));
+        post.setUpdatedAt(toDateTime(record.updatedAt));
+        return post;
+    }
+
+    // JPA 의 cascade/orphanRemoval 과 같이 댓글과 좋아요도 함께 지운다
+    public synchronized void deletePost(int id) {
+        PostRecord record = post(id);
+        if (record == null) {
+            return;
+        }
+        for (int i = 0; i < record.commentSize; i++) {
+            CommentRecord comment = comments[record.commentIds[i]];
+            commentsByUser[comment.userId].remove(comment.id);
+            comments[comment.id] = null;
+            commentCount--;
+        }
+        postsByUser[record.userId].remove(id);
+        posts[id] = null;
+        postCount--;
+    }
+
+    // ---- 댓글 ----
+
+    public synchronized List<Comment> findCommentsByPostId(int postId) {
+        PostRecord record = post(postId);
+        if (record == null) {
+            return new ArrayList<>();
+        }
+        Post post = toPost(record, false);
+        List<Comment> result = new ArrayList<>(record.commentSize);
+        for (int i = 0; i < record.commentSize; i++) {
+            result.add(toComment(comments[record.commentIds[i]], post));
+        }
+        return result;
+    }
+
+    public synchronized Comment findComment(int id) {
+        CommentRecord record = comment(id);
+        if (record == null) {
+            return null;
+        }
+        return toComment(record, toPost(posts[record.postId], false));
+    }
+
+    public synchronized Comment saveComment(Comment comment) {
+        long now = now();
+        CommentRecord record = comment.getId() == null ? null : comment(comment.getId());
+        if (record == null) {
+            PostRecord post = post(comment.getPost().getId());
+            if (post == null) {
+                throw new IllegalStateException("존재하지 않는 포스트에 댓글을 저장할 수 없습니다. postId: " + comment.getPost().getId());
+            }
+            int id = nextCommentId++;
+            record = new CommentRecord(id, post.id, userNames.encode(comment.getUserName()), comment.getContent(), now,
+                comment.getParentId() == null ? 0 : comment.getParentId(), CommentPath.child(comment.getPath(), id));
+            record.replyCount = comment.getReplyCount();
+            comments = ensureCapacity(comments, record.id);
+            comments[record.id] = record;
+            commentCount++;
+            commentsByUser = ensureCapacity(commentsByUser, record.userId);
+            userIds(commentsByUser, record.userId).add(record.id);
+            if (post.commentSize == post.commentIds.length) {
+                post.commentIds = Arrays.copyOf(post.commentIds, Math.max(4, post.commentSize * 2));
+            }
+            // 새 ID 가 가장 크므로 부모의 마지막 하위 댓글 바로 뒤(루트면 맨 뒤)에 들어간다
+            int at = firstAfter(post, record.path);
+            System.arraycopy(post.commentIds, at, post.commentIds, at + 1, post.commentSize - at);
+            post.commentIds[at] = record.id;
+            post.commentSize++;
+        } else {
+            record.content = comment.getContent();
+            record.replyCount = comment.getReplyCount();
+            record.updatedAt = now;
+        }
+
+        comment.setId(record.id);
+        comment.setPath(record.path);
+        comment.setCreatedAt(toDateTime(record.createdAt));
+        comment.setUpdatedAt(toDateTime(record.updatedAt));
+        return comment;
+    }
+
+    public synchronized List<Comment> findCommentDescendants(int postId, String path, String after, int size) {
+        List<Comment> result = new ArrayList<>();
+        PostRecord record = post(postId);
+        if (record == null) {
+            return result;
+        }
+        Post post = toPost(record, false);
+        String end = CommentPath.subtreeEnd(path);
+        for (int i = firstAfter(record, after == null ? path : after); i < record.commentSize && result.size() < size; i++) {
+            CommentRecord comment = comments[record.commentIds[i]];
+            if (comment.path.compareTo(end) >= 0) {
+                break;
+            }
+            result.add(toComment(comment, post));
+        }
+        return result;
+    }
+
+    public synchronized List<Integer> deleteCommentSubtree(int postId, String path) {
+        List<Integer> deleted = new ArrayList<>();
+        PostRecord post = post(postId);
+        if (post == null) {
+            return deleted;
+        }
+        int from = firstAtOrAfter(post, path);
+        int to = firstAtOrAfter(post, CommentPath.subtreeEnd(path));
+        for (int i = from; i < to; i++) {
+            CommentRecord record = comments[post.commentIds[i]];
+            commentsByUser[record.userId].remove(record.id);
+            comments[record.id] = null;
+            commentCount--;
+            deleted.add(record.id);
+        }
+        // path 순서를 유지하도록 뒤쪽을 당긴다
+        System.arraycopy(post.commentIds, to, post.commentIds, from, post.commentSize - to);
+        post.commentSize -= to - from;
+        return deleted;
+    }
+
+    // post 의 댓글 ID 배열에서 path 가 key 보다 큰 첫 위치
+    private int firstAfter(PostRecord post, String key) {
+        int low = 0;
+        int high = post.commentSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comments[post.commentIds[mid]].path.compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // post 의 댓글 ID 배열에서 path 가 key 이상인 첫 위치
+    private int firstAtOrAfter(PostRecord post, String key) {
+        int low = 0;
+        int high = post.commentSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comments[post.commentIds[mid]].path.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ---- 작성자별 목록 ----
+
+    // ID 를 작성 순서대로 발급하므로 (createdAt, id) 최신순은 ID 내림차순과 같다
+    public synchronized List<PostSummaryDto> findPostPageByUser(String userName, KeysetCursor after, int size) {
+        List<PostSummaryDto> result = new ArrayList<>();
+        SortedIntList ids = existingUserIds(postsByUser, userNames.find(userName));
+        if (ids != null) {
+            int end = after == null ? ids.size() : ids.lowerBound(after.id());
+            for (int i = end - 1; i >= 0 && result.size() < size; i--) {
+                PostRecord record = posts[ids.get(i)];
+                result.add(new PostSummaryDto(record.id, userName, record.content, toDateTime(record.createdAt),
+                    toDateTime(record.updatedAt), record.likeCount, record.commentCount));
+            }
+        }
+        return result;
+    }
+
+    public synchronized List<CommentSummaryDto> findCommentPageByUser(String userName, KeysetCursor after, int size) {
+        List<CommentSummaryDto> result = new ArrayList<>();
+        SortedIntList ids = existingUserIds(commentsByUser, userNames.find(userName));
+        if (ids != null) {
+            int end = after == null ? ids.size() : ids.lowerBound(after.id());
+            for (int i = end - 1; i >= 0 && result.size() < size; i--) {
+                CommentRecord record = comments[ids.get(i)];
+                result.add(new CommentSummaryDto(record.id, record.postId, userName, record.content,
+                    toDateTime(record.createdAt), toDateTime(record.updatedAt)));
+            }
+        }
+        return result;
+    }
+
+    // ---- 좋아요 ----
+
+    public synchronized boolean existsLike(int postId, String userName) {
+        PostRecord post = post(postId);
+        int userId = userNames.find(userName);
+        return post != null && post.likedBy != null && userId >= 0 && post.likedBy.contains(userId);
+    }
+
+    public synchronized void saveLike(int postId, String userName) {
+        PostRecord post = post(postId);
+        if (post == null) {
+            throw new IllegalStateException("존재하지 않는 포스트에 좋아요를 저장할 수 없습니다. postId: " + postId);
+        }
+        if (post.likedBy == null) {
+            post.likedBy = new IntHashSet();
+        }
+        post.likedBy.add(userNames.encode(userName));
+    }
+
+    public synchronized void deleteLike(int postId, String userName) {
+        PostRecord post = post(postId);
+        int userId = userNames.find(userName);
+        if (post != null && post.likedBy != null && userId >= 0) {
+            post.likedBy.remove(userId);
+        }
+    }
+
+    // ---- 통계 ----
+
+    public synchronized int getPostCount() {
+        return postCount;
+    }
+
+    public synchronized int getCommentCount() {
+        return commentCount;
+    }
+
+    public synchronized int getUserNameCount() {
+        return userNames.size();
+    }
+
+    // ---- 변환 ----
+
+    private PostRecord post(int id) {
+        return id > 0 && id < posts.length ? posts[id] : null;
+    }
+
+    private CommentRecord comment(int id) {
+        return id > 0 && id < comments.length ? comments[id] : null;
+    }
+
+    private static SortedIntList userIds(SortedIntList[] byUser, int userId) {
+        if (byUser[userId] == null) {
+            byUser[userId] = new SortedIntList();
+        }
+        return byUser[userId];
+    }
+
+    // 조회 경로에서는 목록을 만들지 않는다. 없으면 null
+    private static SortedIntList existingUserIds(SortedIntList[] byUser, int userId) {
+        return userId >= 0 && userId < byUser.length ? byUser[userId] : null;
+    }
+
+    // withChildren 이 true 이면 JPA 엔티티와 같은 JSON 이 나오도록 comments/likes 목록까지 채운다
+    private Post toPost(PostRecord record, boolean withChildren) {
+        Post post = new Post();
+        post.setId(record.id);
+        post.setUserName(userNames.decode(record.userId));
+        post.setContent(record.content);
+        post.setCreatedAt(toDateTime(record.createdAt));
+        post.setUpdatedAt(toDateTime(record.updatedAt));
+        post.setLikeCount(record.likeCount);
+        post.setCommentCount(record.commentCount);
+        if (withChildren) {
+            List<Comment> postComments = post.getComments();
+            for (int i = 0; i < record.commentSize; i++) {
+                postComments.add(toComment(comments[record.commentIds[i]], post));
+            }
+            if (record.likedBy != null) {
+                List<Like> likes = post.getLikes();
+                record.likedBy.forEach(userId -> {
+                    Like like = new Like();
+                    like.setPost(post);
+                    like.setUserName(userNames.decode(userId));
+                    likes.add(like);
+                });
+            }
+        }
+        return post;
+    }
+
+    private Comment toComment(CommentRecord record, Post post) {
+        Comment comment = new Comment();
+        comment.setId(record.id);
+        comment.setPost(post);
+        comment.setUserName(userNames.decode(record.userId));
+        comment.setContent(record.content);
+        comment.setCreatedAt(toDateTime(record.createdAt));
+        comment.setUpdatedAt(toDateTime(record.updatedAt));
+        comment.setParentId(record.parentId == 0 ? null : record.parentId);
+        comment.setPath(record.path);
+        comment.setReplyCount(record.replyCount);
+        return comment;
+    }
+
+    private static <T> T[] ensureCapacity(T[] array, int id) {
+        return id < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, id + 1));
+    }
+
+    // 엔티티가 쓰는 LocalDateTime.now() 와 같은 로컬 시각을 UTC 오프셋으로 고정해 millis 로 왕복시킨다
+    private static long now() {
+        return LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+            (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
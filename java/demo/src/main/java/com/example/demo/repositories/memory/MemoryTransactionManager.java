@@ -0,0 +1,71 @@
+package com.example.demo.repositories.memory;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// memory 프로필의 @Transactional 경계. SQLite 와 같이 쓰기 트랜잭션을 하나씩만 실행해
+// 서비스의 "존재 확인 -> 저장 -> 카운터 증가" 같은 복합 연산이 서로 끼어들지 않게 한다.
+// 읽기 전용 트랜잭션은 잠금을 잡지 않는다 (MemoryStorage 가 메서드 단위로 동기화하므로 쓰기와 동시에 읽어도 안전하다).
+// 제약: 되돌릴 로그가 없어 롤백해도 이미 반영된 변경은 남는다. 서비스는 변경 전에 검증 예외를 던지므로
+// 보통은 남는 것이 없지만, 쓰기 도중 실패하면 그때까지의 변경이 그대로 보인다.
+@Component("transactionManager")
+@Profile("memory")
+public class MemoryTransactionManager extends AbstractPlatformTransactionManager {
+    private static final Logger logger = LoggerFactory.getLogger(MemoryTransactionManager.class);
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private static final class MemoryTransaction {
+        private boolean locked;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new MemoryTransaction();
+    }
+
+    // 쓰기 트랜잭션 안의 호출만 참여한다. 읽기 전용 트랜잭션 안의 쓰기는 잠금을 잡는 새 트랜잭션이 된다
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return lock.isHeldByCurrentThread();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        if (!definition.isReadOnly()) {
+            lock.lock();
+            ((MemoryTransaction) transaction).locked = true;
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    // 되돌리지 못하므로 남은 변경이 있을 수 있음을 기록만 한다
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        if (((MemoryTransaction) status.getTransaction()).locked) {
+            logger.warn("메모리 저장소 쓰기 트랜잭션 롤백 - 이미 반영된 변경은 되돌리지 않습니다");
+        }
+    }
+
+    // 안쪽 서비스 호출(LikeService -> PostService 등)이 실패해도 되돌릴 것이 없으므로 표시만 무시한다
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        if (((MemoryTransaction) transaction).locked) {
+            lock.unlock();
+        }
+    }
+}
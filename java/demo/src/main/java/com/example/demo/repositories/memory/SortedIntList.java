@@ -0,0 +1,52 @@
+package com.example.demo.repositories.memory;
+
+import java.util.Arrays;
+
+// 오름차순 int 배열. 사용자별 포스트/댓글 ID 목록처럼 대부분 끝에 추가되는 경우에 쓴다.
+// MemoryStorage 의 잠금 안에서만 사용한다.
+final class SortedIntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        // 새 ID 는 항상 가장 크므로 보통은 이동 없이 끝에 붙는다
+        int index = lowerBound(value);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    void remove(int value) {
+        int index = lowerBound(value);
+        if (index < size && values[index] == value) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    // value 보다 작은 원소의 개수(= value 이상인 첫 원소의 위치)
+    int lowerBound(int value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// userName 문자열을 int ID 로 사전 인코딩한다. 같은 사용자의 이름은 포스트/댓글/좋아요 수와 관계없이 한 번만 저장된다.
+// MemoryStorage 의 잠금 안에서만 사용한다.
+final class UserNameDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    int encode(String userName) {
+        Integer id = ids.get(userName);
+        if (id == null) {
+            id = names.size();
+            names.add(userName);
+            ids.put(userName, id);
+        }
+        return id;
+    }
+
+    // 조회 경로에서는 사전을 늘리지 않는다. 처음 보는 이름이면 -1
+    int find(String userName) {
+        Integer id = ids.get(userName);
+        return id == null ? -1 : id;
+    }
+
+    String decode(int id) {
+        return names.get(id);
+    }
+
+    int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.repositories.sharded;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// 샤드별로 이미 정렬된 결과를 우선순위 큐로 병합한다. 전체 정렬 없이 O(n log k)
+final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> comparator) {
+        int total = 0;
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+            (a, b) -> comparator.compare(a.head, b.head));
+        for (List<T> list : sortedLists) {
+            total += list.size();
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor<>(iterator.next(), iterator));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head);
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+        T head;
+        final Iterator<T> rest;
+
+        Cursor(T head, Iterator<T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.repositories.sharded;
+
+import com.example.demo.config.CommentThreadSchema;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// postId 기준으로 posts/comments/likes 를 N 개의 SQLite 파일에 나눠 저장한다.
+// - 샤드 번호는 floorMod(id, N). 새 포스트/댓글의 ID 는 해당 샤드의 나머지를 갖도록 N 간격으로 발급한다
+// - 트랜잭션 안의 문장은 지연 커넥션(LazyConnectionDataSourceProxy) + 라우팅 DataSource 로 처음 지정된 샤드에 묶인다
+// - 목록 조회는 샤드별 JdbcTemplate 로 병렬 조회(scatter) 후 (createdAt, id) 순으로 k-way 병합(gather)한다
+public class ShardRouter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+    private static final String BOUND_SHARD = ShardRouter.class.getName() + ".BOUND_SHARD";
+
+    private static final String[] SCHEMA = {
+        """
+        CREATE TABLE IF NOT EXISTS posts (
+            id INTEGER PRIMARY KEY,
+            userName TEXT NOT NULL,
+            content TEXT NOT NULL,
+            createdAt TIMESTAMP NOT NULL,
+            updatedAt TIMESTAMP NOT NULL,
+            likeCount INTEGER NOT NULL DEFAULT 0,
+            commentCount INTEGER NOT NULL DEFAULT 0
+        )
+        """,
+        "CREATE INDEX IF NOT EXISTS idx_posts_user_recent ON posts (userName, createdAt, id)",
+        """
+        CREATE TABLE IF NOT EXISTS comments (
+            id INTEGER PRIMARY KEY,
+            postId INTEGER NOT NULL,
+            userName TEXT NOT NULL,
+            content TEXT NOT NULL,
+            createdAt TIMESTAMP NOT NULL,
+            updatedAt TIMESTAMP NOT NULL,
+            parentId INTEGER,
+            path TEXT NOT NULL DEFAULT '',
+            replyCount INTEGER NOT NULL DEFAULT 0
+        )
+        """,
+        "CREATE INDEX IF NOT EXISTS idx_comments_user_recent ON comments (userName, createdAt, id)",
+        """
+        CREATE TABLE IF NOT EXISTS likes (
+            postId INTEGER NOT NULL,
+            userName TEXT NOT NULL,
+            PRIMARY KEY (postId, userName)
+        )
+        """
+    };
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<JdbcTemplate> shardTemplates = new ArrayList<>();
+    private final DataSource transactionalDataSource;
+    private final JdbcTemplate transactionalTemplate;
+    private final ExecutorService scatterExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardRouter(Path directory, int shardCount, int poolSize) throws IOException {
+        Files.createDirectories(directory);
+        for (int shard = 0; shard < shardCount; shard++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + shard);
+            config.setJdbcUrl("jdbc:sqlite:" + directory.resolve("sns-shard-" + shard + ".db"));
+            // 샤드마다 쓰기 커넥션을 따로 두므로 샤드끼리는 잠금을 다투지 않는다
+            config.setMaximumPoolSize(poolSize);
+            HikariDataSource dataSource = new HikariDataSource(config);
+            JdbcTemplate template = new JdbcTemplate(dataSource);
+            for (String ddl : SCHEMA) {
+                template.execute(ddl);
+            }
+            // 답글 스레드 이전에 만든 샤드는 컬럼을 추가한 뒤 path 인덱스를 만든다
+            CommentThreadSchema.migrate(template);
+            template.execute("CREATE INDEX IF NOT EXISTS idx_comments_thread ON comments (postId, path)");
+            dataSources.add(dataSource);
+            shardTemplates.add(template);
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            targets.put(shard, dataSources.get(shard));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.afterPropertiesSet();
+        // 트랜잭션 시작 시점에는 샤드를 모르므로 첫 문장을 실행할 때 커넥션을 얻는다.
+        // 기본값을 지정해 두지 않으면 초기화 중 기본값 확인을 위해 (샤드 없이) 커넥션을 요청한다
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setTargetDataSource(routing);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        lazy.afterPropertiesSet();
+        this.transactionalDataSource = lazy;
+        this.transactionalTemplate = new JdbcTemplate(lazy);
+        logger.info("샤드 저장소 초기화 완료 - 디렉터리: {}, 샤드 수: {}, 샤드당 커넥션: {}", directory, shardCount, poolSize);
+    }
+
+    // 서비스 트랜잭션(DataSourceTransactionManager)이 사용할 라우팅 DataSource
+    public DataSource getTransactionalDataSource() {
+        return transactionalDataSource;
+    }
+
+    public int shardCount() {
+        return shardTemplates.size();
+    }
+
+    public int shardOf(int id) {
+        return Math.floorMod(id, shardCount());
+    }
+
+    // 새 포스트는 샤드에 고르게 분산되도록 돌아가며 배치한다
+    public int shardForNewPost() {
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount());
+    }
+
+    // shard 의 나머지를 갖는 다음 ID. 샤드 트랜잭션 안에서 호출해야 동시 발급이 겹치지 않는다
+    public int nextId(JdbcTemplate jdbc, String table, int shard) {
+        Integer max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        if (max == null) {
+            return shard == 0 ? shardCount() : shard;
+        }
+        return max + shardCount();
+    }
+
+    // 현재 트랜잭션(없으면 이 호출)을 shard 에 묶고 action 을 실행한다.
+    // 이미 다른 샤드에 묶인 트랜잭션에서 호출하면 잘못된 샤드에 쓰지 않도록 예외를 던진다.
+    public <T> T inShard(int shard, Function<JdbcTemplate, T> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Integer bound = (Integer) TransactionSynchronizationManager.getResource(BOUND_SHARD);
+            if (bound == null) {
+                TransactionSynchronizationManager.bindResource(BOUND_SHARD, shard);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(BOUND_SHARD);
+                    }
+                });
+            } else if (bound != shard) {
+                throw new IllegalStateException("한 트랜잭션에서 여러 샤드에 쓸 수 없습니다. 묶인 샤드: " + bound + ", 요청 샤드: " + shard);
+            }
+        }
+        Integer previous = ShardRoutingDataSource.currentShard();
+        ShardRoutingDataSource.setCurrentShard(shard);
+        try {
+            return action.apply(transactionalTemplate);
+        } finally {
+            ShardRoutingDataSource.setCurrentShard(previous);
+        }
+    }
+
+    // 모든 샤드에 같은 조회를 병렬로 보내고 샤드 순서대로 결과를 돌려준다(트랜잭션에 참여하지 않음)
+    public <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (JdbcTemplate template : shardTemplates) {
+            Supplier<T> task = () -> query.apply(template);
+            futures.add(CompletableFuture.supplyAsync(task, scatterExecutor));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void close() {
+        scatterExecutor.shutdown();
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
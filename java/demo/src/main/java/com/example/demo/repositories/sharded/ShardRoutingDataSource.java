@@ -0,0 +1,29 @@
+package com.example.demo.repositories.sharded;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// ShardRouter.inShard 로 지정된 현재 스레드의 샤드 번호로 커넥션을 고른다
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void setCurrentShard(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = CURRENT_SHARD.get();
+        if (shard == null) {
+            throw new IllegalStateException("샤드가 지정되지 않은 상태에서 커넥션을 요청했습니다");
+        }
+        return shard;
+    }
+}
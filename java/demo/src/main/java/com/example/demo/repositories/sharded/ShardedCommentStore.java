@@ -0,0 +1,115 @@
+package com.example.demo.repositories.sharded;
+
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.models.Comment;
+import com.example.demo.models.CommentPath;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.CommentStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// 댓글은 포스트와 같은 샤드에 저장되고, 댓글 ID 도 그 샤드의 나머지를 가지므로 ID 만으로 샤드를 찾을 수 있다
+@Repository
+@Profile("sharded")
+public class ShardedCommentStore implements CommentStore {
+    @Autowired
+    private ShardRouter router;
+
+    @Override
+    public List<Comment> findByPostId(Integer postId) {
+        return router.inShard(router.shardOf(postId), jdbc -> {
+            Post post = ShardedRows.findPost(jdbc, postId);
+            if (post == null) {
+                return new ArrayList<>();
+            }
+            return jdbc.query("SELECT * FROM comments WHERE postId = ? ORDER BY path",
+                (rs, n) -> ShardedRows.comment(rs, post), postId);
+        });
+    }
+
+    @Override
+    public List<Comment> findDescendants(Integer postId, String path, String after, int size) {
+        return router.inShard(router.shardOf(postId), jdbc -> {
+            Post post = ShardedRows.findPost(jdbc, postId);
+            if (post == null) {
+                return new ArrayList<>();
+            }
+            return jdbc.query("SELECT * FROM comments WHERE postId = ? AND path > ? AND path < ? ORDER BY path LIMIT ?",
+                (rs, n) -> ShardedRows.comment(rs, post), postId, after == null ? path : after,
+                CommentPath.subtreeEnd(path), size);
+        });
+    }
+
+    // 다른 샤드의 댓글은 이 포스트의 댓글일 수 없다. 포스트 샤드에 묶인 트랜잭션에서 그 샤드로 라우팅하지 않도록 미리 거른다
+    @Override
+    public boolean mayBelongToPost(Integer postId, Integer commentId) {
+        return router.shardOf(postId) == router.shardOf(commentId);
+    }
+
+    @Override
+    public Optional<Comment> findById(Integer id) {
+        return Optional.ofNullable(router.inShard(router.shardOf(id), jdbc -> {
+            List<Integer> postIds = jdbc.queryForList("SELECT postId FROM comments WHERE id = ?", Integer.class, id);
+            if (postIds.isEmpty()) {
+                return null;
+            }
+            Post post = ShardedRows.findPost(jdbc, postIds.get(0));
+            return jdbc.queryForObject("SELECT * FROM comments WHERE id = ?", (rs, n) -> ShardedRows.comment(rs, post), id);
+        }));
+    }
+
+    @Override
+    public <S extends Comment> S save(S comment) {
+        LocalDateTime now = ShardedRows.now();
+        if (comment.getId() == null) {
+            int shard = router.shardOf(comment.getPost().getId());
+            router.inShard(shard, jdbc -> {
+                int id = router.nextId(jdbc, "comments", shard);
+                String path = CommentPath.child(comment.getPath(), id);
+                jdbc.update("""
+                    INSERT INTO comments (id, postId, userName, content, createdAt, updatedAt, parentId, path, replyCount)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, id, comment.getPost().getId(), comment.getUserName(), comment.getContent(),
+                    Timestamp.valueOf(now), Timestamp.valueOf(now), comment.getParentId(), path, comment.getReplyCount());
+                comment.setId(id);
+                comment.setPath(path);
+                return null;
+            });
+            comment.setCreatedAt(now);
+        } else {
+            router.inShard(router.shardOf(comment.getId()), jdbc -> jdbc.update(
+                "UPDATE comments SET content = ?, replyCount = ?, updatedAt = ? WHERE id = ?",
+                comment.getContent(), comment.getReplyCount(), Timestamp.valueOf(now), comment.getId()));
+        }
+        comment.setUpdatedAt(now);
+        return comment;
+    }
+
+    @Override
+    public List<Integer> deleteSubtree(Integer postId, String path) {
+        return router.inShard(router.shardOf(postId), jdbc -> {
+            String end = CommentPath.subtreeEnd(path);
+            List<Integer> ids = jdbc.queryForList("SELECT id FROM comments WHERE postId = ? AND path >= ? AND path < ?",
+                Integer.class, postId, path, end);
+            jdbc.update("DELETE FROM comments WHERE postId = ? AND path >= ? AND path < ?", postId, path, end);
+            return ids;
+        });
+    }
+
+    @Override
+    public List<CommentSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size) {
+        List<List<CommentSummaryDto>> pages = router.scatter(jdbc -> ShardedRows.findUserPage(jdbc, "comments",
+            "id, postId, userName, content, createdAt, updatedAt", userName, after, size,
+            (rs, n) -> ShardedRows.commentSummary(rs)));
+        List<CommentSummaryDto> merged = KWayMerge.merge(pages, ShardedRows.COMMENT_SUMMARY_NEWEST_FIRST);
+        return merged.subList(0, Math.min(size, merged.size()));
+    }
+}
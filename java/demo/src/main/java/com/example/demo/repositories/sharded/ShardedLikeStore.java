@@ -0,0 +1,34 @@
+package com.example.demo.repositories.sharded;
+
+import com.example.demo.models.Like;
+import com.example.demo.repositories.LikeStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("sharded")
+public class ShardedLikeStore implements LikeStore {
+    @Autowired
+    private ShardRouter router;
+
+    @Override
+    public boolean existsByPostIdAndUserName(Integer postId, String userName) {
+        return router.inShard(router.shardOf(postId), jdbc -> jdbc.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM likes WHERE postId = ? AND userName = ?)", Boolean.class, postId, userName));
+    }
+
+    @Override
+    public <S extends Like> S save(S like) {
+        Integer postId = like.getPost().getId();
+        router.inShard(router.shardOf(postId), jdbc -> jdbc.update(
+            "INSERT OR IGNORE INTO likes (postId, userName) VALUES (?, ?)", postId, like.getUserName()));
+        return like;
+    }
+
+    @Override
+    public void deleteByPostIdAndUserName(Integer postId, String userName) {
+        router.inShard(router.shardOf(postId), jdbc -> jdbc.update(
+            "DELETE FROM likes WHERE postId = ? AND userName = ?", postId, userName));
+    }
+}
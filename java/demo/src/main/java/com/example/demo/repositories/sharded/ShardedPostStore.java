@@ -0,0 +1,88 @@
+package com.example.demo.repositories.sharded;
+
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.PostStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("sharded")
+public class ShardedPostStore implements PostStore {
+    @Autowired
+    private ShardRouter router;
+
+    // 모든 샤드를 병렬 조회한 뒤 (createdAt, id) 순으로 병합한다
+    @Override
+    public List<Post> findAll() {
+        return KWayMerge.merge(router.scatter(ShardedRows::findAllWithChildren), ShardedRows.CREATED_AT_THEN_ID);
+    }
+
+    @Override
+    public Optional<Post> findById(Integer id) {
+        return Optional.ofNullable(router.inShard(router.shardOf(id), jdbc -> ShardedRows.findPostWithChildren(jdbc, id)));
+    }
+
+    @Override
+    public <S extends Post> S save(S post) {
+        LocalDateTime now = ShardedRows.now();
+        if (post.getId() == null) {
+            int shard = router.shardForNewPost();
+            router.inShard(shard, jdbc -> {
+                int id = router.nextId(jdbc, "posts", shard);
+                jdbc.update("""
+                    INSERT INTO posts (id, userName, content, createdAt, updatedAt, likeCount, commentCount)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                    """, id, post.getUserName(), post.getContent(), Timestamp.valueOf(now), Timestamp.valueOf(now),
+                    post.getLikeCount(), post.getCommentCount());
+                post.setId(id);
+                return null;
+            });
+            post.setCreatedAt(now);
+        } else {
+            router.inShard(router.shardOf(post.getId()), jdbc -> jdbc.update("""
+                UPDATE posts SET content = ?, likeCount = ?, commentCount = ?, updatedAt = ? WHERE id = ?
+                """, post.getContent(), post.getLikeCount(), post.getCommentCount(), Timestamp.valueOf(now), post.getId()));
+        }
+        post.setUpdatedAt(now);
+        return post;
+    }
+
+    // JPA 의 cascade 와 같이 같은 샤드의 댓글/좋아요도 함께 지운다
+    @Override
+    public void delete(Post post) {
+        router.inShard(router.shardOf(post.getId()), jdbc -> {
+            jdbc.update("DELETE FROM likes WHERE postId = ?", post.getId());
+            jdbc.update("DELETE FROM comments WHERE postId = ?", post.getId());
+            return jdbc.update("DELETE FROM posts WHERE id = ?", post.getId());
+        });
+    }
+
+    // 작성자의 포스트는 여러 샤드에 흩어져 있으므로 샤드마다 size 개씩 읽어 병합한다
+    @Override
+    public List<PostSummaryDto> findPageByUserName(String userName, KeysetCursor after, int size) {
+        List<List<PostSummaryDto>> pages = router.scatter(jdbc -> ShardedRows.findUserPage(jdbc, "posts",
+            "id, userName, content, createdAt, updatedAt, likeCount, commentCount", userName, after, size,
+            (rs, n) -> ShardedRows.postSummary(rs)));
+        List<PostSummaryDto> merged = KWayMerge.merge(pages, ShardedRows.POST_SUMMARY_NEWEST_FIRST);
+        return merged.subList(0, Math.min(size, merged.size()));
+    }
+
+    // 샤드마다 ID 내림차순으로 size 개씩 읽어 병합한다
+    @Override
+    public List<PostSummaryDto> findLatest(int size) {
+        List<List<PostSummaryDto>> latest = router.scatter(jdbc -> jdbc.query(
+            "SELECT id, userName, content, createdAt, updatedAt, likeCount, commentCount FROM posts ORDER BY id DESC LIMIT ?",
+            (rs, n) -> ShardedRows.postSummary(rs), size));
+        List<PostSummaryDto> merged = KWayMerge.merge(latest, Comparator.comparing(PostSummaryDto::getId).reversed());
+        return merged.subList(0, Math.min(size, merged.size()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.repositories.sharded;
+
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Like;
+import com.example.demo.models.Post;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 샤드 테이블 행 <-> 엔티티 변환. JPA 엔티티와 같은 JSON 이 나오도록 포스트에 comments/likes 목록을 채운다
+final class ShardedRows {
+    static final Comparator<Post> CREATED_AT_THEN_ID =
+        Comparator.comparing(Post::getCreatedAt).thenComparing(Post::getId);
+
+    static final Comparator<PostSummaryDto> POST_SUMMARY_NEWEST_FIRST =
+        Comparator.comparing(PostSummaryDto::getCreatedAt).thenComparing(PostSummaryDto::getId).reversed();
+    static final Comparator<CommentSummaryDto> COMMENT_SUMMARY_NEWEST_FIRST =
+        Comparator.comparing(CommentSummaryDto::getCreatedAt).thenComparing(CommentSummaryDto::getId).reversed();
+
+    private ShardedRows() {
+    }
+
+    static Post post(ResultSet rs) throws SQLException {
+        Post post = new Post();
+        post.setId(rs.getInt("id"));
+        post.setUserName(rs.getString("userName"));
+        post.setContent(rs.getString("content"));
+        post.setCreatedAt(rs.getTimestamp("createdAt").toLocalDateTime());
+        post.setUpdatedAt(rs.getTimestamp("updatedAt").toLocalDateTime());
+        post.setLikeCount(rs.getInt("likeCount"));
+        post.setCommentCount(rs.getInt("commentCount"));
+        return post;
+    }
+
+    static Comment comment(ResultSet rs, Post post) throws SQLException {
+        Comment comment = new Comment();
+        comment.setId(rs.getInt("id"));
+        comment.setPost(post);
+        comment.setUserName(rs.getString("userName"));
+        comment.setContent(rs.getString("content"));
+        comment.setCreatedAt(rs.getTimestamp("createdAt").toLocalDateTime());
+        comment.setUpdatedAt(rs.getTimestamp("updatedAt").toLocalDateTime());
+        int parentId = rs.getInt("parentId");
+        comment.setParentId(rs.wasNull() ? null : parentId);
+        comment.setPath(rs.getString("path"));
+        comment.setReplyCount(rs.getInt("replyCount"));
+        return comment;
+    }
+
+    static Post findPost(JdbcTemplate jdbc, int id) {
+        List<Post> posts = jdbc.query("SELECT * FROM posts WHERE id = ?", (rs, n) -> post(rs), id);
+        return posts.isEmpty() ? null : posts.get(0);
+    }
+
+    // 포스트 하나와 그 댓글/좋아요를 읽는다
+    static Post findPostWithChildren(JdbcTemplate jdbc, int id) {
+        Post post = findPost(jdbc, id);
+        if (post != null) {
+            jdbc.query("SELECT * FROM comments WHERE postId = ? ORDER BY path",
+                rs -> { post.getComments().add(comment(rs, post)); }, id);
+            jdbc.query("SELECT userName FROM likes WHERE postId = ?",
+                rs -> { post.getLikes().add(like(post, rs.getString("userName"))); }, id);
+        }
+        return post;
+    }
+
+    // 한 샤드의 모든 포스트를 (createdAt, id) 순으로 읽고 댓글/좋아요는 샤드 단위 쿼리 두 번으로 채운다
+    static List<Post> findAllWithChildren(JdbcTemplate jdbc) {
+        List<Post> posts = jdbc.query("SELECT * FROM posts ORDER BY createdAt, id", (rs, n) -> post(rs));
+        Map<Integer, Post> byId = new HashMap<>(posts.size() * 2);
+        posts.forEach(post -> byId.put(post.getId(), post));
+        jdbc.query("SELECT * FROM comments ORDER BY postId, path", rs -> {
+            Post post = byId.get(rs.getInt("postId"));
+            if (post != null) {
+                post.getComments().add(comment(rs, post));
+            }
+        });
+        jdbc.query("SELECT postId, userName FROM likes", rs -> {
+            Post post = byId.get(rs.getInt("postId"));
+            if (post != null) {
+                post.getLikes().add(like(post, rs.getString("userName")));
+            }
+        });
+        return new ArrayList<>(posts);
+    }
+
+    // 샤드 하나에서 userName 의 행을 (createdAt, id) 최신순으로 after 다음부터 size 개 읽는다.
+    // 각 샤드가 size 개씩만 돌려주면 병합 후 앞의 size 개가 전체 결과와 같다
+    static <T> List<T> findUserPage(JdbcTemplate jdbc, String table, String columns, String userName,
+                                    KeysetCursor after, int size, RowMapper<T> mapper) {
+        if (after == null) {
+            return jdbc.query("SELECT " + columns + " FROM " + table
+                + " WHERE userName = ? ORDER BY createdAt DESC, id DESC LIMIT ?", mapper, userName, size);
+        }
+        Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+        return jdbc.query("SELECT " + columns + " FROM " + table
+            + " WHERE userName = ? AND createdAt <= ? AND (createdAt < ? OR id < ?)"
+            + " ORDER BY createdAt DESC, id DESC LIMIT ?", mapper, userName, createdAt, createdAt, after.id(), size);
+    }
+
+    static PostSummaryDto postSummary(ResultSet rs) throws SQLException {
+        return new PostSummaryDto(rs.getInt("id"), rs.getString("userName"), rs.getString("content"),
+            rs.getTimestamp("createdAt").toLocalDateTime(), rs.getTimestamp("updatedAt").toLocalDateTime(),
+            rs.getInt("likeCount"), rs.getInt("commentCount"));
+    }
+
+    static CommentSummaryDto commentSummary(ResultSet rs) throws SQLException {
+        return new CommentSummaryDto(rs.getInt("id"), rs.getInt("postId"), rs.getString("userName"), rs.getString("content"),
+            rs.getTimestamp("createdAt").toLocalDateTime(), rs.getTimestamp("updatedAt").toLocalDateTime());
+    }
+
+    static Like like(Post post, String userName) {
+        Like like = new Like();
+        like.setPost(post);
+        like.setUserName(userName);
+        return like;
+    }
+
+    // SQLite 에는 밀리초 단위로 저장되므로 돌려주는 엔티티도 같은 정밀도로 맞춘다
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.repositories.sharded;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Profile("sharded")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(@Value("${sns.sharding.directory}") Path directory,
+                                   @Value("${sns.sharding.shards:4}") int shards,
+                                   @Value("${sns.sharding.pool-size:1}") int poolSize) throws IOException {
+        return new ShardRouter(directory, shards, poolSize);
+    }
+
+    // 서비스의 @Transactional 은 첫 번째로 접근한 샤드의 커넥션 하나에서 실행된다
+    @Bean
+    public DataSourceTransactionManager transactionManager(ShardRouter shardRouter) {
+        return new DataSourceTransactionManager(shardRouter.getTransactionalDataSource());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.AttachmentDto;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import com.example.demo.events.EntityChangedEvent.Operation;
+import com.example.demo.exceptions.AttachmentTooLargeException;
+import com.example.demo.models.Attachment;
+import com.example.demo.repositories.AttachmentRepository;
+import com.example.demo.repositories.PostRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 포스트 첨부파일. 내용은 AttachmentStorage(디스크)에, 메타데이터만 attachments 테이블에 둔다.
+// 파일을 옮기고(또는 중복 확인) 행을 넣는 것과, 마지막 행을 지운 뒤 파일을 지우는 것이 엇갈리지 않도록
+// sha256 별 잠금(스트라이프) 안에서 처리한다. 파일 쓰기 자체는 잠금 밖에서 하므로 큰 업로드끼리 막지 않는다.
+@Service
+@Profile("!memory & !sharded")
+public class AttachmentService {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentService.class);
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+
+    public AttachmentService() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public AttachmentDto upload(Integer postId, String contentType, String fileName, long contentLength, InputStream in) throws IOException {
+        try {
+            logger.info("첨부파일 업로드 시작 - 포스트ID: {}, 형식: {}, 크기: {}", postId, contentType, contentLength);
+            if (!postRepository.existsById(postId)) {
+                logger.error("포스트를 찾을 수 없음 - id: {}", postId);
+                throw new EntityNotFoundException("포스트를 찾을 수 없습니다. ID: " + postId);
+            }
+            if (contentLength > attachmentStorage.getMaxSize()) {
+                throw new AttachmentTooLargeException("첨부파일은 " + attachmentStorage.getMaxSize() / (1024 * 1024) + "MB 를 넘을 수 없습니다.");
+            }
+
+            AttachmentStorage.StagedFile staged = attachmentStorage.stage(in);
+            Attachment attachment = new Attachment();
+            attachment.setPostId(postId);
+            attachment.setSha256(staged.sha256());
+            attachment.setContentType(contentType == null || contentType.isBlank() ? DEFAULT_CONTENT_TYPE : contentType);
+            attachment.setFileName(fileName);
+            attachment.setSize(staged.size());
+
+            boolean deduplicated;
+            ReentrantLock lock = lockFor(staged.sha256());
+            lock.lock();
+            try {
+                deduplicated = attachmentStorage.commit(staged);
+                try {
+                    attachment = attachmentRepository.save(attachment);
+                } catch (RuntimeException e) {
+                    deleteFileIfUnreferenced(staged.sha256());
+                    throw e;
+                }
+            } finally {
+                lock.unlock();
+                attachmentStorage.discard(staged);
+            }
+
+            logger.info("첨부파일 업로드 완료 - 포스트ID: {}, id: {}, sha256: {}, 중복: {}",
+                postId, attachment.getId(), attachment.getSha256(), deduplicated);
+            AttachmentDto dto = toDto(attachment);
+            dto.setDeduplicated(deduplicated);
+            return dto;
+        } catch (EntityNotFoundException | AttachmentTooLargeException e) {
+            logger.warn("첨부파일 업로드 거부 - 포스트ID: {}, 사유: {}", postId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("첨부파일 업로드 중 오류 발생 - 포스트ID: {}, 오류: {}", postId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    public List<AttachmentDto> getAttachments(Integer postId) {
+        return attachmentRepository.findByPostIdOrderByIdAsc(postId).stream().map(AttachmentService::toDto).toList();
+    }
+
+    public Attachment getAttachment(Integer id) {
+        return attachmentRepository.findById(id)
+            .orElseThrow(() -> {
+                logger.error("첨부파일을 찾을 수 없음 - id: {}", id);
+                return new EntityNotFoundException("첨부파일을 찾을 수 없습니다. ID: " + id);
+            });
+    }
+
+    public void deleteAttachment(Integer postId, Integer id) {
+        try {
+            logger.info("첨부파일 삭제 시작 - 포스트ID: {}, id: {}", postId, id);
+            Attachment attachment = getAttachment(id);
+            if (!attachment.getPostId().equals(postId)) {
+                throw new EntityNotFoundException("포스트 " + postId + " 에 첨부파일 " + id + " 이 없습니다.");
+            }
+            ReentrantLock lock = lockFor(attachment.getSha256());
+            lock.lock();
+            try {
+                attachmentRepository.delete(attachment);
+                deleteFileIfUnreferenced(attachment.getSha256());
+            } finally {
+                lock.unlock();
+            }
+            logger.info("첨부파일 삭제 완료 - 포스트ID: {}, id: {}", postId, id);
+        } catch (EntityNotFoundException e) {
+            logger.warn("첨부파일 삭제 실패 - 포스트ID: {}, 사유: {}", postId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("첨부파일 삭제 중 오류 발생 - 포스트ID: {}, id: {}, 오류: {}", postId, id, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 포스트가 지워지면 같은 트랜잭션에서 메타데이터를 지우고, 커밋 후 더 이상 참조되지 않는 파일을 지운다
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entityType() != EntityType.POST || event.operation() != Operation.DELETE) {
+            return;
+        }
+        Integer postId = Integer.valueOf(event.entityId());
+        List<String> hashes = attachmentRepository.findSha256ByPostId(postId);
+        if (hashes.isEmpty()) {
+            return;
+        }
+        attachmentRepository.deleteAllInBatch(attachmentRepository.findByPostIdOrderByIdAsc(postId));
+        Runnable cleanup = () -> hashes.forEach(sha256 -> {
+            ReentrantLock lock = lockFor(sha256);
+            lock.lock();
+            try {
+                deleteFileIfUnreferenced(sha256);
+            } finally {
+                lock.unlock();
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cleanup.run();
+                }
+            });
+        } else {
+            cleanup.run();
+        }
+    }
+
+    private void deleteFileIfUnreferenced(String sha256) {
+        if (!attachmentRepository.existsBySha256(sha256)) {
+            attachmentStorage.delete(sha256);
+            logger.info("참조되지 않는 첨부파일 삭제 - sha256: {}", sha256);
+        }
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), locks.length)];
+    }
+
+    private static AttachmentDto toDto(Attachment attachment) {
+        AttachmentDto dto = new AttachmentDto();
+        dto.setId(attachment.getId());
+        dto.setPostId(attachment.getPostId());
+        dto.setSha256(attachment.getSha256());
+        dto.setContentType(attachment.getContentType());
+        dto.setFileName(attachment.getFileName());
+        dto.setSize(attachment.getSize());
+        dto.setCreatedAt(attachment.getCreatedAt());
+        dto.setUrl("/api/attachments/" + attachment.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.services;
+
+import com.example.demo.exceptions.AttachmentTooLargeException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// 첨부파일 내용을 로컬 디스크에 내용 주소(sha256) 이름으로 저장한다: <dir>/ab/cd/abcd...
+// - 업로드는 요청 스트림을 고정 크기 버퍼로 tmp 파일에 쓰면서 해시를 계산하므로 파일 전체를 힙에 올리지 않는다
+// - 해시가 정해진 뒤 commit 으로 최종 경로로 옮기고, 이미 같은 파일이 있으면 tmp 를 지워 중복을 없앤다
+// - 파일은 한 번 쓰면 바뀌지 않으므로 내려받을 때 sha256 을 그대로 ETag 로 쓴다
+@Component
+@Profile("!memory & !sharded")
+public class AttachmentStorage {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStorage.class);
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${sns.attachments.dir:attachments}")
+    private Path root;
+
+    @Value("${sns.attachments.max-size:100MB}")
+    private DataSize maxSize;
+
+    // 해시는 계산했지만 아직 최종 경로로 옮기지 않은 업로드
+    public record StagedFile(Path tempFile, String sha256, long size) {
+    }
+
+    @PostConstruct
+    void createDirectories() throws IOException {
+        Files.createDirectories(root.resolve("tmp"));
+        logger.info("첨부파일 저장소 - 경로: {}, 최대 크기: {}", root.toAbsolutePath(), maxSize);
+    }
+
+    public long getMaxSize() {
+        return maxSize.toBytes();
+    }
+
+    public StagedFile stage(InputStream in) throws IOException {
+        Path tempFile = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+        MessageDigest digest = sha256Digest();
+        long size = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize.toBytes()) {
+                    throw new AttachmentTooLargeException("첨부파일은 " + maxSize.toMegabytes() + "MB 를 넘을 수 없습니다.");
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return new StagedFile(tempFile, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    // 최종 경로로 옮긴다. 같은 내용의 파일이 이미 있으면 tmp 를 지우고 true
+    public boolean commit(StagedFile staged) throws IOException {
+        Path target = path(staged.sha256());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(staged.tempFile());
+            return true;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(staged.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(staged.tempFile());
+            return true;
+        }
+    }
+
+    public void discard(StagedFile staged) {
+        try {
+            Files.deleteIfExists(staged.tempFile());
+        } catch (IOException e) {
+            logger.warn("임시 첨부파일 삭제 실패 - 파일: {}, 오류: {}", staged.tempFile(), e.getMessage());
+        }
+    }
+
+    public Path path(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    public void delete(String sha256) {
+        try {
+            Files.deleteIfExists(path(sha256));
+        } catch (IOException e) {
+            logger.warn("첨부파일 삭제 실패 - sha256: {}, 오류: {}", sha256, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
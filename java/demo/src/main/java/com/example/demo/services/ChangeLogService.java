@@ -0,0 +1,186 @@
+package com.example.demo.services;
+
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.dtos.ChangeDto;
+import com.example.demo.dtos.ChangesPageDto;
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import com.example.demo.events.EntityChangedEvent.Operation;
+import com.example.demo.exceptions.ChangeLogExpiredException;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 변경 로그: 모든 포스트/댓글/좋아요 변경을 서비스 트랜잭션 안에서 changes 테이블에 순번(seq)과 함께 남긴다.
+// SQLite 는 쓰기 트랜잭션이 한 번에 하나뿐이므로 seq 순서가 곧 커밋 순서이고, since 이후를 읽는 클라이언트가
+// 나중에 커밋된 더 작은 seq 를 놓치지 않는다.
+// - 조회: since 이후 limit 개의 로그를 엔티티별 마지막 변경으로 압축하고 UPSERT 는 현재 상태를 붙인다
+// - 압축: compact-after 가 지난 구간에서 같은 엔티티의 이전 변경을 지운다 (마지막 변경은 남으므로 결과는 같다)
+// - 보존: retention 이 지난 로그는 지우고 purgedThrough 를 올린다. 그보다 오래된 since 는 410 으로 전체 재동기화를 요구한다
+@Service
+@Profile("!memory & !sharded")
+@Transactional
+@RetryOnBusy
+public class ChangeLogService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    // 같은 엔티티의 더 최신 변경이 있는 오래된 로그를 지운다
+    private static final String COMPACT_SQL = """
+        DELETE FROM changes WHERE changedAt < ? AND seq < (
+            SELECT MAX(c.seq) FROM changes c WHERE c.entityType = changes.entityType AND c.entityId = changes.entityId)
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Value("${sns.changes.compact-after:PT1H}")
+    private Duration compactAfter;
+
+    @Value("${sns.changes.retention:P7D}")
+    private Duration retention;
+
+    record LogRow(long seq, EntityType entityType, String entityId, Operation operation) {
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        jdbcTemplate.update("INSERT INTO changes (entityType, entityId, operation, changedAt) VALUES (?, ?, ?, ?)",
+            event.entityType().name(), event.entityId(), event.operation().name(),
+            new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Transactional(readOnly = true)
+    public ChangesPageDto getChanges(long since, int limit) {
+        try {
+            logger.info("변경 조회 시작 - since: {}, limit: {}", since, limit);
+            long purgedThrough = getPurgedThrough();
+            if (since < purgedThrough) {
+                logger.warn("보존 기간이 지난 변경 요청 - since: {}, purgedThrough: {}", since, purgedThrough);
+                throw new ChangeLogExpiredException(
+                    "since " + since + " 이후의 변경 일부가 보존 기간이 지나 삭제되었습니다. 전체를 다시 받은 뒤 since=" + purgedThrough + " 부터 요청하세요.");
+            }
+
+            List<LogRow> rows = jdbcTemplate.query(
+                "SELECT seq, entityType, entityId, operation FROM changes WHERE seq > ? ORDER BY seq LIMIT ?",
+                (rs, n) -> new LogRow(rs.getLong("seq"), EntityType.valueOf(rs.getString("entityType")),
+                    rs.getString("entityId"), Operation.valueOf(rs.getString("operation"))),
+                since, limit);
+
+            // 엔티티별 마지막 변경만 남기고 그 seq 순서로 정렬한다
+            Map<String, LogRow> latest = new LinkedHashMap<>();
+            for (LogRow row : rows) {
+                String key = row.entityType() + "/" + row.entityId();
+                latest.remove(key);
+                latest.put(key, row);
+            }
+
+            Map<Integer, PostSummaryDto> posts = loadPosts(latest.values());
+            Map<Integer, CommentSummaryDto> comments = loadComments(latest.values());
+            List<ChangeDto> changes = new ArrayList<>(latest.size());
+            for (LogRow row : latest.values()) {
+                ChangeDto change = new ChangeDto();
+                change.setSeq(row.seq());
+                change.setEntityType(row.entityType().name());
+                change.setEntityId(row.entityId());
+                Object data = null;
+                if (row.operation() == Operation.UPSERT && row.entityType() != EntityType.LIKE) {
+                    Integer id = Integer.valueOf(row.entityId());
+                    data = row.entityType() == EntityType.POST ? posts.get(id) : comments.get(id);
+                }
+                // 로그 범위 뒤에서 이미 지워진 엔티티는 지금 상태대로 DELETE 로 보낸다 (뒤의 DELETE 로그와 중복되어도 결과는 같다)
+                boolean deleted = row.operation() == Operation.DELETE
+                    || (row.entityType() != EntityType.LIKE && data == null);
+                change.setOperation(deleted ? Operation.DELETE.name() : Operation.UPSERT.name());
+                change.setData(data);
+                changes.add(change);
+            }
+
+            ChangesPageDto page = new ChangesPageDto();
+            page.setChanges(changes);
+            page.setNextSince(rows.isEmpty() ? since : rows.get(rows.size() - 1).seq());
+            page.setHasMore(rows.size() == limit);
+            logger.info("변경 조회 완료 - since: {}, 로그: {}, 압축 후: {}", since, rows.size(), changes.size());
+            return page;
+        } catch (ChangeLogExpiredException e) {
+            // 로깅은 이미 위에서 수행됨
+            throw e;
+        } catch (Exception e) {
+            logger.error("변경 조회 중 오류 발생 - since: {}, 오류: {}", since, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long getPurgedThrough() {
+        return jdbcTemplate.queryForObject("SELECT purgedThrough FROM change_log_horizon WHERE id = 1", Long.class);
+    }
+
+    @Scheduled(initialDelayString = "${sns.changes.compaction-interval:PT10M}",
+               fixedDelayString = "${sns.changes.compaction-interval:PT10M}")
+    public void compactAndPurge() {
+        long now = System.currentTimeMillis();
+        int compacted = jdbcTemplate.update(COMPACT_SQL, new Timestamp(now - compactAfter.toMillis()));
+
+        Timestamp retainFrom = new Timestamp(now - retention.toMillis());
+        Long purgeThrough = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM changes WHERE changedAt < ?", Long.class, retainFrom);
+        int purged = 0;
+        if (purgeThrough != null) {
+            purged = jdbcTemplate.update("DELETE FROM changes WHERE seq <= ?", purgeThrough);
+            jdbcTemplate.update("UPDATE change_log_horizon SET purgedThrough = MAX(purgedThrough, ?) WHERE id = 1", purgeThrough);
+        }
+        if (compacted + purged > 0) {
+            logger.info("변경 로그 정리 완료 - 압축: {}, 보존 기간 만료: {}, purgedThrough: {}", compacted, purged, purgeThrough);
+        }
+    }
+
+    private Map<Integer, PostSummaryDto> loadPosts(Iterable<LogRow> rows) {
+        List<Integer> ids = upsertIds(rows, EntityType.POST);
+        return ids.isEmpty() ? Map.of() : postRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Post::getId, PostSummaryCache::toSummary));
+    }
+
+    private Map<Integer, CommentSummaryDto> loadComments(Iterable<LogRow> rows) {
+        List<Integer> ids = upsertIds(rows, EntityType.COMMENT);
+        return ids.isEmpty() ? Map.of() : commentRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Comment::getId, comment -> new CommentSummaryDto(comment.getId(),
+                comment.getPost().getId(), comment.getUserName(), comment.getContent(),
+                comment.getCreatedAt(), comment.getUpdatedAt())));
+    }
+
+    private static List<Integer> upsertIds(Iterable<LogRow> rows, EntityType entityType) {
+        List<Integer> ids = new ArrayList<>();
+        for (LogRow row : rows) {
+            if (row.entityType() == entityType && row.operation() == Operation.UPSERT) {
+                ids.add(Integer.valueOf(row.entityId()));
+            }
+        }
+        return ids;
+    }
+}
@@ -1,9 +1,21 @@
 package com.example.demo.services;
 
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.CommentThreadPageDto;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.UserCommentPageDto;
+import com.example.demo.events.ContentChangedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.PostActivityEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
 import com.example.demo.models.Comment;
+import com.example.demo.models.CommentPath;
+import com.example.demo.models.ContentTags;
 import com.example.demo.models.Post;
-import com.example.demo.repositories.CommentRepository;
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.repositories.CommentStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
@@ -13,19 +25,23 @@ import java.util.List;
 
 @Service
 @Transactional
+@RetryOnBusy
 public class CommentService {
     private static final Logger logger = LoggerFactory.getLogger(CommentService.class);
     
     @Autowired
-    private CommentRepository commentRepository;
+    private CommentStore commentStore;
     
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Comment> getCommentsByPostId(Integer postId) {
         try {
             logger.info("포스트 댓글 조회 시작 - postId: {}", postId);
-            List<Comment> comments = commentRepository.findByPostId(postId);
+            List<Comment> comments = commentStore.findByPostId(postId);
             logger.info("포스트 댓글 조회 완료 - postId: {}, 댓글 수: {}", postId, comments.size());
             return comments;
         } catch (Exception e) {
@@ -34,11 +50,70 @@ public class CommentService {
         }
     }
 
+    // 작성자별 댓글 목록 (최신순 keyset 페이지)
+    @Transactional(readOnly = true)
+    public UserCommentPageDto getCommentsByUser(String userName, String cursor, int size) {
+        try {
+            logger.info("작성자별 댓글 조회 시작 - userName: {}, cursor: {}, size: {}", userName, cursor, size);
+            List<CommentSummaryDto> comments = commentStore.findPageByUserName(userName, KeysetCursor.parse(cursor), size);
+
+            UserCommentPageDto page = new UserCommentPageDto();
+            page.setComments(comments);
+            if (comments.size() == size) {
+                CommentSummaryDto last = comments.get(comments.size() - 1);
+                page.setNextCursor(KeysetCursor.of(last.getCreatedAt(), last.getId()).encode());
+            }
+            logger.info("작성자별 댓글 조회 완료 - userName: {}, 댓글 수: {}", userName, comments.size());
+            return page;
+        } catch (IllegalArgumentException e) {
+            logger.error("작성자별 댓글 조회 실패 - userName: {}, 오류: {}", userName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("작성자별 댓글 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // commentId 의 하위 댓글을 렌더링 순서로 페이지씩. cursor 는 이전 페이지 마지막 댓글의 path
+    @Transactional(readOnly = true)
+    public CommentThreadPageDto getReplies(Integer postId, Integer commentId, String cursor, int size) {
+        try {
+            logger.info("답글 스레드 조회 시작 - postId: {}, commentId: {}, cursor: {}, size: {}", postId, commentId, cursor, size);
+            Comment root = getComment(postId, commentId);
+            if (cursor != null && !(CommentPath.isValid(cursor) && CommentPath.isWithin(cursor, root.getPath()))) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+            List<Comment> replies = commentStore.findDescendants(postId, root.getPath(), cursor, size);
+
+            CommentThreadPageDto page = new CommentThreadPageDto();
+            page.setComments(replies);
+            if (replies.size() == size) {
+                page.setNextCursor(replies.get(replies.size() - 1).getPath());
+            }
+            logger.info("답글 스레드 조회 완료 - commentId: {}, 답글 수: {}", commentId, replies.size());
+            return page;
+        } catch (EntityNotFoundException e) {
+            // 로깅은 이미 getComment 메서드에서 수행됨
+            throw e;
+        } catch (IllegalArgumentException e) {
+            logger.error("답글 스레드 조회 실패 - commentId: {}, 오류: {}", commentId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("답글 스레드 조회 중 오류 발생 - postId: {}, commentId: {}, 오류: {}",
+                postId, commentId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     public Comment getComment(Integer postId, Integer commentId) {
         try {
             logger.info("댓글 조회 시작 - postId: {}, commentId: {}", postId, commentId);
             
-            Comment comment = commentRepository.findById(commentId)
+            if (!commentStore.mayBelongToPost(postId, commentId)) {
+                logger.error("댓글이 해당 포스트에 속하지 않음 - postId: {}, commentId: {}", postId, commentId);
+                throw new EntityNotFoundException("해당 포스트에 속한 댓글을 찾을 수 없습니다.");
+            }
+            Comment comment = commentStore.findById(commentId)
                 .orElseThrow(() -> {
                     logger.error("댓글을 찾을 수 없음 - commentId: {}", commentId);
                     return new EntityNotFoundException("댓글을 찾을 수 없습니다. ID: " + commentId);
@@ -63,7 +138,7 @@ public class CommentService {
 
     public Comment createComment(Integer postId, Comment comment) {
         try {
-            logger.info("댓글 생성 시작 - postId: {}, userName: {}", postId, comment.getUserName());
+            logger.info("댓글 생성 시작 - postId: {}, userName: {}, parentId: {}", postId, comment.getUserName(), comment.getParentId());
             
             Post post = postService.getPost(postId);
             if (post == null) {
@@ -71,8 +146,25 @@ public class CommentService {
                 throw new EntityNotFoundException("포스트를 찾을 수 없습니다. ID: " + postId);
             }
             
+            // 잠금 충돌로 재시도될 때 롤백된 이전 시도의 ID 로 다른 댓글을 merge 하지 않도록 초기화
+            comment.setId(null);
             comment.setPost(post);
-            Comment savedComment = commentRepository.save(comment);
+            // path 도 이전 시도에서 붙은 ID 구간이 남지 않도록 매번 부모 기준으로 정한다
+            comment.setReplyCount(0);
+            if (comment.getParentId() == null) {
+                comment.setPath("");
+            } else {
+                Comment parent = getComment(postId, comment.getParentId());
+                comment.setPath(parent.getPath());
+                parent.setReplyCount(parent.getReplyCount() + 1);
+                commentStore.save(parent);
+                eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.COMMENT, parent.getId()));
+            }
+            Comment savedComment = commentStore.save(comment);
+            eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.COMMENT, savedComment.getId()));
+            publishContentChanged(savedComment, ContentTags.EMPTY);
+            eventPublisher.publishEvent(new PostActivityEvent(PostActivityEvent.Type.COMMENT, postId, post.getUserName(),
+                savedComment.getUserName()));
             postService.incrementCommentCount(postId);
             
             logger.info("댓글 생성 완료 - postId: {}, commentId: {}", postId, savedComment.getId());
@@ -88,8 +180,11 @@ public class CommentService {
             logger.info("댓글 수정 시작 - postId: {}, commentId: {}", postId, commentId);
             
             Comment comment = getComment(postId, commentId);
+            ContentTags before = ContentTags.extract(comment.getContent());
             comment.setContent(content);
-            Comment updatedComment = commentRepository.save(comment);
+            Comment updatedComment = commentStore.save(comment);
+            eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.COMMENT, commentId));
+            publishContentChanged(updatedComment, before);
             
             logger.info("댓글 수정 완료 - commentId: {}", commentId);
             return updatedComment;
@@ -103,15 +198,36 @@ public class CommentService {
         }
     }
 
+    // 해시태그/멘션 색인(TagService)에 본문의 변경분을 넘긴다. 댓글의 태그는 댓글이 달린 포스트의 태그로 색인된다
+    private void publishContentChanged(Comment comment, ContentTags before) {
+        Post post = comment.getPost();
+        ContentChangedEvent event = new ContentChangedEvent(post.getId(), comment.getId(), comment.getUserName(),
+            post.getCreatedAt(), before, ContentTags.extract(comment.getContent()));
+        if (event.changed()) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    // 답글이 달린 댓글을 지우면 하위 스레드도 함께 지운다
     public void deleteComment(Integer postId, Integer commentId) {
         try {
             logger.info("댓글 삭제 시작 - postId: {}, commentId: {}", postId, commentId);
             
             Comment comment = getComment(postId, commentId);
-            commentRepository.delete(comment);
-            postService.decrementCommentCount(postId);
+            List<Integer> deletedIds = commentStore.deleteSubtree(postId, comment.getPath());
+            for (Integer deletedId : deletedIds) {
+                eventPublisher.publishEvent(EntityChangedEvent.delete(EntityType.COMMENT, deletedId));
+            }
+            if (comment.getParentId() != null) {
+                commentStore.findById(comment.getParentId()).ifPresent(parent -> {
+                    parent.setReplyCount(Math.max(0, parent.getReplyCount() - 1));
+                    commentStore.save(parent);
+                    eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.COMMENT, parent.getId()));
+                });
+            }
+            postService.decrementCommentCount(postId, deletedIds.size());
             
-            logger.info("댓글 삭제 완료 - postId: {}, commentId: {}", postId, commentId);
+            logger.info("댓글 삭제 완료 - postId: {}, commentId: {}, 삭제한 댓글 수: {}", postId, commentId, deletedIds.size());
         } catch (EntityNotFoundException e) {
             // 로깅은 이미 getComment 메서드에서 수행됨
             throw e;
@@ -0,0 +1,247 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.ReconciliationStatusDto;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// posts.likeCount/commentCount 를 likes/comments 테이블의 실제 행 수와 맞추는 보정 작업 (단일 DB 가 아닌 memory/sharded 프로필에서는 사용하지 않음)
+@Service
+@Profile("!memory & !sharded")
+public class CounterReconciliationService {
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciliationService.class);
+
+    // 청크 하나의 포스트와 실제 좋아요/댓글 수를 한 번의 그룹 집계 쿼리로 읽는다
+    private static final String CHUNK_COUNTS_SQL = """
+        SELECT p.id, p.likeCount, p.commentCount,
+               COALESCE(l.cnt, 0) AS likeRows, COALESCE(c.cnt, 0) AS commentRows
+        FROM posts p
+        LEFT JOIN (SELECT postId, COUNT(*) AS cnt FROM likes
+                   WHERE postId BETWEEN ? AND ? GROUP BY postId) l ON l.postId = p.id
+        LEFT JOIN (SELECT postId, COUNT(*) AS cnt FROM comments
+                   WHERE postId BETWEEN ? AND ? GROUP BY postId) c ON c.postId = p.id
+        WHERE p.id BETWEEN ? AND ?
+        """;
+
+    // 읽은 시점 이후의 좋아요/댓글 변경을 덮어쓰지 않도록 UPDATE 문 안에서 다시 센다
+    private static final String RECOUNT_SQL = """
+        UPDATE posts
+        SET likeCount = (SELECT COUNT(*) FROM likes WHERE postId = posts.id),
+            commentCount = (SELECT COUNT(*) FROM comments WHERE postId = posts.id)
+        WHERE id = ?
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("reconciliationExecutor")
+    private ThreadPoolTaskExecutor reconciliationExecutor;
+
+    @Value("${sns.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sns.reconciliation.chunk-size:500}")
+    private int chunkSize;
+
+    // 청크 처리 시간 대비 실제 작업 비율(0~1). 나머지 시간은 쉬면서 CPU/IO 예산을 지킨다
+    @Value("${sns.reconciliation.duty-cycle:0.25}")
+    private double dutyCycle;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger totalChunks = new AtomicInteger();
+    private final AtomicInteger completedChunks = new AtomicInteger();
+    private final AtomicLong scannedPosts = new AtomicLong();
+    private final AtomicLong likeDrift = new AtomicLong();
+    private final AtomicLong commentDrift = new AtomicLong();
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private volatile Long lastDurationMs;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter scannedCounter;
+    private Counter likeDriftCounter;
+    private Counter commentDriftCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        scannedCounter = meterRegistry.counter("sns.reconciliation.posts.scanned");
+        likeDriftCounter = meterRegistry.counter("sns.reconciliation.drift", "counter", "like");
+        commentDriftCounter = meterRegistry.counter("sns.reconciliation.drift", "counter", "comment");
+        runTimer = meterRegistry.timer("sns.reconciliation.run");
+        Gauge.builder("sns.reconciliation.progress", this,
+                s -> s.totalChunks.get() == 0 ? 0 : (double) s.completedChunks.get() / s.totalChunks.get())
+            .register(meterRegistry);
+        Gauge.builder("sns.reconciliation.running", running, r -> r.get() ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${sns.reconciliation.initial-delay:PT5M}",
+               fixedDelayString = "${sns.reconciliation.interval:PT30M}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    // 요청 스레드를 막지 않도록 별도 스레드에서 보정을 시작한다. 이미 실행 중이면 false
+    public boolean reconcileAsync() {
+        if (running.get()) {
+            return false;
+        }
+        Thread.ofVirtual().name("counter-reconciliation").start(this::reconcile);
+        return true;
+    }
+
+    public ReconciliationStatusDto reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("카운터 보정 작업이 이미 실행 중입니다");
+            return getStatus();
+        }
+        long started = System.nanoTime();
+        try {
+            lastStartedAt = LocalDateTime.now();
+            completedChunks.set(0);
+            scannedPosts.set(0);
+            likeDrift.set(0);
+            commentDrift.set(0);
+
+            Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS minId, MAX(id) AS maxId FROM posts");
+            if (range.get("minId") == null) {
+                totalChunks.set(0);
+                logger.info("카운터 보정 작업 종료 - 포스트 없음");
+            } else {
+                reconcileRange(((Number) range.get("minId")).longValue(), ((Number) range.get("maxId")).longValue());
+            }
+        } catch (Exception e) {
+            logger.error("카운터 보정 작업 중 오류 발생: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            lastDurationMs = Duration.ofNanos(elapsed).toMillis();
+            lastFinishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+        return getStatus();
+    }
+
+    private void reconcileRange(long minId, long maxId) {
+        totalChunks.set((int) ((maxId - minId) / chunkSize + 1));
+        logger.info("카운터 보정 작업 시작 - id 범위: {}~{}, 청크 수: {}", minId, maxId, totalChunks.get());
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (long start = minId; start <= maxId; start += chunkSize) {
+            long fromId = start;
+            long toId = Math.min(start + chunkSize - 1, maxId);
+            chunks.add(CompletableFuture.runAsync(() -> reconcileChunk(fromId, toId), reconciliationExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        logger.info("카운터 보정 작업 완료 - 검사 포스트 수: {}, 좋아요 불일치: {}, 댓글 불일치: {}",
+            scannedPosts.get(), likeDrift.get(), commentDrift.get());
+    }
+
+    private void reconcileChunk(long fromId, long toId) {
+        long started = System.nanoTime();
+
+        List<Long> driftedIds = new ArrayList<>();
+        AtomicInteger scanned = new AtomicInteger();
+        jdbcTemplate.query(CHUNK_COUNTS_SQL, rs -> {
+            scanned.incrementAndGet();
+            boolean likeDrifted = rs.getLong("likeCount") != rs.getLong("likeRows");
+            boolean commentDrifted = rs.getLong("commentCount") != rs.getLong("commentRows");
+            if (likeDrifted) {
+                likeDrift.incrementAndGet();
+                likeDriftCounter.increment();
+            }
+            if (commentDrifted) {
+                commentDrift.incrementAndGet();
+                commentDriftCounter.increment();
+            }
+            if (likeDrifted || commentDrifted) {
+                driftedIds.add(rs.getLong("id"));
+            }
+        }, fromId, toId, fromId, toId, fromId, toId);
+
+        // 불일치한 포스트만 한 트랜잭션에서 갱신하고, 서비스의 쓰기와 같이 변경 이벤트를 발행한다
+        // (변경 로그는 같은 트랜잭션으로 기록되고, 캐시 무효화는 커밋 후에 전달된다)
+        if (!driftedIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(RECOUNT_SQL, driftedIds, driftedIds.size(),
+                    (ps, id) -> ps.setLong(1, id));
+                driftedIds.forEach(id -> eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id)));
+            });
+            logger.info("카운터 보정 - id 범위: {}~{}, 갱신 포스트 수: {}", fromId, toId, driftedIds.size());
+        }
+
+        scannedPosts.addAndGet(scanned.get());
+        scannedCounter.increment(scanned.get());
+        completedChunks.incrementAndGet();
+        throttle(System.nanoTime() - started);
+    }
+
+    private void throttle(long workNanos) {
+        if (dutyCycle <= 0 || dutyCycle >= 1) {
+            return;
+        }
+        long pauseNanos = (long) (workNanos * (1 - dutyCycle) / dutyCycle);
+        try {
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public ReconciliationStatusDto getStatus() {
+        ReconciliationStatusDto status = new ReconciliationStatusDto();
+        status.setRunning(running.get());
+        status.setTotalChunks(totalChunks.get());
+        status.setCompletedChunks(completedChunks.get());
+        status.setScannedPosts(scannedPosts.get());
+        status.setLikeDrift(likeDrift.get());
+        status.setCommentDrift(commentDrift.get());
+        status.setLastStartedAt(lastStartedAt);
+        status.setLastFinishedAt(lastFinishedAt);
+        status.setLastDurationMs(lastDurationMs);
+        return status;
+    }
+}
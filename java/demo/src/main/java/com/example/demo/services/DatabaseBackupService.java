@@ -0,0 +1,237 @@
+package com.example.demo.services;
+
+import com.example.demo.config.SqliteSnapshots;
+import com.example.demo.dtos.BackupStatusDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// 서비스를 멈추지 않는 온라인 백업 (/actuator/backup).
+// - 커넥션 풀과 별도의 커넥션에서 SQLite 백업 API 로 pages-per-step 페이지씩 복사하고, 단계 사이에 step-pause 만큼 쉰다
+// - WAL 파일 DB 는 백업 커넥션에서 읽기 트랜잭션을 열어 둔 채 복사하므로 시작 시점의 일관된 스냅샷이 되고 쓰기를 막지 않는다
+//   (journal-mode 기본값 WAL 로 시작 시 전환한다)
+// - 롤백 저널 파일 DB 는 읽기 잠금이 쓰기 커밋을 막으므로 단계를 나누지 않고 한 번에 복사한다 (그동안 쓰기가 기다린다)
+// - sqlite-memory 의 공유 캐시 메모리 DB 는 같은 페이저를 쓰므로 백업 중 변경이 대상에 바로 반영된다
+// - 복사한 파일은 gzip 으로 압축하고 SHA-256 체크섬 파일과 함께 dir 에 남긴 뒤 keep 개만 유지한다 (SqliteSnapshots)
+@Service
+@Profile("!memory & !sharded")
+public class DatabaseBackupService {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBackupService.class);
+    private static final DateTimeFormatter SNAPSHOT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int BUSY_SLEEP_MS = 10;
+    private static final int BUSY_RETRIES = 500;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${sns.backup.dir:backups}")
+    private Path dir;
+
+    @Value("${sns.backup.pages-per-step:64}")
+    private int pagesPerStep;
+
+    @Value("${sns.backup.step-pause:PT0.002S}")
+    private Duration stepPause;
+
+    @Value("${sns.backup.keep:7}")
+    private int keep;
+
+    @Value("${sns.backup.journal-mode:WAL}")
+    private String journalMode;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger copiedPages = new AtomicInteger();
+    private final AtomicInteger totalPages = new AtomicInteger();
+    private volatile String lastSnapshot;
+    private volatile String lastSha256;
+    private volatile Long lastSizeBytes;
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+    private volatile Long lastDurationMs;
+    private volatile String lastError;
+
+    private Timer backupTimer;
+
+    @PostConstruct
+    void init() throws SQLException {
+        backupTimer = meterRegistry.timer("sns.backup.run");
+        Path databaseFile = SqliteSnapshots.databaseFile(url);
+        if (databaseFile == null || journalMode.isBlank()) {
+            return;
+        }
+        // journal_mode=WAL 은 파일에 기록되므로 한 번 바꾸면 다른 커넥션과 다음 시작에도 유지된다
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("PRAGMA journal_mode = " + journalMode)) {
+            result.next();
+            logger.info("SQLite 저널 모드 - 파일: {}, 모드: {}", databaseFile, result.getString(1));
+        }
+    }
+
+    // 요청 스레드를 막지 않도록 별도 스레드에서 백업을 시작한다. 이미 실행 중이면 false.
+    // 백업은 네이티브 호출 안에서 쉬므로 가상 스레드 대신 플랫폼 스레드를 쓴다
+    public boolean backupAsync() {
+        if (running.get()) {
+            return false;
+        }
+        Thread.ofPlatform().name("database-backup").daemon(true).start(() -> {
+            try {
+                backup();
+            } catch (Exception e) {
+                // 로깅은 backup 에서 수행됨
+            }
+        });
+        return true;
+    }
+
+    public Path backup() throws Exception {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("백업이 이미 실행 중입니다");
+        }
+        long started = System.nanoTime();
+        lastStartedAt = LocalDateTime.now();
+        copiedPages.set(0);
+        totalPages.set(0);
+        Path copy = null;
+        try {
+            Files.createDirectories(dir);
+            String name = "sns-" + lastStartedAt.format(SNAPSHOT_NAME);
+            copy = dir.resolve(name + ".db.partial");
+            Files.deleteIfExists(copy);
+            copyDatabase(copy);
+
+            Path snapshot = dir.resolve(name + ".db.gz");
+            String sha256 = SqliteSnapshots.compress(copy, snapshot);
+            lastSnapshot = snapshot.toAbsolutePath().toString();
+            lastSha256 = sha256;
+            lastSizeBytes = Files.size(snapshot);
+            lastError = null;
+            prune();
+            logger.info("온라인 백업 완료 - 스냅샷: {}, 페이지: {}, 압축 크기: {} bytes, 소요 시간: {}ms",
+                snapshot, totalPages.get(), lastSizeBytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return snapshot;
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            logger.error("온라인 백업 중 오류 발생 - 오류: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            if (copy != null) {
+                Files.deleteIfExists(copy);
+            }
+            long elapsed = System.nanoTime() - started;
+            backupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            lastDurationMs = Duration.ofNanos(elapsed).toMillis();
+            lastFinishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    private void copyDatabase(Path copy) throws SQLException {
+        boolean fileDatabase = SqliteSnapshots.databaseFile(url) != null;
+        try (Connection connection = DriverManager.getConnection(url)) {
+            String mode = queryString(connection, "PRAGMA journal_mode");
+            boolean pinSnapshot = fileDatabase && "wal".equalsIgnoreCase(mode);
+            // WAL 파일 DB: 백업이 끝날 때까지 같은 시점을 읽도록 읽기 트랜잭션을 잡아 둔다 (쓰기는 막지 않음).
+            // 롤백 저널 파일 DB: 단계 사이에 다른 커넥션이 커밋하면 백업이 처음부터 다시 시작되므로 한 단계로 복사한다.
+            //   복사하는 동안 쓰기 커밋은 busy_timeout 안에서 기다린다
+            int steps = fileDatabase && !pinSnapshot ? -1 : pagesPerStep;
+            if (pinSnapshot) {
+                connection.setAutoCommit(false);
+                queryString(connection, "SELECT COUNT(*) FROM sqlite_master");
+            } else if (fileDatabase) {
+                logger.warn("저널 모드가 {} 이므로 백업하는 동안 쓰기가 기다립니다. 쓰기를 막지 않으려면 sns.backup.journal-mode=WAL", mode);
+            }
+            try {
+                int rc = connection.unwrap(SQLiteConnection.class).getDatabase().backup("main", copy.toString(),
+                    (remaining, pageCount) -> {
+                        totalPages.set(pageCount);
+                        copiedPages.set(pageCount - remaining);
+                        if (remaining > 0) {
+                            pause();
+                        }
+                    }, BUSY_SLEEP_MS, BUSY_RETRIES, steps);
+                if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+                    throw new SQLException("SQLite 백업 실패 - 코드: " + rc);
+                }
+            } finally {
+                if (pinSnapshot) {
+                    connection.rollback();
+                }
+            }
+        }
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            return result.next() ? result.getString(1) : null;
+        }
+    }
+
+    // 단계 사이에 쉬어 요청 트랜잭션이 CPU 와 디스크를 쓸 수 있게 한다
+    private void pause() {
+        try {
+            Thread.sleep(stepPause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(dir)) {
+            snapshots = files.filter(path -> path.getFileName().toString().endsWith(".db.gz"))
+                .sorted(Comparator.comparing(Path::getFileName).reversed())
+                .toList();
+        }
+        for (Path old : snapshots.subList(Math.min(keep, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old);
+            Files.deleteIfExists(SqliteSnapshots.checksumFile(old));
+            logger.info("오래된 스냅샷 삭제 - 파일: {}", old);
+        }
+    }
+
+    public BackupStatusDto getStatus() {
+        BackupStatusDto status = new BackupStatusDto();
+        status.setRunning(running.get());
+        status.setCopiedPages(copiedPages.get());
+        status.setTotalPages(totalPages.get());
+        status.setLastSnapshot(lastSnapshot);
+        status.setLastSha256(lastSha256);
+        status.setLastSizeBytes(lastSizeBytes);
+        status.setLastStartedAt(lastStartedAt);
+        status.setLastFinishedAt(lastFinishedAt);
+        status.setLastDurationMs(lastDurationMs);
+        status.setLastError(lastError);
+        return status;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.demo.services;
+
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.invalidation.Invalidation;
+import com.example.demo.invalidation.InvalidationBus;
+import com.example.demo.models.Follow;
+import com.example.demo.repositories.FollowRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Profile("!memory & !sharded")
+@Transactional
+@RetryOnBusy
+public class FollowService {
+    private static final Logger logger = LoggerFactory.getLogger(FollowService.class);
+    private static final String FOLLOWERS = "FOLLOWERS";
+    private static final String CHANGED_FOLLOWEES = FollowService.class.getName() + ".CHANGED_FOLLOWEES";
+
+    // 팔로우/언팔로우와 같은 트랜잭션에서 팔로워 수를 고친다 (COUNT 로 다시 세지 않는다)
+    private static final String ADD_FOLLOWERS_SQL = """
+        INSERT INTO follower_counts (userName, followers) VALUES (?, ?)
+        ON CONFLICT (userName) DO UPDATE SET followers = followers + excluded.followers
+        """;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    // fan-out 여부를 포스트마다 DB 에서 읽지 않도록 팔로워 수를 캐시한다.
+    // 팔로우가 바뀌면 커밋 후 InvalidationBus 로 모든 인스턴스의 항목을 지우고 다음 조회에서 다시 읽는다
+    private final Map<String, Long> followerCounts = new ConcurrentHashMap<>();
+    // 무효화마다 늘어난다. 읽는 동안 무효화가 지나갔으면 읽은 값을 캐시하지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // 현재 트랜잭션에서 팔로워 수를 바꾼 계정 (커밋 전 값은 캐시하지 않는다)
+    private static final class ChangedFollowees {
+        private final Set<String> names = new HashSet<>();
+    }
+
+    @PostConstruct
+    void subscribeInvalidations() {
+        invalidationBus.subscribe(FOLLOWERS, invalidation -> {
+            invalidations.incrementAndGet();
+            followerCounts.remove(invalidation.entityId());
+        });
+    }
+
+    public void follow(String followerName, String followeeName) {
+        try {
+            logger.info("팔로우 시작 - follower: {}, followee: {}", followerName, followeeName);
+            if (followerName.equals(followeeName)) {
+                throw new IllegalArgumentException("자기 자신은 팔로우할 수 없습니다.");
+            }
+            if (followRepository.existsByFollowerNameAndFolloweeName(followerName, followeeName)) {
+                logger.info("이미 팔로우 중 - follower: {}, followee: {}", followerName, followeeName);
+                return;
+            }
+
+            Follow follow = new Follow();
+            follow.setFollowerName(followerName);
+            follow.setFolloweeName(followeeName);
+            followRepository.save(follow);
+            changeFollowerCount(followeeName, 1);
+            timelineService.backfill(followerName, followeeName, isCelebrity(followeeName));
+
+            logger.info("팔로우 완료 - follower: {}, followee: {}", followerName, followeeName);
+        } catch (IllegalArgumentException e) {
+            logger.error("팔로우 실패 - follower: {}, followee: {}, 오류: {}", followerName, followeeName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("팔로우 중 오류 발생 - follower: {}, followee: {}, 오류: {}",
+                followerName, followeeName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    public void unfollow(String followerName, String followeeName) {
+        try {
+            logger.info("언팔로우 시작 - follower: {}, followee: {}", followerName, followeeName);
+            if (followRepository.deleteByFollowerNameAndFolloweeName(followerName, followeeName) > 0) {
+                changeFollowerCount(followeeName, -1);
+                timelineService.removeAuthor(followerName, followeeName);
+                logger.info("언팔로우 완료 - follower: {}, followee: {}", followerName, followeeName);
+            } else {
+                logger.info("팔로우 관계가 존재하지 않음 - follower: {}, followee: {}", followerName, followeeName);
+            }
+        } catch (Exception e) {
+            logger.error("언팔로우 중 오류 발생 - follower: {}, followee: {}, 오류: {}",
+                followerName, followeeName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // DB 조회는 ConcurrentHashMap 의 compute 밖에서 한다 (조회 동안 다른 키의 bin 잠금을 잡지 않는다).
+    // 현재 트랜잭션에서 바꾼 계정은 캐시를 거치지 않고 읽는다
+    public long getFollowerCount(String userName) {
+        boolean changed = changedInCurrentTransaction(userName);
+        Long cached = changed ? null : followerCounts.get(userName);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        List<Long> rows = jdbcTemplate.queryForList("SELECT followers FROM follower_counts WHERE userName = ?",
+            Long.class, userName);
+        long count = rows.isEmpty() ? 0 : rows.get(0);
+        if (!changed && invalidations.get() == seen) {
+            followerCounts.putIfAbsent(userName, count);
+            // 넣는 사이에 무효화가 지나갔으면 되돌린다
+            if (invalidations.get() != seen) {
+                followerCounts.remove(userName, count);
+            }
+        }
+        return count;
+    }
+
+    public boolean isCelebrity(String userName) {
+        return getFollowerCount(userName) >= timelineService.getCelebrityThreshold();
+    }
+
+    private void changeFollowerCount(String followeeName, int delta) {
+        jdbcTemplate.update(ADD_FOLLOWERS_SQL, followeeName, delta);
+        ChangedFollowees changed = (ChangedFollowees) TransactionSynchronizationManager.getResource(CHANGED_FOLLOWEES);
+        if (changed == null) {
+            ChangedFollowees bound = new ChangedFollowees();
+            TransactionSynchronizationManager.bindResource(CHANGED_FOLLOWEES, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bound.names.forEach(name ->
+                        invalidationBus.publish(new Invalidation(FOLLOWERS, name, System.currentTimeMillis())));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHANGED_FOLLOWEES);
+                }
+            });
+            changed = bound;
+        }
+        changed.names.add(followeeName);
+    }
+
+    private static boolean changedInCurrentTransaction(String userName) {
+        ChangedFollowees changed = (ChangedFollowees) TransactionSynchronizationManager.getResource(CHANGED_FOLLOWEES);
+        return changed != null && changed.names.contains(userName);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.demo.services;
 
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.PostActivityEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
 import com.example.demo.models.Like;
 import com.example.demo.models.Post;
-import com.example.demo.repositories.LikeRepository;
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.repositories.LikeStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
@@ -12,20 +17,24 @@ import org.slf4j.LoggerFactory;
 
 @Service
 @Transactional
+@RetryOnBusy
 public class LikeService {
     private static final Logger logger = LoggerFactory.getLogger(LikeService.class);
     
     @Autowired
-    private LikeRepository likeRepository;
+    private LikeStore likeStore;
     
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public void likePost(Integer postId, String userName) {
         try {
             logger.info("좋아요 등록 시작 - postId: {}, userName: {}", postId, userName);
             
-            if (!likeRepository.existsByPostIdAndUserName(postId, userName)) {
+            if (!likeStore.existsByPostIdAndUserName(postId, userName)) {
                 Post post = postService.getPost(postId);
                 if (post == null) {
                     logger.error("좋아요 실패 - 포스트를 찾을 수 없음 - postId: {}", postId);
@@ -36,7 +45,9 @@ public class LikeService {
                 like.setPost(post);
                 like.setUserName(userName);
                 
-                likeRepository.save(like);
+                likeStore.save(like);
+                eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.LIKE, EntityChangedEvent.likeId(postId, userName)));
+                eventPublisher.publishEvent(new PostActivityEvent(PostActivityEvent.Type.LIKE, postId, post.getUserName(), userName));
                 postService.incrementLikeCount(postId);
                 
                 logger.info("좋아요 등록 성공 - postId: {}, userName: {}", postId, userName);
@@ -54,8 +65,9 @@ public class LikeService {
         try {
             logger.info("좋아요 취소 시작 - postId: {}, userName: {}", postId, userName);
             
-            if (likeRepository.existsByPostIdAndUserName(postId, userName)) {
-                likeRepository.deleteByPostIdAndUserName(postId, userName);
+            if (likeStore.existsByPostIdAndUserName(postId, userName)) {
+                likeStore.deleteByPostIdAndUserName(postId, userName);
+                eventPublisher.publishEvent(EntityChangedEvent.delete(EntityType.LIKE, EntityChangedEvent.likeId(postId, userName)));
                 postService.decrementLikeCount(postId);
                 
                 logger.info("좋아요 취소 성공 - postId: {}, userName: {}", postId, userName);
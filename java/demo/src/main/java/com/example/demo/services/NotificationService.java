@@ -0,0 +1,305 @@
+package com.example.demo.services;
+
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.NotificationDto;
+import com.example.demo.dtos.NotificationPageDto;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import com.example.demo.events.EntityChangedEvent.Operation;
+import com.example.demo.events.PostActivityEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 내 포스트에 달린 좋아요/댓글 알림.
+// - 커밋된 PostActivityEvent 를 (수신자, 포스트, 종류) 별로 메모리에서 모았다가 flush-interval 마다 키당 한 행으로 쓴다
+//   ("bob 님 외 36명이 포스트를 좋아합니다"). 쓰기 수는 이벤트 수와 무관하게 flush 당 키 수 이하이고,
+//   키가 max-pending 개가 되면 기다리지 않고 쓰므로 메모리도 그 이상 늘지 않는다
+// - 댓글 수는 이벤트 수를 더하고, 좋아요 수는 좋아요/취소가 있었던 포스트만 flush 때 likes 에서 지금 좋아하는 사람 수로 다시 센다.
+//   취소는 알림을 새로 띄우지 않고(updatedAt 유지) 수만 줄이며, 아무도 좋아하지 않게 되면 알림을 지운다
+// - 읽음 처리는 사용자별 readAt 한 행만 바꾸고, 안 읽은 수는 (recipient, updatedAt) 인덱스 범위 COUNT 다
+// 프로세스가 비정상 종료되면 아직 쓰지 않은 최대 flush-interval 동안의 알림이 유실된다. 종료 시에는 남은 알림을 쓴다.
+@Service
+@Profile("!memory & !sharded")
+public class NotificationService {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO notifications (recipient, postId, type, count, lastActor, updatedAt) VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (recipient, postId, type) DO UPDATE
+        SET count = count + excluded.count, lastActor = excluded.lastActor, updatedAt = excluded.updatedAt
+        """;
+
+    // 수는 LIKE_RECOUNT_SQL 이 같은 트랜잭션에서 채운다
+    private static final String LIKE_UPSERT_SQL = """
+        INSERT INTO notifications (recipient, postId, type, count, lastActor, updatedAt) VALUES (?, ?, 'LIKE', 0, ?, ?)
+        ON CONFLICT (recipient, postId, type) DO UPDATE
+        SET lastActor = excluded.lastActor, updatedAt = excluded.updatedAt
+        """;
+
+    // 작성자 자신의 좋아요는 세지 않는다. lastActor 가 좋아요를 취소했으면 남은 사람 중 하나로 바꾼다
+    private static final String LIKE_RECOUNT_SQL = """
+        UPDATE notifications
+        SET count = (SELECT COUNT(*) FROM likes l WHERE l.postId = notifications.postId AND l.userName <> notifications.recipient),
+            lastActor = COALESCE(
+                (SELECT l.userName FROM likes l WHERE l.postId = notifications.postId AND l.userName = notifications.lastActor),
+                (SELECT MAX(l.userName) FROM likes l WHERE l.postId = notifications.postId AND l.userName <> notifications.recipient),
+                lastActor)
+        WHERE postId = ? AND type = 'LIKE'
+        """;
+
+    private static final String LIKE_DELETE_EMPTY_SQL = "DELETE FROM notifications WHERE postId = ? AND type = 'LIKE' AND count = 0";
+
+    // 지워진 포스트의 알림(삭제 직전에 모인 것)은 포스트와 조인되지 않아 보이지 않는다
+    private static final String PAGE_SQL = """
+        SELECT n.id, n.postId, n.type, n.count, n.lastActor, n.updatedAt FROM notifications n
+        JOIN posts p ON p.id = n.postId
+        WHERE n.recipient = ? AND n.updatedAt <= ? AND (n.updatedAt < ? OR n.id < ?)
+        ORDER BY n.updatedAt DESC, n.id DESC LIMIT ?
+        """;
+
+    // 목록(PAGE_SQL)에 보이지 않는 지워진 포스트의 알림은 세지 않는다
+    private static final String UNREAD_SQL = """
+        SELECT COUNT(*) FROM notifications n
+        JOIN posts p ON p.id = n.postId
+        WHERE n.recipient = ? AND n.updatedAt > COALESCE((SELECT readAt FROM notification_reads WHERE userName = ?), 0)
+        """;
+
+    record Key(String recipient, int postId, PostActivityEvent.Type type) {
+    }
+
+    static final class Pending {
+        int count;
+        String lastActor;
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.notifications.max-pending:10000}")
+    private int maxPending;
+
+    // pending 을 잠금으로 쓴다. unliked 는 좋아요가 취소된 포스트 ID
+    private final Map<Key, Pending> pending = new HashMap<>();
+    private final Set<Integer> unliked = new HashSet<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean earlyFlushStarted = new AtomicBoolean();
+    private TransactionTemplate transactionTemplate;
+    private Counter eventCounter;
+    private Counter rowCounter;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        eventCounter = meterRegistry.counter("sns.notifications.events");
+        rowCounter = meterRegistry.counter("sns.notifications.rows");
+    }
+
+    // 롤백(잠금 충돌 재시도 포함)된 좋아요/댓글은 알리지 않도록 커밋 후에만 모은다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostActivity(PostActivityEvent event) {
+        if (event.recipient() == null || event.recipient().equals(event.actorName())) {
+            return;
+        }
+        eventCounter.increment();
+        boolean full;
+        synchronized (pending) {
+            Pending entry = pending.computeIfAbsent(new Key(event.recipient(), event.postId(), event.type()), key -> new Pending());
+            entry.count++;
+            entry.lastActor = event.actorName();
+            full = pending.size() + unliked.size() >= maxPending;
+        }
+        if (full) {
+            flushEarly();
+        }
+    }
+
+    // 좋아요 취소도 커밋된 것만 모은다. 수는 flush 때 다시 센다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLikeRemoved(EntityChangedEvent event) {
+        if (event.entityType() != EntityType.LIKE || event.operation() != Operation.DELETE) {
+            return;
+        }
+        int postId = Integer.parseInt(event.entityId().substring(0, event.entityId().indexOf(':')));
+        boolean full;
+        synchronized (pending) {
+            unliked.add(postId);
+            full = pending.size() + unliked.size() >= maxPending;
+        }
+        if (full) {
+            flushEarly();
+        }
+    }
+
+    private void flushEarly() {
+        if (earlyFlushStarted.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("notification-flush").start(() -> {
+                try {
+                    flush();
+                } finally {
+                    earlyFlushStarted.set(false);
+                }
+            });
+        }
+    }
+
+    // 포스트가 지워지면 그 포스트의 알림도 지운다
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entityType() == EntityType.POST && event.operation() == Operation.DELETE) {
+            jdbcTemplate.update("DELETE FROM notifications WHERE postId = ?", Integer.parseInt(event.entityId()));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${sns.notifications.flush-interval:PT5S}",
+               fixedDelayString = "${sns.notifications.flush-interval:PT5S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Key, Pending> batch;
+            Set<Integer> unlikedBatch;
+            synchronized (pending) {
+                if (pending.isEmpty() && unliked.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(pending);
+                unlikedBatch = new HashSet<>(unliked);
+                pending.clear();
+                unliked.clear();
+            }
+            // 읽음 시각보다 뒤에 보이도록 이벤트 시각이 아니라 쓰는 시각으로 갱신한다
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            List<Object[]> commentRows = new ArrayList<>();
+            List<Object[]> likeRows = new ArrayList<>();
+            Set<Integer> likedPosts = new HashSet<>(unlikedBatch);
+            batch.forEach((key, entry) -> {
+                if (key.type() == PostActivityEvent.Type.LIKE) {
+                    likeRows.add(new Object[] {key.recipient(), key.postId(), entry.lastActor, now});
+                    likedPosts.add(key.postId());
+                } else {
+                    commentRows.add(new Object[] {
+                        key.recipient(), key.postId(), key.type().name(), entry.count, entry.lastActor, now});
+                }
+            });
+            List<Object[]> recountRows = likedPosts.stream().map(postId -> new Object[] {postId}).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, commentRows);
+                    jdbcTemplate.batchUpdate(LIKE_UPSERT_SQL, likeRows);
+                    jdbcTemplate.batchUpdate(LIKE_RECOUNT_SQL, recountRows);
+                    jdbcTemplate.batchUpdate(LIKE_DELETE_EMPTY_SQL, recountRows);
+                });
+                rowCounter.increment(batch.size());
+                logger.debug("알림 쓰기 완료 - 행 수: {}, 좋아요 수를 다시 센 포스트 수: {}", batch.size(), likedPosts.size());
+            } catch (RuntimeException e) {
+                // 트랜잭션이 롤백되었으므로 다음 flush 에서 다시 쓴다
+                logger.warn("알림 쓰기 실패 - 다음 주기에 다시 시도합니다. 행 수: {}, 오류: {}", batch.size(), e.getMessage());
+                synchronized (pending) {
+                    batch.forEach((key, entry) -> pending.merge(key, entry, (current, failed) -> {
+                        current.count += failed.count;
+                        return current;
+                    }));
+                    unliked.addAll(unlikedBatch);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    @Transactional(readOnly = true)
+    @RetryOnBusy
+    public NotificationPageDto getNotifications(String userName, String cursor, int size) {
+        try {
+            logger.info("알림 조회 시작 - userName: {}, cursor: {}, size: {}", userName, cursor, size);
+            KeysetCursor after = KeysetCursor.parse(cursor);
+            Timestamp updatedAt = after == null ? new Timestamp(Long.MAX_VALUE) : new Timestamp(after.createdAtMillis());
+            int afterId = after == null ? Integer.MAX_VALUE : after.id();
+            long readAt = jdbcTemplate.query("SELECT readAt FROM notification_reads WHERE userName = ?",
+                rs -> rs.next() ? rs.getTimestamp("readAt").getTime() : 0L, userName);
+
+            List<NotificationDto> notifications = jdbcTemplate.query(PAGE_SQL, (rs, n) -> {
+                Timestamp rowUpdatedAt = rs.getTimestamp("updatedAt");
+                PostActivityEvent.Type type = PostActivityEvent.Type.valueOf(rs.getString("type"));
+                int count = rs.getInt("count");
+                String lastActor = rs.getString("lastActor");
+                return new NotificationDto(rs.getInt("id"), type.name(), rs.getInt("postId"), count, lastActor,
+                    message(type, count, lastActor), rowUpdatedAt.getTime() > readAt, rowUpdatedAt.toLocalDateTime());
+            }, userName, updatedAt, updatedAt, afterId, size);
+
+            NotificationPageDto page = new NotificationPageDto();
+            page.setNotifications(notifications);
+            page.setUnreadCount(jdbcTemplate.queryForObject(UNREAD_SQL, Long.class, userName, userName));
+            if (notifications.size() == size) {
+                NotificationDto last = notifications.get(notifications.size() - 1);
+                page.setNextCursor(KeysetCursor.of(last.getUpdatedAt(), last.getId()).encode());
+            }
+            logger.info("알림 조회 완료 - userName: {}, 알림 수: {}, 안 읽은 수: {}",
+                userName, notifications.size(), page.getUnreadCount());
+            return page;
+        } catch (IllegalArgumentException e) {
+            logger.error("알림 조회 실패 - userName: {}, 오류: {}", userName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("알림 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 지금까지 쓰인 알림을 모두 읽음으로 표시한다
+    @Transactional
+    @RetryOnBusy
+    public void markAllRead(String userName) {
+        jdbcTemplate.update("INSERT OR REPLACE INTO notification_reads (userName, readAt) VALUES (?, ?)",
+            userName, new Timestamp(System.currentTimeMillis()));
+        logger.info("알림 읽음 처리 완료 - userName: {}", userName);
+    }
+
+    static String message(PostActivityEvent.Type type, int count, String lastActor) {
+        return switch (type) {
+            case LIKE -> count == 1
+                ? lastActor + " 님이 포스트를 좋아합니다"
+                : lastActor + " 님 외 " + (count - 1) + "명이 포스트를 좋아합니다";
+            case COMMENT -> count == 1
+                ? lastActor + " 님이 포스트에 댓글을 남겼습니다"
+                : lastActor + " 님 등이 포스트에 댓글 " + count + "개를 남겼습니다";
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo.services;
+
+import com.example.demo.events.PostCreatedEvent;
+import com.example.demo.models.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// 예약 게시(publishAt)/만료(expiresAt) 포스트.
+// - 예약 포스트는 createdAt 이 게시 시각이므로 목록/피드 조회는 createdAt <= 현재 시각 (인덱스 범위의 상한) 만으로 게시 전 포스트를 거른다
+// - 게시/만료 시각은 메모리의 계층형 타이밍 휠에 걸어 두고 tick 마다 때가 된 것만 처리한다. posts 테이블을 주기적으로 훑지 않는다
+//   게시: 변경 로그에 upsert 를 남겨 동기화 클라이언트가 다시 읽게 한다. 만료: expiry-batch-size 개씩 한 트랜잭션으로 지운다
+// - 휠은 첫 tick 에 publishAt/expiresAt 부분 인덱스 범위 조회로 다시 채운다. 꺼져 있던 동안 지난 만료도 이때 지운다
+// 만료된 포스트는 지워지기까지 최대 한 tick 동안 보인다. 다른 인스턴스가 만든 포스트는 그 인스턴스(또는 다음에 시작하는 인스턴스)가 처리한다.
+@Service
+@Profile("!memory & !sharded")
+public class PostScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(PostScheduleService.class);
+
+    enum Action { PUBLISH, EXPIRE }
+
+    record Task(int postId, Action action) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.posts.schedule.tick:PT1S}")
+    private Duration tick;
+
+    @Value("${sns.posts.schedule.expiry-batch-size:100}")
+    private int expiryBatchSize;
+
+    // wheel 을 잠금으로 쓴다
+    private TimingWheel<Task> wheel;
+    private volatile boolean loaded;
+    private Counter expiredCounter;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>(tick.toMillis(), System.currentTimeMillis());
+        expiredCounter = meterRegistry.counter("sns.posts.expired");
+        meterRegistry.gauge("sns.posts.schedule.pending", this, service -> service.pendingTasks());
+    }
+
+    // 롤백된 포스트는 걸지 않도록 커밋 후에 건다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        Post post = event.post();
+        if (post.getPublishAt() != null) {
+            schedule(post.getId(), Action.PUBLISH, Timestamp.valueOf(post.getPublishAt()));
+        }
+        if (post.getExpiresAt() != null) {
+            schedule(post.getId(), Action.EXPIRE, Timestamp.valueOf(post.getExpiresAt()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sns.posts.schedule.tick:PT1S}")
+    public synchronized void tick() {
+        if (!loaded) {
+            rebuild();
+        }
+        List<Task> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Integer> published = new ArrayList<>();
+        List<Integer> expired = new ArrayList<>();
+        due.forEach(task -> (task.action() == Action.PUBLISH ? published : expired).add(task.postId()));
+
+        if (!published.isEmpty()) {
+            try {
+                postService.markScheduledPostsPublished(published);
+                logger.info("예약 포스트 게시 - 포스트 수: {}", published.size());
+            } catch (RuntimeException e) {
+                logger.warn("예약 포스트 게시 처리 실패 - 다음 tick 에 다시 시도합니다. 포스트 수: {}, 오류: {}",
+                    published.size(), e.getMessage());
+                retryNextTick(published, Action.PUBLISH);
+            }
+        }
+        for (int from = 0; from < expired.size(); from += expiryBatchSize) {
+            List<Integer> batch = expired.subList(from, Math.min(from + expiryBatchSize, expired.size()));
+            try {
+                int deleted = postService.deleteExpiredPosts(batch);
+                expiredCounter.increment(deleted);
+                logger.info("만료 포스트 삭제 - 대상: {}, 삭제: {}", batch.size(), deleted);
+            } catch (RuntimeException e) {
+                logger.warn("만료 포스트 삭제 실패 - 다음 tick 에 다시 시도합니다. 포스트 수: {}, 오류: {}",
+                    batch.size(), e.getMessage());
+                retryNextTick(batch, Action.EXPIRE);
+            }
+        }
+    }
+
+    // 아직 게시되지 않은 예약 포스트와 모든 만료 예정 포스트를 다시 건다. 지난 만료는 바로 꺼내진다
+    void rebuild() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Task> tasks = new ArrayList<>();
+        List<Timestamp> dueAt = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, publishAt FROM posts WHERE publishAt > ?", rs -> {
+            tasks.add(new Task(rs.getInt("id"), Action.PUBLISH));
+            dueAt.add(rs.getTimestamp("publishAt"));
+        }, now);
+        jdbcTemplate.query("SELECT id, expiresAt FROM posts WHERE expiresAt IS NOT NULL", rs -> {
+            tasks.add(new Task(rs.getInt("id"), Action.EXPIRE));
+            dueAt.add(rs.getTimestamp("expiresAt"));
+        });
+        synchronized (wheel) {
+            for (int i = 0; i < tasks.size(); i++) {
+                wheel.schedule(dueAt.get(i).getTime(), tasks.get(i));
+            }
+        }
+        loaded = true;
+        logger.info("포스트 예약/만료 일정 로드 완료 - 항목 수: {}", tasks.size());
+    }
+
+    int pendingTasks() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void schedule(int postId, Action action, Timestamp at) {
+        synchronized (wheel) {
+            wheel.schedule(at.getTime(), new Task(postId, action));
+        }
+    }
+
+    private void retryNextTick(List<Integer> postIds, Action action) {
+        long next = System.currentTimeMillis() + tick.toMillis();
+        synchronized (wheel) {
+            postIds.forEach(postId -> wheel.schedule(next, new Task(postId, action)));
+        }
+    }
+}
@@ -1,27 +1,48 @@
 package com.example.demo.services;
 
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.UserPostPageDto;
+import com.example.demo.models.ContentTags;
 import com.example.demo.models.Post;
-import com.example.demo.repositories.PostRepository;
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.events.ContentChangedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import com.example.demo.events.PostCreatedEvent;
+import com.example.demo.repositories.PostStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @Transactional
+@RetryOnBusy
 public class PostService {
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
     
     @Autowired
-    private PostRepository postRepository;
+    private PostStore postStore;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // 예약/만료 포스트는 JPA 저장소에서만 지원한다
+    @Autowired
+    private ObjectProvider<PostScheduleService> postScheduleService;
+
+    // 게시 시각 전인 예약 포스트는 빠진다
     public List<Post> getAllPosts() {
         try {
             logger.info("모든 포스트 조회 시작");
-            List<Post> posts = postRepository.findAll();
+            List<Post> posts = postStore.findAllVisible(LocalDateTime.now());
             logger.info("모든 포스트 조회 완료 - 포스트 수: {}", posts.size());
             return posts;
         } catch (Exception e) {
@@ -30,11 +51,42 @@ public class PostService {
         }
     }
 
+    // 작성자별 포스트 목록 (최신순 keyset 페이지)
+    @Transactional(readOnly = true)
+    public UserPostPageDto getPostsByUser(String userName, String cursor, int size) {
+        try {
+            logger.info("작성자별 포스트 조회 시작 - userName: {}, cursor: {}, size: {}", userName, cursor, size);
+            List<PostSummaryDto> posts = postStore.findPageByUserName(userName, KeysetCursor.parse(cursor), size);
+
+            UserPostPageDto page = new UserPostPageDto();
+            page.setPosts(posts);
+            if (posts.size() == size) {
+                PostSummaryDto last = posts.get(posts.size() - 1);
+                page.setNextCursor(KeysetCursor.of(last.getCreatedAt(), last.getId()).encode());
+            }
+            logger.info("작성자별 포스트 조회 완료 - userName: {}, 포스트 수: {}", userName, posts.size());
+            return page;
+        } catch (IllegalArgumentException e) {
+            logger.error("작성자별 포스트 조회 실패 - userName: {}, 오류: {}", userName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("작성자별 포스트 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 게시 전인 예약 포스트는 없는 포스트와 같이 404 로 답한다 (좋아요/댓글도 이 메서드로 포스트를 찾는다)
     public Post getPost(Integer id) {
+        return findPost(id, true);
+    }
+
+    // 수정/삭제는 게시 전인 예약 포스트도 찾는다 (작성자가 예약을 고치거나 취소할 수 있도록)
+    private Post findPost(Integer id, boolean publishedOnly) {
         try {
             logger.info("포스트 조회 시작 - id: {}", id);
             
-            Post post = postRepository.findById(id)
+            Post post = postStore.findById(id)
+                .filter(found -> !publishedOnly || isPublished(found))
                 .orElseThrow(() -> {
                     logger.error("포스트를 찾을 수 없음 - id: {}", id);
                     return new EntityNotFoundException("포스트를 찾을 수 없습니다. ID: " + id);
@@ -55,12 +107,25 @@ public class PostService {
         try {
             logger.info("포스트 생성 시작 - userName: {}", post.getUserName());
             
+            // 잠금 충돌로 재시도될 때 롤백된 이전 시도의 ID 로 다른 포스트를 merge 하지 않도록 초기화
+            post.setId(null);
             post.setLikeCount(0);
             post.setCommentCount(0);
-            Post savedPost = postRepository.save(post);
+            checkSchedule(post);
+            Post savedPost = postStore.save(post);
+            // 팔로워 홈 타임라인 반영 등 후속 처리
+            eventPublisher.publishEvent(new PostCreatedEvent(savedPost));
+            // 예약 포스트는 게시 시각에 markScheduledPostsPublished 가 변경 로그에 남긴다
+            if (isPublished(savedPost)) {
+                eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, savedPost.getId()));
+            }
+            publishContentChanged(savedPost, ContentTags.EMPTY);
             
             logger.info("포스트 생성 완료 - id: {}", savedPost.getId());
             return savedPost;
+        } catch (IllegalArgumentException e) {
+            logger.error("포스트 생성 실패 - userName: {}, 오류: {}", post.getUserName(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("포스트 생성 중 오류 발생 - userName: {}, 오류: {}", 
                 post.getUserName(), e.getMessage(), e);
@@ -68,18 +133,45 @@ public class PostService {
         }
     }
 
+    private static boolean isPublished(Post post) {
+        return post.getPublishAt() == null || !post.getPublishAt().isAfter(LocalDateTime.now());
+    }
+
+    // 이미 지난 publishAt 은 바로 게시한다. 만료 시각은 게시 시각보다 뒤여야 한다
+    private void checkSchedule(Post post) {
+        LocalDateTime now = LocalDateTime.now();
+        if (post.getPublishAt() != null && !post.getPublishAt().isAfter(now)) {
+            post.setPublishAt(null);
+        }
+        if (post.getPublishAt() == null && post.getExpiresAt() == null) {
+            return;
+        }
+        if (postScheduleService.getIfAvailable() == null) {
+            throw new IllegalArgumentException("이 저장소에서는 예약/만료 포스트를 지원하지 않습니다.");
+        }
+        LocalDateTime visibleFrom = post.getPublishAt() != null ? post.getPublishAt() : now;
+        if (post.getExpiresAt() != null && !post.getExpiresAt().isAfter(visibleFrom)) {
+            throw new IllegalArgumentException("만료 시각은 게시 시각보다 뒤여야 합니다.");
+        }
+    }
+
     public Post updatePost(Integer id, String content) {
         try {
             logger.info("포스트 수정 시작 - id: {}", id);
             
-            Post post = getPost(id);
+            Post post = findPost(id, false);
+            ContentTags before = ContentTags.extract(post.getContent());
             post.setContent(content);
-            Post updatedPost = postRepository.save(post);
+            Post updatedPost = postStore.save(post);
+            if (isPublished(updatedPost)) {
+                eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id));
+            }
+            publishContentChanged(updatedPost, before);
             
             logger.info("포스트 수정 완료 - id: {}", id);
             return updatedPost;
         } catch (EntityNotFoundException e) {
-            // 로깅은 이미 getPost 메서드에서 수행됨
+            // 로깅은 이미 findPost 메서드에서 수행됨
             throw e;
         } catch (Exception e) {
             logger.error("포스트 수정 중 오류 발생 - id: {}, 오류: {}", id, e.getMessage(), e);
@@ -87,16 +179,24 @@ public class PostService {
         }
     }
 
+    // 해시태그/멘션 색인(TagService)에 본문의 변경분을 넘긴다
+    private void publishContentChanged(Post post, ContentTags before) {
+        ContentChangedEvent event = new ContentChangedEvent(post.getId(), null, post.getUserName(), post.getCreatedAt(),
+            before, ContentTags.extract(post.getContent()));
+        if (event.changed()) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
     public void deletePost(Integer id) {
         try {
             logger.info("포스트 삭제 시작 - id: {}", id);
             
-            Post post = getPost(id);
-            postRepository.delete(post);
+            delete(findPost(id, false));
             
             logger.info("포스트 삭제 완료 - id: {}", id);
         } catch (EntityNotFoundException e) {
-            // 로깅은 이미 getPost 메서드에서 수행됨
+            // 로깅은 이미 findPost 메서드에서 수행됨
             throw e;
         } catch (Exception e) {
             logger.error("포스트 삭제 중 오류 발생 - id: {}, 오류: {}", id, e.getMessage(), e);
@@ -104,13 +204,55 @@ public class PostService {
         }
     }
 
+    // 만료 처리(PostScheduleService): 한 트랜잭션으로 지운다. 이미 지워졌거나 아직 만료되지 않은 포스트는 건너뛴다
+    public int deleteExpiredPosts(List<Integer> ids) {
+        try {
+            logger.info("만료 포스트 삭제 시작 - 대상: {}", ids.size());
+            LocalDateTime now = LocalDateTime.now();
+            int deleted = 0;
+            for (Integer id : ids) {
+                Post post = postStore.findById(id).orElse(null);
+                if (post != null && post.getExpiresAt() != null && !post.getExpiresAt().isAfter(now)) {
+                    delete(post);
+                    deleted++;
+                }
+            }
+            logger.info("만료 포스트 삭제 완료 - 삭제: {}", deleted);
+            return deleted;
+        } catch (Exception e) {
+            logger.error("만료 포스트 삭제 중 오류 발생 - 대상: {}, 오류: {}", ids.size(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 예약 포스트가 게시 시각이 되면 변경 로그에 남겨 동기화 클라이언트가 다시 읽게 한다
+    public void markScheduledPostsPublished(List<Integer> ids) {
+        for (Integer id : ids) {
+            if (postStore.findById(id).isPresent()) {
+                eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id));
+            }
+        }
+    }
+
+    // 함께 지워지는 댓글/좋아요도 변경 로그에 남긴다
+    private void delete(Post post) {
+        Integer id = post.getId();
+        post.getComments().forEach(comment ->
+            eventPublisher.publishEvent(EntityChangedEvent.delete(EntityType.COMMENT, comment.getId())));
+        post.getLikes().forEach(like -> eventPublisher.publishEvent(
+            EntityChangedEvent.delete(EntityType.LIKE, EntityChangedEvent.likeId(id, like.getUserName()))));
+        postStore.delete(post);
+        eventPublisher.publishEvent(EntityChangedEvent.delete(EntityType.POST, id));
+    }
+
     public void incrementLikeCount(Integer id) {
         try {
             logger.info("좋아요 수 증가 시작 - postId: {}", id);
             
             Post post = getPost(id);
             post.setLikeCount(post.getLikeCount() + 1);
-            postRepository.save(post);
+            postStore.save(post);
+            eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id));
             
             logger.info("좋아요 수 증가 완료 - postId: {}, 새 좋아요 수: {}", id, post.getLikeCount());
         } catch (EntityNotFoundException e) {
@@ -128,7 +270,8 @@ public class PostService {
             
             Post post = getPost(id);
             post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-            postRepository.save(post);
+            postStore.save(post);
+            eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id));
             
             logger.info("좋아요 수 감소 완료 - postId: {}, 새 좋아요 수: {}", id, post.getLikeCount());
         } catch (EntityNotFoundException e) {
@@ -146,7 +289,8 @@ public class PostService {
             
             Post post = getPost(id);
             post.setCommentCount(post.getCommentCount() + 1);
-            postRepository.save(post);
+            postStore.save(post);
+            eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id));
             
             logger.info("댓글 수 증가 완료 - postId: {}, 새 댓글 수: {}", id, post.getCommentCount());
         } catch (EntityNotFoundException e) {
@@ -158,13 +302,15 @@ public class PostService {
         }
     }
 
-    public void decrementCommentCount(Integer id) {
+    // 답글 스레드를 지우면 하위 댓글 수만큼 한 번에 줄인다
+    public void decrementCommentCount(Integer id, int count) {
         try {
-            logger.info("댓글 수 감소 시작 - postId: {}", id);
+            logger.info("댓글 수 감소 시작 - postId: {}, 감소: {}", id, count);
             
             Post post = getPost(id);
-            post.setCommentCount(Math.max(0, post.getCommentCount() - 1));
-            postRepository.save(post);
+            post.setCommentCount(Math.max(0, post.getCommentCount() - count));
+            postStore.save(post);
+            eventPublisher.publishEvent(EntityChangedEvent.upsert(EntityType.POST, id));
             
             logger.info("댓글 수 감소 완료 - postId: {}, 새 댓글 수: {}", id, post.getCommentCount());
         } catch (EntityNotFoundException e) {
@@ -0,0 +1,108 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.invalidation.InvalidationBus;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 홈 타임라인이 페이지마다 읽는 포스트 요약의 LRU 캐시.
+// 포스트가 바뀌면(좋아요/댓글 수 포함) InvalidationBus 로 이 인스턴스와 다른 인스턴스의 항목이 지워진다.
+// 읽는 도중 무효화가 있었으면 읽은 값이 이미 낡았을 수 있으므로 캐시에 넣지 않는다(generation 비교).
+@Component
+@Profile("!memory & !sharded")
+public class PostSummaryCache {
+    static final String ENTITY_TYPE = "POST";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.cache.post-summaries.max-entries:10000}")
+    private int maxEntries;
+
+    private Map<Integer, PostSummaryDto> entries;
+    private long generation;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, PostSummaryDto> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        hits = meterRegistry.counter("sns.cache.post-summaries", "result", "hit");
+        misses = meterRegistry.counter("sns.cache.post-summaries", "result", "miss");
+        invalidationBus.subscribe(ENTITY_TYPE, invalidation -> invalidate(Integer.valueOf(invalidation.entityId())));
+    }
+
+    // 없는(삭제된) 포스트는 결과에 들어가지 않는다
+    public Map<Integer, PostSummaryDto> getAll(Collection<Integer> ids) {
+        Map<Integer, PostSummaryDto> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Integer id : ids) {
+                PostSummaryDto cached = entries.get(id);
+                if (cached != null) {
+                    result.put(id, cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.increment(result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.increment(missing.size());
+        Map<Integer, PostSummaryDto> loaded = new HashMap<>();
+        for (Post post : postRepository.findAllById(missing)) {
+            loaded.put(post.getId(), toSummary(post));
+        }
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.putAll(loaded);
+            }
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    public synchronized void invalidate(Integer id) {
+        entries.remove(id);
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    static PostSummaryDto toSummary(Post post) {
+        return new PostSummaryDto(post.getId(), post.getUserName(), post.getContent(), post.getCreatedAt(),
+            post.getUpdatedAt(), post.getLikeCount(), post.getCommentCount());
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.demo.services;
+
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.MentionDto;
+import com.example.demo.dtos.MentionPageDto;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.TagCountDto;
+import com.example.demo.dtos.TagPostPageDto;
+import com.example.demo.events.ContentChangedEvent;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import com.example.demo.events.EntityChangedEvent.Operation;
+import com.example.demo.models.ContentTags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+// 해시태그/멘션 색인. 포스트/댓글 서비스가 쓰기 시점에 뽑은 ContentTags 를 ContentChangedEvent 로 받아
+// 이전 값과의 차이만 같은 트랜잭션으로 반영한다. 삭제는 EntityChangedEvent 로 받는다.
+// - tag_sources: 본문별 태그. 댓글/포스트가 지워질 때 어떤 태그를 빼야 하는지 안다
+// - post_tags: 태그 -> 포스트 역색인. refs 가 0 이 되면 행을 지운다
+// - tag_counts: post_tags 행이 생기고 없어질 때만 바꾸므로 인기 태그 조회는 포스트 수와 무관하다
+// 기능 도입 전에 쓴 본문은 색인되지 않는다.
+@Service
+@Profile("!memory & !sharded")
+@Transactional
+@RetryOnBusy
+public class TagService {
+    private static final Logger logger = LoggerFactory.getLogger(TagService.class);
+
+    private static final String TAG_PAGE_SQL = """
+        SELECT postId, createdAt FROM post_tags
+        WHERE tag = ? AND createdAt <= ? AND (createdAt < ? OR postId < ?)
+        ORDER BY createdAt DESC, postId DESC LIMIT ?
+        """;
+
+    // 포스트 본문의 멘션(commentId 0)은 댓글과 조인되지 않는다
+    private static final String MENTION_PAGE_SQL = """
+        SELECT m.id, m.postId, m.commentId, m.authorName, m.createdAt, COALESCE(c.content, p.content) AS content
+        FROM mentions m
+        JOIN posts p ON p.id = m.postId
+        LEFT JOIN comments c ON c.id = m.commentId
+        WHERE m.userName = ? AND m.createdAt <= ? AND (m.createdAt < ? OR m.id < ?)
+        ORDER BY m.createdAt DESC, m.id DESC LIMIT ?
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostSummaryCache postSummaryCache;
+
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        int commentId = event.commentId() == null ? 0 : event.commentId();
+        ContentTags before = event.before();
+        ContentTags after = event.after();
+        for (String tag : before.hashtags()) {
+            if (!after.hashtags().contains(tag)) {
+                removeTag(event.postId(), commentId, tag);
+            }
+        }
+        Timestamp postCreatedAt = Timestamp.valueOf(event.postCreatedAt());
+        for (String tag : after.hashtags()) {
+            if (!before.hashtags().contains(tag)) {
+                addTag(event.postId(), commentId, tag, postCreatedAt);
+            }
+        }
+        for (String userName : before.mentions()) {
+            if (!after.mentions().contains(userName)) {
+                jdbcTemplate.update("DELETE FROM mentions WHERE postId = ? AND commentId = ? AND userName = ?",
+                    event.postId(), commentId, userName);
+            }
+        }
+        // 예약 포스트의 멘션은 게시 시각부터 보이도록 그보다 앞당기지 않는다
+        Timestamp now = new Timestamp(Math.max(System.currentTimeMillis(), postCreatedAt.getTime()));
+        for (String userName : after.mentions()) {
+            // 자기 자신을 멘션한 것은 멘션함에 넣지 않는다
+            if (!before.mentions().contains(userName) && !userName.equals(event.authorName())) {
+                jdbcTemplate.update("""
+                    INSERT OR IGNORE INTO mentions (userName, postId, commentId, authorName, createdAt)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, userName, event.postId(), commentId, event.authorName(), now);
+            }
+        }
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.operation() != Operation.DELETE) {
+            return;
+        }
+        if (event.entityType() == EntityType.COMMENT) {
+            int commentId = Integer.parseInt(event.entityId());
+            jdbcTemplate.query("SELECT postId, tag FROM tag_sources WHERE commentId = ?",
+                (rs, n) -> Map.entry(rs.getInt("postId"), rs.getString("tag")), commentId)
+                .forEach(source -> removeTag(source.getKey(), commentId, source.getValue()));
+            jdbcTemplate.update("DELETE FROM mentions WHERE commentId = ?", commentId);
+        } else if (event.entityType() == EntityType.POST) {
+            int postId = Integer.parseInt(event.entityId());
+            jdbcTemplate.query("SELECT commentId, tag FROM tag_sources WHERE postId = ?",
+                (rs, n) -> Map.entry(rs.getInt("commentId"), rs.getString("tag")), postId)
+                .forEach(source -> removeTag(postId, source.getKey(), source.getValue()));
+            jdbcTemplate.update("DELETE FROM mentions WHERE postId = ?", postId);
+        }
+    }
+
+    private void addTag(int postId, int commentId, String tag, Timestamp postCreatedAt) {
+        if (jdbcTemplate.update("INSERT OR IGNORE INTO tag_sources (postId, commentId, tag) VALUES (?, ?, ?)",
+                postId, commentId, tag) == 0) {
+            return;
+        }
+        if (jdbcTemplate.update("UPDATE post_tags SET refs = refs + 1 WHERE tag = ? AND postId = ?", tag, postId) == 0) {
+            jdbcTemplate.update("INSERT INTO post_tags (tag, postId, createdAt, refs) VALUES (?, ?, ?, 1)",
+                tag, postId, postCreatedAt);
+            if (jdbcTemplate.update("UPDATE tag_counts SET postCount = postCount + 1 WHERE tag = ?", tag) == 0) {
+                jdbcTemplate.update("INSERT INTO tag_counts (tag, postCount) VALUES (?, 1)", tag);
+            }
+        }
+    }
+
+    private void removeTag(int postId, int commentId, String tag) {
+        if (jdbcTemplate.update("DELETE FROM tag_sources WHERE postId = ? AND commentId = ? AND tag = ?",
+                postId, commentId, tag) == 0) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE post_tags SET refs = refs - 1 WHERE tag = ? AND postId = ?", tag, postId);
+        if (jdbcTemplate.update("DELETE FROM post_tags WHERE tag = ? AND postId = ? AND refs <= 0", tag, postId) > 0) {
+            jdbcTemplate.update("UPDATE tag_counts SET postCount = postCount - 1 WHERE tag = ?", tag);
+            jdbcTemplate.update("DELETE FROM tag_counts WHERE tag = ? AND postCount <= 0", tag);
+        }
+    }
+
+    // 태그가 달린 포스트 최신순. 태그 앞의 # 와 대소문자는 무시한다
+    @Transactional(readOnly = true)
+    public TagPostPageDto getPostsByTag(String tag, String cursor, int size) {
+        try {
+            logger.info("태그 포스트 조회 시작 - tag: {}, cursor: {}, size: {}", tag, cursor, size);
+            String normalized = ContentTags.normalizeTag(tag);
+            if (normalized == null) {
+                throw new IllegalArgumentException("해시태그가 아닙니다: " + tag);
+            }
+            KeysetCursor after = KeysetCursor.parse(cursor);
+            // 첫 페이지는 현재 시각까지. 게시 전 예약 포스트는 createdAt 이 미래라 빠진다
+            Timestamp createdAt = after == null ? new Timestamp(System.currentTimeMillis()) : new Timestamp(after.createdAtMillis());
+            int afterId = after == null ? Integer.MAX_VALUE : after.id();
+
+            List<Map.Entry<Integer, Long>> page = jdbcTemplate.query(TAG_PAGE_SQL,
+                (rs, n) -> Map.entry(rs.getInt("postId"), rs.getTimestamp("createdAt").getTime()),
+                normalized, createdAt, createdAt, afterId, size);
+            Map<Integer, PostSummaryDto> posts = postSummaryCache.getAll(page.stream().map(Map.Entry::getKey).toList());
+
+            TagPostPageDto result = new TagPostPageDto();
+            result.setTag(normalized);
+            result.setPosts(page.stream().map(entry -> posts.get(entry.getKey())).filter(p -> p != null).toList());
+            if (page.size() == size) {
+                Map.Entry<Integer, Long> last = page.get(page.size() - 1);
+                result.setNextCursor(last.getValue() + ":" + last.getKey());
+            }
+            logger.info("태그 포스트 조회 완료 - tag: {}, 포스트 수: {}", normalized, result.getPosts().size());
+            return result;
+        } catch (IllegalArgumentException e) {
+            logger.error("태그 포스트 조회 실패 - tag: {}, 오류: {}", tag, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("태그 포스트 조회 중 오류 발생 - tag: {}, 오류: {}", tag, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 포스트 수가 많은 순 (같으면 태그 이름 순)
+    @Transactional(readOnly = true)
+    public List<TagCountDto> getTopTags(int size) {
+        return jdbcTemplate.query("SELECT tag, postCount FROM tag_counts ORDER BY postCount DESC, tag LIMIT ?",
+            (rs, n) -> new TagCountDto(rs.getString("tag"), rs.getInt("postCount")), size);
+    }
+
+    // userName 을 멘션한 포스트/댓글 최신순
+    @Transactional(readOnly = true)
+    public MentionPageDto getMentions(String userName, String cursor, int size) {
+        try {
+            logger.info("멘션 조회 시작 - userName: {}, cursor: {}, size: {}", userName, cursor, size);
+            KeysetCursor after = KeysetCursor.parse(cursor);
+            Timestamp createdAt = after == null ? new Timestamp(System.currentTimeMillis()) : new Timestamp(after.createdAtMillis());
+            int afterId = after == null ? Integer.MAX_VALUE : after.id();
+
+            List<MentionDto> mentions = jdbcTemplate.query(MENTION_PAGE_SQL, (rs, n) -> {
+                int commentId = rs.getInt("commentId");
+                return new MentionDto(rs.getInt("id"), rs.getInt("postId"), commentId == 0 ? null : commentId,
+                    rs.getString("authorName"), rs.getString("content"), rs.getTimestamp("createdAt").toLocalDateTime());
+            }, userName, createdAt, createdAt, afterId, size);
+
+            MentionPageDto page = new MentionPageDto();
+            page.setMentions(mentions);
+            if (mentions.size() == size) {
+                MentionDto last = mentions.get(mentions.size() - 1);
+                page.setNextCursor(KeysetCursor.of(last.getCreatedAt(), last.getId()).encode());
+            }
+            logger.info("멘션 조회 완료 - userName: {}, 멘션 수: {}", userName, mentions.size());
+            return page;
+        } catch (IllegalArgumentException e) {
+            logger.error("멘션 조회 실패 - userName: {}, 오류: {}", userName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("멘션 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
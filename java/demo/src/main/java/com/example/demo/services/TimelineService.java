@@ -0,0 +1,288 @@
+package com.example.demo.services;
+
+import com.example.demo.config.RetryOnBusy;
+import com.example.demo.dtos.KeysetCursor;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.TimelinePageDto;
+import com.example.demo.events.EntityChangedEvent;
+import com.example.demo.events.EntityChangedEvent.EntityType;
+import com.example.demo.events.EntityChangedEvent.Operation;
+import com.example.demo.events.PostCreatedEvent;
+import com.example.demo.models.Post;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 홈 타임라인: 포스트 작성 시 팔로워들의 timelines 행으로 postId 를 복사(fan-out-on-write)하고,
+// 팔로워가 celebrity-threshold 이상인 계정의 포스트는 복사하지 않고 읽을 때 병합(fan-out-on-read)한다.
+// 읽기는 (createdAt, postId) keyset 으로 페이지 크기만큼만 읽으므로 전체 포스트 수와 무관하다.
+// 임계값 아래로 내려간 계정이 celebrity 였던 동안 쓴 포스트는 타임라인에 다시 채워지지 않는다.
+// 정리: 삭제된 포스트의 항목은 삭제 이벤트로 바로 지우고, max-entries 초과분은 항목이 추가된 사용자만 주기적으로 잘라낸다
+// (추가 기록은 메모리에 있으므로 재시작 전에 추가된 사용자는 다음 추가 때 잘린다).
+@Service
+@Profile("!memory & !sharded")
+@Transactional
+@RetryOnBusy
+public class TimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    // 팔로워 전원에게 한 문장으로 복사한다
+    private static final String FAN_OUT_SQL = """
+        INSERT OR IGNORE INTO timelines (userName, postId, createdAt)
+        SELECT followerName, ?, ? FROM follows WHERE followeeName = ?
+        """;
+
+    private static final String BACKFILL_SQL = """
+        INSERT OR IGNORE INTO timelines (userName, postId, createdAt)
+        SELECT ?, id, createdAt FROM posts WHERE userName = ? ORDER BY createdAt DESC, id DESC LIMIT ?
+        """;
+
+    private static final String TIMELINE_PAGE_SQL = """
+        SELECT postId, createdAt FROM timelines
+        WHERE userName = ? AND createdAt <= ? AND (createdAt < ? OR postId < ?)
+        ORDER BY createdAt DESC, postId DESC LIMIT ?
+        """;
+
+    // userName 이 팔로우하는 celebrity 계정의 포스트.
+    // - celebrity 는 follower_counts 인덱스 범위로 찾고, CROSS JOIN 으로 그 계정마다 follows 기본 키를 한 번씩 찾는다
+    // - 계정마다 상관 서브쿼리(idx_posts_user_recent)로 커서 다음 포스트를 LIMIT 개까지만 읽고, 그 행들만 정렬해 합친다
+    // 비용은 전체 celebrity 수 + 팔로우한 celebrity 수 × 페이지 크기이고, 그 계정들의 포스트 수와는 무관하다
+    private static final String CELEBRITY_PAGE_SQL = """
+        SELECT p.id AS postId, p.createdAt FROM follower_counts c
+        CROSS JOIN follows f ON f.followerName = ? AND f.followeeName = c.userName
+        JOIN posts p ON p.id IN (
+            SELECT id FROM posts WHERE userName = c.userName AND createdAt <= ? AND (createdAt < ? OR id < ?)
+            ORDER BY createdAt DESC, id DESC LIMIT ?)
+        WHERE c.followers >= ?
+        ORDER BY p.createdAt DESC, p.id DESC LIMIT ?
+        """;
+
+    // 한 사용자의 최신 max-entries 개 뒤의 항목. idx_timelines_user_recent 에서 그 사용자 구간만 읽는다
+    private static final String TRIM_USER_SQL = """
+        DELETE FROM timelines WHERE rowid IN (
+            SELECT rowid FROM timelines WHERE userName = ?
+            ORDER BY createdAt DESC, postId DESC LIMIT -1 OFFSET ?)
+        """;
+
+    // 한 트랜잭션에서 잘라낼 사용자 수 (쓰기 잠금을 오래 잡지 않도록 나눈다)
+    private static final int TRIM_BATCH_SIZE = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostSummaryCache postSummaryCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // FollowService 도 TimelineService 를 사용하므로 순환 참조를 지연 주입으로 끊는다
+    @Autowired
+    @Lazy
+    private FollowService followService;
+
+    @Value("${sns.timeline.max-entries:800}")
+    private int maxEntries;
+
+    @Value("${sns.timeline.celebrity-threshold:10000}")
+    private long celebrityThreshold;
+
+    @Value("${sns.timeline.backfill-size:50}")
+    private int backfillSize;
+
+    // 마지막 정리 이후 타임라인에 항목이 추가된 사용자. trimAuthors 는 팔로워 전원에게 fan-out 한 작성자
+    private final Set<String> trimUsers = ConcurrentHashMap.newKeySet();
+    private final Set<String> trimAuthors = ConcurrentHashMap.newKeySet();
+
+    record Entry(int postId, long createdAtMillis) {
+    }
+
+    public long getCelebrityThreshold() {
+        return celebrityThreshold;
+    }
+
+    @EventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        Post post = event.post();
+        Timestamp createdAt = Timestamp.valueOf(post.getCreatedAt());
+        // 작성자 자신의 타임라인에도 넣는다
+        jdbcTemplate.update("INSERT OR IGNORE INTO timelines (userName, postId, createdAt) VALUES (?, ?, ?)",
+            post.getUserName(), post.getId(), createdAt);
+
+        if (followService.isCelebrity(post.getUserName())) {
+            trimUsers.add(post.getUserName());
+            logger.info("팔로워가 많은 계정 - fan-out 생략 (읽을 때 병합) - userName: {}, postId: {}",
+                post.getUserName(), post.getId());
+            return;
+        }
+        int delivered = jdbcTemplate.update(FAN_OUT_SQL, post.getId(), createdAt, post.getUserName());
+        trimAuthors.add(post.getUserName());
+        logger.info("타임라인 fan-out 완료 - postId: {}, 대상: {}", post.getId(), delivered);
+    }
+
+    // 새로 팔로우한 계정의 최근 포스트를 채워 넣는다. celebrity 는 읽을 때 병합되므로 생략
+    public void backfill(String followerName, String followeeName, boolean celebrity) {
+        if (!celebrity && jdbcTemplate.update(BACKFILL_SQL, followerName, followeeName, backfillSize) > 0) {
+            trimUsers.add(followerName);
+        }
+    }
+
+    // 삭제된 포스트를 가리키는 항목을 같은 트랜잭션에서 지운다 (idx_timelines_post)
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entityType() == EntityType.POST && event.operation() == Operation.DELETE) {
+            jdbcTemplate.update("DELETE FROM timelines WHERE postId = ?", Integer.parseInt(event.entityId()));
+        }
+    }
+
+    public void removeAuthor(String followerName, String followeeName) {
+        jdbcTemplate.update("DELETE FROM timelines WHERE userName = ? AND postId IN (SELECT id FROM posts WHERE userName = ?)",
+            followerName, followeeName);
+    }
+
+    @Transactional(readOnly = true)
+    public TimelinePageDto getHomeTimeline(String userName, String cursor, int size) {
+        try {
+            logger.info("홈 타임라인 조회 시작 - userName: {}, cursor: {}, size: {}", userName, cursor, size);
+            Entry after = parseCursor(cursor);
+            Timestamp createdAt = new Timestamp(after.createdAtMillis());
+
+            List<Entry> materialized = jdbcTemplate.query(TIMELINE_PAGE_SQL, (rs, n) -> toEntry(rs),
+                userName, createdAt, createdAt, after.postId(), size);
+
+            List<Entry> pulled = jdbcTemplate.query(CELEBRITY_PAGE_SQL, (rs, n) -> toEntry(rs),
+                userName, createdAt, createdAt, after.postId(), size, celebrityThreshold, size);
+
+            List<Entry> page = mergeNewestFirst(materialized, pulled, size);
+            Map<Integer, PostSummaryDto> posts = postSummaryCache.getAll(page.stream().map(Entry::postId).toList());
+
+            TimelinePageDto result = new TimelinePageDto();
+            // 캐시에서 사라진(방금 삭제된) 포스트는 건너뛴다
+            result.setPosts(page.stream().map(entry -> posts.get(entry.postId())).filter(p -> p != null).toList());
+            if (page.size() == size) {
+                Entry last = page.get(page.size() - 1);
+                result.setNextCursor(last.createdAtMillis() + ":" + last.postId());
+            }
+            logger.info("홈 타임라인 조회 완료 - userName: {}, 포스트 수: {}, celebrity 병합: {}",
+                userName, result.getPosts().size(), pulled.size());
+            return result;
+        } catch (IllegalArgumentException e) {
+            logger.error("홈 타임라인 조회 실패 - userName: {}, 오류: {}", userName, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("홈 타임라인 조회 중 오류 발생 - userName: {}, 오류: {}", userName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // 항목이 추가된 사용자만 TRIM_BATCH_SIZE 명씩 각자의 트랜잭션으로 잘라낸다. 비용은 테이블 크기가 아니라 추가된 사용자 수에 비례한다
+    @Scheduled(initialDelayString = "${sns.timeline.trim-interval:PT1M}",
+               fixedDelayString = "${sns.timeline.trim-interval:PT1M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void trimTimelines() {
+        Set<String> users = new LinkedHashSet<>(drain(trimUsers));
+        for (String author : drain(trimAuthors)) {
+            users.add(author);
+            users.addAll(jdbcTemplate.queryForList("SELECT followerName FROM follows WHERE followeeName = ?",
+                String.class, author));
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        List<String> pending = new ArrayList<>(users);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int trimmed = 0;
+        int done = 0;
+        try {
+            while (done < pending.size()) {
+                List<String> batch = pending.subList(done, Math.min(done + TRIM_BATCH_SIZE, pending.size()));
+                int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(TRIM_USER_SQL, batch,
+                    batch.size(), (ps, userName) -> {
+                        ps.setString(1, userName);
+                        ps.setInt(2, maxEntries);
+                    })[0]);
+                for (int count : counts) {
+                    trimmed += Math.max(count, 0);
+                }
+                done += batch.size();
+            }
+            if (trimmed > 0) {
+                logger.info("타임라인 정리 완료 - 대상 사용자: {}, 초과 항목: {}", pending.size(), trimmed);
+            }
+        } catch (Exception e) {
+            // 남은 사용자는 다음 정리(또는 재시도)에서 다시 잘라낸다
+            trimUsers.addAll(pending.subList(done, pending.size()));
+            logger.error("타임라인 정리 중 오류 발생 - 남은 사용자: {}, 오류: {}", pending.size() - done, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private static List<String> drain(Set<String> names) {
+        List<String> drained = new ArrayList<>();
+        for (Iterator<String> iterator = names.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    // 두 목록 모두 최신순이므로 앞에서부터 비교해 size 개만 취한다(중복 postId 제거)
+    static List<Entry> mergeNewestFirst(List<Entry> a, List<Entry> b, int size) {
+        List<Entry> merged = new ArrayList<>(size);
+        Set<Integer> seen = new LinkedHashSet<>();
+        int i = 0;
+        int j = 0;
+        while (merged.size() < size && (i < a.size() || j < b.size())) {
+            Entry next;
+            if (j >= b.size() || (i < a.size() && compareNewestFirst(a.get(i), b.get(j)) <= 0)) {
+                next = a.get(i++);
+            } else {
+                next = b.get(j++);
+            }
+            if (seen.add(next.postId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    private static int compareNewestFirst(Entry x, Entry y) {
+        int byTime = Long.compare(y.createdAtMillis(), x.createdAtMillis());
+        return byTime != 0 ? byTime : Integer.compare(y.postId(), x.postId());
+    }
+
+    private static Entry toEntry(ResultSet rs) throws SQLException {
+        return new Entry(rs.getInt("postId"), rs.getTimestamp("createdAt").getTime());
+    }
+
+    // 커서 형식은 KeysetCursor 와 같다. 없으면 현재 시각부터 (게시 전 예약 포스트는 createdAt 이 미래라 빠진다)
+    private static Entry parseCursor(String cursor) {
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        return after == null
+            ? new Entry(Integer.MAX_VALUE, System.currentTimeMillis())
+            : new Entry(after.id(), after.createdAtMillis());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 계층형 타이밍 휠. 단계마다 64칸이고 아래 단계 한 바퀴가 위 단계 한 칸이다.
+// - 항목은 남은 tick 수로 단계를 골라 한 칸에 넣는다 (O(1)). 위 단계 칸은 그 구간이 시작될 때 아래 단계로 다시 나눠 넣는다
+// - advance 는 지나간 tick 수와 꺼낸 항목 수에 비례하고, 비어 있으면 바로 현재 tick 으로 건너뛴다
+// - tick 이 1초이면 4단계로 약 194일까지 담는다. 그보다 먼 항목은 overflow 에 두었다가 맨 위 단계가 한 바퀴 돌 때 다시 넣는다
+// 취소는 없다(꺼낸 쪽에서 아직 유효한지 확인한다). 동기화는 호출하는 쪽에서 한다
+final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+
+    private record Entry<T>(long dueTick, T item) {
+    }
+
+    private final long tickMillis;
+    // 단계 level 의 칸 slot 은 level * SLOTS + slot 번째 목록
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    // 다음에 처리할 tick
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    // 예정 시각 전에 꺼내지 않도록 tick 을 올림한다. 이미 지난 시각이면 다음 advance 에서 꺼낸다
+    void schedule(long dueMillis, T item) {
+        place(new Entry<>(Math.max(Math.ceilDiv(dueMillis, tickMillis), currentTick), item));
+        size++;
+    }
+
+    // nowMillis 까지 때가 된 항목을 예정 시각 순으로 꺼낸다
+    List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> due = new ArrayList<>();
+        while (currentTick <= nowTick) {
+            if (size == 0) {
+                currentTick = nowTick + 1;
+                break;
+            }
+            cascade(currentTick);
+            int slot = (int) (currentTick & (SLOTS - 1));
+            List<Entry<T>> entries = take(0, slot);
+            entries.forEach(entry -> due.add(entry.item()));
+            size -= entries.size();
+            currentTick++;
+        }
+        return due;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // tick 이 위 단계 칸의 시작이면 그 칸을 아래 단계로 나눠 넣는다. 위 단계부터 내려와야 이번 tick 에 필요한 칸이 모두 채워진다
+    private void cascade(long tick) {
+        if ((tick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> entries = new ArrayList<>(overflow);
+            overflow.clear();
+            entries.forEach(this::place);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = SLOT_BITS * level;
+            if ((tick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            int slot = (int) ((tick >>> shift) & (SLOTS - 1));
+            take(level, slot).forEach(this::place);
+        }
+    }
+
+    // 남은 tick 수가 64^(level+1) 보다 작은 가장 낮은 단계에 넣는다
+    private void place(Entry<T> entry) {
+        long delta = entry.dueTick() - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if (delta < (1L << shift)) {
+                int slot = (int) ((entry.dueTick() >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                slots.get(level * SLOTS + slot).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    // 칸을 비우고 들어 있던 항목을 돌려준다. 빈 칸이면 목록을 새로 만들지 않는다
+    private List<Entry<T>> take(int level, int slot) {
+        List<Entry<T>> entries = slots.get(level * SLOTS + slot);
+        if (!entries.isEmpty()) {
+            slots.set(level * SLOTS + slot, new ArrayList<>());
+        }
+        return entries;
+    }
+}
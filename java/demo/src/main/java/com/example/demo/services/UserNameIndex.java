@@ -0,0 +1,240 @@
+package com.example.demo.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+// userName 접두어 검색 색인. 사용자마다 가중치(활동 수)를 두고 접두어가 같은 이름 중 가중치가 큰 순으로 limit 개를 돌려준다.
+// - 이름은 UTF-8 바이트 순으로 정렬해 한 byte[] 에 이어 붙이고 offsets 로 자른다 (이름마다 String 객체를 두지 않는다).
+//   접두어가 같은 이름은 연속 구간이므로 이진 탐색 두 번으로 찾는다
+// - 가중치 최댓값 위치를 담은 세그먼트 트리로 구간 안의 상위 limit 개를 O(limit log^2 n) 에 꺼낸다 (구간 크기와 무관)
+// - 가중치 증가는 트리 경로만 고친다. 새 이름은 작은 TreeMap(added) 에 두었다가 mergeThreshold 개가 되면 정렬 배열에 합친다
+// - 이름이 maxNames 개를 넘으면 합칠 때 가중치가 작은 이름부터 버린다
+// 동기화는 호출하는 쪽에서 한다
+final class UserNameIndex {
+    record Suggestion(String userName, long weight) {
+    }
+
+    private record Fresh(byte[] name, long weight) {
+    }
+
+    private final int maxNames;
+    private final int mergeThreshold;
+
+    private byte[] bytes = new byte[0];
+    private int[] offsets = {0};
+    private long[] weights = new long[0];
+    // tree[leaves + i] = i, 안쪽 노드는 자식 중 더 나은(better) 위치. 빈 잎은 -1
+    private int[] tree = {-1, -1};
+    private int leaves = 1;
+    private final TreeMap<String, long[]> added = new TreeMap<>();
+
+    UserNameIndex(int maxNames, int mergeThreshold) {
+        this.maxNames = maxNames;
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    // 처음부터 다시 만든다
+    void load(Map<String, Long> initial) {
+        bytes = new byte[0];
+        offsets = new int[] {0};
+        weights = new long[0];
+        added.clear();
+        List<Fresh> fresh = new ArrayList<>(initial.size());
+        initial.forEach((name, weight) -> fresh.add(new Fresh(name.getBytes(StandardCharsets.UTF_8), weight)));
+        mergeSorted(fresh);
+    }
+
+    void increment(String userName, long delta) {
+        int index = find(userName.getBytes(StandardCharsets.UTF_8));
+        if (index >= 0) {
+            weights[index] += delta;
+            for (int node = (leaves + index) >>> 1; node > 0; node >>>= 1) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+            return;
+        }
+        added.computeIfAbsent(userName, name -> new long[1])[0] += delta;
+        if (added.size() >= mergeThreshold) {
+            List<Fresh> fresh = new ArrayList<>(added.size());
+            added.forEach((name, weight) -> fresh.add(new Fresh(name.getBytes(StandardCharsets.UTF_8), weight[0])));
+            added.clear();
+            mergeSorted(fresh);
+        }
+    }
+
+    List<Suggestion> suggest(String prefix, int limit) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        int from = bound(key, false);
+        int to = bound(key, true);
+
+        // 구간 [from, to, 최댓값 위치] 를 꺼낼 때마다 최댓값의 좌우 구간을 다시 넣는다
+        List<Suggestion> result = new ArrayList<>(limit);
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> better(a[2], b[2]) == a[2] ? -1 : 1);
+        if (from < to) {
+            ranges.add(new int[] {from, to, argmax(from, to)});
+        }
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            result.add(new Suggestion(name(best), weights[best]));
+            if (range[0] < best) {
+                ranges.add(new int[] {range[0], best, argmax(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[] {best + 1, range[1], argmax(best + 1, range[1])});
+            }
+        }
+
+        // 아직 합치지 않은 새 이름 (많아야 mergeThreshold 개)
+        for (Map.Entry<String, long[]> entry : added.tailMap(prefix).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            result.add(new Suggestion(entry.getKey(), entry.getValue()[0]));
+        }
+        result.sort(Comparator.comparingLong(Suggestion::weight).reversed().thenComparing(Suggestion::userName));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    int size() {
+        return weights.length + added.size();
+    }
+
+    // 새 이름을 바이트 순으로 정렬해 기존 배열과 한 번에 합친다. maxNames 를 넘으면 가중치가 작은 이름을 버린다
+    private void mergeSorted(List<Fresh> fresh) {
+        fresh.sort((a, b) -> Arrays.compareUnsigned(a.name(), b.name()));
+        int total = weights.length + fresh.size();
+        long cutoff = Long.MIN_VALUE;
+        int keepAtCutoff = total;
+        if (total > maxNames) {
+            long[] all = Arrays.copyOf(weights, total);
+            for (int i = 0; i < fresh.size(); i++) {
+                all[weights.length + i] = fresh.get(i).weight();
+            }
+            Arrays.sort(all);
+            cutoff = all[total - maxNames];
+            keepAtCutoff = 0;
+            for (int i = total - maxNames; i < total && all[i] == cutoff; i++) {
+                keepAtCutoff++;
+            }
+        }
+
+        int freshBytes = 0;
+        for (Fresh entry : fresh) {
+            freshBytes += entry.name().length;
+        }
+        int count = Math.min(total, maxNames);
+        byte[] mergedBytes = new byte[bytes.length + freshBytes];
+        int[] mergedOffsets = new int[count + 1];
+        long[] mergedWeights = new long[count];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < weights.length || j < fresh.size()) {
+            boolean takeOld = j >= fresh.size() || (i < weights.length && Arrays.compareUnsigned(
+                bytes, offsets[i], offsets[i + 1], fresh.get(j).name(), 0, fresh.get(j).name().length) < 0);
+            long weight = takeOld ? weights[i] : fresh.get(j).weight();
+            if (weight > cutoff || (weight == cutoff && keepAtCutoff-- > 0)) {
+                int start = mergedOffsets[size];
+                int length;
+                if (takeOld) {
+                    length = offsets[i + 1] - offsets[i];
+                    System.arraycopy(bytes, offsets[i], mergedBytes, start, length);
+                } else {
+                    length = fresh.get(j).name().length;
+                    System.arraycopy(fresh.get(j).name(), 0, mergedBytes, start, length);
+                }
+                mergedOffsets[size + 1] = start + length;
+                mergedWeights[size++] = weight;
+            }
+            if (takeOld) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        bytes = Arrays.copyOf(mergedBytes, mergedOffsets[size]);
+        offsets = mergedOffsets;
+        weights = mergedWeights;
+
+        leaves = Integer.highestOneBit(Math.max(1, weights.length - 1)) << 1;
+        tree = new int[2 * leaves];
+        Arrays.fill(tree, -1);
+        for (int k = 0; k < weights.length; k++) {
+            tree[leaves + k] = k;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    // [from, to) 에서 가중치가 가장 큰 위치
+    private int argmax(int from, int to) {
+        int best = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>>= 1, high >>>= 1) {
+            if ((low & 1) == 1) {
+                best = better(best, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                best = better(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    // 가중치가 크고, 같으면 이름이 앞서는 쪽
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return weights[b] > weights[a] || (weights[b] == weights[a] && b < a) ? b : a;
+    }
+
+    private int find(byte[] key) {
+        int low = 0;
+        int high = weights.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Arrays.compareUnsigned(bytes, offsets[mid], offsets[mid + 1], key, 0, key.length);
+            if (cmp == 0) {
+                return mid;
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    // 이름의 앞 key.length 바이트를 key 와 비교한다. end 가 false 이면 key 로 시작하는 구간의 시작, true 이면 끝
+    private int bound(byte[] key, boolean end) {
+        int low = 0;
+        int high = weights.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int length = Math.min(offsets[mid + 1] - offsets[mid], key.length);
+            int cmp = Arrays.compareUnsigned(bytes, offsets[mid], offsets[mid] + length, key, 0, key.length);
+            if (cmp < 0 || (end && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private String name(int index) {
+        return new String(bytes, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.UserSuggestionDto;
+import com.example.demo.events.PostActivityEvent;
+import com.example.demo.events.PostCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// @멘션 자동완성. posts/comments/likes 에 나온 userName 을 활동 수(쓴 포스트/댓글, 누른 좋아요) 가중치와 함께
+// 메모리의 UserNameIndex 에 두고, 접두어가 같은 이름을 활동 수 순으로 돌려준다 (요청마다 DB 를 읽지 않는다).
+// - 시작 시 readiness 전에 GROUP BY 한 번으로 활동 수가 큰 max-names 개를 읽는다
+// - 이후에는 커밋된 포스트 작성/좋아요/댓글 이벤트로 가중치를 늘린다. 삭제해도 줄이지 않으므로 다음 시작 때까지 근삿값이다
+// 다른 인스턴스에서 처음 활동한 사용자는 다음 시작 때 나타난다.
+@Service
+@Profile("!memory & !sharded")
+public class UserSuggestService implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(UserSuggestService.class);
+
+    private static final String ACTIVITY_SQL = """
+        SELECT userName, SUM(n) AS activity FROM (
+            SELECT userName, COUNT(*) AS n FROM posts GROUP BY userName
+            UNION ALL SELECT userName, COUNT(*) FROM comments GROUP BY userName
+            UNION ALL SELECT userName, COUNT(*) FROM likes GROUP BY userName)
+        GROUP BY userName ORDER BY activity DESC LIMIT ?
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.users.suggest.max-names:1000000}")
+    private int maxNames;
+
+    @Value("${sns.users.suggest.merge-threshold:4096}")
+    private int mergeThreshold;
+
+    // index 를 잠금으로 쓴다
+    private UserNameIndex index;
+
+    @PostConstruct
+    void init() {
+        index = new UserNameIndex(maxNames, mergeThreshold);
+        meterRegistry.gauge("sns.users.suggest.names", this, service -> service.size());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    public void load() {
+        long started = System.nanoTime();
+        Map<String, Long> activity = new HashMap<>();
+        jdbcTemplate.query(ACTIVITY_SQL, rs -> {
+            activity.put(rs.getString("userName"), rs.getLong("activity"));
+        }, maxNames);
+        synchronized (index) {
+            index.load(activity);
+        }
+        logger.info("사용자 이름 자동완성 색인 로드 완료 - 이름 수: {}, 소요: {}ms",
+            activity.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        increment(event.post().getUserName());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostActivity(PostActivityEvent event) {
+        increment(event.actorName());
+    }
+
+    // 앞의 @ 는 무시한다. 빈 접두어이면 활동 수가 가장 많은 사용자
+    public List<UserSuggestionDto> suggest(String prefix, int size) {
+        String normalized = prefix.startsWith("@") ? prefix.substring(1) : prefix;
+        List<UserNameIndex.Suggestion> suggestions;
+        synchronized (index) {
+            suggestions = index.suggest(normalized, size);
+        }
+        return suggestions.stream()
+            .map(suggestion -> new UserSuggestionDto(suggestion.userName(), suggestion.weight()))
+            .toList();
+    }
+
+    public int size() {
+        synchronized (index) {
+            return index.size();
+        }
+    }
+
+    private void increment(String userName) {
+        if (userName == null) {
+            return;
+        }
+        synchronized (index) {
+            index.increment(userName, 1);
+        }
+    }
+}
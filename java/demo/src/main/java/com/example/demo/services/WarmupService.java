@@ -0,0 +1,251 @@
+package com.example.demo.services;
+
+import com.example.demo.capture.TrafficLog;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.WarmupReportDto;
+import com.example.demo.repositories.PostStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 배포 직후 첫 요청들이 느린 문제(JIT 전 코드, Jackson 직렬화기, Hibernate 쿼리 계획)를 줄이기 위해
+// readiness 가 ACCEPTING_TRAFFIC 이 되기 전에 자기 HTTP 엔드포인트로 요청 묶음을 재생한다.
+// - ApplicationRunner 는 서버가 포트를 연 뒤, readiness 가 바뀌기 전에 실행되므로 워밍업 동안 /actuator/health/readiness 는 503 이다
+// - 요청 묶음: sns.warmup.file(기록된 요청, 한 줄에 "GET /path" 또는 sns.capture 트래픽 로그)이 있으면 그것을, 없으면 sns.warmup.requests(합성)를 쓴다
+// - 읽기 전용: GET 이 아닌 요청은 건너뛴다
+// - 경로의 {postId}, {userName} 은 최근 포스트 sns.warmup.samples 개에서 고른 값으로 채운다 (전체 목록인 GET /api/posts 는 부르지 않는다)
+// - 앞쪽 10% 라운드(차가운 상태)와 마지막 10% 라운드의 p50/p99 를 로그와 /actuator/warmup 으로 남긴다
+@Service
+public class WarmupService implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private PostStore postStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sns.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sns.warmup.requests:GET /api/posts/{postId},GET /api/posts/{postId}/comments,GET /api/users/{userName}/posts}")
+    private List<String> requests;
+
+    @Value("${sns.warmup.file:}")
+    private String file;
+
+    @Value("${sns.warmup.rounds:200}")
+    private int rounds;
+
+    @Value("${sns.warmup.max-duration:PT30S}")
+    private Duration maxDuration;
+
+    @Value("${sns.warmup.concurrency:2}")
+    private int concurrency;
+
+    @Value("${sns.warmup.samples:100}")
+    private int samples;
+
+    private volatile WarmupReportDto report = report("PENDING");
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (!enabled || port == null) {
+            report = report("SKIPPED");
+            return;
+        }
+        WarmupReportDto running = report("RUNNING");
+        running.setStartedAt(LocalDateTime.now());
+        report = running;
+        long started = System.nanoTime();
+        try {
+            warmup("http://localhost:" + port, running);
+        } catch (Exception e) {
+            // 워밍업 실패로 서비스 시작을 막지 않는다
+            logger.error("워밍업 중 오류 발생 - 오류: {}", e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            meterRegistry.timer("sns.warmup.run").record(elapsed, TimeUnit.NANOSECONDS);
+            running.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            running.setState("DONE");
+        }
+        logger.info("워밍업 완료 - 요청: {}, 라운드: {}, 오류: {}, 소요 시간: {}ms, p50: {}ms → {}ms, p99: {}ms → {}ms",
+            running.getRequests(), running.getRounds(), running.getErrors(), running.getDurationMs(),
+            running.getBeforeP50Ms(), running.getAfterP50Ms(), running.getBeforeP99Ms(), running.getAfterP99Ms());
+    }
+
+    // 트래픽 로그면 기록된 요청을 "METHOD /path" 줄로 바꾼다
+    private static List<String> readFile(Path path) throws IOException {
+        if (!TrafficLog.isTrafficLog(path)) {
+            return Files.readAllLines(path);
+        }
+        return TrafficLog.read(path).stream().map(request -> request.method() + " " + request.path()).toList();
+    }
+
+    private void warmup(String baseUrl, WarmupReportDto running) throws Exception {
+        List<String> lines = file.isBlank() ? requests : readFile(Path.of(file));
+        running.setSource(file.isBlank() ? "synthetic" : file);
+
+        List<String> paths = new ArrayList<>();
+        for (String line : lines) {
+            String entry = line.strip();
+            if (entry.isEmpty() || entry.startsWith("#")) {
+                continue;
+            }
+            String[] parts = entry.split("\\s+", 2);
+            if (parts.length == 1) {
+                paths.add(parts[0]);
+            } else if ("GET".equalsIgnoreCase(parts[0])) {
+                paths.add(parts[1]);
+            } else {
+                running.setSkippedWrites(running.getSkippedWrites() + 1);
+            }
+        }
+
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            Samples found = discover();
+            if (found.postIds().isEmpty()) {
+                paths.removeIf(path -> path.contains("{postId}") || path.contains("{userName}"));
+            }
+            running.setMixSize(paths.size());
+            if (paths.isEmpty()) {
+                logger.warn("워밍업할 요청이 없습니다 - 포스트가 없거나 요청 묶음이 비어 있음");
+                return;
+            }
+            replay(client, baseUrl, paths, found, running);
+        }
+    }
+
+    // 최근 포스트 samples 개에서 포스트 ID 와 작성자를 고른다. 크기가 정해진 조회라 DB 크기와 무관하게 끝난다
+    private Samples discover() {
+        List<String> postIds = new ArrayList<>();
+        List<String> userNames = new ArrayList<>();
+        for (PostSummaryDto post : postStore.findLatest(samples)) {
+            postIds.add(String.valueOf(post.getId()));
+            userNames.add(post.getUserName());
+        }
+        return new Samples(postIds, userNames);
+    }
+
+    private void replay(HttpClient client, String baseUrl, List<String> paths, Samples found, WarmupReportDto running)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long[] latencies = new long[rounds * paths.size()];
+        AtomicInteger nextRound = new AtomicInteger();
+        AtomicInteger completedRounds = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                SplittableRandom random = new SplittableRandom(w);
+                executor.submit(() -> {
+                    int round;
+                    while (System.nanoTime() < deadline && (round = nextRound.getAndIncrement()) < rounds) {
+                        for (int i = 0; i < paths.size(); i++) {
+                            int sample = found.postIds().isEmpty() ? 0 : random.nextInt(found.postIds().size());
+                            long started = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(get(baseUrl + fill(paths.get(i), found, sample)),
+                                    HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() >= 500) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (IOException e) {
+                                errors.incrementAndGet();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                            latencies[round * paths.size() + i] = System.nanoTime() - started;
+                        }
+                        completedRounds.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // 마감 시간을 확인한 뒤에만 라운드 번호를 받으므로 완료된 라운드는 0..completed-1 이다
+        int completed = completedRounds.get();
+        running.setRounds(completed);
+        running.setRequests((long) completed * paths.size());
+        running.setErrors(errors.get());
+        if (completed == 0) {
+            return;
+        }
+        int window = Math.max(1, completed / 10) * paths.size();
+        long[] before = Arrays.copyOfRange(latencies, 0, window);
+        long[] after = Arrays.copyOfRange(latencies, completed * paths.size() - window, completed * paths.size());
+        running.setBeforeP50Ms(percentileMillis(before, 50));
+        running.setBeforeP99Ms(percentileMillis(before, 99));
+        running.setAfterP50Ms(percentileMillis(after, 50));
+        running.setAfterP99Ms(percentileMillis(after, 99));
+    }
+
+    private static String fill(String path, Samples found, int sample) {
+        if (found.postIds().isEmpty()) {
+            return path;
+        }
+        return path.replace("{postId}", found.postIds().get(sample))
+            .replace("{userName}", URLEncoder.encode(found.userNames().get(sample), StandardCharsets.UTF_8));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .header("Accept", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    }
+
+    private static double percentileMillis(long[] nanos, double percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        double millis = sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        return Math.round(millis * 100) / 100.0;
+    }
+
+    private static WarmupReportDto report(String state) {
+        WarmupReportDto report = new WarmupReportDto();
+        report.setState(state);
+        return report;
+    }
+
+    public WarmupReportDto getReport() {
+        return report;
+    }
+
+    private record Samples(List<String> postIds, List<String> userNames) {
+    }
+}
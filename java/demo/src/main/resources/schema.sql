@@ -0,0 +1,136 @@
+-- spring.sql.init.mode=always 로 시작할 때마다 JPA 초기화 뒤에 실행된다. 기존 sns.db 를 건드리지 않도록 IF NOT EXISTS 만 사용한다.
+
+-- 팔로우 관계 (models.Follow)
+CREATE TABLE IF NOT EXISTS follows (
+    followerName VARCHAR(255) NOT NULL,
+    followeeName VARCHAR(255) NOT NULL,
+    createdAt TIMESTAMP NOT NULL,
+    PRIMARY KEY (followerName, followeeName)
+);
+CREATE INDEX IF NOT EXISTS idx_follows_followee ON follows (followeeName, followerName);
+
+-- 계정별 팔로워 수 (FollowService 가 팔로우/언팔로우와 같은 트랜잭션에서 고친다).
+-- followers 인덱스 범위로 celebrity 계정만 읽는다 (홈 타임라인의 fan-out-on-read 병합)
+CREATE TABLE IF NOT EXISTS follower_counts (
+    userName VARCHAR(255) NOT NULL PRIMARY KEY,
+    followers INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_follower_counts_followers ON follower_counts (followers, userName);
+-- 이 테이블 이전에 만든 DB 는 비어 있을 때 한 번만 follows 에서 채운다 (비어 있지 않으면 follows 를 읽지 않는다)
+INSERT INTO follower_counts (userName, followers)
+SELECT followeeName, COUNT(*) FROM follows
+WHERE NOT EXISTS (SELECT 1 FROM follower_counts)
+GROUP BY followeeName;
+
+-- 사용자별 홈 타임라인 (fan-out-on-write 로 채워지고 sns.timeline.max-entries 개로 잘린다)
+CREATE TABLE IF NOT EXISTS timelines (
+    userName VARCHAR(255) NOT NULL,
+    postId INTEGER NOT NULL,
+    createdAt TIMESTAMP NOT NULL,
+    PRIMARY KEY (userName, postId)
+);
+CREATE INDEX IF NOT EXISTS idx_timelines_user_recent ON timelines (userName, createdAt, postId);
+-- 포스트 삭제 시 그 포스트의 항목을 지운다 (TimelineService.onEntityChanged)
+CREATE INDEX IF NOT EXISTS idx_timelines_post ON timelines (postId);
+
+-- 작성자별 최신 포스트/댓글 (작성자별 목록, 팔로워가 많은 계정의 fan-out-on-read).
+-- id 는 rowid 이므로 keyset 조건과 정렬이 인덱스만으로 끝나고 페이지 크기만큼의 행만 읽는다
+CREATE INDEX IF NOT EXISTS idx_posts_user_recent ON posts (userName, createdAt, id);
+CREATE INDEX IF NOT EXISTS idx_comments_user_recent ON comments (userName, createdAt, id);
+
+-- 포스트의 댓글 스레드 (models.CommentPath). 포스트 전체와 하위 트리가 인덱스 범위 하나로 렌더링 순서대로 읽힌다
+CREATE INDEX IF NOT EXISTS idx_comments_thread ON comments (postId, path);
+
+-- 변경 로그 (ChangeLogService). AUTOINCREMENT 로 로그를 지운 뒤에도 seq 가 재사용되지 않게 한다
+CREATE TABLE IF NOT EXISTS changes (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    entityType VARCHAR(16) NOT NULL,
+    entityId VARCHAR(255) NOT NULL,
+    operation VARCHAR(8) NOT NULL,
+    changedAt TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_changes_entity ON changes (entityType, entityId, seq);
+CREATE INDEX IF NOT EXISTS idx_changes_changed_at ON changes (changedAt);
+
+-- 보존 기간 만료로 지워진 마지막 seq. 이보다 작은 since 는 증분 동기화할 수 없다
+CREATE TABLE IF NOT EXISTS change_log_horizon (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    purgedThrough INTEGER NOT NULL
+);
+INSERT OR IGNORE INTO change_log_horizon (id, purgedThrough) VALUES (1, 0);
+
+-- 포스트 첨부파일 메타데이터 (models.Attachment). 내용은 sns.attachments.dir 아래 sha256 이름 파일
+CREATE TABLE IF NOT EXISTS attachments (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    postId INTEGER NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    contentType VARCHAR(255) NOT NULL,
+    fileName VARCHAR(255),
+    size BIGINT NOT NULL,
+    createdAt TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_attachments_post ON attachments (postId, id);
+CREATE INDEX IF NOT EXISTS idx_attachments_sha256 ON attachments (sha256);
+
+-- 해시태그 색인 (TagService). 본문(포스트 본문 또는 댓글, 포스트 본문은 commentId 0)별 태그
+CREATE TABLE IF NOT EXISTS tag_sources (
+    postId INTEGER NOT NULL,
+    commentId INTEGER NOT NULL,
+    tag VARCHAR(100) NOT NULL,
+    PRIMARY KEY (postId, commentId, tag)
+);
+CREATE INDEX IF NOT EXISTS idx_tag_sources_comment ON tag_sources (commentId);
+
+-- 태그 -> 포스트 역색인. refs 는 그 포스트에서 태그가 나온 본문 수. 태그 피드는 (tag, createdAt, postId) keyset
+CREATE TABLE IF NOT EXISTS post_tags (
+    tag VARCHAR(100) NOT NULL,
+    postId INTEGER NOT NULL,
+    createdAt TIMESTAMP NOT NULL,
+    refs INTEGER NOT NULL,
+    PRIMARY KEY (tag, postId)
+);
+CREATE INDEX IF NOT EXISTS idx_post_tags_recent ON post_tags (tag, createdAt, postId);
+
+-- 태그별 포스트 수. post_tags 행이 생기고 없어질 때 함께 바꾸므로 인기 태그는 포스트를 읽지 않는다
+CREATE TABLE IF NOT EXISTS tag_counts (
+    tag VARCHAR(100) PRIMARY KEY,
+    postCount INTEGER NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tag_counts_top ON tag_counts (postCount DESC, tag);
+
+-- 받은 멘션함. 포스트 본문의 멘션은 commentId 0
+CREATE TABLE IF NOT EXISTS mentions (
+    id INTEGER PRIMARY KEY,
+    userName VARCHAR(255) NOT NULL,
+    postId INTEGER NOT NULL,
+    commentId INTEGER NOT NULL,
+    authorName VARCHAR(255) NOT NULL,
+    createdAt TIMESTAMP NOT NULL,
+    UNIQUE (postId, commentId, userName)
+);
+CREATE INDEX IF NOT EXISTS idx_mentions_recent ON mentions (userName, createdAt, id);
+CREATE INDEX IF NOT EXISTS idx_mentions_comment ON mentions (commentId);
+
+-- 포스트 작성자에게 가는 좋아요/댓글 알림 (NotificationService). (수신자, 포스트, 종류) 마다 한 행에 누적한다
+CREATE TABLE IF NOT EXISTS notifications (
+    id INTEGER PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    postId INTEGER NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    count INTEGER NOT NULL,
+    lastActor VARCHAR(255) NOT NULL,
+    updatedAt TIMESTAMP NOT NULL,
+    UNIQUE (recipient, postId, type)
+);
+CREATE INDEX IF NOT EXISTS idx_notifications_recent ON notifications (recipient, updatedAt, id);
+CREATE INDEX IF NOT EXISTS idx_notifications_post ON notifications (postId);
+
+-- 사용자별 알림 읽은 시각. 이보다 뒤에 갱신된 알림이 안 읽은 알림이다
+CREATE TABLE IF NOT EXISTS notification_reads (
+    userName VARCHAR(255) PRIMARY KEY,
+    readAt TIMESTAMP NOT NULL
+);
+
+-- 예약/만료 포스트 (PostScheduleService). 시작 시 타이밍 휠을 다시 채울 때 대부분인 NULL 행을 읽지 않도록 부분 인덱스로 둔다
+CREATE INDEX IF NOT EXISTS idx_posts_publish ON posts (publishAt) WHERE publishAt IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_posts_expires ON posts (expiresAt) WHERE expiresAt IS NOT NULL;
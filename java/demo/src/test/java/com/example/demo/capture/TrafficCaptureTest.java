@@ -0,0 +1,161 @@
+package com.example.demo.capture;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrafficCaptureTest {
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Counter recorded = meterRegistry.counter("recorded");
+    private final Counter skipped = meterRegistry.counter("skipped");
+
+    @Test
+    void logReadsBackEveryRecordAcrossRegionsAndIsTruncatedOnClose() throws IOException {
+        Path file = dir.resolve("traffic.log");
+        List<CapturedRequest> written = new ArrayList<>();
+        // 영역을 작게 잡아 레코드가 여러 매핑에 걸쳐 기록되게 한다
+        try (TrafficLog log = TrafficLog.create(file, 128, 1L << 20)) {
+            for (int i = 0; i < 20; i++) {
+                CapturedRequest request = new CapturedRequest(i * 1000L, 50 + i, i % 2 == 0 ? 201 : 200,
+                    i % 2 == 0 ? "POST" : "GET", "/api/posts/" + i + "/comments?size=" + i,
+                    i % 2 == 0 ? "application/json" : "",
+                    i % 2 == 0 ? ("{\"content\":\"댓글 " + i + "\"}").getBytes(StandardCharsets.UTF_8) : new byte[0]);
+                assertThat(log.append(request)).isTrue();
+                written.add(request);
+            }
+            long size = log.size();
+            log.close();
+            assertThat(Files.size(file)).isEqualTo(size);
+        }
+
+        assertThat(TrafficLog.isTrafficLog(file)).isTrue();
+        List<CapturedRequest> read = TrafficLog.read(file);
+        assertThat(read).hasSize(written.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertThat(read.get(i)).usingRecursiveComparison().isEqualTo(written.get(i));
+        }
+    }
+
+    @Test
+    void appendStopsAtTheMaximumSize() throws IOException {
+        Path file = dir.resolve("traffic.log");
+        try (TrafficLog log = TrafficLog.create(file, 1024, 200)) {
+            int appended = 0;
+            while (log.append(new CapturedRequest(0, 1, 200, "GET", "/api/posts", "", new byte[0]))) {
+                appended++;
+            }
+            assertThat(appended).isPositive();
+            assertThat(log.size()).isLessThanOrEqualTo(200);
+            log.close();
+            assertThat(log.append(new CapturedRequest(0, 1, 200, "GET", "/api/posts", "", new byte[0]))).isFalse();
+            assertThat(TrafficLog.read(file)).hasSize(appended);
+        }
+    }
+
+    @Test
+    void readRejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(dir.resolve("other.log"), "not a traffic log");
+
+        assertThat(TrafficLog.isTrafficLog(file)).isFalse();
+        assertThatThrownBy(() -> TrafficLog.read(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void filterRecordsTheRequestTheControllerReadAndSkipsLargeBodies() throws Exception {
+        Path file = dir.resolve("traffic.log");
+        try (TrafficLog log = TrafficLog.create(file, 4096, 1L << 20)) {
+            TrafficCaptureFilter filter = new TrafficCaptureFilter(log, 1.0, 64, recorded, skipped);
+
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/posts/3/comments");
+            request.setQueryString("notify=true");
+            request.setContentType("application/json");
+            request.setContent("{\"content\":\"hi\"}".getBytes(StandardCharsets.UTF_8));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse res)
+                        throws IOException {
+                    req.getInputStream().readAllBytes();
+                    res.setStatus(201);
+                }
+            }));
+
+            MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/posts/3/attachments");
+            upload.setContent(new byte[65]);
+            filter.doFilter(upload, new MockHttpServletResponse(), new MockFilterChain());
+            log.close();
+        }
+
+        List<CapturedRequest> read = TrafficLog.read(file);
+        assertThat(read).hasSize(1);
+        CapturedRequest captured = read.get(0);
+        assertThat(captured.method()).isEqualTo("POST");
+        assertThat(captured.path()).isEqualTo("/api/posts/3/comments?notify=true");
+        assertThat(captured.contentType()).isEqualTo("application/json");
+        assertThat(new String(captured.body(), StandardCharsets.UTF_8)).isEqualTo("{\"content\":\"hi\"}");
+        assertThat(captured.status()).isEqualTo(201);
+        assertThat(recorded.count()).isEqualTo(1);
+        assertThat(skipped.count()).isEqualTo(1);
+    }
+
+    @Test
+    void replaySendsEveryRequestAndCountsStatusMismatchesPerEndpoint() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " " + body);
+            int status = exchange.getRequestURI().getPath().endsWith("/missing") ? 404 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+            byte[] body = "{\"userName\":\"alice\"}".getBytes(StandardCharsets.UTF_8);
+            List<CapturedRequest> requests = List.of(
+                new CapturedRequest(2_000, 10, 200, "GET", "/api/posts/7", "", new byte[0]),
+                new CapturedRequest(0, 10, 200, "POST", "/api/posts/7/likes", "application/json", body),
+                new CapturedRequest(1_000, 10, 200, "GET", "/api/users/alice/missing", "", new byte[0]));
+
+            TrafficReplay.Report report = TrafficReplay.replay(requests, baseUrl, 0, 1);
+
+            assertThat(report.requests()).isEqualTo(3);
+            assertThat(report.errors()).isZero();
+            assertThat(report.mismatches()).isEqualTo(1);
+            assertThat(report.endpoints().keySet()).containsExactly(
+                "GET /api/posts/{id}", "GET /api/users/{userName}/missing", "POST /api/posts/{id}/likes");
+            assertThat(report.endpoints().get("GET /api/users/{userName}/missing").mismatches()).isEqualTo(1);
+            // 기록된 도착 순서대로 보낸다 (max-in-flight 1)
+            assertThat(received).containsExactly(
+                "POST /api/posts/7/likes {\"userName\":\"alice\"}",
+                "GET /api/users/alice/missing ",
+                "GET /api/posts/7 ");
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN",
+    "sns.admission.read.initial-limit=1",
+    "sns.admission.read.min-limit=1",
+    "sns.admission.write.initial-limit=1",
+    "sns.admission.write.min-limit=1"
+})
+class AdmissionControlFilterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    @Qualifier("readAdmissionLimiter")
+    private AdaptiveConcurrencyLimiter readAdmissionLimiter;
+
+    @Autowired
+    @Qualifier("writeAdmissionLimiter")
+    private AdaptiveConcurrencyLimiter writeAdmissionLimiter;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-admission-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenLimitIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter read = new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0);
+        AdmissionControlFilter filter = new AdmissionControlFilter(read, new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0),
+            7, objectMapper);
+        assertThat(read.tryAcquire()).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("7");
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(objectMapper.readTree(response.getContentAsString()).path("message").asText())
+            .isEqualTo("요청이 많아 잠시 후 다시 시도해 주세요.");
+        assertThat(chain.getRequest()).as("뒤의 필터/컨트롤러로 넘기지 않는다").isNull();
+        assertThat(read.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void readsAndWritesHaveSeparateLimits() throws Exception {
+        AdaptiveConcurrencyLimiter read = new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0);
+        AdaptiveConcurrencyLimiter write = new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0);
+        AdmissionControlFilter filter = new AdmissionControlFilter(read, write, 1, objectMapper);
+
+        // 읽기 한도가 찼어도 쓰기는 들어가고, HEAD 는 읽기로 센다
+        assertThat(read.tryAcquire()).isTrue();
+        assertThat(status(filter, "POST")).isEqualTo(200);
+        assertThat(status(filter, "DELETE")).isEqualTo(200);
+        assertThat(status(filter, "GET")).isEqualTo(503);
+        assertThat(status(filter, "HEAD")).isEqualTo(503);
+        assertThat(write.getInFlight()).isZero();
+        read.onSuccess(1_000_000);
+
+        // 쓰기 한도가 찼어도 읽기는 들어간다
+        assertThat(write.tryAcquire()).isTrue();
+        assertThat(status(filter, "GET")).isEqualTo(200);
+        assertThat(status(filter, "PUT")).isEqualTo(503);
+        assertThat(read.getInFlight()).isZero();
+        assertThat(read.getRejected()).isEqualTo(2);
+        assertThat(write.getRejected()).isEqualTo(1);
+
+        // CORS preflight 는 한도와 무관하다
+        assertThat(read.tryAcquire()).isTrue();
+        assertThat(status(filter, "OPTIONS")).isEqualTo(200);
+    }
+
+    @Test
+    void serverErrorsAndExceptionsCountAsDrops() throws Exception {
+        AdaptiveConcurrencyLimiter write = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0);
+        AdmissionControlFilter filter = new AdmissionControlFilter(new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0), write,
+            1, objectMapper);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/posts"), new MockHttpServletResponse(),
+            (request, response) -> ((HttpServletResponse) response).setStatus(500));
+        assertThat(write.getLimit()).isEqualTo(9);
+
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/posts"),
+            new MockHttpServletResponse(), failing)).hasMessage("boom");
+        assertThat(write.getLimit()).isEqualTo(8);
+
+        // 4xx 는 서버 과부하가 아니므로 한도를 줄이지 않는다
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/posts"), new MockHttpServletResponse(),
+            (request, response) -> ((HttpServletResponse) response).setStatus(404));
+        assertThat(write.getLimit()).isEqualTo(8);
+        assertThat(write.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitShrinksOnDropsAndRecoversUnderSteadyLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 40, 2.0);
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 30; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onDropped();
+            assertThat(limiter.getLimit()).isLessThanOrEqualTo(previous).isGreaterThanOrEqualTo(2);
+            previous = limiter.getLimit();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        // 한도가 찬 상태에서 응답 시간이 일정하면 다시 늘어나 최대치에서 멈춘다
+        for (int round = 0; round < 200; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(1_000_000);
+            }
+        }
+        assertThat(limiter.getLimit()).isEqualTo(40);
+        assertThat(limiter.getInFlight()).isZero();
+
+        // 응답 시간이 크게 늘면 다시 줄어든다
+        for (int round = 0; round < 50; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(20_000_000);
+            }
+        }
+        assertThat(limiter.getLimit()).isLessThan(40);
+    }
+
+    @Test
+    void actuatorAndApiDocsAreNotLimited() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        int held = 0;
+        while (readAdmissionLimiter.tryAcquire()) {
+            held++;
+        }
+        try {
+            assertThat(get(client, "/api/posts").statusCode()).isEqualTo(503);
+            assertThat(get(client, "/actuator/health/liveness").statusCode()).isEqualTo(200);
+            assertThat(get(client, "/actuator/metrics").statusCode()).isEqualTo(200);
+            assertThat(get(client, "/v3/api-docs").statusCode()).isEqualTo(200);
+        } finally {
+            for (int i = 0; i < held; i++) {
+                readAdmissionLimiter.onDropped();
+            }
+        }
+        assertThat(get(client, "/api/posts").statusCode()).isEqualTo(200);
+        assertThat(writeAdmissionLimiter.getInFlight()).isZero();
+    }
+
+    private static int status(AdmissionControlFilter filter, String method) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, "/api/posts"), response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+}
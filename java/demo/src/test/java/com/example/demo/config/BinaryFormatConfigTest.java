@@ -0,0 +1,122 @@
+package com.example.demo.config;
+
+import com.example.demo.models.Post;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JSON / CBOR / Smile 협상과 바이너리 형식의 날짜 표현. 크기와 인코딩/디코딩 시간은 stress 의 BinaryFormatBenchmarkTest 에서 잰다
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN"
+})
+class BinaryFormatConfigTest {
+    private static final String JSON = "application/json";
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-binary-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void binaryMappersRoundTripPostsWithEpochMillisDates() throws Exception {
+        Post post = new Post();
+        post.setId(7);
+        post.setUserName("alice");
+        post.setContent("바이너리 형식 — round trip");
+        post.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_000_000));
+        post.setUpdatedAt(post.getCreatedAt());
+
+        for (ObjectMapper mapper : new ObjectMapper[] {cborConverter.getObjectMapper(), smileConverter.getObjectMapper()}) {
+            byte[] encoded = mapper.writeValueAsBytes(post);
+            assertThat(mapper.readValue(encoded, Post.class)).isEqualTo(post);
+            JsonNode tree = mapper.readTree(encoded);
+            assertThat(tree.get("createdAt").isNumber()).isTrue();
+            assertThat(tree.get("createdAt").asLong()).isEqualTo(Timestamp.valueOf(post.getCreatedAt()).getTime());
+        }
+    }
+
+    @Test
+    void acceptAndContentTypeSelectTheFormat() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        byte[] createBody = cbor.writeValueAsBytes(Map.of("userName", "cbor-client", "content", "sent as cbor"));
+        HttpResponse<byte[]> created = send("POST", "/api/posts", CBOR, CBOR, createBody);
+        assertThat(created.statusCode()).isEqualTo(201);
+        assertThat(created.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith(CBOR));
+        JsonNode createdPost = cbor.readTree(created.body());
+        assertThat(createdPost.get("content").asText()).isEqualTo("sent as cbor");
+        assertThat(createdPost.get("createdAt").isNumber()).isTrue();
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put(JSON, objectMapper);
+        mappers.put(CBOR, cbor);
+        mappers.put(SMILE, smileConverter.getObjectMapper());
+        Map<String, Post[]> decoded = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+            HttpResponse<byte[]> response = send("GET", "/api/posts", format.getKey(), null, null);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith(format.getKey()));
+            decoded.put(format.getKey(), format.getValue().readValue(response.body(), Post[].class));
+        }
+        assertThat(decoded.get(JSON)).extracting(Post::getContent).contains("sent as cbor");
+        assertThat(decoded.get(CBOR)).isEqualTo(decoded.get(JSON));
+        assertThat(decoded.get(SMILE)).isEqualTo(decoded.get(JSON));
+
+        assertThat(send("GET", "/api/posts", null, null, null).headers().firstValue("Content-Type"))
+            .as("Accept 가 없으면 JSON").hasValueSatisfying(type -> assertThat(type).startsWith(JSON));
+        assertThat(new String(send("GET", "/v3/api-docs", JSON, null, null).body())).contains(CBOR, SMILE);
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, String accept, String contentType, byte[] body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        if (body != null) {
+            request.header("Content-Type", contentType).method(method, HttpRequest.BodyPublishers.ofByteArray(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.config;
+
+import com.example.demo.exceptions.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqliteBusyRetryAspectTest {
+    private static final int MAX_ATTEMPTS = 4;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SqliteBusyRetryAspect aspect;
+
+    @RetryOnBusy
+    static class Flaky {
+        final AtomicInteger calls = new AtomicInteger();
+        int failures;
+        RuntimeException failure = busy(SQLiteErrorCode.SQLITE_BUSY);
+
+        String write() {
+            if (calls.incrementAndGet() <= failures) {
+                throw failure;
+            }
+            return "ok";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        aspect = new SqliteBusyRetryAspect();
+        ReflectionTestUtils.setField(aspect, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(aspect, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(aspect, "maxBackoffMs", 4L);
+    }
+
+    @Test
+    void detectsBusyAndLockedErrorsAnywhereInTheCauseChain() {
+        assertThat(SqliteBusyRetryAspect.isLockConflict(busy(SQLiteErrorCode.SQLITE_BUSY))).isTrue();
+        assertThat(SqliteBusyRetryAspect.isLockConflict(busy(SQLiteErrorCode.SQLITE_BUSY_SNAPSHOT))).isTrue();
+        assertThat(SqliteBusyRetryAspect.isLockConflict(busy(SQLiteErrorCode.SQLITE_LOCKED_SHAREDCACHE))).isTrue();
+        assertThat(SqliteBusyRetryAspect.isLockConflict(
+            new IllegalStateException("wrapped", new RuntimeException("[SQLITE_BUSY] The database file is locked (database is locked)"))))
+            .isTrue();
+
+        assertThat(SqliteBusyRetryAspect.isLockConflict(busy(SQLiteErrorCode.SQLITE_CONSTRAINT))).isFalse();
+        assertThat(SqliteBusyRetryAspect.isLockConflict(new IllegalStateException("no cause"))).isFalse();
+    }
+
+    @Test
+    void retriesLockConflictsUntilTheCallSucceeds() {
+        Flaky flaky = new Flaky();
+        flaky.failures = MAX_ATTEMPTS - 1;
+
+        assertThat(proxy(flaky).write()).isEqualTo("ok");
+        assertThat(flaky.calls).hasValue(MAX_ATTEMPTS);
+        assertThat(meterRegistry.counter("sns.sqlite.busy.retries", "method", "Flaky.write").count())
+            .isEqualTo(MAX_ATTEMPTS - 1);
+        assertThat(meterRegistry.counter("sns.sqlite.busy.giveups", "method", "Flaky.write").count()).isZero();
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsWithDatabaseBusyException() {
+        Flaky flaky = new Flaky();
+        flaky.failures = Integer.MAX_VALUE;
+
+        assertThatThrownBy(() -> proxy(flaky).write())
+            .isInstanceOf(DatabaseBusyException.class)
+            .hasCause(flaky.failure);
+        assertThat(flaky.calls).hasValue(MAX_ATTEMPTS);
+        assertThat(meterRegistry.counter("sns.sqlite.busy.giveups", "method", "Flaky.write").count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRetryOtherErrorsOrCallsInsideATransaction() {
+        Flaky constraint = new Flaky();
+        constraint.failures = 1;
+        constraint.failure = new DataIntegrityViolationException("dup", busy(SQLiteErrorCode.SQLITE_CONSTRAINT));
+        assertThatThrownBy(() -> proxy(constraint).write()).isSameAs(constraint.failure);
+        assertThat(constraint.calls).hasValue(1);
+
+        // 바깥 메서드가 트랜잭션째 재시도하므로 안쪽 호출은 그대로 던진다
+        Flaky nested = new Flaky();
+        nested.failures = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> proxy(nested).write()).isSameAs(nested.failure);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertThat(nested.calls).hasValue(1);
+    }
+
+    @Test
+    void interruptDuringBackoffStopsRetryingAndKeepsTheFlag() {
+        // 대기 시간이 0 이 되지 않도록 백오프를 크게 잡는다
+        ReflectionTestUtils.setField(aspect, "initialBackoffMs", 10_000L);
+        ReflectionTestUtils.setField(aspect, "maxBackoffMs", 10_000L);
+        Flaky flaky = new Flaky();
+        flaky.failures = Integer.MAX_VALUE;
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> proxy(flaky).write())
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasCause(flaky.failure);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            assertThat(flaky.calls.get()).isLessThan(MAX_ATTEMPTS);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private Flaky proxy(Flaky target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static RuntimeException busy(SQLiteErrorCode code) {
+        return new CannotAcquireLockException("lock", new SQLiteException("[" + code.name() + "]", code));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqliteMemoryDatabaseTest {
+    @TempDir
+    Path dir;
+
+    private final List<SqliteMemoryDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (SqliteMemoryDatabase database : databases) {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void checkpointWritesTheMemoryDatabaseToTheFileAndRestartRestoresIt() throws Exception {
+        Path file = dir.resolve("sns.db");
+        String url = memoryUrl();
+        SqliteMemoryDatabase first = load(url, file);
+        assertThat(file).doesNotExist();
+
+        execute(url, "CREATE TABLE posts (id INTEGER PRIMARY KEY, content TEXT)",
+            "INSERT INTO posts (content) VALUES ('first')");
+        long before = System.currentTimeMillis();
+        first.checkpoint();
+
+        assertThat(file).exists();
+        assertThat(file.resolveSibling("sns.db.checkpoint")).doesNotExist();
+        assertThat(first.getLastCheckpointMillis()).isGreaterThanOrEqualTo(before);
+        assertThat(contents("jdbc:sqlite:" + file)).containsExactly("first");
+
+        // 체크포인트 이후의 변경은 다음 체크포인트 전까지 파일에 없다
+        execute(url, "INSERT INTO posts (content) VALUES ('second')");
+        assertThat(contents("jdbc:sqlite:" + file)).containsExactly("first");
+
+        String restartedUrl = memoryUrl();
+        load(restartedUrl, file);
+        assertThat(contents(restartedUrl)).containsExactly("first");
+    }
+
+    @Test
+    void shutdownLeavesAFinalCheckpoint() throws Exception {
+        Path file = dir.resolve("sns.db");
+        String url = memoryUrl();
+        SqliteMemoryDatabase database = load(url, file);
+        execute(url, "CREATE TABLE posts (id INTEGER PRIMARY KEY, content TEXT)",
+            "INSERT INTO posts (content) VALUES ('before stop')");
+
+        databases.remove(database);
+        database.shutdown();
+
+        assertThat(contents("jdbc:sqlite:" + file)).containsExactly("before stop");
+    }
+
+    @Test
+    void refusesAFileDatasource() {
+        Path file = dir.resolve("sns.db");
+        assertThatThrownBy(() -> load("jdbc:sqlite:" + dir.resolve("main.db"), file))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(Files.exists(file)).isFalse();
+    }
+
+    private SqliteMemoryDatabase load(String url, Path file) throws SQLException {
+        SqliteMemoryDatabase database = new SqliteMemoryDatabase();
+        ReflectionTestUtils.setField(database, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(database, "url", url);
+        ReflectionTestUtils.setField(database, "file", file);
+        ReflectionTestUtils.setField(database, "checkpointInterval", Duration.ofHours(1));
+        database.load();
+        databases.add(database);
+        return database;
+    }
+
+    // 테스트마다 다른 이름의 공유 캐시 메모리 DB 를 쓴다
+    private static String memoryUrl() {
+        return "jdbc:sqlite:file:memdb-" + UUID.randomUUID() + "?mode=memory&cache=shared";
+    }
+
+    private static void execute(String url, String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static List<String> contents(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT content FROM posts ORDER BY id")) {
+            List<String> contents = new ArrayList<>();
+            while (rs.next()) {
+                contents.add(rs.getString(1));
+            }
+            return contents;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 첨부파일 업로드/내려받기의 HTTP 동작. 힙보다 큰 파일의 스트리밍과 처리량은 stress 의 AttachmentStreamingTest 에서 잰다
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN"
+})
+class AttachmentControllerTest {
+    // sendfile 최소 크기(48KB)보다 큰 파일과 작은 파일로 두 전송 경로를 모두 거친다
+    private static final int LARGE = 200_000;
+    private static final int SMALL = 1_000;
+
+    private static Path attachmentDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-attachment-", ".db");
+        db.toFile().deleteOnExit();
+        attachmentDir = Files.createTempDirectory("sns-attachments-");
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+        registry.add("sns.attachments.dir", attachmentDir::toString);
+    }
+
+    @Test
+    void parsesSingleByteRanges() {
+        assertThat(AttachmentController.parseRange("bytes=0-99", 1000)).containsExactly(0, 100);
+        assertThat(AttachmentController.parseRange("bytes=900-", 1000)).containsExactly(900, 1000);
+        assertThat(AttachmentController.parseRange("bytes=-10", 1000)).containsExactly(990, 1000);
+        // 끝이 크기를 넘으면 잘라내고, 접미사가 크기보다 크면 전체
+        assertThat(AttachmentController.parseRange("bytes=990-5000", 1000)).containsExactly(990, 1000);
+        assertThat(AttachmentController.parseRange("bytes=-5000", 1000)).containsExactly(0, 1000);
+
+        // 만족할 수 없는 구간은 null (416)
+        assertThat(AttachmentController.parseRange("bytes=1000-", 1000)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=-0", 1000)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=-1", 0)).isNull();
+
+        // 여러 구간이나 다른 단위, 잘못된 형식은 빈 배열 (Range 를 무시하고 전체 응답)
+        assertThat(AttachmentController.parseRange("bytes=0-1,5-9", 1000)).isEmpty();
+        assertThat(AttachmentController.parseRange("items=0-1", 1000)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=abc", 1000)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=x-1", 1000)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=500-100", 1000)).isEmpty();
+    }
+
+    @Test
+    void sameContentIsStoredOnceAndDownloadsSupportRangesAndEtags() throws Exception {
+        byte[] content = bytes(LARGE, 1);
+        int postId = createPost();
+
+        JsonNode first = upload(postId, content);
+        assertThat(first.get("sha256").asText()).isEqualTo(sha256(content));
+        assertThat(first.get("size").asLong()).isEqualTo(LARGE);
+        assertThat(first.get("deduplicated").asBoolean()).isFalse();
+        JsonNode second = upload(postId, content);
+        assertThat(second.get("deduplicated").asBoolean()).isTrue();
+        assertThat(second.get("id").asInt()).isNotEqualTo(first.get("id").asInt());
+        assertThat(storedFiles()).as("같은 내용은 파일 하나").hasSize(1);
+
+        String url = first.get("url").asText();
+        HttpResponse<byte[]> full = get(url);
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(full.body()).isEqualTo(content);
+        assertThat(full.headers().firstValue("Accept-Ranges")).hasValue("bytes");
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+        assertThat(etag).isEqualTo("\"" + sha256(content) + "\"");
+
+        HttpResponse<byte[]> partial = get(url, "Range", "bytes=1000-100999");
+        assertThat(partial.statusCode()).isEqualTo(206);
+        assertThat(partial.headers().firstValue("Content-Range")).hasValue("bytes 1000-100999/" + LARGE);
+        assertThat(partial.body()).isEqualTo(Arrays.copyOfRange(content, 1000, 101_000));
+        HttpResponse<byte[]> suffix = get(url, "Range", "bytes=-10");
+        assertThat(suffix.statusCode()).isEqualTo(206);
+        assertThat(suffix.body()).isEqualTo(Arrays.copyOfRange(content, LARGE - 10, LARGE));
+
+        assertThat(get(url, "If-None-Match", etag).statusCode()).isEqualTo(304);
+        assertThat(get(url, "If-None-Match", "\"other\", W/" + etag).statusCode()).isEqualTo(304);
+        HttpResponse<byte[]> unsatisfiable = get(url, "Range", "bytes=" + LARGE + "-");
+        assertThat(unsatisfiable.statusCode()).isEqualTo(416);
+        assertThat(unsatisfiable.headers().firstValue("Content-Range")).hasValue("bytes */" + LARGE);
+        // If-Range 가 다른 ETag 면 구간 대신 전체를 보낸다
+        HttpResponse<byte[]> stale = send(HttpRequest.newBuilder(uri(url))
+            .header("Range", "bytes=0-9").header("If-Range", "\"stale\"").GET());
+        assertThat(stale.statusCode()).isEqualTo(200);
+        assertThat(stale.body()).hasSize(LARGE);
+
+        // sendfile 최소 크기보다 작은 파일은 FileChannel 로 보낸다
+        byte[] small = bytes(SMALL, 2);
+        String smallUrl = upload(postId, small).get("url").asText();
+        assertThat(get(smallUrl).body()).isEqualTo(small);
+        assertThat(get(smallUrl, "Range", "bytes=10-19").body()).isEqualTo(Arrays.copyOfRange(small, 10, 20));
+
+        // 포스트를 지우면 참조되지 않는 파일도 지워진다
+        assertThat(send(HttpRequest.newBuilder(uri("/api/posts/" + postId)).DELETE()).statusCode()).isLessThan(300);
+        assertThat(storedFiles()).isEmpty();
+        assertThat(get(url).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void uploadToMissingPostIsNotFound() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/posts/999999/attachments?fileName=a.bin"))
+            .header("Content-Type", "application/octet-stream")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(bytes(SMALL, 3))));
+        assertThat(response.statusCode()).isEqualTo(404);
+        JsonNode error = objectMapper.readTree(response.body());
+        assertThat(error.get("message").asText()).isEqualTo("포스트를 찾을 수 없습니다");
+        assertThat(error.has("detail")).isTrue();
+    }
+
+    private int createPost() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/posts"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"userName\":\"uploader\",\"content\":\"with files\"}")));
+        return objectMapper.readTree(response.body()).get("id").asInt();
+    }
+
+    private JsonNode upload(int postId, byte[] content) throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/api/posts/" + postId + "/attachments?fileName=file.bin"))
+            .header("Content-Type", "application/octet-stream")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(content)));
+        assertThat(response.statusCode()).as("업로드 응답: %s", new String(response.body())).isEqualTo(201);
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<byte[]> get(String path, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        for (int i = 0; i < headers.length; i += 2) {
+            request.header(headers[i], headers[i + 1]);
+        }
+        return send(request);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(attachmentDir)) {
+            return files.filter(Files::isRegularFile).filter(path -> !path.getParent().getFileName().toString().equals("tmp")).toList();
+        }
+    }
+
+    private static byte[] bytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new SplittableRandom(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
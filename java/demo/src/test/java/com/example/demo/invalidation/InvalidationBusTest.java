@@ -0,0 +1,188 @@
+package com.example.demo.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.DatagramSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBusTest {
+    private final List<InvalidationBus> buses = new ArrayList<>();
+    private final List<InvalidationTransport> transports = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(InvalidationBus::stop);
+        transports.forEach(InvalidationTransport::close);
+    }
+
+    @Test
+    void batchesSurviveEncodingWithAnyEntityId() {
+        InvalidationBatch batch = new InvalidationBatch("node1", 1234L, List.of(
+            new Invalidation("POST", "42", 7L),
+            new Invalidation("USER", "al ice\t%\n한글", 8L)));
+
+        assertThat(InvalidationBatch.decode(batch.encode())).isEqualTo(batch);
+    }
+
+    @Test
+    void publishDispatchesLocallyAndSendsOneDeduplicatedBatch() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        InvalidationBus bus = bus(transport);
+        List<Invalidation> received = new CopyOnWriteArrayList<>();
+        bus.subscribe("POST", received::add);
+
+        bus.publish(new Invalidation("POST", "1", 1L));
+        bus.publish(new Invalidation("POST", "1", 3L));
+        bus.publish(new Invalidation("POST", "1", 2L));
+        bus.publish(new Invalidation("USER", "bob", 1L));
+
+        // 구독자에게는 바로 전달되고, 다른 타입 구독자에게는 가지 않는다
+        assertThat(received).extracting(Invalidation::version).containsExactly(1L, 3L, 2L);
+
+        InvalidationBatch batch = transport.sent.poll(5, TimeUnit.SECONDS);
+        assertThat(batch).isNotNull();
+        assertThat(batch.nodeId()).isEqualTo(bus.getNodeId());
+        // 엔티티별로 가장 높은 버전 하나만 보낸다
+        assertThat(batch.invalidations()).containsExactly(
+            new Invalidation("POST", "1", 3L), new Invalidation("USER", "bob", 1L));
+        assertThat(transport.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void receivedBatchesFromOtherNodesAreDispatchedButOwnBatchesAreIgnored() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        InvalidationBus bus = bus(transport);
+        List<Invalidation> received = new CopyOnWriteArrayList<>();
+        bus.subscribe("POST", received::add);
+
+        transport.receiver.accept(new InvalidationBatch(bus.getNodeId(), System.currentTimeMillis(),
+            List.of(new Invalidation("POST", "1", 1L))));
+        transport.receiver.accept(new InvalidationBatch("other", System.currentTimeMillis(),
+            List.of(new Invalidation("POST", "2", 1L))));
+
+        assertThat(received).containsExactly(new Invalidation("POST", "2", 1L));
+    }
+
+    @Test
+    void withoutTransportChangesStayInThisInstance() throws Exception {
+        InvalidationBus bus = bus(null);
+        List<Invalidation> received = new CopyOnWriteArrayList<>();
+        bus.subscribe("POST", received::add);
+
+        bus.publish(new Invalidation("POST", "1", 1L));
+        bus.flush();
+
+        assertThat(received).containsExactly(new Invalidation("POST", "1", 1L));
+    }
+
+    @Test
+    void udpUnicastDeliversBetweenTwoNodes() throws Exception {
+        int portA = freeUdpPort();
+        int portB = freeUdpPort();
+        assertDelivered(udp(portA, portB), udp(portB, portA));
+    }
+
+    @Test
+    void sqliteTableDeliversBetweenTwoNodes(@TempDir Path dir) throws Exception {
+        String url = "jdbc:sqlite:" + dir.resolve("invalidation.db");
+        assertDelivered(sqlite(url), sqlite(url));
+    }
+
+    // A 에서 발행한 변경이 B 의 구독자에게 전달되는지 확인한다
+    private void assertDelivered(InvalidationTransport transportA, InvalidationTransport transportB) throws Exception {
+        InvalidationBus a = bus(transportA);
+        InvalidationBus b = bus(transportB);
+        BlockingQueue<Invalidation> receivedByA = new LinkedBlockingQueue<>();
+        BlockingQueue<Invalidation> receivedByB = new LinkedBlockingQueue<>();
+        a.subscribe("POST", receivedByA::add);
+        b.subscribe("POST", receivedByB::add);
+
+        a.publish(new Invalidation("POST", "7", 5L));
+
+        assertThat(receivedByA.poll()).isEqualTo(new Invalidation("POST", "7", 5L));
+        assertThat(receivedByB.poll(5, TimeUnit.SECONDS)).isEqualTo(new Invalidation("POST", "7", 5L));
+        // 자기 배치가 되돌아와도 다시 전달하지 않는다
+        assertThat(receivedByA.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private InvalidationBus bus(InvalidationTransport transport) throws Exception {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (transport != null) {
+            beanFactory.addBean("transport", transport);
+            transports.add(transport);
+        }
+        ObjectProvider<InvalidationTransport> provider = beanFactory.getBeanProvider(InvalidationTransport.class);
+
+        InvalidationBus bus = new InvalidationBus();
+        ReflectionTestUtils.setField(bus, "transportProvider", provider);
+        ReflectionTestUtils.setField(bus, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(bus, "batchWindow", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(bus, "maxBatchSize", 256);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static UdpInvalidationTransport udp(int port, int peerPort) {
+        UdpInvalidationTransport transport = new UdpInvalidationTransport();
+        ReflectionTestUtils.setField(transport, "group", "239.255.42.99");
+        ReflectionTestUtils.setField(transport, "port", port);
+        ReflectionTestUtils.setField(transport, "interfaceName", "");
+        ReflectionTestUtils.setField(transport, "peers", List.of("127.0.0.1:" + peerPort));
+        return transport;
+    }
+
+    private static SqliteInvalidationTransport sqlite(String url) {
+        SqliteInvalidationTransport transport = new SqliteInvalidationTransport();
+        ReflectionTestUtils.setField(transport, "url", url);
+        ReflectionTestUtils.setField(transport, "pollInterval", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(transport, "retention", Duration.ofMinutes(1));
+        return transport;
+    }
+
+    private static int freeUdpPort() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static class RecordingTransport implements InvalidationTransport {
+        final BlockingQueue<InvalidationBatch> sent = new LinkedBlockingQueue<>();
+        Consumer<InvalidationBatch> receiver;
+
+        @Override
+        public void start(Consumer<InvalidationBatch> receiver) {
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void send(InvalidationBatch batch) {
+            sent.add(batch);
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
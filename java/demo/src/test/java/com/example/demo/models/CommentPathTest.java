@@ -0,0 +1,66 @@
+package com.example.demo.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentPathTest {
+
+    @Test
+    void segmentsAreEightLowercaseHexCharacters() {
+        assertThat(CommentPath.segment(1)).isEqualTo("00000001");
+        assertThat(CommentPath.segment(42)).isEqualTo("0000002a");
+        assertThat(CommentPath.segment(0xabcdef)).isEqualTo("00abcdef");
+        assertThat(CommentPath.segment(Integer.MAX_VALUE)).isEqualTo("7fffffff");
+        assertThat(CommentPath.child(CommentPath.segment(42), 47)).isEqualTo("0000002a0000002f");
+        assertThat(CommentPath.child("", 42)).isEqualTo("0000002a");
+    }
+
+    @Test
+    void depthCountsSegmentsBelowTheRoot() {
+        String root = CommentPath.child("", 9);
+        String reply = CommentPath.child(root, 16);
+        assertThat(CommentPath.depth(root)).isZero();
+        assertThat(CommentPath.depth(reply)).isEqualTo(1);
+        assertThat(CommentPath.depth(CommentPath.child(reply, 300))).isEqualTo(2);
+    }
+
+    @Test
+    void stringOrderIsThreadOrder() {
+        // 10진수로는 9 < 16 < 255 < 256 이지만 고정 폭 16진수도 같은 순서여야 한다
+        String a = CommentPath.child("", 9);
+        String a1 = CommentPath.child(a, 255);
+        String a1x = CommentPath.child(a1, 4096);
+        String a2 = CommentPath.child(a, 256);
+        String b = CommentPath.child("", 16);
+        List<String> threadOrder = List.of(a, a1, a1x, a2, b);
+
+        List<String> sorted = new ArrayList<>(List.of(b, a2, a1x, a, a1));
+        sorted.sort(null);
+        assertThat(sorted).isEqualTo(threadOrder);
+
+        // 하위 트리는 [path, subtreeEnd(path)) 범위이고 다음 형제는 범위 밖이다
+        String end = CommentPath.subtreeEnd(a);
+        assertThat(List.of(a1, a1x, a2)).allSatisfy(path ->
+            assertThat(path.compareTo(a) > 0 && path.compareTo(end) < 0).isTrue());
+        assertThat(b.compareTo(end)).isPositive();
+        assertThat(CommentPath.isWithin(a1x, a)).isTrue();
+        assertThat(CommentPath.isWithin(a, a)).isFalse();
+        assertThat(CommentPath.isWithin(b, a)).isFalse();
+    }
+
+    @Test
+    void validatesCursorsFromClients() {
+        assertThat(CommentPath.isValid("0000002a")).isTrue();
+        assertThat(CommentPath.isValid("0000002a0000002f")).isTrue();
+        assertThat(CommentPath.isValid(null)).isFalse();
+        assertThat(CommentPath.isValid("")).isFalse();
+        assertThat(CommentPath.isValid("2a")).isFalse();
+        assertThat(CommentPath.isValid("0000002A")).isFalse();
+        assertThat(CommentPath.isValid("0000002g")).isFalse();
+        assertThat(CommentPath.isValid("0000002a~")).isFalse();
+    }
+}
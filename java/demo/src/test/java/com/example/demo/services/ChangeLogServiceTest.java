@@ -0,0 +1,172 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.ChangeDto;
+import com.example.demo.dtos.ChangesPageDto;
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.exceptions.ChangeLogExpiredException;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN",
+    "sns.changes.compact-after=PT0S"
+})
+class ChangeLogServiceTest {
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-changes-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void changesAreCompactedPerEntityWithCurrentState() {
+        long since = latestSeq();
+        Post post = postService.createPost(newPost("alice", "v1"));
+        Comment kept = commentService.createComment(post.getId(), newComment("bob", "kept"));
+        Comment removed = commentService.createComment(post.getId(), newComment("carol", "removed"));
+        likeService.likePost(post.getId(), "dave");
+        postService.updatePost(post.getId(), "v2");
+        commentService.deleteComment(post.getId(), removed.getId());
+
+        List<ChangeDto> changes = drain(since, 1000);
+
+        assertThat(changes).extracting(ChangeDto::getEntityType, ChangeDto::getEntityId, ChangeDto::getOperation)
+            .containsExactly(
+                tuple("COMMENT", kept.getId().toString(), "UPSERT"),
+                tuple("LIKE", post.getId() + ":dave", "UPSERT"),
+                tuple("COMMENT", removed.getId().toString(), "DELETE"),
+                tuple("POST", post.getId().toString(), "UPSERT"));
+        PostSummaryDto postState = (PostSummaryDto) changes.get(3).getData();
+        assertThat(postState.getContent()).isEqualTo("v2");
+        assertThat(postState.getLikeCount()).isEqualTo(1);
+        assertThat(postState.getCommentCount()).isEqualTo(1);
+        assertThat(((CommentSummaryDto) changes.get(0).getData()).getPostId()).isEqualTo(post.getId());
+    }
+
+    @Test
+    void pagingWithNextSinceSeesEveryChangeOnce() {
+        long since = latestSeq();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(postService.createPost(newPost("erin", "p" + i)).getId());
+        }
+
+        ChangesPageDto first = changeLogService.getChanges(since, 3);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getChanges()).hasSize(3);
+        assertThat(drain(since, 3)).extracting(ChangeDto::getEntityId)
+            .containsExactlyElementsOf(ids.stream().map(String::valueOf).toList());
+    }
+
+    @Test
+    void deletingPostAlsoReportsItsCommentsAndLikes() {
+        Post post = postService.createPost(newPost("frank", "bye"));
+        Comment comment = commentService.createComment(post.getId(), newComment("gina", "c"));
+        likeService.likePost(post.getId(), "hank");
+        long since = latestSeq();
+
+        postService.deletePost(post.getId());
+
+        assertThat(drain(since, 1000)).extracting(ChangeDto::getEntityType, ChangeDto::getEntityId, ChangeDto::getOperation)
+            .containsExactlyInAnyOrder(
+                tuple("COMMENT", comment.getId().toString(), "DELETE"),
+                tuple("LIKE", post.getId() + ":hank", "DELETE"),
+                tuple("POST", post.getId().toString(), "DELETE"));
+    }
+
+    @Test
+    void compactionKeepsResultAndRetentionExpiresOldCursors() throws Exception {
+        long since = latestSeq();
+        Post post = postService.createPost(newPost("ivan", "a"));
+        for (int i = 0; i < 5; i++) {
+            postService.updatePost(post.getId(), "edit " + i);
+        }
+        List<ChangeDto> before = drain(since, 1000);
+        Thread.sleep(5);
+
+        changeLogService.compactAndPurge();
+        ChangesPageDto afterCompaction = changeLogService.getChanges(since, 1000);
+        assertThat(afterCompaction.getChanges()).isEqualTo(before);
+
+        ChangeLogService target = AopTestUtils.getTargetObject(changeLogService);
+        ReflectionTestUtils.setField(target, "retention", Duration.ZERO);
+        try {
+            changeLogService.compactAndPurge();
+        } finally {
+            ReflectionTestUtils.setField(target, "retention", Duration.ofDays(7));
+        }
+        long purgedThrough = changeLogService.getPurgedThrough();
+        assertThat(purgedThrough).isGreaterThanOrEqualTo(afterCompaction.getNextSince());
+        assertThatThrownBy(() -> changeLogService.getChanges(since, 1000)).isInstanceOf(ChangeLogExpiredException.class);
+        assertThat(changeLogService.getChanges(purgedThrough, 1000).getChanges()).isEmpty();
+    }
+
+    private long latestSeq() {
+        long since = changeLogService.getPurgedThrough();
+        ChangesPageDto page;
+        do {
+            page = changeLogService.getChanges(since, 1000);
+            since = page.getNextSince();
+        } while (page.isHasMore());
+        return since;
+    }
+
+    private List<ChangeDto> drain(long since, int limit) {
+        List<ChangeDto> changes = new ArrayList<>();
+        ChangesPageDto page;
+        do {
+            page = changeLogService.getChanges(since, limit);
+            changes.addAll(page.getChanges());
+            since = page.getNextSince();
+        } while (page.isHasMore());
+        return changes;
+    }
+
+    private static Post newPost(String userName, String content) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        return post;
+    }
+
+    private static Comment newComment(String userName, String content) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent(content);
+        return comment;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.ReconciliationStatusDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN",
+    "sns.reconciliation.enabled=false",
+    "sns.reconciliation.chunk-size=3",
+    "sns.reconciliation.duty-cycle=1"
+})
+class CounterReconciliationServiceTest {
+    @Autowired
+    private CounterReconciliationService counterReconciliationService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PostSummaryCache postSummaryCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-reconcile-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void fixesOnlyDriftedCounters() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Post post = postService.createPost(newPost("recon" + i));
+            ids.add(post.getId());
+            for (int like = 0; like < i % 3; like++) {
+                likeService.likePost(post.getId(), "liker" + like);
+            }
+            if (i % 2 == 0) {
+                commentService.createComment(post.getId(), newComment("commenter"));
+            }
+        }
+
+        // 좋아요만, 댓글만, 둘 다 어긋난 포스트 (청크 경계를 넘도록 흩어 둔다)
+        jdbcTemplate.update("UPDATE posts SET likeCount = likeCount + 5 WHERE id = ?", ids.get(1));
+        jdbcTemplate.update("UPDATE posts SET commentCount = 0 WHERE id = ?", ids.get(4));
+        jdbcTemplate.update("UPDATE posts SET likeCount = 0, commentCount = 9 WHERE id = ?", ids.get(7));
+        // 어긋난 값을 캐시에 올려 둔다
+        assertThat(postSummaryCache.getAll(ids).get(ids.get(1)).getLikeCount()).isEqualTo(6);
+        long lastSeq = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM changes", Long.class);
+
+        // 보정이 갱신한 행을 기록한다
+        jdbcTemplate.execute("CREATE TABLE touched (id INTEGER)");
+        jdbcTemplate.execute("CREATE TRIGGER touch_posts AFTER UPDATE ON posts BEGIN INSERT INTO touched VALUES (NEW.id); END");
+        try {
+            ReconciliationStatusDto status = counterReconciliationService.reconcile();
+
+            assertThat(status.getScannedPosts()).isEqualTo(ids.size());
+            assertThat(status.getLikeDrift()).isEqualTo(2);
+            assertThat(status.getCommentDrift()).isEqualTo(2);
+            assertThat(jdbcTemplate.queryForList("SELECT id FROM touched ORDER BY id", Integer.class))
+                .containsExactly(ids.get(1), ids.get(4), ids.get(7));
+            // 보정한 포스트는 변경 로그에 남고 캐시에서 지워진다
+            assertThat(jdbcTemplate.queryForList(
+                    "SELECT CAST(entityId AS INTEGER) FROM changes WHERE seq > ? AND entityType = 'POST' AND operation = 'UPSERT' ORDER BY 1",
+                    Integer.class, lastSeq))
+                .containsExactly(ids.get(1), ids.get(4), ids.get(7));
+            assertThat(postSummaryCache.getAll(ids).get(ids.get(1)).getLikeCount()).isEqualTo(1);
+            assertThat(postSummaryCache.getAll(ids).get(ids.get(7)).getCommentCount()).isEqualTo(0);
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER touch_posts");
+            jdbcTemplate.execute("DROP TABLE touched");
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(jdbcTemplate.queryForList("SELECT likeCount, commentCount FROM posts WHERE id = ?", ids.get(i)).get(0))
+                .as("post %d", i)
+                .containsEntry("likeCount", i % 3)
+                .containsEntry("commentCount", i % 2 == 0 ? 1 : 0);
+        }
+    }
+
+    private static Post newPost(String userName) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent("counter");
+        return post;
+    }
+
+    private static Comment newComment(String userName) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent("hi");
+        return comment;
+    }
+}
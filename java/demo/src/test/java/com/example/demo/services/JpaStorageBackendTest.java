@@ -0,0 +1,62 @@
+package com.example.demo.services;
+
+import com.example.demo.models.Comment;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN"
+})
+class JpaStorageBackendTest extends StorageBackendContractTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-contract-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    // @PostPersist 가 붙인 마지막 구간이 flush 때 저장되고, 기존 행 채우기에 쓰는 SQLite printf 와 같은 문자열이어야 한다
+    @Test
+    void storedPathIsTheParentPathPlusTheNewId() {
+        Integer postId = postService.createPost(newPost("paula", "paths")).getId();
+        Comment root = new Comment();
+        root.setUserName("quentin");
+        root.setContent("root");
+        root = commentService.createComment(postId, root);
+        Comment reply = new Comment();
+        reply.setUserName("quentin");
+        reply.setContent("reply");
+        reply.setParentId(root.getId());
+        reply = commentService.createComment(postId, reply);
+
+        assertThat(storedPath(root.getId())).isEqualTo(sqlitePath("printf('%08x', ?)", root.getId()));
+        assertThat(storedPath(reply.getId()))
+            .isEqualTo(sqlitePath("printf('%08x%08x', ?, ?)", root.getId(), reply.getId()))
+            .isEqualTo(reply.getPath());
+        assertThat(jdbcTemplate.queryForObject("SELECT updatedAt = createdAt FROM comments WHERE id = ?",
+            Boolean.class, reply.getId())).isTrue();
+    }
+
+    private String storedPath(Integer commentId) {
+        return jdbcTemplate.queryForObject("SELECT path FROM comments WHERE id = ?", String.class, commentId);
+    }
+
+    private String sqlitePath(String expression, Object... ids) {
+        return jdbcTemplate.queryForObject("SELECT " + expression, String.class, ids);
+    }
+}
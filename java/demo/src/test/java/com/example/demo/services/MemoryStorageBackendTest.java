@@ -0,0 +1,64 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "logging.level.com.example.demo=WARN")
+@ActiveProfiles("memory")
+class MemoryStorageBackendTest extends StorageBackendContractTest {
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsDoNotWaitForWriters() throws Exception {
+        Post post = postService.createPost(newPost("memreader", "hello"));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                writing.countDown();
+                await(release);
+            }));
+        try {
+            assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // 쓰기 트랜잭션이 끝나지 않았어도 읽기 전용 조회는 바로 끝난다
+            CompletableFuture<Integer> reader = CompletableFuture.supplyAsync(() ->
+                postService.getPostsByUser("memreader", null, 10).getPosts().get(0).getId());
+            assertThat(reader.get(10, TimeUnit.SECONDS)).isEqualTo(post.getId());
+
+            // 다른 쓰기는 기다린다
+            CompletableFuture<Post> otherWriter = CompletableFuture.supplyAsync(() ->
+                postService.createPost(newPost("memreader", "second")));
+            Thread.sleep(200);
+            assertThat(otherWriter).isNotDone();
+            release.countDown();
+            assertThat(otherWriter.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        } finally {
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(postService.getPostsByUser("memreader", null, 10).getPosts())
+            .extracting(PostSummaryDto::getContent).containsExactly("second", "hello");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
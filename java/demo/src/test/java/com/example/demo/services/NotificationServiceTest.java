@@ -0,0 +1,165 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.NotificationDto;
+import com.example.demo.dtos.NotificationPageDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// flush 는 테스트에서 직접 호출한다
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN",
+    "sns.notifications.flush-interval=PT1H"
+})
+class NotificationServiceTest {
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-notifications-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void likesAndCommentsAreCoalescedPerPostAcrossFlushes() {
+        Post post = postService.createPost(newPost("owner1", "hello"));
+        likeService.likePost(post.getId(), "owner1");
+        likeService.likePost(post.getId(), "fan1");
+        likeService.likePost(post.getId(), "fan2");
+        commentService.createComment(post.getId(), newComment("fan1", "nice"));
+        commentService.createComment(post.getId(), newComment("owner1", "thanks"));
+        notificationService.flush();
+
+        likeService.likePost(post.getId(), "fan3");
+        notificationService.flush();
+
+        NotificationPageDto page = notificationService.getNotifications("owner1", null, 10);
+        assertThat(page.getNotifications())
+            .extracting(NotificationDto::getType, NotificationDto::getCount, NotificationDto::getLastActor)
+            .containsExactly(tuple("LIKE", 3, "fan3"), tuple("COMMENT", 1, "fan1"));
+        assertThat(page.getNotifications().get(0).getMessage()).isEqualTo("fan3 님 외 2명이 포스트를 좋아합니다");
+        assertThat(page.getUnreadCount()).isEqualTo(2);
+
+        postService.deletePost(post.getId());
+        assertThat(notificationService.getNotifications("owner1", null, 10).getNotifications()).isEmpty();
+    }
+
+    @Test
+    void markAllReadClearsUnreadUntilNewActivity() throws InterruptedException {
+        Post first = postService.createPost(newPost("owner2", "first"));
+        Post second = postService.createPost(newPost("owner2", "second"));
+        likeService.likePost(first.getId(), "fan4");
+        likeService.likePost(second.getId(), "fan4");
+        commentService.createComment(second.getId(), newComment("fan5", "hi"));
+        notificationService.flush();
+
+        List<NotificationDto> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            NotificationPageDto page = notificationService.getNotifications("owner2", cursor, 1);
+            seen.addAll(page.getNotifications());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(seen).hasSize(3).allMatch(NotificationDto::isUnread);
+        assertThat(seen).extracting(NotificationDto::getId).doesNotHaveDuplicates();
+
+        notificationService.markAllRead("owner2");
+        NotificationPageDto read = notificationService.getNotifications("owner2", null, 10);
+        assertThat(read.getUnreadCount()).isZero();
+        assertThat(read.getNotifications()).noneMatch(NotificationDto::isUnread);
+
+        // 읽은 뒤에 쓰인 알림은 같은 행이라도 다시 안 읽음이 된다
+        Thread.sleep(5);
+        likeService.likePost(first.getId(), "fan6");
+        notificationService.flush();
+        NotificationPageDto updated = notificationService.getNotifications("owner2", null, 10);
+        assertThat(updated.getUnreadCount()).isEqualTo(1);
+        assertThat(updated.getNotifications().get(0))
+            .extracting(NotificationDto::getPostId, NotificationDto::getCount, NotificationDto::isUnread)
+            .containsExactly(first.getId(), 2, true);
+    }
+
+    @Test
+    void likeCountIsTheNumberOfPeopleWhoStillLikeThePost() throws InterruptedException {
+        Post post = postService.createPost(newPost("owner3", "liked"));
+        likeService.likePost(post.getId(), "bob");
+        likeService.unlikePost(post.getId(), "bob");
+        likeService.likePost(post.getId(), "bob");
+        notificationService.flush();
+
+        NotificationDto liked = notificationService.getNotifications("owner3", null, 10).getNotifications().get(0);
+        assertThat(liked.getCount()).isEqualTo(1);
+        assertThat(liked.getMessage()).isEqualTo("bob 님이 포스트를 좋아합니다");
+
+        likeService.likePost(post.getId(), "carol");
+        notificationService.flush();
+        notificationService.markAllRead("owner3");
+
+        // 취소는 수만 줄이고 알림을 다시 띄우지 않는다. 취소한 사람이 lastActor 였으면 남은 사람으로 바뀐다
+        Thread.sleep(5);
+        likeService.unlikePost(post.getId(), "carol");
+        notificationService.flush();
+        NotificationPageDto page = notificationService.getNotifications("owner3", null, 10);
+        assertThat(page.getNotifications())
+            .extracting(NotificationDto::getCount, NotificationDto::getLastActor, NotificationDto::isUnread)
+            .containsExactly(tuple(1, "bob", false));
+        assertThat(page.getUnreadCount()).isZero();
+
+        likeService.unlikePost(post.getId(), "bob");
+        notificationService.flush();
+        assertThat(notificationService.getNotifications("owner3", null, 10).getNotifications()).isEmpty();
+    }
+
+    @Test
+    void notificationsFlushedAfterThePostIsDeletedAreNotCountedAsUnread() {
+        Post post = postService.createPost(newPost("owner4", "short-lived"));
+        commentService.createComment(post.getId(), newComment("fan7", "first!"));
+        likeService.likePost(post.getId(), "fan7");
+        postService.deletePost(post.getId());
+        notificationService.flush();
+
+        NotificationPageDto page = notificationService.getNotifications("owner4", null, 10);
+        assertThat(page.getNotifications()).isEmpty();
+        assertThat(page.getUnreadCount()).isZero();
+    }
+
+    private static Post newPost(String userName, String content) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        return post;
+    }
+
+    private static Comment newComment(String userName, String content) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent(content);
+        return comment;
+    }
+}
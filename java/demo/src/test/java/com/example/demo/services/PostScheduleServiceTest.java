@@ -0,0 +1,213 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.ChangeDto;
+import com.example.demo.dtos.ChangesPageDto;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN",
+    "sns.posts.schedule.tick=PT0.05S"
+})
+class PostScheduleServiceTest {
+    @Autowired
+    private PostScheduleService postScheduleService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-schedule-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void wheelReleasesEachItemAtItsTickAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 100);
+        // 0단계(64 tick 미만)부터 overflow(64^4 tick 이상)까지
+        long[] dues = {100, 163, 164, 5_000, 262_243, 300_000, 17_000_000, 40};
+        for (long due : dues) {
+            wheel.schedule(due, due);
+        }
+
+        List<Long> released = new ArrayList<>(wheel.advance(99));
+        assertThat(released).isEmpty();
+        released.addAll(wheel.advance(100));
+        assertThat(released).containsExactly(100L, 40L);
+        for (long now = 101; now <= 17_000_000; now += 997) {
+            for (Long item : wheel.advance(now)) {
+                assertThat(item).isLessThanOrEqualTo(now).isGreaterThan(now - 997);
+                released.add(item);
+            }
+        }
+        released.addAll(wheel.advance(17_000_000));
+        assertThat(released).containsExactly(100L, 40L, 163L, 164L, 5_000L, 262_243L, 300_000L, 17_000_000L);
+        assertThat(wheel.size()).isZero();
+
+        // tick 중간의 예정 시각은 그 tick 이 끝난 뒤에 꺼낸다
+        TimingWheel<Long> coarse = new TimingWheel<>(50, 1_000);
+        coarse.schedule(1_025, 1_025L);
+        assertThat(coarse.advance(1_030)).isEmpty();
+        assertThat(coarse.advance(1_050)).containsExactly(1_025L);
+    }
+
+    @Test
+    void scheduledPostStaysHiddenUntilPublishAt() {
+        LocalDateTime publishAt = LocalDateTime.now().plusSeconds(2);
+        Post visible = postService.createPost(newPost("sched1", "now #schedtest", null, null));
+        Post scheduled = postService.createPost(newPost("sched1", "later #schedtest", publishAt, null));
+
+        assertThat(scheduled.getCreatedAt()).isEqualTo(publishAt);
+        assertThat(userPage("sched1")).containsExactly(visible.getId());
+        assertThat(tagFeed("schedtest")).containsExactly(visible.getId());
+        assertThat(postService.getAllPosts()).extracting(Post::getId).doesNotContain(scheduled.getId());
+
+        await(() -> LocalDateTime.now().isAfter(publishAt));
+        assertThat(userPage("sched1")).containsExactly(scheduled.getId(), visible.getId());
+        assertThat(tagFeed("schedtest")).containsExactly(scheduled.getId(), visible.getId());
+        assertThat(postService.getAllPosts()).extracting(Post::getId).contains(scheduled.getId());
+    }
+
+    @Test
+    void scheduledPostCannotBeReadLikedCommentedOrSyncedBeforePublishAt() {
+        LocalDateTime publishAt = LocalDateTime.now().plusSeconds(2);
+        Post scheduled = postService.createPost(newPost("sched3", "later", publishAt, null));
+        Integer id = scheduled.getId();
+
+        assertThatThrownBy(() -> postService.getPost(id)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> likeService.likePost(id, "schedFan")).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> commentService.createComment(id, newComment("schedFan", "first")))
+            .isInstanceOf(EntityNotFoundException.class);
+        // 작성자는 게시 전에도 고칠 수 있고, 그 변경도 동기화 클라이언트에 나가지 않는다
+        postService.updatePost(id, "later, edited");
+        assertThat(postChanges(id)).isEmpty();
+
+        // 게시 시각이 되면 변경 로그에 한 번 남는다
+        await(() -> !postChanges(id).isEmpty());
+        assertThat(postChanges(id)).containsExactly("UPSERT");
+        assertThat(postService.getPost(id).getContent()).isEqualTo("later, edited");
+        likeService.likePost(id, "schedFan");
+        commentService.createComment(id, newComment("schedFan", "first"));
+        assertThat(postService.getPost(id).getLikeCount()).isEqualTo(1);
+        assertThat(postService.getPost(id).getCommentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredPostsAreDeletedIncludingOnesFoundAtRebuild() {
+        Post story = postService.createPost(newPost("story1", "story", null, LocalDateTime.now().plusSeconds(1)));
+        Post missed = postService.createPost(newPost("story1", "missed", null, LocalDateTime.now().plusDays(1)));
+        Post kept = postService.createPost(newPost("story1", "kept", null, null));
+
+        // 휠에 없는(꺼져 있던 동안 만료된) 포스트는 다시 채울 때 찾아서 지운다
+        jdbcTemplate.update("UPDATE posts SET expiresAt = ? WHERE id = ?",
+            Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), missed.getId());
+        postScheduleService.rebuild();
+
+        await(() -> userPage("story1").equals(List.of(kept.getId())));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE id IN (?, ?)", Integer.class,
+            story.getId(), missed.getId())).isZero();
+    }
+
+    @Test
+    void rejectsExpiryBeforePublish() {
+        LocalDateTime publishAt = LocalDateTime.now().plusHours(1);
+        assertThatThrownBy(() -> postService.createPost(newPost("sched2", "bad", publishAt, publishAt.minusMinutes(1))))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        // 지난 publishAt 은 바로 게시된다
+        Post past = postService.createPost(newPost("sched2", "past", LocalDateTime.now().minusHours(1), null));
+        assertThat(past.getPublishAt()).isNull();
+        assertThat(userPage("sched2")).containsExactly(past.getId());
+    }
+
+    private List<Integer> userPage(String userName) {
+        return postService.getPostsByUser(userName, null, 10).getPosts().stream().map(PostSummaryDto::getId).toList();
+    }
+
+    private List<Integer> tagFeed(String tag) {
+        return tagService.getPostsByTag(tag, null, 10).getPosts().stream().map(PostSummaryDto::getId).toList();
+    }
+
+    private List<String> postChanges(Integer postId) {
+        List<String> operations = new ArrayList<>();
+        long since = changeLogService.getPurgedThrough();
+        ChangesPageDto page;
+        do {
+            page = changeLogService.getChanges(since, 1000);
+            page.getChanges().stream()
+                .filter(change -> change.getEntityType().equals("POST") && change.getEntityId().equals(String.valueOf(postId)))
+                .map(ChangeDto::getOperation)
+                .forEach(operations::add);
+            since = page.getNextSince();
+        } while (page.isHasMore());
+        return operations;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건을 기다리는 중 시간 초과").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static Post newPost(String userName, String content, LocalDateTime publishAt, LocalDateTime expiresAt) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        post.setPublishAt(publishAt);
+        post.setExpiresAt(expiresAt);
+        return post;
+    }
+
+    private static Comment newComment(String userName, String content) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent(content);
+        return comment;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.services;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@SpringBootTest(properties = {"logging.level.com.example.demo=WARN", "sns.sharding.shards=3"})
+@ActiveProfiles("sharded")
+class ShardedStorageBackendTest extends StorageBackendContractTest {
+
+    @DynamicPropertySource
+    static void shardDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("sns-shards-");
+        directory.toFile().deleteOnExit();
+        registry.add("sns.sharding.directory", directory::toString);
+    }
+}
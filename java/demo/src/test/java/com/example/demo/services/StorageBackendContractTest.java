@@ -0,0 +1,272 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.CommentSummaryDto;
+import com.example.demo.dtos.CommentThreadPageDto;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.UserCommentPageDto;
+import com.example.demo.dtos.UserPostPageDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.PostStore;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 저장 엔진(JPA/SQLite, 인메모리)과 관계없이 서비스 계층이 같은 동작을 하는지 확인하는 공통 테스트.
+// 엔진별 하위 클래스가 스프링 컨텍스트 구성만 바꿔 같은 테스트를 실행한다.
+abstract class StorageBackendContractTest {
+    @Autowired
+    protected PostService postService;
+
+    @Autowired
+    protected CommentService commentService;
+
+    @Autowired
+    protected LikeService likeService;
+
+    @Autowired
+    protected PostStore postStore;
+
+    @Test
+    void createPostAssignsIdTimestampsAndZeroCounters() {
+        Post created = postService.createPost(newPost("alice", "hello"));
+
+        Post found = postService.getPost(created.getId());
+        assertThat(found.getUserName()).isEqualTo("alice");
+        assertThat(found.getContent()).isEqualTo("hello");
+        assertThat(found.getCreatedAt()).isNotNull();
+        assertThat(found.getUpdatedAt()).isNotNull();
+        assertThat(found.getLikeCount()).isZero();
+        assertThat(found.getCommentCount()).isZero();
+        assertThat(postService.getAllPosts()).extracting(Post::getId).contains(created.getId());
+    }
+
+    @Test
+    void updatePostChangesContentOnly() {
+        Post created = postService.createPost(newPost("bob", "before"));
+
+        postService.updatePost(created.getId(), "after");
+
+        Post found = postService.getPost(created.getId());
+        assertThat(found.getContent()).isEqualTo("after");
+        assertThat(found.getUserName()).isEqualTo("bob");
+        // SQLite 는 시각을 밀리초 단위로 저장한다
+        assertThat(found.getCreatedAt()).isEqualTo(created.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void likeIsIdempotentPerUserAndUnlikeRestoresCount() {
+        Integer postId = postService.createPost(newPost("carol", "like me")).getId();
+
+        likeService.likePost(postId, "dave");
+        likeService.likePost(postId, "dave");
+        likeService.likePost(postId, "erin");
+        assertThat(postService.getPost(postId).getLikeCount()).isEqualTo(2);
+
+        likeService.unlikePost(postId, "dave");
+        likeService.unlikePost(postId, "dave");
+        likeService.unlikePost(postId, "nobody");
+        assertThat(postService.getPost(postId).getLikeCount()).isEqualTo(1);
+
+        likeService.likePost(postId, "dave");
+        assertThat(postService.getPost(postId).getLikeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void likeOnMissingPostFails() {
+        assertThatThrownBy(() -> likeService.likePost(Integer.MAX_VALUE, "dave"))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void commentLifecycleKeepsCommentCountInSync() {
+        Integer postId = postService.createPost(newPost("frank", "discuss")).getId();
+
+        Comment first = commentService.createComment(postId, newComment("gina", "first"));
+        Comment second = commentService.createComment(postId, newComment("hank", "second"));
+        assertThat(postService.getPost(postId).getCommentCount()).isEqualTo(2);
+        assertThat(commentService.getCommentsByPostId(postId))
+            .extracting(Comment::getContent).containsExactly("first", "second");
+
+        commentService.updateComment(postId, first.getId(), "edited");
+        assertThat(commentService.getComment(postId, first.getId()).getContent()).isEqualTo("edited");
+
+        commentService.deleteComment(postId, second.getId());
+        assertThat(postService.getPost(postId).getCommentCount()).isEqualTo(1);
+        assertThat(commentService.getCommentsByPostId(postId))
+            .extracting(Comment::getId).containsExactly(first.getId());
+        assertThatThrownBy(() -> commentService.getComment(postId, second.getId()))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void commentMustBelongToRequestedPost() {
+        Integer postId = postService.createPost(newPost("ivan", "one")).getId();
+        Integer otherPostId = postService.createPost(newPost("ivan", "two")).getId();
+        Comment comment = commentService.createComment(postId, newComment("judy", "here"));
+
+        assertThatThrownBy(() -> commentService.getComment(otherPostId, comment.getId()))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void deletePostRemovesPostAndItsComments() {
+        Integer postId = postService.createPost(newPost("kate", "bye")).getId();
+        Comment comment = commentService.createComment(postId, newComment("leo", "gone soon"));
+        likeService.likePost(postId, "leo");
+
+        postService.deletePost(postId);
+
+        assertThatThrownBy(() -> postService.getPost(postId)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(postService.getAllPosts()).extracting(Post::getId).doesNotContain(postId);
+        assertThatThrownBy(() -> commentService.getComment(postId, comment.getId()))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void userPostsArePagedNewestFirstWithCursor() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(postService.createPost(newPost("mallory", "post " + i)).getId());
+            postService.createPost(newPost("nina", "noise " + i));
+        }
+        Collections.reverse(ids);
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserPostPageDto page = postService.getPostsByUser("mallory", cursor, 2);
+            assertThat(page.getPosts()).hasSizeLessThanOrEqualTo(2)
+                .allSatisfy(post -> assertThat(post.getUserName()).isEqualTo("mallory"));
+            page.getPosts().forEach(post -> seen.add(post.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).isEqualTo(ids);
+        assertThat(postService.getPostsByUser("nobody", null, 10).getPosts()).isEmpty();
+        assertThatThrownBy(() -> postService.getPostsByUser("mallory", "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void latestPostsAreLimitedToTheRequestedSize() {
+        List<Integer> created = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            created.add(postService.createPost(newPost("lena", "latest " + i)).getId());
+        }
+        List<Integer> all = postService.getAllPosts().stream().map(Post::getId).toList();
+
+        assertThat(postStore.findLatest(3)).hasSize(3)
+            .extracting(PostSummaryDto::getId).doesNotHaveDuplicates().isSubsetOf(all);
+        assertThat(postStore.findLatest(all.size() + 10)).extracting(PostSummaryDto::getId)
+            .hasSize(all.size()).containsAll(created);
+    }
+
+    @Test
+    void userCommentsArePagedNewestFirstAndSkipDeleted() {
+        Integer postId = postService.createPost(newPost("oscar", "thread")).getId();
+        Integer otherPostId = postService.createPost(newPost("oscar", "another")).getId();
+        Comment first = commentService.createComment(postId, newComment("peggy", "1"));
+        Comment second = commentService.createComment(otherPostId, newComment("peggy", "2"));
+        commentService.createComment(postId, newComment("quinn", "noise"));
+        Comment third = commentService.createComment(postId, newComment("peggy", "3"));
+        commentService.deleteComment(postId, first.getId());
+
+        UserCommentPageDto firstPage = commentService.getCommentsByUser("peggy", null, 1);
+        assertThat(firstPage.getComments()).extracting(CommentSummaryDto::getId).containsExactly(third.getId());
+        UserCommentPageDto rest = commentService.getCommentsByUser("peggy", firstPage.getNextCursor(), 10);
+        assertThat(rest.getComments()).extracting(CommentSummaryDto::getId).containsExactly(second.getId());
+        assertThat(rest.getComments().get(0).getPostId()).isEqualTo(otherPostId);
+        assertThat(rest.getNextCursor()).isNull();
+    }
+
+    @Test
+    void repliesAreReadInThreadOrderAndDeletedWithTheirSubtree() {
+        Integer postId = postService.createPost(newPost("rita", "threads")).getId();
+        Comment a = commentService.createComment(postId, newComment("sam", "a"));
+        Comment b = commentService.createComment(postId, newComment("sam", "b"));
+        Comment a1 = commentService.createComment(postId, newReply(a, "tom", "a1"));
+        Comment a2 = commentService.createComment(postId, newReply(a, "tom", "a2"));
+        Comment a1x = commentService.createComment(postId, newReply(a1, "uma", "a1x"));
+        commentService.createComment(postId, newReply(b, "uma", "b1"));
+        commentService.createComment(postId, newReply(a1, "uma", "a1y"));
+
+        assertThat(commentService.getCommentsByPostId(postId))
+            .extracting(Comment::getContent).containsExactly("a", "a1", "a1x", "a1y", "a2", "b", "b1");
+        Comment root = commentService.getComment(postId, a.getId());
+        assertThat(root.getReplyCount()).isEqualTo(2);
+        assertThat(root.getDepth()).isZero();
+        Comment nested = commentService.getComment(postId, a1x.getId());
+        assertThat(nested.getParentId()).isEqualTo(a1.getId());
+        assertThat(nested.getDepth()).isEqualTo(2);
+        assertThat(nested.getUpdatedAt()).isEqualTo(nested.getCreatedAt());
+        assertThat(postService.getPost(postId).getCommentCount()).isEqualTo(7);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CommentThreadPageDto page = commentService.getReplies(postId, a.getId(), cursor, 2);
+            assertThat(page.getComments()).hasSizeLessThanOrEqualTo(2);
+            page.getComments().forEach(reply -> seen.add(reply.getContent()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(seen).containsExactly("a1", "a1x", "a1y", "a2");
+        assertThatThrownBy(() -> commentService.getReplies(postId, a.getId(), "not-a-cursor", 2))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        commentService.deleteComment(postId, a1.getId());
+        assertThat(commentService.getCommentsByPostId(postId))
+            .extracting(Comment::getContent).containsExactly("a", "a2", "b", "b1");
+        assertThat(commentService.getComment(postId, a.getId()).getReplyCount()).isEqualTo(1);
+        assertThat(commentService.getComment(postId, a2.getId()).getContent()).isEqualTo("a2");
+        assertThat(postService.getPost(postId).getCommentCount()).isEqualTo(4);
+        assertThatThrownBy(() -> commentService.getComment(postId, a1x.getId()))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void replyToCommentOfAnotherPostIsNotFound() {
+        // 샤드 저장소에서는 연속으로 만든 포스트가 서로 다른 샤드에 놓인다
+        Integer target = postService.createPost(newPost("vic", "target")).getId();
+        for (int i = 0; i < 3; i++) {
+            Integer other = postService.createPost(newPost("vic", "other" + i)).getId();
+            Comment foreign = commentService.createComment(other, newComment("wes", "foreign"));
+
+            assertThatThrownBy(() -> commentService.createComment(target, newReply(foreign, "xia", "cross")))
+                .isInstanceOf(EntityNotFoundException.class);
+            assertThatThrownBy(() -> commentService.getComment(target, foreign.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+            assertThat(commentService.getComment(other, foreign.getId()).getReplyCount()).isZero();
+        }
+        assertThat(commentService.getCommentsByPostId(target)).isEmpty();
+        assertThat(postService.getPost(target).getCommentCount()).isZero();
+    }
+
+    protected static Post newPost(String userName, String content) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        return post;
+    }
+
+    private static Comment newComment(String userName, String content) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent(content);
+        return comment;
+    }
+
+    private static Comment newReply(Comment parent, String userName, String content) {
+        Comment reply = newComment(userName, content);
+        reply.setParentId(parent.getId());
+        return reply;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.MentionDto;
+import com.example.demo.dtos.MentionPageDto;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.TagCountDto;
+import com.example.demo.dtos.TagPostPageDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.ContentTags;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN"
+})
+class TagServiceTest {
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-tags-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void extractsHashtagsAndMentions() {
+        ContentTags tags = ContentTags.extract("#Java 와 #java, #스프링_부트! a#b #123 &#39; @kim.lee. mail@example.com (@park)");
+
+        assertThat(tags.hashtags()).containsExactlyInAnyOrder("java", "스프링_부트");
+        assertThat(tags.mentions()).containsExactlyInAnyOrder("kim.lee", "park");
+        assertThat(ContentTags.extract("no tags here")).isSameAs(ContentTags.EMPTY);
+    }
+
+    @Test
+    void tagFeedFollowsPostAndCommentEdits() {
+        Post first = postService.createPost(newPost("alice", "hello #feedtest #only1"));
+        Post second = postService.createPost(newPost("bob", "plain"));
+        Post third = postService.createPost(newPost("carol", "#FeedTest again"));
+        Comment comment = commentService.createComment(second.getId(), newComment("dave", "me too #feedtest"));
+
+        assertThat(feed("#FEEDTEST")).containsExactly(third.getId(), second.getId(), first.getId());
+        assertThat(count("feedtest")).isEqualTo(3);
+        assertThat(count("only1")).isEqualTo(1);
+
+        // 같은 포스트의 본문과 댓글에 모두 있으면 포스트는 한 번만 센다
+        postService.updatePost(second.getId(), "now #feedtest too");
+        assertThat(count("feedtest")).isEqualTo(3);
+        commentService.deleteComment(second.getId(), comment.getId());
+        assertThat(feed("feedtest")).containsExactly(third.getId(), second.getId(), first.getId());
+
+        postService.updatePost(first.getId(), "hello #only1");
+        postService.deletePost(third.getId());
+        assertThat(feed("feedtest")).containsExactly(second.getId());
+        assertThat(count("feedtest")).isEqualTo(1);
+        assertThat(count("only1")).isEqualTo(1);
+
+        postService.updatePost(second.getId(), "no more tags");
+        assertThat(feed("feedtest")).isEmpty();
+        assertThat(tagService.getTopTags(100)).extracting(TagCountDto::getTag).doesNotContain("feedtest");
+        assertThatThrownBy(() -> tagService.getPostsByTag("#", null, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mentionsInboxIsPagedNewestFirstAndFollowsEdits() {
+        Post post = postService.createPost(newPost("erin", "hi @frank and @erin"));
+        Comment kept = commentService.createComment(post.getId(), newComment("gina", "@frank look"));
+        Comment edited = commentService.createComment(post.getId(), newComment("hank", "@frank hello"));
+        Comment removed = commentService.createComment(post.getId(), newComment("ivan", "@frank bye"));
+
+        commentService.updateComment(post.getId(), edited.getId(), "hello again");
+        commentService.deleteComment(post.getId(), removed.getId());
+
+        List<MentionDto> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MentionPageDto page = tagService.getMentions("frank", cursor, 1);
+            seen.addAll(page.getMentions());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(MentionDto::getPostId, MentionDto::getCommentId, MentionDto::getAuthorName, MentionDto::getContent)
+            .containsExactly(
+                tuple(post.getId(), kept.getId(), "gina", "@frank look"),
+                tuple(post.getId(), null, "erin", "hi @frank and @erin"));
+        assertThat(tagService.getMentions("erin", null, 10).getMentions()).isEmpty();
+
+        postService.deletePost(post.getId());
+        assertThat(tagService.getMentions("frank", null, 10).getMentions()).isEmpty();
+    }
+
+    private List<Integer> feed(String tag) {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TagPostPageDto page = tagService.getPostsByTag(tag, cursor, 2);
+            page.getPosts().stream().map(PostSummaryDto::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private int count(String tag) {
+        return tagService.getTopTags(100).stream()
+            .filter(top -> top.getTag().equals(tag))
+            .mapToInt(TagCountDto::getPostCount)
+            .findFirst().orElse(0);
+    }
+
+    private static Post newPost(String userName, String content) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        return post;
+    }
+
+    private static Comment newComment(String userName, String content) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent(content);
+        return comment;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.TimelinePageDto;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN",
+    "sns.timeline.celebrity-threshold=2",
+    "sns.timeline.max-entries=3",
+    "sns.timeline.trim-interval=PT1H"
+})
+class TimelineServiceTest {
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-timeline-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void celebrityPostsAreMergedOnReadOnlyForTheirFollowers() throws Exception {
+        followService.follow("tlFan1", "tlStar");
+        followService.follow("tlFan2", "tlStar");
+        followService.follow("tlFan1", "tlWriter");
+        followService.follow("tlFan3", "tlWriter");
+
+        Post early = postService.createPost(newPost("tlWriter", "early"));
+        Thread.sleep(5);
+        Post star = postService.createPost(newPost("tlStar", "star"));
+        Thread.sleep(5);
+        Post late = postService.createPost(newPost("tlWriter", "late"));
+
+        // celebrity 포스트는 팔로워의 timelines 에 복사하지 않는다
+        assertThat(jdbcTemplate.queryForList("SELECT userName FROM timelines WHERE postId = ?", String.class, star.getId()))
+            .containsExactly("tlStar");
+        assertThat(homeTimeline("tlFan1", null, 10)).containsExactly(late.getId(), star.getId(), early.getId());
+        assertThat(homeTimeline("tlFan2", null, 10)).containsExactly(star.getId());
+        assertThat(homeTimeline("tlFan3", null, 10)).containsExactly(late.getId(), early.getId());
+
+        // 페이지를 넘겨도 병합 순서가 이어진다
+        String cursor = timelineService.getHomeTimeline("tlFan1", null, 1).getNextCursor();
+        assertThat(homeTimeline("tlFan1", cursor, 2)).containsExactly(star.getId(), early.getId());
+
+        // 임계값 아래로 내려가면 더 이상 병합하지 않는다
+        followService.unfollow("tlFan2", "tlStar");
+        assertThat(followService.isCelebrity("tlStar")).isFalse();
+        assertThat(homeTimeline("tlFan1", null, 10)).containsExactly(late.getId(), early.getId());
+    }
+
+    @Test
+    void pagesThroughSeveralCelebritiesWithLongHistories() throws Exception {
+        for (String star : List.of("pgStar1", "pgStar2")) {
+            followService.follow("pgFan", star);
+            followService.follow("pgOther", star);
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            for (String star : List.of("pgStar1", "pgStar2")) {
+                expected.add(0, postService.createPost(newPost(star, star + " " + i)).getId());
+                Thread.sleep(2);
+            }
+        }
+
+        // 계정마다 한 페이지 크기만 읽어도 페이지를 넘기면 모든 포스트가 순서대로 나온다
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TimelinePageDto page = timelineService.getHomeTimeline("pgFan", cursor, 3);
+            assertThat(page.getPosts()).hasSizeLessThanOrEqualTo(3);
+            page.getPosts().forEach(post -> seen.add(post.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(seen).isEqualTo(expected);
+    }
+
+    @Test
+    void followerCountReadInsideARolledBackFollowIsNotCached() {
+        followService.follow("cacheFan1", "cacheStar");
+        assertThat(followService.getFollowerCount("cacheStar")).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            followService.follow("cacheFan2", "cacheStar");
+            // 이 트랜잭션 안에서는 자기 변경이 보인다
+            assertThat(followService.getFollowerCount("cacheStar")).isEqualTo(2);
+            status.setRollbackOnly();
+        });
+
+        assertThat(followService.getFollowerCount("cacheStar")).isEqualTo(1);
+        assertThat(followService.isCelebrity("cacheStar")).isFalse();
+
+        followService.follow("cacheFan2", "cacheStar");
+        assertThat(followService.getFollowerCount("cacheStar")).isEqualTo(2);
+        assertThat(followService.isCelebrity("cacheStar")).isTrue();
+    }
+
+    @Test
+    void deletedPostsLeaveTimelinesImmediately() {
+        followService.follow("delFan", "delWriter");
+        Post kept = postService.createPost(newPost("delWriter", "kept"));
+        Post deleted = postService.createPost(newPost("delWriter", "deleted"));
+        assertThat(timelineRows(deleted.getId())).isEqualTo(2);
+
+        postService.deletePost(deleted.getId());
+
+        assertThat(timelineRows(deleted.getId())).isZero();
+        assertThat(homeTimeline("delFan", null, 10)).containsExactly(kept.getId());
+    }
+
+    @Test
+    void trimOnlyTouchesUsersWithNewEntries() throws Exception {
+        followService.follow("trimFan", "trimWriter");
+        List<Integer> posts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            posts.add(postService.createPost(newPost("trimWriter", "post" + i)).getId());
+            Thread.sleep(2);
+        }
+        // 최근에 항목이 추가되지 않은 사용자는 한도를 넘어도 이번 정리 대상이 아니다
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO timelines (userName, postId, createdAt) VALUES (?, ?, ?)",
+                "trimIdle", 900_000 + i, System.currentTimeMillis() + i);
+        }
+
+        timelineService.trimTimelines();
+
+        List<Integer> newest = List.of(posts.get(4), posts.get(3), posts.get(2));
+        assertThat(homeTimeline("trimFan", null, 10)).containsExactlyElementsOf(newest);
+        assertThat(userRows("trimFan")).isEqualTo(3);
+        assertThat(userRows("trimWriter")).isEqualTo(3);
+        assertThat(userRows("trimIdle")).isEqualTo(5);
+
+        // 정리된 사용자는 다음 정리 전까지 다시 읽지 않는다
+        jdbcTemplate.update("INSERT INTO timelines (userName, postId, createdAt) VALUES (?, ?, ?)",
+            "trimFan", 900_100, 0L);
+        timelineService.trimTimelines();
+        assertThat(userRows("trimFan")).isEqualTo(4);
+    }
+
+    private int timelineRows(Integer postId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM timelines WHERE postId = ?", Integer.class, postId);
+    }
+
+    private int userRows(String userName) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM timelines WHERE userName = ?", Integer.class, userName);
+    }
+
+    private List<Integer> homeTimeline(String userName, String cursor, int size) {
+        return timelineService.getHomeTimeline(userName, cursor, size).getPosts().stream()
+            .map(PostSummaryDto::getId).toList();
+    }
+
+    private static Post newPost(String userName, String content) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        return post;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.UserSuggestionDto;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN"
+})
+class UserSuggestServiceTest {
+    @Autowired
+    private UserSuggestService userSuggestService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @DynamicPropertySource
+    static void sqliteFile(DynamicPropertyRegistry registry) throws IOException {
+        Path db = Files.createTempFile("sns-suggest-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void indexMatchesBruteForceAcrossMerges() {
+        Random random = new Random(7);
+        String[] alphabet = {"a", "b", "c", "가", "나", "😀"};
+        UserNameIndex index = new UserNameIndex(1_000, 16);
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int length = 1 + random.nextInt(4); length > 0; length--) {
+                name.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            if (i < 100) {
+                expected.merge(name.toString(), 1L, Long::sum);
+                if (i < 99) {
+                    continue;
+                }
+                index.load(expected);
+            } else {
+                long delta = 1 + random.nextInt(5);
+                index.increment(name.toString(), delta);
+                expected.merge(name.toString(), delta, Long::sum);
+            }
+            for (String prefix : List.of("", "a", "가", "b가", "😀", "ab", "zz")) {
+                assertThat(index.suggest(prefix, 5)).as("prefix %s", prefix)
+                    .isEqualTo(bruteForce(expected, prefix, 5));
+            }
+        }
+        assertThat(index.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void indexKeepsOnlyTheMostActiveNamesWhenFull() {
+        UserNameIndex index = new UserNameIndex(3, 2);
+        index.load(Map.of("ann", 5L, "amy", 1L, "al", 3L));
+        index.increment("abe", 4);
+        index.increment("ada", 2);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.suggest("a", 10)).extracting(UserNameIndex.Suggestion::userName)
+            .containsExactly("ann", "abe", "al");
+    }
+
+    @Test
+    void suggestsActiveUsersFirstAndFollowsWrites() {
+        Post post = postService.createPost(newPost("suggestKim", "hello"));
+        postService.createPost(newPost("suggestKim", "again"));
+        commentService.createComment(post.getId(), newComment("suggestKang", "hi"));
+        likeService.likePost(post.getId(), "suggestKo");
+        likeService.likePost(post.getId(), "suggestKang");
+
+        assertThat(userSuggestService.suggest("@suggestK", 10))
+            .extracting(UserSuggestionDto::getUserName, UserSuggestionDto::getActivity)
+            .containsExactly(tuple("suggestKang", 2L), tuple("suggestKim", 2L), tuple("suggestKo", 1L));
+        assertThat(userSuggestService.suggest("suggestKi", 10)).extracting(UserSuggestionDto::getUserName)
+            .containsExactly("suggestKim");
+
+        // 다시 시작할 때처럼 DB 에서 읽어도 같다
+        userSuggestService.load();
+        assertThat(userSuggestService.suggest("suggestK", 2)).extracting(UserSuggestionDto::getUserName)
+            .containsExactly("suggestKang", "suggestKim");
+    }
+
+    private static List<UserNameIndex.Suggestion> bruteForce(Map<String, Long> names, String prefix, int limit) {
+        return names.entrySet().stream()
+            .filter(entry -> entry.getKey().startsWith(prefix))
+            .map(entry -> new UserNameIndex.Suggestion(entry.getKey(), entry.getValue()))
+            .sorted(Comparator.comparingLong(UserNameIndex.Suggestion::weight).reversed()
+                .thenComparing(UserNameIndex.Suggestion::userName))
+            .limit(limit)
+            .toList();
+    }
+
+    private static Post newPost(String userName, String content) {
+        Post post = new Post();
+        post.setUserName(userName);
+        post.setContent(content);
+        return post;
+    }
+
+    private static Comment newComment(String userName, String content) {
+        Comment comment = new Comment();
+        comment.setUserName(userName);
+        comment.setContent(content);
+        return comment;
+    }
+}
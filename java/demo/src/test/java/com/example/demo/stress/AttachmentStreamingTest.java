@@ -0,0 +1,194 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 힙(-Xmx)보다 큰 첨부파일을 별도 JVM 에 올리고 내려받아 파일 전체가 힙을 거치지 않는지 확인하고
+// 업로드/내려받기 처리량(MB/s)을 출력한다. Range/ETag/중복 제거 같은 HTTP 동작은 AttachmentControllerTest 에서 확인한다.
+@Tag("stress")
+class AttachmentStreamingTest {
+    private static final long SIZE = Long.getLong("stress.attachment-mb", 256L) * 1024 * 1024;
+    private static final String HEAP = System.getProperty("stress.heap", "64m");
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @Test
+    void largeAttachmentsStreamWithoutHeapBuffering() throws Exception {
+        Path dir = Files.createTempDirectory("sns-attachments-");
+        Path db = Files.createTempFile("sns-attachments-", ".db");
+        db.toFile().deleteOnExit();
+        int port = freePort();
+        Process app = startApp(port, db, dir);
+        try {
+            String baseUrl = "http://localhost:" + port;
+            int postId = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/posts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"userName\":\"uploader\",\"content\":\"with video\"}")),
+                HttpResponse.BodyHandlers.ofString()).body()).get("id").asInt();
+            String expectedHash = hash(new GeneratedInputStream(SIZE, SEED));
+
+            long started = System.nanoTime();
+            JsonNode first = upload(baseUrl, postId);
+            double uploadSeconds = (System.nanoTime() - started) / 1e9;
+            assertThat(first.get("sha256").asText()).isEqualTo(expectedHash);
+            assertThat(first.get("size").asLong()).isEqualTo(SIZE);
+            assertThat(first.get("deduplicated").asBoolean()).isFalse();
+
+            String url = baseUrl + first.get("url").asText();
+            started = System.nanoTime();
+            HttpResponse<InputStream> full = send(HttpRequest.newBuilder(URI.create(url)).GET(), HttpResponse.BodyHandlers.ofInputStream());
+            assertThat(full.statusCode()).isEqualTo(200);
+            String downloadedHash = hash(full.body());
+            double downloadSeconds = (System.nanoTime() - started) / 1e9;
+            assertThat(downloadedHash).isEqualTo(expectedHash);
+
+            // 파일 중간의 구간도 힙에 올리지 않고 보낸다
+            long rangeStart = SIZE / 3;
+            HttpResponse<byte[]> partial = send(HttpRequest.newBuilder(URI.create(url))
+                .header("Range", "bytes=" + rangeStart + "-" + (rangeStart + 99_999)).GET(), HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(partial.statusCode()).isEqualTo(206);
+            assertThat(partial.body()).isEqualTo(slice(rangeStart, 100_000));
+
+            System.out.printf("%n=== 첨부파일 스트리밍: %dMB, 애플리케이션 힙 -Xmx%s ===%n", SIZE / (1024 * 1024), HEAP);
+            System.out.printf("업로드 %.1f MB/s, 내려받기 %.1f MB/s%n",
+                SIZE / 1048576.0 / uploadSeconds, SIZE / 1048576.0 / downloadSeconds);
+        } finally {
+            app.destroy();
+            app.waitFor();
+        }
+    }
+
+    private JsonNode upload(String baseUrl, int postId) throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/posts/" + postId + "/attachments?fileName=video.bin"))
+            .header("Content-Type", "video/mp4")
+            .POST(HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> new GeneratedInputStream(SIZE, SEED)), SIZE)),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("업로드 응답: %s", response.body()).isEqualTo(201);
+        return objectMapper.readTree(response.body());
+    }
+
+    private static byte[] slice(long offset, int length) throws IOException {
+        try (InputStream in = new GeneratedInputStream(offset + length, SEED)) {
+            in.skipNBytes(offset);
+            return in.readAllBytes();
+        }
+    }
+
+    private static String hash(InputStream in) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (in) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler) throws Exception {
+        return client.send(request.timeout(Duration.ofMinutes(5)).build(), handler);
+    }
+
+    // 테스트 JVM 과 같은 클래스패스로 애플리케이션을 작은 힙으로 띄우고 요청을 받을 수 있을 때까지 기다린다
+    private Process startApp(int port, Path db, Path dir) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path log = Files.createTempFile("sns-attachment-app-", ".log");
+        log.toFile().deleteOnExit();
+        Process process = new ProcessBuilder(java, "-Xmx" + HEAP, "-cp", System.getProperty("java.class.path"),
+                DemoApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:sqlite:" + db,
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--sns.reconciliation.enabled=false",
+                "--logging.level.com.example.demo=WARN",
+                "--sns.attachments.dir=" + dir,
+                "--sns.attachments.max-size=" + (SIZE * 2) + "B")
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts")).GET(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return process;
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(200);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 60초 안에 시작되지 않았습니다. 로그: " + log);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // 시드로 정해지는 size 바이트를 메모리에 올리지 않고 만들어 낸다 (같은 시드면 같은 내용)
+    private static final class GeneratedInputStream extends InputStream {
+        private final long size;
+        private final SplittableRandom random;
+        private final byte[] block = new byte[8192];
+        private long position;
+        private int blockOffset = block.length;
+
+        GeneratedInputStream(long size, long seed) {
+            this.size = size;
+            this.random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= size) {
+                return -1;
+            }
+            if (blockOffset == block.length) {
+                random.nextBytes(block);
+                blockOffset = 0;
+            }
+            int count = (int) Math.min(Math.min(length, block.length - blockOffset), size - position);
+            System.arraycopy(block, blockOffset, buffer, offset, count);
+            blockOffset += count;
+            position += count;
+            return count;
+        }
+    }
+}
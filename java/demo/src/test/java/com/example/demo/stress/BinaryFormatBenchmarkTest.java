@@ -0,0 +1,104 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.models.Post;
+import com.example.demo.services.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 1000 개 포스트 페이지(GET /api/posts 응답)를 JSON, CBOR, Smile 로 인코딩/디코딩해 크기와 시간을 비교한다.
+// 협상, 바이너리 형식의 날짜 표현, 형식별 응답 내용은 config.BinaryFormatConfigTest 에서 확인한다.
+@Tag("stress")
+class BinaryFormatBenchmarkTest {
+    private static final int POSTS = Integer.getInteger("stress.posts", 1000);
+    private static final int WARMUP = Integer.getInteger("stress.warmup", 300);
+    private static final int ITERATIONS = Integer.getInteger("stress.iterations", 1000);
+
+    private static final String JSON = "application/json";
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @Test
+    void comparePayloadSizeAndCodecTime() throws Exception {
+        Path db = Files.createTempFile("sns-binary-", ".db");
+        db.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--server.port=0",
+                    "--spring.datasource.url=jdbc:sqlite:" + db,
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.example.demo=WARN",
+                    "--sns.reconciliation.enabled=false")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            PostService postService = context.getBean(PostService.class);
+            for (int i = 0; i < POSTS; i++) {
+                Post post = new Post();
+                post.setUserName("author" + (i % 50));
+                post.setContent("binary format benchmark post " + i + " — 한글 본문도 섞어 둔다");
+                postService.createPost(post);
+            }
+
+            Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+            mappers.put(JSON, context.getBean(ObjectMapper.class));
+            mappers.put(CBOR, context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper());
+            mappers.put(SMILE, context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper());
+
+            // 벤치마크용 1000 개 페이지는 실제 응답에서 가져온다
+            HttpResponse<byte[]> response = send(baseUrl + "/api/posts", JSON);
+            assertThat(response.statusCode()).isEqualTo(200);
+            Post[] page = mappers.get(JSON).readValue(response.body(), Post[].class);
+            assertThat(page).hasSize(POSTS);
+
+            System.out.printf("%n=== 응답 형식: %d 개 포스트 페이지, warmup=%d, iterations=%d ===%n", POSTS, WARMUP, ITERATIONS);
+            System.out.printf("%-28s %12s %14s %14s %14s %14s%n",
+                "format", "bytes", "encode p50(ms)", "encode p99(ms)", "decode p50(ms)", "decode p99(ms)");
+            for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] payload = mapper.writeValueAsBytes(page);
+                for (int i = 0; i < WARMUP; i++) {
+                    mapper.readValue(mapper.writeValueAsBytes(page), Post[].class);
+                }
+                LatencyStats encode = new LatencyStats(ITERATIONS);
+                LatencyStats decode = new LatencyStats(ITERATIONS);
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long started = System.nanoTime();
+                    mapper.writeValueAsBytes(page);
+                    encode.record(System.nanoTime() - started);
+                    started = System.nanoTime();
+                    mapper.readValue(payload, Post[].class);
+                    decode.record(System.nanoTime() - started);
+                }
+                System.out.printf("%-28s %12d %14.3f %14.3f %14.3f %14.3f%n", format.getKey(), payload.length,
+                    encode.percentileMillis(50), encode.percentileMillis(99),
+                    decode.percentileMillis(50), decode.percentileMillis(99));
+                assertThat(Arrays.asList(mapper.readValue(payload, Post[].class))).containsExactly(page);
+            }
+        }
+    }
+
+    private HttpResponse<byte[]> send(String url, String accept) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60))
+            .header("Accept", accept).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 SQLite 파일을 쓰는 애플리케이션 두 개(A, B)를 별도 JVM 으로 띄우고 캐시 무효화 버스의 전송별로 낡은 읽기 시간을 잰다.
+// - B 에서 홈 타임라인을 읽어 포스트 요약을 캐시에 올린 뒤 A 에서 포스트를 수정한다
+// - A 의 응답 시각부터 B 의 타임라인에 새 내용이 보일 때까지를 낡은 시간으로 기록한다
+// - udp(127.0.0.1 유니캐스트), sqlite(공유 무효화 테이블 폴링) 의 최대 낡은 시간이 제한되어야 한다
+// 전달과 자기 배치 거르기, 전송이 없을 때의 동작은 invalidation.InvalidationBusTest 에서 확인한다
+@Tag("stress")
+class CacheInvalidationBusTest {
+    private static final int ROUNDS = Integer.getInteger("stress.rounds", 50);
+    private static final long STALENESS_BOUND_MS = Long.getLong("stress.staleness-bound-ms", 1000L);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    @Test
+    void stalenessIsBoundedPerTransport() throws Exception {
+        Map<String, LatencyStats> results = new LinkedHashMap<>();
+        results.put("udp", measure("udp"));
+        results.put("sqlite", measure("sqlite"));
+
+        System.out.printf("%n=== 인스턴스 간 캐시 무효화: rounds=%d ===%n", ROUNDS);
+        System.out.printf("%-8s %16s %16s %16s%n", "transport", "stale p50(ms)", "stale p99(ms)", "stale max(ms)");
+        results.forEach((transport, stats) -> System.out.printf("%-8s %16.2f %16.2f %16.2f%n", transport,
+            stats.percentileMillis(50), stats.percentileMillis(99), stats.percentileMillis(100)));
+
+        results.forEach((transport, stats) -> assertThat(stats.percentileMillis(100))
+            .as("%s 전송의 최대 낡은 시간", transport)
+            .isLessThan(STALENESS_BOUND_MS));
+    }
+
+    private LatencyStats measure(String transport) throws Exception {
+        Path db = tempFile("sns-bus-");
+        List<String> busArgsA = new ArrayList<>(List.of("--sns.invalidation.transport=" + transport));
+        List<String> busArgsB = new ArrayList<>(List.of("--sns.invalidation.transport=" + transport));
+        if (transport.equals("udp")) {
+            int udpA = freeUdpPort();
+            int udpB = freeUdpPort();
+            busArgsA.addAll(List.of("--sns.invalidation.udp.port=" + udpA, "--sns.invalidation.udp.peers=127.0.0.1:" + udpB));
+            busArgsB.addAll(List.of("--sns.invalidation.udp.port=" + udpB, "--sns.invalidation.udp.peers=127.0.0.1:" + udpA));
+        } else {
+            String url = "--sns.invalidation.sqlite.url=jdbc:sqlite:" + tempFile("sns-invalidation-");
+            busArgsA.add(url);
+            busArgsB.add(url);
+        }
+
+        int portA = freePort();
+        int portB = freePort();
+        Process a = startApp(portA, db, "create", busArgsA);
+        Process b = startApp(portB, db, "none", busArgsB);
+        try {
+            String baseA = "http://localhost:" + portA;
+            String baseB = "http://localhost:" + portB;
+            send("POST", baseA + "/api/users/author/followers", "{\"userName\":\"reader\"}");
+            int postId = createPost(baseA, "author", "v0");
+
+            LatencyStats stats = new LatencyStats(ROUNDS);
+            for (int round = 1; round <= ROUNDS; round++) {
+                // B 의 캐시에 이전 내용을 올려 둔다
+                assertThat(timelineContent(baseB, postId)).isEqualTo("v" + (round - 1));
+                String content = "v" + round;
+                send("PATCH", baseA + "/api/posts/" + postId, "{\"content\":\"" + content + "\"}");
+                long committed = System.nanoTime();
+                long deadline = committed + Duration.ofSeconds(10).toNanos();
+                while (!content.equals(timelineContent(baseB, postId))) {
+                    if (System.nanoTime() > deadline) {
+                        throw new AssertionError(transport + " 전송: 10초 안에 B 의 캐시가 무효화되지 않았습니다");
+                    }
+                    Thread.sleep(1);
+                }
+                stats.record(System.nanoTime() - committed);
+            }
+            return stats;
+        } finally {
+            a.destroy();
+            b.destroy();
+            a.waitFor();
+            b.waitFor();
+        }
+    }
+
+    // 테스트 JVM 과 같은 클래스패스로 애플리케이션을 별도 프로세스로 띄우고 요청을 받을 수 있을 때까지 기다린다
+    private Process startApp(int port, Path db, String ddlAuto, List<String> extraArgs) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path log = tempFile("sns-bus-app-");
+        List<String> command = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+            DemoApplication.class.getName(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+            "--spring.jpa.show-sql=false",
+            "--sns.reconciliation.enabled=false",
+            "--logging.level.com.example.demo=WARN"));
+        command.addAll(extraArgs);
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (send("GET", "http://localhost:" + port + "/api/posts", null).statusCode() == 200) {
+                    return process;
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(200);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 60초 안에 시작되지 않았습니다. 로그: " + log);
+    }
+
+    private String timelineContent(String baseUrl, int postId) throws Exception {
+        HttpResponse<String> response = send("GET", baseUrl + "/api/users/reader/timeline?size=1", null);
+        assertThat(response.statusCode()).as("타임라인 응답: %s", response.body()).isEqualTo(200);
+        JsonNode post = objectMapper.readTree(response.body()).get("posts").get(0);
+        assertThat(post.get("id").asInt()).isEqualTo(postId);
+        return post.get("content").asText();
+    }
+
+    private int createPost(String baseUrl, String userName, String content) throws Exception {
+        HttpResponse<String> response = send("POST", baseUrl + "/api/posts",
+            "{\"userName\":\"" + userName + "\",\"content\":\"" + content + "\"}");
+        return objectMapper.readTree(response.body()).get("id").asInt();
+    }
+
+    private HttpResponse<String> send(String method, String url, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60));
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Path tempFile(String prefix) throws IOException {
+        Path file = Files.createTempFile(prefix, ".db");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static int freeUdpPort() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.demo.stress;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 좋아요/좋아요 취소/댓글 작성/댓글 삭제를 무작위로 섞어 실제 HTTP 엔드포인트에 동시 부하를 준 뒤
+// posts 테이블의 likeCount/commentCount 가 likes/comments 테이블의 COUNT(*) 와 일치하는지 검증한다.
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.demo=WARN"
+})
+class CounterConsistencyStressTest {
+    private static final int WORKERS = Integer.getInteger("stress.workers", 32);
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 4000);
+    private static final int POSTS = Integer.getInteger("stress.posts", 8);
+    private static final int USERS = Integer.getInteger("stress.users", 24);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    enum Operation { LIKE, UNLIKE, COMMENT, DELETE_COMMENT }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws Exception {
+        Path db = Files.createTempFile("sns-stress-", ".db");
+        db.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + db);
+    }
+
+    @Test
+    void countersMatchRowCountsUnderConcurrentTraffic() throws Exception {
+        List<Integer> postIds = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            HttpResponse<String> response = send("POST", "/api/posts",
+                "{\"userName\":\"author" + i + "\",\"content\":\"stress " + i + "\"}");
+            postIds.add(objectMapper.readTree(response.body()).get("id").asInt());
+        }
+
+        Map<Operation, LatencyStats> latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyStats(OPERATIONS));
+        }
+        ConcurrentLinkedDeque<int[]> createdComments = new ConcurrentLinkedDeque<>();
+        AtomicInteger remaining = new AtomicInteger(OPERATIONS);
+        AtomicLong serverErrors = new AtomicLong();
+        AtomicLong clientErrors = new AtomicLong();
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            SplittableRandom seeds = new SplittableRandom(SEED);
+            for (int w = 0; w < WORKERS; w++) {
+                SplittableRandom random = seeds.split();
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        Operation operation = Operation.values()[random.nextInt(Operation.values().length)];
+                        int postId = postIds.get(random.nextInt(postIds.size()));
+                        String userName = "user" + random.nextInt(USERS);
+
+                        long begin = System.nanoTime();
+                        HttpResponse<String> response = switch (operation) {
+                            case LIKE -> send("POST", "/api/posts/" + postId + "/likes",
+                                "{\"userName\":\"" + userName + "\"}");
+                            case UNLIKE -> send("DELETE", "/api/posts/" + postId + "/likes?userName=" + userName, null);
+                            case COMMENT -> send("POST", "/api/posts/" + postId + "/comments",
+                                "{\"userName\":\"" + userName + "\",\"content\":\"hello\"}");
+                            case DELETE_COMMENT -> {
+                                int[] target = createdComments.pollFirst();
+                                yield target == null ? null
+                                    : send("DELETE", "/api/posts/" + target[0] + "/comments/" + target[1], null);
+                            }
+                        };
+                        if (response == null) {
+                            continue;
+                        }
+                        latencies.get(operation).record(System.nanoTime() - begin);
+
+                        if (response.statusCode() >= 500) {
+                            serverErrors.incrementAndGet();
+                        } else if (response.statusCode() >= 400) {
+                            clientErrors.incrementAndGet();
+                        } else if (operation == Operation.COMMENT) {
+                            JsonNode comment = objectMapper.readTree(response.body());
+                            createdComments.add(new int[] {postId, comment.get("id").asInt()});
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        LatencyStats total = new LatencyStats(OPERATIONS);
+        System.out.printf("%n=== 스트레스 결과: workers=%d, operations=%d, posts=%d, users=%d, seed=%d ===%n",
+            WORKERS, OPERATIONS, POSTS, USERS, SEED);
+        for (Map.Entry<Operation, LatencyStats> entry : latencies.entrySet()) {
+            System.out.println(entry.getValue().summary(entry.getKey().name(), elapsedSeconds));
+        }
+        latencies.values().forEach(stats -> copyInto(stats, total));
+        System.out.println(total.summary("TOTAL", elapsedSeconds));
+        System.out.printf("4xx=%d, 5xx=%d, elapsed=%.2fs%n", clientErrors.get(), serverErrors.get(), elapsedSeconds);
+
+        List<String> drifted = jdbcTemplate.query("""
+                SELECT p.id, p.likeCount, p.commentCount,
+                       (SELECT COUNT(*) FROM likes l WHERE l.postId = p.id) AS likeRows,
+                       (SELECT COUNT(*) FROM comments c WHERE c.postId = p.id) AS commentRows
+                FROM posts p
+                WHERE p.likeCount <> (SELECT COUNT(*) FROM likes l WHERE l.postId = p.id)
+                   OR p.commentCount <> (SELECT COUNT(*) FROM comments c WHERE c.postId = p.id)
+                """,
+            (rs, rowNum) -> String.format("post %d: likeCount=%d/%d, commentCount=%d/%d",
+                rs.getInt("id"), rs.getInt("likeCount"), rs.getInt("likeRows"),
+                rs.getInt("commentCount"), rs.getInt("commentRows")));
+
+        assertThat(drifted).as("카운터와 실제 행 수가 어긋난 포스트").isEmpty();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(30));
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void copyInto(LatencyStats from, LatencyStats to) {
+        from.forEach(to::record);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.stress;
+
+import com.example.demo.DatasetGenerator;
+import com.example.demo.DemoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 합성 데이터 생성기를 검증한다.
+// - 같은 seed 는 바이트 단위로 같은 파일, 다른 seed 는 다른 파일
+// - likeCount/commentCount 가 실제 행 수와 같고, 좋아요가 소수의 포스트에 몰린다 (Zipf)
+// - 만든 파일로 애플리케이션이 그대로 뜨고 포스트/댓글/작성자별 목록을 읽는다
+// 적재 속도(rows/s)는 출력만 한다
+@Tag("stress")
+class DatasetGeneratorTest {
+    private static final int USERS = Integer.getInteger("stress.users", 20_000);
+    private static final int POSTS = Integer.getInteger("stress.posts", 200_000);
+    private static final long COMMENTS = Long.getLong("stress.comments", 400_000L);
+    private static final long LIKES = Long.getLong("stress.likes", 1_000_000L);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void generatesReproducibleSkewedDatasetTheAppCanServe() throws Exception {
+        Path dir = Files.createTempDirectory("sns-dataset-");
+        Path first = dir.resolve("first.db");
+        Path second = dir.resolve("second.db");
+        Path other = dir.resolve("other.db");
+        try {
+            DatasetGenerator.Result result = DatasetGenerator.generate(settings(first, 42));
+            DatasetGenerator.Result again = DatasetGenerator.generate(settings(second, 42));
+            DatasetGenerator.generate(settings(other, 7));
+
+            System.out.printf("%n=== 합성 데이터: 사용자 %d, 포스트 %d, 댓글 %d, 좋아요 %d ===%n",
+                USERS, result.posts(), result.comments(), result.likes());
+            System.out.printf("%-8s %12s %14s %12s%n", "run", "load(ms)", "rows/s", "index(ms)");
+            System.out.printf("%-8s %12d %14.0f %12d%n", "first", result.loadMillis(), result.rowsPerSecond(), result.indexMillis());
+            System.out.printf("%-8s %12d %14.0f %12d%n", "second", again.loadMillis(), again.rowsPerSecond(), again.indexMillis());
+
+            assertThat(sha256(second)).isEqualTo(sha256(first));
+            assertThat(sha256(other)).isNotEqualTo(sha256(first));
+            assertThat(result.comments()).isEqualTo(COMMENTS);
+            assertThat(result.likes()).isEqualTo(LIKES);
+
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + first);
+                 Statement statement = connection.createStatement()) {
+                assertThat(queryLong(statement, "SELECT COUNT(*) FROM posts")).isEqualTo(POSTS);
+                assertThat(queryLong(statement, "SELECT COUNT(*) FROM likes")).isEqualTo(LIKES);
+                assertThat(queryLong(statement, "SELECT COUNT(*) FROM comments")).isEqualTo(COMMENTS);
+                // 행을 포스트별로 한 번 모은 뒤 포스트를 기본 키로 찾아 비교한다.
+                // 합계도 같으면 행이 없는 포스트의 카운터는 0 이다
+                assertThat(queryLong(statement, "SELECT SUM(likeCount) FROM posts")).isEqualTo(LIKES);
+                assertThat(queryLong(statement, "SELECT SUM(commentCount) FROM posts")).isEqualTo(COMMENTS);
+                assertThat(queryLong(statement, """
+                    SELECT COUNT(*) FROM (SELECT postId, COUNT(*) n FROM likes GROUP BY postId) l
+                    JOIN posts p ON p.id = l.postId WHERE p.likeCount != l.n
+                    """)).isZero();
+                assertThat(queryLong(statement, """
+                    SELECT COUNT(*) FROM (SELECT postId, COUNT(*) n, MIN(createdAt) first FROM comments GROUP BY postId) c
+                    JOIN posts p ON p.id = c.postId WHERE p.commentCount != c.n OR c.first < p.createdAt
+                    """)).isZero();
+                long topPercentLikes = queryLong(statement,
+                    "SELECT SUM(likeCount) FROM (SELECT likeCount FROM posts ORDER BY likeCount DESC LIMIT " + POSTS / 100 + ")");
+                long topAuthorPosts = queryLong(statement,
+                    "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM posts GROUP BY userName)");
+                System.out.printf("상위 1%% 포스트의 좋아요 비율: %.1f%%, 가장 많이 쓴 사용자의 포스트: %d (평균 %.1f)%n",
+                    topPercentLikes * 100.0 / LIKES, topAuthorPosts, POSTS / (double) USERS);
+                assertThat(topPercentLikes).as("좋아요가 상위 포스트에 몰린다").isGreaterThan(LIKES / 5);
+                assertThat(topAuthorPosts).as("포스트 수가 멱법칙을 따른다").isGreaterThan(100L * POSTS / USERS);
+            }
+
+            Started app = start(first);
+            try {
+                for (String path : List.of("/api/posts/1", "/api/posts/" + POSTS / 2 + "/comments", "/api/users/user0/posts")) {
+                    assertThat(send(app.baseUrl() + path).statusCode()).as(path).isEqualTo(200);
+                }
+            } finally {
+                app.process().destroy();
+                app.process().waitFor();
+            }
+        } finally {
+            for (Path file : List.of(first, second, other)) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static DatasetGenerator.Settings settings(Path db, long seed) {
+        return new DatasetGenerator.Settings(db, USERS, POSTS, COMMENTS, LIKES, seed, 0.8, 1.0, 0.9,
+            LocalDateTime.parse("2025-07-01T00:00:00"), 365, Duration.ofHours(2), false);
+    }
+
+    private static long queryLong(Statement statement, String sql) throws Exception {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.getLong(1);
+        }
+    }
+
+    private static String sha256(Path file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[1 << 16];
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Started start(Path db) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String baseUrl = "http://localhost:" + port;
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path log = Files.createTempFile("sns-dataset-app-", ".log");
+        log.toFile().deleteOnExit();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+            DemoApplication.class.getName(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.show-sql=false",
+            "--sns.reconciliation.enabled=false",
+            "--sns.warmup.enabled=false",
+            "--logging.level.com.example.demo=WARN")
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (send(baseUrl + "/actuator/health/readiness").statusCode() == 200) {
+                    return new Started(process, baseUrl);
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(100);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 120초 안에 준비되지 않았습니다. 로그: " + log);
+    }
+
+    private HttpResponse<String> send(String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private record Started(Process process, String baseUrl) {
+    }
+}
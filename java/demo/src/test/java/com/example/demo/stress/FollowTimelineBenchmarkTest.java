@@ -0,0 +1,159 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dtos.PostSummaryDto;
+import com.example.demo.dtos.TimelinePageDto;
+import com.example.demo.models.Post;
+import com.example.demo.services.PostService;
+import com.example.demo.services.TimelineService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 팔로워 수가 Zipf 분포로 치우친 그래프에서 순수 fan-out-on-write 와 하이브리드(팔로워가 많은 계정만 fan-out-on-read)를 비교한다.
+// 포스트 작성과 홈 타임라인 첫 페이지 조회의 p50/p99 를 출력하고,
+// 두 방식 모두 타임라인이 "팔로우한 계정 + 자신의 포스트 최신순" 을 직접 조회한 결과와 같은지 확인한다.
+@Tag("stress")
+class FollowTimelineBenchmarkTest {
+    private static final int USERS = Integer.getInteger("stress.users", 2000);
+    private static final int FOLLOWS_PER_USER = Integer.getInteger("stress.follows-per-user", 40);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("stress.zipf-exponent", "1.1"));
+    private static final int POSTS = Integer.getInteger("stress.posts", 600);
+    private static final int READS = Integer.getInteger("stress.reads", 2000);
+    private static final long HYBRID_THRESHOLD = Long.getLong("stress.celebrity-threshold", 200L);
+    private static final int PAGE_SIZE = 20;
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    private static final String REFERENCE_SQL = """
+        SELECT id FROM posts
+        WHERE userName = ? OR userName IN (SELECT followeeName FROM follows WHERE followerName = ?)
+        ORDER BY createdAt DESC, id DESC LIMIT ?
+        """;
+
+    @Test
+    void compareFanOutOnWriteAndHybrid() throws Exception {
+        double[] cdf = zipfCdf(USERS, ZIPF_EXPONENT);
+        Map<String, RunResult> results = new LinkedHashMap<>();
+        results.put("fan-out", run(Long.MAX_VALUE, cdf));
+        results.put("hybrid", run(HYBRID_THRESHOLD, cdf));
+
+        System.out.printf("%n=== 홈 타임라인: users=%d, follows/user=%d, zipf=%.2f, posts=%d, reads=%d, hybrid 임계값=%d ===%n",
+            USERS, FOLLOWS_PER_USER, ZIPF_EXPONENT, POSTS, READS, HYBRID_THRESHOLD);
+        System.out.printf("%-8s %14s %14s %14s %14s %14s%n",
+            "mode", "write p50(ms)", "write p99(ms)", "read p50(ms)", "read p99(ms)", "timeline rows");
+        results.forEach((mode, result) -> System.out.printf("%-8s %14.2f %14.2f %14.2f %14.2f %14d%n", mode,
+            result.writes().percentileMillis(50), result.writes().percentileMillis(99),
+            result.reads().percentileMillis(50), result.reads().percentileMillis(99), result.timelineRows()));
+    }
+
+    private RunResult run(long celebrityThreshold, double[] cdf) throws Exception {
+        Path db = Files.createTempFile("sns-timeline-", ".db");
+        db.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--spring.main.web-application-type=none",
+                    "--spring.datasource.url=jdbc:sqlite:" + db,
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.example.demo=WARN",
+                    "--sns.reconciliation.enabled=false",
+                    "--sns.timeline.celebrity-threshold=" + celebrityThreshold)) {
+            PostService postService = context.getBean(PostService.class);
+            TimelineService timelineService = context.getBean(TimelineService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            loadFollowGraph(jdbcTemplate, cdf);
+
+            // 인기 계정일수록 글도 자주 쓴다고 보고 작성자도 같은 분포에서 뽑는다
+            SplittableRandom random = new SplittableRandom(SEED + 1);
+            LatencyStats writes = new LatencyStats(POSTS);
+            for (int i = 0; i < POSTS; i++) {
+                Post post = new Post();
+                post.setUserName(user(sample(cdf, random)));
+                post.setContent("timeline " + i);
+                long started = System.nanoTime();
+                postService.createPost(post);
+                writes.record(System.nanoTime() - started);
+            }
+
+            LatencyStats reads = new LatencyStats(READS);
+            for (int i = 0; i < READS; i++) {
+                String userName = user(random.nextInt(USERS));
+                long started = System.nanoTime();
+                timelineService.getHomeTimeline(userName, null, PAGE_SIZE);
+                reads.record(System.nanoTime() - started);
+            }
+
+            for (int i = 0; i < 50; i++) {
+                String userName = user(random.nextInt(USERS));
+                List<Integer> expected = jdbcTemplate.queryForList(REFERENCE_SQL, Integer.class, userName, userName, PAGE_SIZE);
+                TimelinePageDto page = timelineService.getHomeTimeline(userName, null, PAGE_SIZE);
+                assertThat(page.getPosts().stream().map(PostSummaryDto::getId).toList())
+                    .as("threshold=%d, userName=%s 홈 타임라인", celebrityThreshold, userName)
+                    .isEqualTo(expected);
+            }
+
+            long timelineRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM timelines", Long.class);
+            return new RunResult(writes, reads, timelineRows);
+        }
+    }
+
+    // 각 사용자가 Zipf 분포에서 FOLLOWS_PER_USER 명을 골라 팔로우한다(중복/자기 자신 제외)
+    private static void loadFollowGraph(JdbcTemplate jdbcTemplate, double[] cdf) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>();
+        for (int follower = 0; follower < USERS; follower++) {
+            for (int i = 0; i < FOLLOWS_PER_USER; i++) {
+                int followee = sample(cdf, random);
+                if (followee != follower) {
+                    rows.add(new Object[] {user(follower), user(followee), now});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT OR IGNORE INTO follows (followerName, followeeName, createdAt) VALUES (?, ?, ?)", rows);
+        // FollowService 를 거치지 않았으므로 팔로워 수도 직접 채운다
+        jdbcTemplate.update("""
+            INSERT OR REPLACE INTO follower_counts (userName, followers)
+            SELECT followeeName, COUNT(*) FROM follows GROUP BY followeeName
+            """);
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    private static String user(int index) {
+        return "user" + index;
+    }
+
+    private record RunResult(LatencyStats writes, LatencyStats reads, long timelineRows) {
+    }
+}
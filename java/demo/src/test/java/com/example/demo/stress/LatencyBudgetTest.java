@@ -0,0 +1,316 @@
+package com.example.demo.stress;
+
+import com.example.demo.DatasetGenerator;
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 지연 시간 예산 회귀 검사 (./gradlew latencyBudget).
+// 합성 데이터로 띄운 인스턴스에 주요 엔드포인트를 하나씩 고정된 동시 부하(closed loop)로 호출하고
+// p50/p99 와 요청당 할당 바이트를 기준 파일(budget.baseline)과 비교해, 허용 범위를 넘으면 실패한다.
+// - 할당량은 서버 JVM 의 전체 스레드 누적 할당(ThreadMXBean.getTotalThreadAllocatedBytes)을 JMX 로 구간 전후에 읽은 차이다.
+//   요청은 가상 스레드에서 처리되어 스레드별로 나눌 수 없으므로, 부하 전에 잰 유휴 할당 속도(무효화 폴링 등) x 구간 시간을 뺀다
+// - 쓰기 엔드포인트의 SQLITE_BUSY 재시도(sns.sqlite.busy.retries)는 지연 시간과 할당을 함께 늘리므로 리포트에 같이 남긴다
+// - 지연 시간 한도는 기준값 x (1 + 허용 비율) + latencySlackMillis. 밀리초 단위의 작은 값이 잡음으로 실패하지 않게 여유를 더한다
+// - 5xx(잠금 재시도 소진 등) 비율은 기준값 + errorRate 까지 허용한다. 4xx 는 요청이 잘못된 것이므로 바로 실패한다
+// - 허용 범위는 기준 파일의 tolerance 이고, overrides 에 엔드포인트별 값을 따로 둘 수 있다
+// - 결과는 budget.report 에 JSON 으로 남긴다. -Dbudget.update=true 면 비교하지 않고 측정값으로 기준 파일을 덮어쓴다
+// 기준값은 측정한 기계에 묶여 있으므로 CI 기계가 바뀌면 그 기계에서 다시 만든다
+@Tag("budget")
+class LatencyBudgetTest {
+    private static final Path BASELINE = Path.of(System.getProperty("budget.baseline", "src/test/resources/latency-budget.json"));
+    private static final Path REPORT = Path.of(System.getProperty("budget.report", "build/reports/latency-budget/report.json"));
+    private static final boolean UPDATE = Boolean.getBoolean("budget.update");
+    private static final int CONCURRENCY = Integer.getInteger("budget.concurrency", 8);
+    private static final int REQUESTS = Integer.getInteger("budget.requests", 300);
+    private static final int WARMUP = Integer.getInteger("budget.warmup", 100);
+    // GET /api/posts 는 전체 목록을 돌려주므로 포스트 수가 그 엔드포인트의 응답 크기를 정한다 (200개에 약 250KB)
+    private static final int USERS = Integer.getInteger("budget.users", 200);
+    private static final int POSTS = Integer.getInteger("budget.posts", 200);
+    private static final long COMMENTS = Long.getLong("budget.comments", 2000L);
+    private static final long LIKES = Long.getLong("budget.likes", 4000L);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    void mainEndpointsStayWithinBudget() throws Exception {
+        Baseline baseline = Files.exists(BASELINE)
+            ? mapper.readValue(BASELINE.toFile(), Baseline.class)
+            : new Baseline(new Tolerance(0.75, 1.0, 0.25, 2.0, 0.01), Map.of(), Map.of());
+
+        Path dir = Files.createTempDirectory("sns-budget-");
+        Path db = dir.resolve("budget.db");
+        DatasetGenerator.generate(new DatasetGenerator.Settings(db, USERS, POSTS, COMMENTS, LIKES, 42L, 0.8, 1.0, 0.9,
+            LocalDateTime.parse("2025-07-01T00:00:00"), 365, Duration.ofHours(2), false));
+
+        List<EndpointResult> results = new ArrayList<>();
+        Started app = start(db);
+        try (JMXConnector jmx = JMXConnectorFactory.connect(
+                new JMXServiceURL("service:jmx:rmi:///jndi/rmi://127.0.0.1:" + app.jmxPort() + "/jmxrmi"))) {
+            com.sun.management.ThreadMXBean threads = ManagementFactory.newPlatformMXBeanProxy(
+                jmx.getMBeanServerConnection(), ManagementFactory.THREAD_MXBEAN_NAME, com.sun.management.ThreadMXBean.class);
+            long idleStarted = System.nanoTime();
+            long idleBefore = threads.getTotalThreadAllocatedBytes();
+            Thread.sleep(2000);
+            double idleBytesPerNano = (threads.getTotalThreadAllocatedBytes() - idleBefore) / (double) (System.nanoTime() - idleStarted);
+
+            // 쓰기는 목록 조회 결과를 바꾸므로 조회를 먼저 잰다
+            for (Map.Entry<String, IntFunction<HttpRequest>> endpoint : endpoints(app.baseUrl()).entrySet()) {
+                String name = endpoint.getKey();
+                drive(endpoint.getValue(), 0, WARMUP);
+                double retriesBefore = busyRetries(app.baseUrl());
+                long started = System.nanoTime();
+                long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+                Phase phase = drive(endpoint.getValue(), WARMUP, REQUESTS);
+                long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore
+                    - (long) (idleBytesPerNano * (System.nanoTime() - started));
+                Budget measured = new Budget(round(phase.latencies().percentileMillis(50)), round(phase.latencies().percentileMillis(99)),
+                    Math.max(0, allocated) / REQUESTS, round(phase.serverErrors() / (double) REQUESTS));
+                results.add(new EndpointResult(name, measured, baseline.endpoints().get(name),
+                    regressions(measured, baseline.endpoints().get(name), baseline.toleranceFor(name)),
+                    (long) (busyRetries(app.baseUrl()) - retriesBefore)));
+            }
+        } finally {
+            app.process().destroy();
+            app.process().waitFor();
+            Files.deleteIfExists(db);
+            Files.deleteIfExists(dir);
+        }
+
+        boolean passed = UPDATE || results.stream().allMatch(result -> result.regressions().isEmpty());
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        mapper.writeValue(REPORT.toFile(), new Report(BASELINE.toString(), passed, CONCURRENCY, REQUESTS, baseline.tolerance(), results));
+
+        System.out.printf("%n=== 지연 시간 예산: 동시 %d, 엔드포인트당 %d 요청 (포스트 %d) ===%n", CONCURRENCY, REQUESTS, POSTS);
+        System.out.printf("%-36s %10s %10s %14s %8s %8s %10s %10s %14s  %s%n", "endpoint", "p50(ms)", "p99(ms)",
+            "alloc(B/req)", "5xx(%)", "retries", "base p50", "base p99", "base alloc", "result");
+        for (EndpointResult result : results) {
+            Budget base = result.baseline();
+            System.out.printf("%-36s %10.2f %10.2f %14d %8.2f %8d %10s %10s %14s  %s%n", result.endpoint(),
+                result.measured().p50Millis(), result.measured().p99Millis(), result.measured().allocatedBytesPerRequest(),
+                result.measured().errorRate() * 100, result.busyRetries(),
+                base == null ? "-" : String.format("%.2f", base.p50Millis()),
+                base == null ? "-" : String.format("%.2f", base.p99Millis()),
+                base == null ? "-" : String.valueOf(base.allocatedBytesPerRequest()),
+                result.regressions().isEmpty() ? "OK" : String.join(", ", result.regressions()));
+        }
+        System.out.println("리포트: " + REPORT.toAbsolutePath());
+
+        if (UPDATE) {
+            Map<String, Budget> updated = new LinkedHashMap<>();
+            results.forEach(result -> updated.put(result.endpoint(), result.measured()));
+            mapper.writeValue(BASELINE.toFile(), new Baseline(baseline.tolerance(), baseline.overrides(), updated));
+            System.out.println("기준 파일 갱신: " + BASELINE.toAbsolutePath());
+            return;
+        }
+        assertThat(results).as("기준값 대비 회귀 (리포트: %s)", REPORT.toAbsolutePath())
+            .allSatisfy(result -> assertThat(result.regressions()).as(result.endpoint()).isEmpty());
+    }
+
+    // 엔드포인트 이름 -> i 번째 요청. 포스트 ID 는 i 에서 정해지므로 실행마다 같은 요청열이 나간다
+    private static Map<String, IntFunction<HttpRequest>> endpoints(String baseUrl) {
+        Map<String, IntFunction<HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /api/posts", i -> get(baseUrl + "/api/posts"));
+        endpoints.put("GET /api/posts/{id}", i -> get(baseUrl + "/api/posts/" + postId(i)));
+        endpoints.put("GET /api/posts/{id}/comments", i -> get(baseUrl + "/api/posts/" + postId(i) + "/comments"));
+        // 합성 데이터의 사용자 이름은 "user" + 번호
+        endpoints.put("GET /api/users/suggest", i -> get(baseUrl + "/api/users/suggest?prefix=user" + i % (USERS / 4)));
+        endpoints.put("POST /api/posts/{id}/comments", i -> json(baseUrl + "/api/posts/" + postId(i) + "/comments",
+            "{\"userName\":\"budget" + i % 100 + "\",\"content\":\"budget comment " + i + "\"}"));
+        // 같은 사용자가 같은 포스트에 두 번 누르지 않도록 요청마다 새 사용자 이름을 쓴다
+        endpoints.put("POST /api/posts/{id}/likes", i -> json(baseUrl + "/api/posts/" + postId(i) + "/likes",
+            "{\"userName\":\"budget-liker" + i + "\"}"));
+        endpoints.put("POST /api/posts", i -> json(baseUrl + "/api/posts",
+            "{\"userName\":\"budget" + i % 100 + "\",\"content\":\"budget post " + i + "\"}"));
+        return endpoints;
+    }
+
+    private static int postId(int i) {
+        return 1 + (int) (i * 2_654_435_761L % POSTS);
+    }
+
+    // CONCURRENCY 개의 작업자가 앞 요청이 끝나면 다음 요청을 보낸다 (요청 번호 first .. first + count - 1)
+    private Phase drive(IntFunction<HttpRequest> requests, int first, int count) throws Exception {
+        LatencyStats latencies = new LatencyStats(count);
+        AtomicInteger next = new AtomicInteger(first);
+        AtomicLong serverErrors = new AtomicLong();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        try (ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < CONCURRENCY; w++) {
+                futures.add(workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < first + count; i = next.getAndIncrement()) {
+                        HttpRequest request = requests.apply(i);
+                        long started = System.nanoTime();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies.record(System.nanoTime() - started);
+                        if (status >= 500) {
+                            serverErrors.incrementAndGet();
+                        } else if (status >= 400) {
+                            failures.add(status + " " + request.method() + " " + request.uri());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertThat(failures).as("4xx 응답").isEmpty();
+        return new Phase(latencies, serverErrors.get());
+    }
+
+    // SqliteBusyRetryAspect 가 센 재시도 횟수의 합. 아직 한 번도 재시도하지 않았으면 지표가 없다(404)
+    private double busyRetries(String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(get(baseUrl + "/actuator/metrics/sns.sqlite.busy.retries"),
+            HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 404 ? 0 : mapper.readTree(response.body()).at("/measurements/0/value").asDouble();
+    }
+
+    private static List<String> regressions(Budget measured, Budget baseline, Tolerance tolerance) {
+        List<String> regressions = new ArrayList<>();
+        if (baseline == null) {
+            return regressions;
+        }
+        if (measured.p50Millis() > baseline.p50Millis() * (1 + tolerance.p50()) + tolerance.latencySlackMillis()) {
+            regressions.add("p50");
+        }
+        if (measured.p99Millis() > baseline.p99Millis() * (1 + tolerance.p99()) + tolerance.latencySlackMillis()) {
+            regressions.add("p99");
+        }
+        if (measured.allocatedBytesPerRequest() > baseline.allocatedBytesPerRequest() * (1 + tolerance.allocation())) {
+            regressions.add("allocation");
+        }
+        if (measured.errorRate() > baseline.errorRate() + tolerance.errorRate()) {
+            regressions.add("errorRate");
+        }
+        return regressions;
+    }
+
+    // 기준 파일을 읽기 쉽게 소수 둘째 자리까지만 남긴다
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private Started start(Path db) throws Exception {
+        int port = freePort();
+        int jmxPort = freePort();
+        String baseUrl = "http://localhost:" + port;
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path log = Files.createTempFile("sns-budget-app-", ".log");
+        log.toFile().deleteOnExit();
+        Process process = new ProcessBuilder(java, "-Xmx512m",
+            "-Dcom.sun.management.jmxremote.port=" + jmxPort,
+            "-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort,
+            "-Dcom.sun.management.jmxremote.host=127.0.0.1",
+            "-Djava.rmi.server.hostname=127.0.0.1",
+            "-Dcom.sun.management.jmxremote.authenticate=false",
+            "-Dcom.sun.management.jmxremote.ssl=false",
+            "-cp", System.getProperty("java.class.path"),
+            DemoApplication.class.getName(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.show-sql=false",
+            "--sns.reconciliation.enabled=false",
+            "--sns.warmup.enabled=false",
+            // 적응형 승인 제어는 지연 시간 변화에 따라 한도를 줄여 503 을 섞으므로 끄고 요청 경로 자체만 잰다
+            "--sns.admission.enabled=false",
+            "--logging.level.com.example.demo=WARN")
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (client.send(get(baseUrl + "/actuator/health/readiness"), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return new Started(process, baseUrl, jmxPort);
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(100);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 120초 안에 준비되지 않았습니다. 로그: " + log);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // 기준 파일 형식
+    record Tolerance(double p50, double p99, double allocation, double latencySlackMillis, double errorRate) {
+    }
+
+    record Budget(double p50Millis, double p99Millis, long allocatedBytesPerRequest, double errorRate) {
+    }
+
+    record Baseline(Tolerance tolerance, Map<String, Tolerance> overrides, Map<String, Budget> endpoints) {
+        Tolerance toleranceFor(String endpoint) {
+            return overrides == null ? tolerance : overrides.getOrDefault(endpoint, tolerance);
+        }
+    }
+
+    // 리포트 형식
+    record EndpointResult(String endpoint, Budget measured, Budget baseline, List<String> regressions, long busyRetries) {
+    }
+
+    record Report(String baseline, boolean passed, int concurrency, int requestsPerEndpoint, Tolerance tolerance,
+                  List<EndpointResult> endpoints) {
+    }
+
+    private record Phase(LatencyStats latencies, long serverErrors) {
+    }
+
+    private record Started(Process process, String baseUrl, int jmxPort) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.stress;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+// 고정 크기 배열에 응답 시간(ns)을 기록하고 백분위수를 계산하는 부하 테스트용 집계기
+public class LatencyStats {
+    private final AtomicLongArray samples;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public LatencyStats(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    public void record(long nanos) {
+        int index = size.getAndIncrement();
+        if (index < samples.length()) {
+            samples.set(index, nanos);
+        }
+    }
+
+    public int count() {
+        return Math.min(size.get(), samples.length());
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < count(); i++) {
+            consumer.accept(samples.get(i));
+        }
+    }
+
+    public double percentileMillis(double percentile) {
+        long[] sorted = snapshot();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private long[] snapshot() {
+        long[] copy = new long[count()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    public String summary(String name, double elapsedSeconds) {
+        return String.format("%-14s count=%7d  rps=%9.1f  p50=%8.2fms  p99=%8.2fms",
+            name, count(), count() / elapsedSeconds, percentileMillis(50), percentileMillis(99));
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.config.SqliteSnapshots;
+import com.example.demo.models.Comment;
+import com.example.demo.services.CommentService;
+import com.example.demo.services.DatabaseBackupService;
+import com.example.demo.services.LikeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 좋아요/댓글을 계속 쓰는 동안 온라인 백업을 반복해 쓰기 지연(p50/p99)이 얼마나 늘어나는지 잰다.
+// - 기본 설정(sns.backup.journal-mode=WAL): 백업의 읽기 트랜잭션이 쓰기를 막지 않아야 한다
+// - DELETE(롤백 저널): 한 번에 복사하는 동안 커밋이 기다리는 경우를 비교용으로 함께 출력한다
+// 마지막 스냅샷을 체크섬/무결성 검사와 함께 복원해 보고, 내용을 바꾼 스냅샷은 복원을 거부하는지 확인한다.
+@Tag("stress")
+class OnlineBackupBenchmarkTest {
+    private static final int POSTS = Integer.getInteger("stress.posts", 100_000);
+    private static final int WRITERS = Integer.getInteger("stress.writers", 4);
+    private static final long WINDOW_MS = Long.getLong("stress.window-ms", 4000L);
+    private static final long WARMUP_MS = Long.getLong("stress.warmup-ms", 3000L);
+    private static final double MAX_P99_MS = Double.parseDouble(System.getProperty("stress.max-backup-p99-ms", "250"));
+    private static final int BATCH = 10_000;
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    @Test
+    void writeLatencyWhileBackupRuns() throws Exception {
+        Map<String, WindowResult> results = new LinkedHashMap<>();
+        Path snapshot;
+
+        // 저널 모드를 지정하지 않고 기본 설정 그대로 잰다
+        Path walDb = Files.createTempFile("sns-backup-wal-", ".db");
+        walDb.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = start(walDb, null)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertThat(jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class)).isEqualToIgnoringCase("wal");
+            seed(jdbcTemplate);
+            runWindow(context, false, WARMUP_MS);
+            results.put("WAL, 백업 없음", runWindow(context, false, WINDOW_MS));
+            WindowResult withBackup = runWindow(context, true, WINDOW_MS);
+            results.put("WAL, 백업 중", withBackup);
+            snapshot = withBackup.lastSnapshot();
+        }
+
+        Path rollbackDb = Files.createTempFile("sns-backup-delete-", ".db");
+        rollbackDb.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = start(rollbackDb, "DELETE")) {
+            seed(context.getBean(JdbcTemplate.class));
+            runWindow(context, false, WARMUP_MS);
+            results.put("DELETE, 백업 없음", runWindow(context, false, WINDOW_MS));
+            results.put("DELETE, 백업 중", runWindow(context, true, WINDOW_MS));
+        }
+
+        System.out.printf("%n=== 온라인 백업 중 쓰기 지연: posts=%d, writers=%d, window=%dms ===%n", POSTS, WRITERS, WINDOW_MS);
+        System.out.printf("%-16s %8s %12s %12s %12s %8s %10s %16s%n",
+            "mode", "writes", "p50(ms)", "p99(ms)", "max(ms)", "errors", "backups", "backup avg(ms)");
+        results.forEach((mode, result) -> System.out.printf("%-16s %8d %12.2f %12.2f %12.2f %8d %10d %16.0f%n", mode,
+            result.writes().count(), result.writes().percentileMillis(50), result.writes().percentileMillis(99),
+            result.writes().percentileMillis(100), result.errors(), result.backups(), result.backupAvgMillis()));
+
+        // 스냅샷 복원: 적재한 포스트가 모두 있고 무결성 검사를 통과해야 한다
+        Path restored = Files.createTempFile("sns-restored-", ".db");
+        restored.toFile().deleteOnExit();
+        SqliteSnapshots.restore(snapshot, restored);
+        try (var connection = DriverManager.getConnection("jdbc:sqlite:" + restored);
+             ResultSet result = connection.createStatement().executeQuery("SELECT COUNT(*) FROM posts")) {
+            result.next();
+            assertThat(result.getLong(1)).isEqualTo(POSTS);
+        }
+        System.out.printf("스냅샷 %s (%d bytes, 원본 DB %d bytes) 복원 확인%n",
+            snapshot.getFileName(), Files.size(snapshot), Files.size(walDb));
+
+        Path tampered = snapshot.resolveSibling("tampered.db.gz");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(tampered, bytes);
+        Files.copy(SqliteSnapshots.checksumFile(snapshot), SqliteSnapshots.checksumFile(tampered));
+        assertThatThrownBy(() -> SqliteSnapshots.restore(tampered, restored)).isInstanceOf(IOException.class);
+
+        WindowResult online = results.get("WAL, 백업 중");
+        assertThat(online.backups()).isPositive();
+        assertThat(online.errors()).isZero();
+        assertThat(online.writes().percentileMillis(99)).isLessThan(MAX_P99_MS);
+    }
+
+    // journalMode 가 null 이면 기본 설정을 쓴다
+    private ConfigurableApplicationContext start(Path db, String journalMode) throws IOException {
+        Path backups = Files.createTempDirectory("sns-backups-");
+        List<String> args = new ArrayList<>(List.of("--spring.main.web-application-type=none",
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.example.demo=WARN",
+            "--sns.reconciliation.enabled=false",
+            "--sns.backup.dir=" + backups,
+            "--sns.backup.keep=2"));
+        if (journalMode != null) {
+            args.add("--sns.backup.journal-mode=" + journalMode);
+        }
+        return new SpringApplicationBuilder(DemoApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int from = 0; from < POSTS; from += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(POSTS, from + BATCH); i++) {
+                rows.add(new Object[] {"author" + random.nextInt(1000), "backup benchmark post " + i + " ".repeat(random.nextInt(200)), now, now});
+            }
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO posts (userName, content, createdAt, updatedAt, likeCount, commentCount) VALUES (?, ?, ?, ?, 0, 0)", rows);
+        }
+    }
+
+    private WindowResult runWindow(ConfigurableApplicationContext context, boolean backup, long windowMs) throws Exception {
+        LikeService likeService = context.getBean(LikeService.class);
+        CommentService commentService = context.getBean(CommentService.class);
+        DatabaseBackupService backupService = context.getBean(DatabaseBackupService.class);
+
+        LatencyStats writes = new LatencyStats(100_000);
+        AtomicLong errors = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong backups = new AtomicLong();
+        AtomicLong backupNanos = new AtomicLong();
+        Path[] lastSnapshot = new Path[1];
+
+        Thread backupThread = null;
+        if (backup) {
+            backupThread = Thread.ofPlatform().name("benchmark-backup").start(() -> {
+                while (!stop.get()) {
+                    long started = System.nanoTime();
+                    try {
+                        lastSnapshot[0] = backupService.backup();
+                        backups.incrementAndGet();
+                        backupNanos.addAndGet(System.nanoTime() - started);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        long deadline = System.currentTimeMillis() + windowMs;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> writers = new ArrayList<>();
+            SplittableRandom seeds = new SplittableRandom(SEED + (backup ? 1 : 0));
+            for (int w = 0; w < WRITERS; w++) {
+                SplittableRandom random = seeds.split();
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; System.currentTimeMillis() < deadline; i++) {
+                        int postId = 1 + random.nextInt(POSTS);
+                        long started = System.nanoTime();
+                        try {
+                            if (i % 2 == 0) {
+                                likeService.likePost(postId, "user" + random.nextInt(1_000_000));
+                            } else {
+                                Comment comment = new Comment();
+                                comment.setUserName("user" + random.nextInt(1000));
+                                comment.setContent("while backing up");
+                                commentService.createComment(postId, comment);
+                            }
+                            writes.record(System.nanoTime() - started);
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            stop.set(true);
+            if (backupThread != null) {
+                backupThread.join();
+            }
+        }
+        double backupAvg = backups.get() == 0 ? 0 : backupNanos.get() / 1e6 / backups.get();
+        return new WindowResult(writes, errors.get(), backups.get(), backupAvg, lastSnapshot[0]);
+    }
+
+    private record WindowResult(LatencyStats writes, long errors, long backups, double backupAvgMillis, Path lastSnapshot) {
+    }
+}
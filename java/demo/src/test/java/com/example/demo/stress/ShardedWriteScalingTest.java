@@ -0,0 +1,118 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import com.example.demo.repositories.sharded.ShardRouter;
+import com.example.demo.services.CommentService;
+import com.example.demo.services.LikeService;
+import com.example.demo.services.PostService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 샤드 수(기본 1, 2, 4)를 바꿔 가며 같은 좋아요/댓글 쓰기 부하를 서비스 계층에 주고 초당 쓰기 수를 비교한다.
+// 실행 후 모든 샤드에서 likeCount/commentCount 가 실제 행 수와 일치하는지도 확인한다.
+@Tag("stress")
+class ShardedWriteScalingTest {
+    private static final int[] SHARD_COUNTS = Arrays.stream(System.getProperty("stress.shard-counts", "1,2,4").split(","))
+        .mapToInt(Integer::parseInt).toArray();
+    private static final int WORKERS = Integer.getInteger("stress.workers", 32);
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 3000);
+    private static final int POSTS = Integer.getInteger("stress.posts", 64);
+    private static final int USERS = Integer.getInteger("stress.users", 2000);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    private static final String DRIFT_SQL = """
+        SELECT COUNT(*) FROM posts p
+        WHERE p.likeCount <> (SELECT COUNT(*) FROM likes l WHERE l.postId = p.id)
+           OR p.commentCount <> (SELECT COUNT(*) FROM comments c WHERE c.postId = p.id)
+        """;
+
+    @Test
+    void writeThroughputScalesWithShardCount() throws Exception {
+        Map<Integer, Double> writesPerSecond = new LinkedHashMap<>();
+        for (int shards : SHARD_COUNTS) {
+            writesPerSecond.put(shards, run(shards));
+        }
+
+        double baseline = writesPerSecond.get(SHARD_COUNTS[0]);
+        System.out.printf("%n=== 샤드 수별 쓰기 처리량: workers=%d, operations=%d (좋아요 50%%, 댓글 50%%) ===%n", WORKERS, OPERATIONS);
+        writesPerSecond.forEach((shards, rate) ->
+            System.out.printf("shards=%d  writes/s=%8.1f  x%.2f%n", shards, rate, rate / baseline));
+    }
+
+    private double run(int shards) throws Exception {
+        Path directory = Files.createTempDirectory("sns-shards-" + shards + "-");
+        directory.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--spring.main.web-application-type=none",
+                    "--spring.profiles.active=sharded",
+                    "--sns.sharding.directory=" + directory,
+                    "--sns.sharding.shards=" + shards,
+                    "--logging.level.com.example.demo=WARN")) {
+            PostService postService = context.getBean(PostService.class);
+            LikeService likeService = context.getBean(LikeService.class);
+            CommentService commentService = context.getBean(CommentService.class);
+
+            List<Integer> postIds = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                Post post = new Post();
+                post.setUserName("author" + i);
+                post.setContent("shard " + i);
+                postIds.add(postService.createPost(post).getId());
+            }
+
+            AtomicInteger remaining = new AtomicInteger(OPERATIONS);
+            long started = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> workers = new ArrayList<>();
+                SplittableRandom seeds = new SplittableRandom(SEED);
+                for (int w = 0; w < WORKERS; w++) {
+                    SplittableRandom random = seeds.split();
+                    workers.add(executor.submit(() -> {
+                        while (remaining.getAndDecrement() > 0) {
+                            int postId = postIds.get(random.nextInt(postIds.size()));
+                            String userName = "user" + random.nextInt(USERS);
+                            if (random.nextBoolean()) {
+                                likeService.likePost(postId, userName);
+                            } else {
+                                Comment comment = new Comment();
+                                comment.setUserName(userName);
+                                comment.setContent("scaling");
+                                commentService.createComment(postId, comment);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : workers) {
+                    future.get();
+                }
+            }
+            double rate = OPERATIONS / ((System.nanoTime() - started) / 1_000_000_000.0);
+
+            long drift = context.getBean(ShardRouter.class)
+                .scatter(jdbc -> jdbc.queryForObject(DRIFT_SQL, Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+            assertThat(drift).as("shards=%d 카운터 불일치 포스트 수", shards).isZero();
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// sqlite-memory 프로필(인메모리 SQLite + 주기적 체크포인트)을 파일 모드와 비교한다.
+// - 같은 부하에서 파일 모드와 메모리 모드의 응답 시간 비교
+// - 별도 JVM 을 강제 종료(SIGKILL)해 유실되는 쓰기가 체크포인트 주기 안으로 제한되는지 확인
+// 체크포인트/복원과 종료 시 체크포인트 자체는 config.SqliteMemoryDatabaseTest 에서 확인한다
+@Tag("stress")
+class SqliteMemoryModeTest {
+    private static final int CLIENTS = Integer.getInteger("stress.clients", 32);
+    private static final int REQUESTS = Integer.getInteger("stress.requests", 4000);
+    private static final int POSTS = Integer.getInteger("stress.posts", 50);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+    private static final Duration CHECKPOINT_INTERVAL = Duration.ofMillis(Long.getLong("stress.checkpoint-ms", 1000L));
+    private static final Duration WRITE_DURATION = Duration.ofMillis(Long.getLong("stress.write-ms", 4000L));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    @Test
+    void compareLatencyWithFileMode() throws Exception {
+        Path fileDb = Files.createTempFile("sns-file-", ".db");
+        fileDb.toFile().deleteOnExit();
+        Path checkpoint = Files.createTempDirectory("sns-memory-").resolve("sns.db");
+        checkpoint.toFile().deleteOnExit();
+
+        LatencyResult file = runLoad(
+            "--spring.datasource.url=jdbc:sqlite:" + fileDb);
+        LatencyResult memory = runLoad(
+            "--spring.profiles.active=sqlite-memory",
+            "--spring.datasource.url=jdbc:sqlite:file:latency-memdb?mode=memory&cache=shared",
+            "--sns.sqlite-memory.file=" + checkpoint,
+            "--sns.sqlite-memory.checkpoint-interval=" + CHECKPOINT_INTERVAL);
+
+        System.out.printf("%n=== 파일 모드 vs 인메모리 SQLite 모드: clients=%d, requests=%d (조회 50%%, 좋아요 30%%, 댓글 20%%) ===%n",
+            CLIENTS, REQUESTS);
+        for (LatencyResult result : List.of(file, memory)) {
+            System.out.println(result.stats().summary(result == file ? "file" : "memory", result.elapsedSeconds())
+                + "  503(admission)=" + result.rejected() + "  other 5xx=" + result.serverErrors());
+        }
+
+        assertThat(file.stats().count()).isEqualTo(REQUESTS);
+        assertThat(memory.stats().count()).isEqualTo(REQUESTS);
+        assertThat(Files.exists(checkpoint)).as("종료 시 체크포인트 파일이 남아야 한다").isTrue();
+    }
+
+    @Test
+    void crashLosesOnlyWritesInsideDurabilityWindow() throws Exception {
+        Path checkpoint = Files.createTempDirectory("sns-crash-").resolve("sns.db");
+        checkpoint.toFile().deleteOnExit();
+
+        // 쓰는 도중 강제 종료: 마지막 체크포인트 이후의 쓰기만 유실되어야 한다
+        int port = freePort();
+        Process first = startApp(port, checkpoint, "create");
+        Map<Integer, Long> acked = writeUntil(port, System.currentTimeMillis() + WRITE_DURATION.toMillis());
+        long killedAt = System.currentTimeMillis();
+        first.destroyForcibly().waitFor();
+
+        port = freePort();
+        Process second = startApp(port, checkpoint, "none");
+        Set<Integer> survived = postIds(port);
+        List<Long> lostAges = new ArrayList<>();
+        acked.forEach((id, ackedAt) -> {
+            if (!survived.contains(id)) {
+                lostAges.add(killedAt - ackedAt);
+            }
+        });
+        long oldestLostMs = lostAges.stream().mapToLong(Long::longValue).max().orElse(0);
+        second.destroy();
+        second.waitFor();
+
+        System.out.printf("%n=== 인메모리 SQLite 내구성: checkpoint-interval=%dms ===%n", CHECKPOINT_INTERVAL.toMillis());
+        System.out.printf("SIGKILL: 응답 완료 %d건, 복구 %d건, 유실 %d건, 유실된 쓰기 중 가장 오래된 것: 종료 %dms 전%n",
+            acked.size(), acked.size() - lostAges.size(), lostAges.size(), oldestLostMs);
+
+        // 체크포인트 주기 + 백업/스케줄링 지연 여유 1초보다 오래된 쓰기는 유실되면 안 된다
+        assertThat(oldestLostMs).isLessThanOrEqualTo(CHECKPOINT_INTERVAL.toMillis() + 1000);
+    }
+
+    private LatencyResult runLoad(String... modeArgs) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.example.demo=WARN"));
+        args.addAll(List.of(modeArgs));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run(args.toArray(String[]::new))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            List<Integer> postIds = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                postIds.add(createPost(baseUrl, "author" + i));
+            }
+
+            LatencyStats stats = new LatencyStats(REQUESTS);
+            AtomicInteger remaining = new AtomicInteger(REQUESTS);
+            AtomicLong rejected = new AtomicLong();
+            AtomicLong serverErrors = new AtomicLong();
+            long started = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> clients = new ArrayList<>();
+                SplittableRandom seeds = new SplittableRandom(SEED);
+                for (int c = 0; c < CLIENTS; c++) {
+                    SplittableRandom random = seeds.split();
+                    clients.add(executor.submit(() -> {
+                        while (remaining.getAndDecrement() > 0) {
+                            int postId = postIds.get(random.nextInt(postIds.size()));
+                            int roll = random.nextInt(100);
+                            long begin = System.nanoTime();
+                            HttpResponse<String> response;
+                            if (roll < 50) {
+                                response = send("GET", baseUrl + "/api/posts/" + postId, null);
+                            } else if (roll < 80) {
+                                response = send("POST", baseUrl + "/api/posts/" + postId + "/likes",
+                                    "{\"userName\":\"user" + random.nextInt(1000) + "\"}");
+                            } else {
+                                response = send("POST", baseUrl + "/api/posts/" + postId + "/comments",
+                                    "{\"userName\":\"user" + random.nextInt(1000) + "\",\"content\":\"latency\"}");
+                            }
+                            stats.record(System.nanoTime() - begin);
+                            if (response.statusCode() == 503) {
+                                rejected.incrementAndGet();
+                            } else if (response.statusCode() >= 500) {
+                                serverErrors.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : clients) {
+                    future.get();
+                }
+            }
+            return new LatencyResult(stats, (System.nanoTime() - started) / 1_000_000_000.0,
+                rejected.get(), serverErrors.get());
+        }
+    }
+
+    // 테스트 JVM 과 같은 클래스패스로 애플리케이션을 별도 프로세스로 띄우고 요청을 받을 수 있을 때까지 기다린다
+    private Process startApp(int port, Path checkpoint, String ddlAuto) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path log = Files.createTempFile("sns-crash-app-", ".log");
+        log.toFile().deleteOnExit();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                DemoApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.profiles.active=sqlite-memory",
+                "--spring.datasource.url=jdbc:sqlite:file:crash-memdb?mode=memory&cache=shared",
+                "--sns.sqlite-memory.file=" + checkpoint,
+                "--sns.sqlite-memory.checkpoint-interval=" + CHECKPOINT_INTERVAL,
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.example.demo=WARN")
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (send("GET", "http://localhost:" + port + "/api/posts", null).statusCode() == 200) {
+                    return process;
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(200);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 60초 안에 시작되지 않았습니다. 로그: " + log);
+    }
+
+    // 응답까지 받은(커밋된) 포스트 ID 와 응답 시각을 기록한다
+    private Map<Integer, Long> writeUntil(int port, long deadlineMillis) throws Exception {
+        Map<Integer, Long> acked = new LinkedHashMap<>();
+        for (int i = 0; System.currentTimeMillis() < deadlineMillis; i++) {
+            acked.put(createPost("http://localhost:" + port, "crash" + i), System.currentTimeMillis());
+        }
+        return acked;
+    }
+
+    private Set<Integer> postIds(int port) throws Exception {
+        JsonNode posts = objectMapper.readTree(send("GET", "http://localhost:" + port + "/api/posts", null).body());
+        Set<Integer> ids = new HashSet<>();
+        posts.forEach(post -> ids.add(post.get("id").asInt()));
+        return ids;
+    }
+
+    private int createPost(String baseUrl, String userName) throws Exception {
+        HttpResponse<String> response = send("POST", baseUrl + "/api/posts",
+            "{\"userName\":\"" + userName + "\",\"content\":\"durability\"}");
+        return objectMapper.readTree(response.body()).get("id").asInt();
+    }
+
+    private HttpResponse<String> send(String method, String url, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60));
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record LatencyResult(LatencyStats stats, double elapsedSeconds, long rejected, long serverErrors) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.stress;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 일반 jar 와 빠른 시작 빌드(AOT 빈 정의 + CDS 아카이브 + springdoc 지연 초기화)의
+// 첫 요청까지 걸린 시간(프로세스 시작 → GET /api/posts 200)과 그 시점의 RSS 를 비교한다.
+// 빠른 시작 빌드가 먼저 있어야 한다: ./gradlew fastStartup stressTest --tests '*StartupBenchmarkTest'
+// bootJar(build/libs)가 있으면 그것을 일반 jar 로 쓰고, 없으면 같은 app.jar 를 AOT/CDS 없이 실행한다.
+@Tag("stress")
+class StartupBenchmarkTest {
+    private static final int RUNS = Integer.getInteger("stress.startup-runs", 5);
+    private static final Path FAST_DIR = Path.of(System.getProperty("stress.fast-startup-dir", "build/fast-startup"));
+    private static final Path PLAIN_JAR = Path.of(System.getProperty("stress.plain-jar", "build/libs/demo-0.0.1-SNAPSHOT.jar"));
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void fastStartupBuildReachesFirstRequestSooner() throws Exception {
+        Path appJar = FAST_DIR.resolve("app.jar").toAbsolutePath();
+        Path archive = FAST_DIR.resolve("app.jsa").toAbsolutePath();
+        assumeTrue(Files.exists(archive), "빠른 시작 빌드가 없습니다. 먼저 ./gradlew fastStartup 을 실행하세요");
+        Path plainJar = Files.exists(PLAIN_JAR) ? PLAIN_JAR.toAbsolutePath() : appJar;
+
+        Path workDir = Files.createTempDirectory("sns-startup-");
+        Path db = workDir.resolve("sns.db");
+        // 운영처럼 스키마가 있는 DB 로 시작하도록 한 번 만들어 둔다 (측정 안 함, 파일 캐시도 데운다)
+        measure(workDir, List.of(), plainJar, db, "--spring.jpa.hibernate.ddl-auto=create");
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("jar, springdoc 즉시", run(workDir, List.of(), plainJar, db, "--sns.startup.lazy-packages="));
+        results.put("jar", run(workDir, List.of(), plainJar, db));
+        results.put("AOT", run(workDir, List.of("-Dspring.aot.enabled=true"), appJar, db));
+        results.put("AOT + CDS", run(workDir, List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive), appJar, db));
+
+        System.out.printf("%n=== 시작 시간: 실행 %d회 중앙값, 일반 jar: %s ===%n", RUNS, plainJar.getFileName());
+        System.out.printf("%-22s %16s %12s%n", "build", "first req(ms)", "RSS(MB)");
+        results.forEach((build, result) -> System.out.printf("%-22s %16d %12d%n", build, result.firstRequestMillis(), result.rssKb() / 1024));
+
+        assertThat(results.get("AOT + CDS").firstRequestMillis()).isLessThan(results.get("jar, springdoc 즉시").firstRequestMillis());
+    }
+
+    private Result run(Path workDir, List<String> jvmArgs, Path jar, Path db, String... args) throws Exception {
+        long[] millis = new long[RUNS];
+        long[] rss = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            Result result = measure(workDir, jvmArgs, jar, db, args);
+            millis[i] = result.firstRequestMillis();
+            rss[i] = result.rssKb();
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rss);
+        return new Result(millis[RUNS / 2], rss[RUNS / 2]);
+    }
+
+    private Result measure(Path workDir, List<String> jvmArgs, Path jar, Path db, String... args) throws Exception {
+        int port = freePort();
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.show-sql=false",
+            "--sns.reconciliation.enabled=false",
+            "--logging.level.com.example.demo=WARN"));
+        command.addAll(Arrays.asList(args));
+        Path log = Files.createTempFile("sns-startup-app-", ".log");
+        log.toFile().deleteOnExit();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .directory(workDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        try {
+            long deadline = System.currentTimeMillis() + 180_000;
+            while (System.currentTimeMillis() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts"))
+                        .timeout(Duration.ofSeconds(30)).GET().build(), HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        long elapsed = Duration.ofNanos(System.nanoTime() - started).toMillis();
+                        return new Result(elapsed, rssKb(process.pid()));
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("애플리케이션이 180초 안에 시작되지 않았습니다. 로그: " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    // /proc/<pid>/status 의 VmRSS (리눅스가 아니면 0)
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+            .filter(line -> line.startsWith("VmRSS:"))
+            .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+            .findFirst()
+            .orElse(0L);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(long firstRequestMillis, long rssKb) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.models.Comment;
+import com.example.demo.models.Post;
+import com.example.demo.services.CommentService;
+import com.example.demo.services.LikeService;
+import com.example.demo.services.PostService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 데이터(포스트 + 댓글 + 좋아요)를 JPA/SQLite 와 인메모리 저장 엔진에 각각 적재하고
+// 서비스 계층 기준 연산별 처리량과 포스트당 힙 사용량을 비교한다.
+@Tag("stress")
+class StorageBackendBenchmarkTest {
+    private static final int POSTS = Integer.getInteger("stress.posts", 2000);
+    private static final int COMMENTS_PER_POST = Integer.getInteger("stress.comments-per-post", 3);
+    private static final int LIKES_PER_POST = Integer.getInteger("stress.likes-per-post", 5);
+    private static final int READS = Integer.getInteger("stress.reads", 20000);
+    private static final int USERS = Integer.getInteger("stress.users", 500);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    @Test
+    void compareSqliteAndMemoryBackends() throws Exception {
+        Path db = Files.createTempFile("sns-backend-", ".db");
+        db.toFile().deleteOnExit();
+        RunResult sqlite = run("--spring.datasource.url=jdbc:sqlite:" + db, "--spring.jpa.hibernate.ddl-auto=create");
+        RunResult memory = run("--spring.profiles.active=memory");
+
+        System.out.printf("%n=== 저장 엔진 비교: posts=%d, comments/post=%d, likes/post=%d, reads=%d ===%n",
+            POSTS, COMMENTS_PER_POST, LIKES_PER_POST, READS);
+        System.out.printf("%-8s %12s %12s %12s %12s %16s%n", "backend", "post/s", "comment/s", "like/s", "read/s", "heap/post(B)");
+        for (RunResult result : List.of(sqlite, memory)) {
+            System.out.printf("%-8s %12.0f %12.0f %12.0f %12.0f %16d%n", result == sqlite ? "sqlite" : "memory",
+                result.postsPerSecond(), result.commentsPerSecond(), result.likesPerSecond(), result.readsPerSecond(),
+                result.heapBytes() / POSTS);
+        }
+        System.out.printf("sqlite 파일 크기: %d bytes (포스트당 %d bytes)%n", Files.size(db), Files.size(db) / POSTS);
+
+        assertThat(sqlite.checksum()).isEqualTo(memory.checksum());
+    }
+
+    private RunResult run(String... backendArgs) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.main.web-application-type=none",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.example.demo=WARN",
+            "--sns.reconciliation.enabled=false"));
+        args.addAll(List.of(backendArgs));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run(args.toArray(String[]::new))) {
+            PostService postService = context.getBean(PostService.class);
+            CommentService commentService = context.getBean(CommentService.class);
+            LikeService likeService = context.getBean(LikeService.class);
+            SplittableRandom random = new SplittableRandom(SEED);
+            long heapBefore = usedHeap();
+
+            long started = System.nanoTime();
+            List<Integer> postIds = new ArrayList<>(POSTS);
+            for (int i = 0; i < POSTS; i++) {
+                Post post = new Post();
+                post.setUserName("user" + random.nextInt(USERS));
+                post.setContent("benchmark post " + i);
+                postIds.add(postService.createPost(post).getId());
+            }
+            double postSeconds = seconds(started);
+
+            started = System.nanoTime();
+            for (Integer postId : postIds) {
+                for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                    Comment comment = new Comment();
+                    comment.setUserName("user" + random.nextInt(USERS));
+                    comment.setContent("benchmark comment " + c);
+                    commentService.createComment(postId, comment);
+                }
+            }
+            double commentSeconds = seconds(started);
+
+            started = System.nanoTime();
+            for (Integer postId : postIds) {
+                for (int l = 0; l < LIKES_PER_POST; l++) {
+                    likeService.likePost(postId, "user" + random.nextInt(USERS));
+                }
+            }
+            double likeSeconds = seconds(started);
+
+            long heapBytes = usedHeap() - heapBefore;
+
+            started = System.nanoTime();
+            long checksum = 0;
+            for (int r = 0; r < READS; r++) {
+                Post post = postService.getPost(postIds.get(random.nextInt(postIds.size())));
+                checksum += post.getLikeCount() * 31L + post.getCommentCount();
+            }
+            double readSeconds = seconds(started);
+
+            return new RunResult(POSTS / postSeconds, POSTS * COMMENTS_PER_POST / commentSeconds,
+                POSTS * LIKES_PER_POST / likeSeconds, READS / readSeconds, heapBytes, checksum);
+        }
+    }
+
+    private static double seconds(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record RunResult(double postsPerSecond, double commentsPerSecond, double likesPerSecond,
+                             double readsPerSecond, long heapBytes, long checksum) {
+    }
+}
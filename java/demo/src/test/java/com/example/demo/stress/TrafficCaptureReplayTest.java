@@ -0,0 +1,216 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.capture.CapturedRequest;
+import com.example.demo.capture.TrafficLog;
+import com.example.demo.capture.TrafficReplay;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 운영 트래픽 기록과 재생을 검증한다.
+// 1) sample-rate=1.0 으로 기록을 켠 인스턴스와 끈 인스턴스에 같은 시드의 읽기/쓰기 요청 묶음을 보내 기록 오버헤드를 비교한다
+// 2) 기록된 로그를 빈 DB 로 시작한 새 인스턴스에 speed 배속으로 재생해 요청 수, 오류, 상태 코드 불일치를 확인한다
+//    (기본 1배속. 배속을 올려 대상의 처리 한도를 넘기면 승인 제어가 503 으로 거절하므로 오류 검증은 한도 안에서만 의미가 있다)
+// 3) TrafficLog.append 한 건당 비용을 잰다
+// 로그 형식, 필터의 기록 내용, 재생의 불일치 집계는 capture.TrafficCaptureTest 에서 확인한다
+@Tag("stress")
+class TrafficCaptureReplayTest {
+    private static final int REQUESTS = Integer.getInteger("stress.requests", 1500);
+    private static final double SPEED = Double.parseDouble(System.getProperty("stress.replay-speed", "1"));
+    private static final int APPEND_RECORDS = Integer.getInteger("stress.append-records", 200_000);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+    // 재생은 개방형이라 직전 요청이 끝나기 전에 다음 요청이 나갈 수 있으므로 댓글/조회 대상은 이만큼 앞서 만든 포스트에서 고른다
+    private static final int SETTLED = 20;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void capturedTrafficReplaysDeterministically() throws Exception {
+        Path captures = Files.createTempDirectory("sns-captures-");
+
+        Started capturing = start("--sns.capture.enabled=true", "--sns.capture.sample-rate=1.0", "--sns.capture.dir=" + captures);
+        LatencyStats captured;
+        try {
+            captured = drive(capturing.baseUrl());
+        } finally {
+            stop(capturing.process());
+        }
+
+        Started plain = start();
+        LatencyStats baseline;
+        try {
+            baseline = drive(plain.baseUrl());
+        } finally {
+            stop(plain.process());
+        }
+
+        Path log;
+        try (Stream<Path> files = Files.list(captures)) {
+            log = files.filter(file -> file.getFileName().toString().startsWith("traffic-")).findFirst().orElseThrow();
+        }
+        List<CapturedRequest> requests = TrafficLog.read(log);
+
+        Started target = start();
+        TrafficReplay.Report report;
+        try {
+            report = TrafficReplay.replay(requests, target.baseUrl(), SPEED, 256);
+        } finally {
+            stop(target.process());
+        }
+
+        double appendNanos = appendCost();
+
+        System.out.printf("%n=== 트래픽 기록 오버헤드: 요청 %d, 로그 %d bytes ===%n", REQUESTS, Files.size(log));
+        System.out.printf("%-12s %12s %12s %12s%n", "mode", "p50(ms)", "p99(ms)", "max(ms)");
+        System.out.printf("%-12s %12.2f %12.2f %12.2f%n", "capture off",
+            baseline.percentileMillis(50), baseline.percentileMillis(99), baseline.percentileMillis(100));
+        System.out.printf("%-12s %12.2f %12.2f %12.2f%n", "capture 1.0",
+            captured.percentileMillis(50), captured.percentileMillis(99), captured.percentileMillis(100));
+        System.out.printf("TrafficLog.append: %.0f ns/record (%d records)%n", appendNanos, APPEND_RECORDS);
+        report.print(System.out);
+
+        assertThat(requests).hasSize(REQUESTS);
+        assertThat(report.requests()).isEqualTo(REQUESTS);
+        assertThat(report.errors()).isZero();
+        assertThat(report.mismatches()).isZero();
+
+        try (Stream<Path> files = Files.list(captures)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(captures);
+    }
+
+    // 포스트 작성 10%, 댓글 작성 20%, 포스트/댓글/사용자 포스트 조회 70%. 시드가 같으면 같은 요청열
+    private LatencyStats drive(String baseUrl) throws Exception {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LatencyStats latencies = new LatencyStats(REQUESTS);
+        int posts = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            int roll = random.nextInt(100);
+            HttpRequest request;
+            if (posts < SETTLED || roll < 10) {
+                posts++;
+                request = json(baseUrl + "/api/posts",
+                    "{\"userName\":\"author" + random.nextInt(20) + "\",\"content\":\"captured post " + i + "\"}");
+            } else {
+                int postId = 1 + random.nextInt(posts - SETTLED + 1);
+                if (roll < 30) {
+                    request = json(baseUrl + "/api/posts/" + postId + "/comments",
+                        "{\"userName\":\"reader" + random.nextInt(100) + "\",\"content\":\"comment " + i + "\"}");
+                } else if (roll < 60) {
+                    request = get(baseUrl + "/api/posts/" + postId);
+                } else if (roll < 85) {
+                    request = get(baseUrl + "/api/posts/" + postId + "/comments");
+                } else {
+                    request = get(baseUrl + "/api/users/author" + random.nextInt(20) + "/posts");
+                }
+            }
+            long started = System.nanoTime();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            latencies.record(System.nanoTime() - started);
+            assertThat(status).as(request.method() + " " + request.uri()).isLessThan(400);
+        }
+        return latencies;
+    }
+
+    private static double appendCost() throws IOException {
+        Path file = Files.createTempFile("sns-traffic-", ".log");
+        Files.delete(file);
+        byte[] body = "{\"userName\":\"reader42\",\"content\":\"append benchmark comment body\"}".getBytes(StandardCharsets.UTF_8);
+        try (TrafficLog log = TrafficLog.create(file, 64L << 20, 1L << 30)) {
+            long started = System.nanoTime();
+            for (int i = 0; i < APPEND_RECORDS; i++) {
+                log.append(new CapturedRequest(log.offsetMicros(System.nanoTime()), 1200, 201, "POST",
+                    "/api/posts/" + i + "/comments", "application/json", body));
+            }
+            return (System.nanoTime() - started) / (double) APPEND_RECORDS;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Started start(String... extraArgs) throws Exception {
+        int port = freePort();
+        String baseUrl = "http://localhost:" + port;
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path db = Files.createTempFile("sns-capture-", ".db");
+        db.toFile().deleteOnExit();
+        Path log = Files.createTempFile("sns-capture-app-", ".log");
+        log.toFile().deleteOnExit();
+        List<String> command = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+            DemoApplication.class.getName(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--sns.reconciliation.enabled=false",
+            "--sns.warmup.enabled=false",
+            "--logging.level.com.example.demo=WARN"));
+        command.addAll(List.of(extraArgs));
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                if (client.send(get(baseUrl + "/actuator/health/readiness"), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return new Started(process, baseUrl);
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(100);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 120초 안에 준비되지 않았습니다. 로그: " + log);
+    }
+
+    // 정상 종료(SIGTERM)로 TrafficLog 가 닫히며 파일이 기록한 크기로 잘린다
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Started(Process process, String baseUrl) {
+    }
+}
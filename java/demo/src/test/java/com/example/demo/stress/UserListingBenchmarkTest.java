@@ -0,0 +1,174 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dtos.UserCommentPageDto;
+import com.example.demo.dtos.UserPostPageDto;
+import com.example.demo.models.CommentPath;
+import com.example.demo.services.CommentService;
+import com.example.demo.services.PostService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// posts/comments 를 각각 ROWS 행 적재한 뒤 작성자별 목록(첫 페이지, 커서로 이어지는 페이지)의 p50/p99 를 잰다.
+// 쿼리 계획이 (userName, createdAt, id) 인덱스만으로 검색/정렬하는지 확인하고,
+// 마지막에 인덱스를 지워 같은 조회가 전체 스캔 + 정렬일 때의 지연도 함께 출력한다.
+@Tag("stress")
+class UserListingBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("stress.rows", 1_000_000);
+    private static final int USERS = Integer.getInteger("stress.users", 10_000);
+    private static final int READS = Integer.getInteger("stress.reads", 2000);
+    private static final int UNINDEXED_READS = Integer.getInteger("stress.unindexed-reads", 10);
+    private static final int PAGE_SIZE = 20;
+    private static final int BATCH = 10_000;
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    private static final String POST_PAGE_SQL = """
+        SELECT id, userName, content, createdAt, updatedAt, likeCount, commentCount FROM posts
+        WHERE userName = ? AND createdAt <= ? AND (createdAt < ? OR id < ?)
+        ORDER BY createdAt DESC, id DESC LIMIT 20
+        """;
+
+    private static final String POST_IDS_SQL = """
+        SELECT id, createdAt FROM posts
+        WHERE userName = ? AND createdAt <= ? AND (createdAt < ? OR id < ?)
+        ORDER BY createdAt DESC, id DESC LIMIT 20
+        """;
+
+    private static final String COMMENT_PAGE_SQL = """
+        SELECT id, postId, userName, content, createdAt, updatedAt FROM comments
+        WHERE userName = ? AND createdAt <= ? AND (createdAt < ? OR id < ?)
+        ORDER BY createdAt DESC, id DESC LIMIT 20
+        """;
+
+    @Test
+    void userListingsUseIndexAtScale() throws Exception {
+        Path db = Files.createTempFile("sns-listing-", ".db");
+        db.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--spring.main.web-application-type=none",
+                    "--spring.datasource.url=jdbc:sqlite:" + db,
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.example.demo=WARN",
+                    "--sns.reconciliation.enabled=false")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            PostService postService = context.getBean(PostService.class);
+            CommentService commentService = context.getBean(CommentService.class);
+
+            long loadStarted = System.nanoTime();
+            load(jdbcTemplate, transactionTemplate);
+            jdbcTemplate.execute("ANALYZE");
+            System.out.printf("%n적재 완료: posts=%d, comments=%d, %.1fs, 파일 %d MB%n", ROWS, ROWS,
+                (System.nanoTime() - loadStarted) / 1e9, Files.size(db) / (1024 * 1024));
+
+            Object[] keyset = {"user1", new Timestamp(Long.MAX_VALUE), new Timestamp(Long.MAX_VALUE), Integer.MAX_VALUE};
+            String postPlan = plan(jdbcTemplate, POST_PAGE_SQL, keyset);
+            String idsPlan = plan(jdbcTemplate, POST_IDS_SQL, keyset);
+            String commentPlan = plan(jdbcTemplate, COMMENT_PAGE_SQL, keyset);
+            System.out.println("posts 페이지 계획:    " + postPlan);
+            System.out.println("posts ID 계획:       " + idsPlan);
+            System.out.println("comments 페이지 계획: " + commentPlan);
+            assertThat(postPlan).contains("idx_posts_user_recent").doesNotContain("TEMP B-TREE");
+            assertThat(idsPlan).contains("COVERING INDEX idx_posts_user_recent");
+            assertThat(commentPlan).contains("idx_comments_user_recent").doesNotContain("TEMP B-TREE");
+
+            SplittableRandom random = new SplittableRandom(SEED + 1);
+            LatencyStats postFirst = new LatencyStats(READS);
+            LatencyStats postNext = new LatencyStats(READS);
+            LatencyStats commentFirst = new LatencyStats(READS);
+            LatencyStats commentNext = new LatencyStats(READS);
+            for (int i = 0; i < READS; i++) {
+                String userName = user(random.nextInt(USERS));
+
+                long started = System.nanoTime();
+                UserPostPageDto posts = postService.getPostsByUser(userName, null, PAGE_SIZE);
+                postFirst.record(System.nanoTime() - started);
+                started = System.nanoTime();
+                postService.getPostsByUser(userName, posts.getNextCursor(), PAGE_SIZE);
+                postNext.record(System.nanoTime() - started);
+
+                started = System.nanoTime();
+                UserCommentPageDto comments = commentService.getCommentsByUser(userName, null, PAGE_SIZE);
+                commentFirst.record(System.nanoTime() - started);
+                started = System.nanoTime();
+                commentService.getCommentsByUser(userName, comments.getNextCursor(), PAGE_SIZE);
+                commentNext.record(System.nanoTime() - started);
+
+                assertThat(posts.getPosts()).allSatisfy(post -> assertThat(post.getUserName()).isEqualTo(userName));
+            }
+
+            // 비교용: 인덱스 없이 같은 조회 (전체 스캔 + 정렬)
+            jdbcTemplate.execute("DROP INDEX idx_posts_user_recent");
+            LatencyStats unindexed = new LatencyStats(UNINDEXED_READS);
+            for (int i = 0; i < UNINDEXED_READS; i++) {
+                String userName = user(random.nextInt(USERS));
+                long started = System.nanoTime();
+                postService.getPostsByUser(userName, null, PAGE_SIZE);
+                unindexed.record(System.nanoTime() - started);
+            }
+
+            System.out.printf("%n=== 작성자별 목록: rows=%d, users=%d, reads=%d, size=%d ===%n", ROWS, USERS, READS, PAGE_SIZE);
+            System.out.printf("%-24s %10s %10s%n", "query", "p50(ms)", "p99(ms)");
+            print("posts 첫 페이지", postFirst);
+            print("posts 다음 페이지", postNext);
+            print("comments 첫 페이지", commentFirst);
+            print("comments 다음 페이지", commentNext);
+            print("posts 첫 페이지(인덱스 없음)", unindexed);
+        }
+    }
+
+    // 시각이 행마다 1ms 씩 늘어나도록 적재해 (createdAt, id) 순서가 실제 작성 순서와 같게 한다
+    private static void load(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long base = System.currentTimeMillis() - 2L * ROWS;
+        for (int offset = 0; offset < ROWS; offset += BATCH) {
+            List<Object[]> posts = new ArrayList<>(BATCH);
+            for (int i = offset; i < Math.min(ROWS, offset + BATCH); i++) {
+                Timestamp createdAt = new Timestamp(base + i);
+                posts.add(new Object[] {i + 1, user(random.nextInt(USERS)), "post " + i, createdAt, createdAt});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("""
+                INSERT INTO posts (id, userName, content, createdAt, updatedAt, likeCount, commentCount)
+                VALUES (?, ?, ?, ?, ?, 0, 0)
+                """, posts));
+        }
+        for (int offset = 0; offset < ROWS; offset += BATCH) {
+            List<Object[]> comments = new ArrayList<>(BATCH);
+            for (int i = offset; i < Math.min(ROWS, offset + BATCH); i++) {
+                Timestamp createdAt = new Timestamp(base + ROWS + i);
+                comments.add(new Object[] {i + 1, random.nextInt(ROWS) + 1, user(random.nextInt(USERS)), "comment " + i,
+                    createdAt, createdAt, CommentPath.segment(i + 1)});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("""
+                INSERT INTO comments (id, postId, userName, content, createdAt, updatedAt, path, replyCount)
+                VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+                """, comments));
+        }
+    }
+
+    private static String plan(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        return String.join(" / ", jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql, (rs, n) -> rs.getString("detail"), args));
+    }
+
+    private static void print(String label, LatencyStats stats) {
+        System.out.printf("%-24s %10.2f %10.2f%n", label, stats.percentileMillis(50), stats.percentileMillis(99));
+    }
+
+    private static String user(int index) {
+        return "user" + index;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 부하(조회 80%, 좋아요 20%)를 플랫폼 스레드 모드와 가상 스레드 모드에서 각각 실행해
+// 처리량/꼬리 지연 시간을 비교하고, 가상 스레드 실행 중 SQLite 드라이버 경로의 캐리어 고정(pinning)을 JFR 로 수집한다.
+@Tag("stress")
+class VirtualThreadLoadTest {
+    private static final int CLIENTS = Integer.getInteger("stress.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("stress.requests", 6000);
+    private static final int POSTS = Integer.getInteger("stress.posts", 50);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        RunResult platform = run(false);
+        RunResult virtual = run(true);
+
+        System.out.printf("%n=== 플랫폼 스레드 vs 가상 스레드: clients=%d, requests=%d ===%n", CLIENTS, REQUESTS);
+        System.out.println(platform.stats().summary("platform", platform.elapsedSeconds()) + "  5xx=" + platform.serverErrors());
+        System.out.println(virtual.stats().summary("virtual", virtual.elapsedSeconds()) + "  5xx=" + virtual.serverErrors());
+        System.out.printf("가상 스레드 pinning 이벤트: %d (SQLite 드라이버 경로: %d)%n",
+            virtual.pinnedEvents(), virtual.sqlitePinnedFrames().values().stream().mapToLong(AtomicLong::get).sum());
+        virtual.sqlitePinnedFrames().entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+            .limit(5)
+            .forEach(entry -> System.out.printf("  %6d  %s%n", entry.getValue().get(), entry.getKey()));
+
+        assertThat(platform.stats().count()).isEqualTo(REQUESTS);
+        assertThat(virtual.stats().count()).isEqualTo(REQUESTS);
+    }
+
+    private RunResult run(boolean virtualThreads) throws Exception {
+        Path db = Files.createTempFile("sns-load-", ".db");
+        db.toFile().deleteOnExit();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .run("--server.port=0",
+                    "--spring.datasource.url=jdbc:sqlite:" + db,
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.example.demo=WARN",
+                    "--spring.threads.virtual.enabled=" + virtualThreads);
+             RecordingStream pinning = new RecordingStream()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            List<Integer> postIds = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                HttpResponse<String> response = send("POST", baseUrl + "/api/posts",
+                    "{\"userName\":\"author" + i + "\",\"content\":\"load " + i + "\"}");
+                postIds.add(objectMapper.readTree(response.body()).get("id").asInt());
+            }
+
+            AtomicLong pinnedEvents = new AtomicLong();
+            Map<String, AtomicLong> sqliteFrames = new ConcurrentHashMap<>();
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.incrementAndGet();
+                if (event.getStackTrace() == null) {
+                    return;
+                }
+                for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                    String type = frame.getMethod().getType().getName();
+                    if (type.startsWith("org.sqlite")) {
+                        sqliteFrames.computeIfAbsent(type + "." + frame.getMethod().getName(), k -> new AtomicLong())
+                            .incrementAndGet();
+                        break;
+                    }
+                }
+            });
+            pinning.startAsync();
+
+            LatencyStats stats = new LatencyStats(REQUESTS);
+            AtomicInteger remaining = new AtomicInteger(REQUESTS);
+            AtomicLong serverErrors = new AtomicLong();
+            long started = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> clients = new ArrayList<>();
+                SplittableRandom seeds = new SplittableRandom(SEED);
+                for (int c = 0; c < CLIENTS; c++) {
+                    SplittableRandom random = seeds.split();
+                    clients.add(executor.submit(() -> {
+                        while (remaining.getAndDecrement() > 0) {
+                            int postId = postIds.get(random.nextInt(postIds.size()));
+                            long begin = System.nanoTime();
+                            HttpResponse<String> response = random.nextInt(100) < 80
+                                ? send("GET", baseUrl + "/api/posts/" + postId, null)
+                                : send("POST", baseUrl + "/api/posts/" + postId + "/likes",
+                                    "{\"userName\":\"user" + random.nextInt(1000) + "\"}");
+                            stats.record(System.nanoTime() - begin);
+                            if (response.statusCode() >= 500) {
+                                serverErrors.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : clients) {
+                    future.get();
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            return new RunResult(stats, elapsedSeconds, serverErrors.get(), pinnedEvents.get(), sqliteFrames);
+        }
+    }
+
+    private HttpResponse<String> send(String method, String url, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60));
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private record RunResult(LatencyStats stats, double elapsedSeconds, long serverErrors,
+                             long pinnedEvents, Map<String, AtomicLong> sqlitePinnedFrames) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.stress;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 배포 직후 첫 요청들의 지연을 워밍업 없이 시작한 경우와 워밍업 후 readiness 가 UP 이 된 경우로 비교한다.
+// - 워밍업 중에는 /actuator/health/readiness 가 503 이어야 한다
+// - readiness 가 UP 이 된 직후 첫 FIRST_REQUESTS 개 요청의 p50/p99 와, /actuator/warmup 의 워밍업 전/후 지연을 출력한다
+@Tag("stress")
+class WarmupReadinessTest {
+    private static final int POSTS = Integer.getInteger("stress.posts", 300);
+    private static final int FIRST_REQUESTS = Integer.getInteger("stress.first-requests", 60);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void warmupRunsBeforeReadinessAndFlattensFirstRequests() throws Exception {
+        Path db = Files.createTempFile("sns-warmup-", ".db");
+        db.toFile().deleteOnExit();
+        seed(db);
+
+        Started cold = start(db, false);
+        LatencyStats coldLatencies;
+        try {
+            coldLatencies = firstRequests(cold.baseUrl());
+        } finally {
+            stop(cold.process());
+        }
+
+        Started warm = start(db, true);
+        LatencyStats warmLatencies;
+        JsonNode report;
+        try {
+            warmLatencies = firstRequests(warm.baseUrl());
+            report = objectMapper.readTree(send(warm.baseUrl() + "/actuator/warmup").body());
+        } finally {
+            stop(warm.process());
+        }
+
+        System.out.printf("%n=== 배포 직후 첫 %d개 요청: posts=%d ===%n", FIRST_REQUESTS, POSTS);
+        System.out.printf("%-10s %14s %12s %12s %22s%n", "mode", "ready(ms)", "p50(ms)", "p99(ms)", "readiness 503 관측");
+        System.out.printf("%-10s %14d %12.2f %12.2f %22s%n", "cold", cold.readyMillis(),
+            coldLatencies.percentileMillis(50), coldLatencies.percentileMillis(99), cold.sawNotReady());
+        System.out.printf("%-10s %14d %12.2f %12.2f %22s%n", "warm-up", warm.readyMillis(),
+            warmLatencies.percentileMillis(50), warmLatencies.percentileMillis(99), warm.sawNotReady());
+        System.out.printf("워밍업: %s%n", report);
+
+        assertThat(report.get("state").asText()).isEqualTo("DONE");
+        assertThat(report.get("errors").asLong()).isZero();
+        assertThat(report.get("requests").asLong()).isPositive();
+        assertThat(warm.sawNotReady()).as("워밍업 동안 readiness 는 503").isTrue();
+        assertThat(warmLatencies.percentileMillis(99)).isLessThan(coldLatencies.percentileMillis(99));
+    }
+
+    // 스키마를 만들고 포스트와 댓글을 HTTP 로 넣는다
+    private void seed(Path db) throws Exception {
+        Started app = start(db, false, "--spring.jpa.hibernate.ddl-auto=create");
+        try {
+            SplittableRandom random = new SplittableRandom(SEED);
+            for (int i = 0; i < POSTS; i++) {
+                String body = "{\"userName\":\"author" + random.nextInt(20) + "\",\"content\":\"warm-up post " + i + "\"}";
+                int postId = objectMapper.readTree(post(app.baseUrl() + "/api/posts", body).body()).get("id").asInt();
+                for (int c = 0; c < 3; c++) {
+                    post(app.baseUrl() + "/api/posts/" + postId + "/comments",
+                        "{\"userName\":\"reader" + random.nextInt(100) + "\",\"content\":\"comment " + c + "\"}");
+                }
+            }
+        } finally {
+            stop(app.process());
+        }
+    }
+
+    // 워밍업과 같은 요청 묶음을 readiness 직후 차례로 보낸다
+    private LatencyStats firstRequests(String baseUrl) throws Exception {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        LatencyStats latencies = new LatencyStats(FIRST_REQUESTS);
+        for (int i = 0; i < FIRST_REQUESTS; i++) {
+            int postId = 1 + random.nextInt(POSTS);
+            String path = switch (i % 3) {
+                case 0 -> "/api/posts/" + postId;
+                case 1 -> "/api/posts/" + postId + "/comments";
+                default -> "/api/users/author" + random.nextInt(20) + "/posts";
+            };
+            long started = System.nanoTime();
+            assertThat(send(baseUrl + path).statusCode()).isEqualTo(200);
+            latencies.record(System.nanoTime() - started);
+        }
+        return latencies;
+    }
+
+    private Started start(Path db, boolean warmup, String... extraArgs) throws Exception {
+        int port = freePort();
+        String baseUrl = "http://localhost:" + port;
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path log = Files.createTempFile("sns-warmup-app-", ".log");
+        log.toFile().deleteOnExit();
+        List<String> command = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+            DemoApplication.class.getName(),
+            "--server.port=" + port,
+            "--spring.datasource.url=jdbc:sqlite:" + db,
+            "--spring.jpa.show-sql=false",
+            "--sns.reconciliation.enabled=false",
+            "--logging.level.com.example.demo=WARN",
+            "--logging.level.com.example.demo.services.WarmupService=INFO",
+            "--sns.warmup.enabled=" + warmup));
+        command.addAll(List.of(extraArgs));
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        boolean sawNotReady = false;
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 시작 중 종료되었습니다. 로그: " + log);
+            }
+            try {
+                int status = send(baseUrl + "/actuator/health/readiness").statusCode();
+                if (status == 200) {
+                    return new Started(process, baseUrl, Duration.ofNanos(System.nanoTime() - started).toMillis(), sawNotReady);
+                }
+                sawNotReady |= status == 503;
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(50);
+        }
+        process.destroyForcibly();
+        throw new IllegalStateException("애플리케이션이 120초 안에 준비되지 않았습니다. 로그: " + log);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    private HttpResponse<String> send(String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String url, String json) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Started(Process process, String baseUrl, long readyMillis, boolean sawNotReady) {
+    }
+}